@@ -30,6 +30,36 @@ public class DefaultEnvValues {
 
   public static final int MAX_WAIT_TIME_AT_SHUTDOWN_DEFAULT = 10000;
   public static final boolean INSTALL_PIPELINE_ELEMENTS = true;
+  public static final boolean COMPILED_EVENT_LAYOUT_DEFAULT = false;
+  public static final int PRODUCER_MAX_BATCH_SIZE_DEFAULT = 1;
+  public static final int PRODUCER_LINGER_MS_DEFAULT = 5;
+  public static final int PRODUCER_QUEUE_CAPACITY_DEFAULT = 10000;
+  public static final int KAFKA_TOPIC_PARTITIONS_DEFAULT = 1;
+  public static final int KAFKA_CONSUMER_THREADS_DEFAULT = 1;
+  public static final int METRICS_LATENCY_SAMPLING_INTERVAL_DEFAULT = 64;
+  public static final boolean LOCAL_EVENT_HANDOVER_DEFAULT = false;
+  public static final int LOCAL_EVENT_QUEUE_CAPACITY_DEFAULT = 1000;
+  public static final boolean LOCAL_EVENT_SKIP_BROKER_DEFAULT = false;
+  public static final int DISPATCH_QUEUE_CAPACITY_DEFAULT = 0;
+  public static final String DISPATCH_OVERFLOW_POLICY_DEFAULT = "BLOCK";
+  public static final int DISPATCH_SAMPLING_RATE_DEFAULT = 10;
+  public static final int JDBC_BATCH_SIZE_DEFAULT = 1;
+  public static final int JDBC_FLUSH_INTERVAL_MS_DEFAULT = 1000;
+  public static final boolean POSTGRES_COPY_ENABLED_DEFAULT = false;
+  public static final int DATALAKE_BATCH_SIZE_DEFAULT = 2000;
+  public static final int DATALAKE_FLUSH_INTERVAL_MS_DEFAULT = 500;
+  public static final int DATALAKE_WRITE_QUEUE_CAPACITY_DEFAULT = 10000;
+  public static final int DATALAKE_WRITE_RETRIES_DEFAULT = 3;
+  public static final int NLP_WORKER_THREADS_DEFAULT = 1;
+  public static final int SIDDHI_BATCH_SIZE_DEFAULT = 1;
+  public static final int SIDDHI_BATCH_LINGER_MS_DEFAULT = 10;
+  public static final int FLINK_PARALLELISM_DEFAULT = 0;
+  public static final int FLINK_CHECKPOINT_INTERVAL_MS_DEFAULT = 0;
+  public static final String FLINK_STATE_BACKEND_DEFAULT = "hashmap";
+  public static final boolean FLINK_SOURCE_PROJECTION_DEFAULT = false;
+  public static final int KAFKA_STREAMS_NUM_THREADS_DEFAULT = 1;
+  public static final int KAFKA_STREAMS_CACHE_MAX_BYTES_DEFAULT = 10 * 1024 * 1024;
+  public static final int KAFKA_STREAMS_COMMIT_INTERVAL_MS_DEFAULT = 30000;
 
   public static final String DEFAULT_ENCRYPTION_PASSCODE = "eGgemyGBoILAu3xckoIp";
 }
@@ -42,7 +42,38 @@ public enum Envs {
   SP_CLIENT_SECRET("SP_CLIENT_SECRET"),
   SP_ENCRYPTION_PASSCODE("SP_ENCRYPTION_PASSCODE"),
   SP_DEBUG("SP_DEBUG"),
-  SP_MAX_WAIT_TIME_AT_SHUTDOWN("SP_MAX_WAIT_TIME_AT_SHUTDOWN");
+  SP_MAX_WAIT_TIME_AT_SHUTDOWN("SP_MAX_WAIT_TIME_AT_SHUTDOWN"),
+  SP_COMPILED_EVENT_LAYOUT("SP_COMPILED_EVENT_LAYOUT"),
+  SP_PRODUCER_MAX_BATCH_SIZE("SP_PRODUCER_MAX_BATCH_SIZE"),
+  SP_PRODUCER_LINGER_MS("SP_PRODUCER_LINGER_MS"),
+  SP_PRODUCER_QUEUE_CAPACITY("SP_PRODUCER_QUEUE_CAPACITY"),
+  SP_KAFKA_TOPIC_PARTITIONS("SP_KAFKA_TOPIC_PARTITIONS"),
+  SP_KAFKA_CONSUMER_THREADS("SP_KAFKA_CONSUMER_THREADS"),
+  SP_METRICS_LATENCY_SAMPLING_INTERVAL("SP_METRICS_LATENCY_SAMPLING_INTERVAL"),
+  SP_LOCAL_EVENT_HANDOVER("SP_LOCAL_EVENT_HANDOVER"),
+  SP_LOCAL_EVENT_QUEUE_CAPACITY("SP_LOCAL_EVENT_QUEUE_CAPACITY"),
+  SP_LOCAL_EVENT_SKIP_BROKER("SP_LOCAL_EVENT_SKIP_BROKER"),
+  SP_DISPATCH_QUEUE_CAPACITY("SP_DISPATCH_QUEUE_CAPACITY"),
+  SP_DISPATCH_OVERFLOW_POLICY("SP_DISPATCH_OVERFLOW_POLICY"),
+  SP_DISPATCH_SAMPLING_RATE("SP_DISPATCH_SAMPLING_RATE"),
+  SP_JDBC_BATCH_SIZE("SP_JDBC_BATCH_SIZE"),
+  SP_JDBC_FLUSH_INTERVAL_MS("SP_JDBC_FLUSH_INTERVAL_MS"),
+  SP_POSTGRES_COPY_ENABLED("SP_POSTGRES_COPY_ENABLED"),
+  SP_DATALAKE_BATCH_SIZE("SP_DATALAKE_BATCH_SIZE"),
+  SP_DATALAKE_FLUSH_INTERVAL_MS("SP_DATALAKE_FLUSH_INTERVAL_MS"),
+  SP_DATALAKE_WRITE_QUEUE_CAPACITY("SP_DATALAKE_WRITE_QUEUE_CAPACITY"),
+  SP_DATALAKE_WRITE_RETRIES("SP_DATALAKE_WRITE_RETRIES"),
+  SP_NLP_WORKER_THREADS("SP_NLP_WORKER_THREADS"),
+  SP_SIDDHI_BATCH_SIZE("SP_SIDDHI_BATCH_SIZE"),
+  SP_SIDDHI_BATCH_LINGER_MS("SP_SIDDHI_BATCH_LINGER_MS"),
+  SP_FLINK_PARALLELISM("SP_FLINK_PARALLELISM"),
+  SP_FLINK_CHECKPOINT_INTERVAL_MS("SP_FLINK_CHECKPOINT_INTERVAL_MS"),
+  SP_FLINK_STATE_BACKEND("SP_FLINK_STATE_BACKEND"),
+  SP_FLINK_CHECKPOINT_DIRECTORY("SP_FLINK_CHECKPOINT_DIRECTORY"),
+  SP_FLINK_SOURCE_PROJECTION("SP_FLINK_SOURCE_PROJECTION"),
+  SP_KAFKA_STREAMS_NUM_THREADS("SP_KAFKA_STREAMS_NUM_THREADS"),
+  SP_KAFKA_STREAMS_CACHE_MAX_BYTES("SP_KAFKA_STREAMS_CACHE_MAX_BYTES"),
+  SP_KAFKA_STREAMS_COMMIT_INTERVAL_MS("SP_KAFKA_STREAMS_COMMIT_INTERVAL_MS");
 
   private final String envVariableName;
 
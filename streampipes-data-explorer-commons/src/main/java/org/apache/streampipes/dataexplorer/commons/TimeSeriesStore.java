@@ -67,6 +67,18 @@ public class TimeSeriesStore {
   }
 
 
+  public long getWrittenPoints() {
+    return influxStore.getWriter().getWrittenPoints();
+  }
+
+  public long getFailedPoints() {
+    return influxStore.getWriter().getFailedPoints();
+  }
+
+  public long getPendingPoints() {
+    return influxStore.getWriter().getQueueSize();
+  }
+
   public boolean alterRetentionTime(DataLakeMeasure dataLakeMeasure) {
     return true;
   }
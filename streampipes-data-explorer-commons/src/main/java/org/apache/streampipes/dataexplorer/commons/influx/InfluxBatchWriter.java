@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.BatchPoints;
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes points to InfluxDB from a dedicated writer thread. Points are buffered in a bounded queue
+ * and sent as line-protocol batches as soon as the batch size is reached or the flush interval
+ * has passed. If the queue is full, write blocks the calling thread so that the sink applies
+ * backpressure instead of growing its memory. Failed batches are retried with an exponential
+ * backoff before they are dropped.
+ */
+public class InfluxBatchWriter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxBatchWriter.class);
+
+  private static final long INITIAL_RETRY_BACKOFF_MS = 100;
+
+  private final InfluxDB influxDb;
+  private final String databaseName;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final int maxRetries;
+  private final BlockingQueue<Point> queue;
+
+  private final LongAdder writtenPoints = new LongAdder();
+  private final LongAdder failedPoints = new LongAdder();
+  private final LongAdder writtenBatches = new LongAdder();
+
+  private final Thread writerThread;
+  private volatile boolean running = true;
+
+  public InfluxBatchWriter(InfluxDB influxDb,
+                           String databaseName,
+                           int batchSize,
+                           long flushIntervalMs,
+                           int queueCapacity,
+                           int maxRetries) {
+    this.influxDb = influxDb;
+    this.databaseName = databaseName;
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+    this.maxRetries = maxRetries;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.writerThread = new Thread(this::runWriter, "sp-influx-writer-" + databaseName);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  /**
+   * Adds a point to the write queue, blocking while the queue is full
+   *
+   * @param point The point which should be written
+   */
+  public void write(Point point) throws SpRuntimeException {
+    try {
+      queue.put(point);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for free space in the write queue", e);
+    }
+  }
+
+  /**
+   * Stops the writer thread after all queued points have been written
+   */
+  public void close() {
+    this.running = false;
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public long getWrittenPoints() {
+    return writtenPoints.sum();
+  }
+
+  public long getFailedPoints() {
+    return failedPoints.sum();
+  }
+
+  public long getWrittenBatches() {
+    return writtenBatches.sum();
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  private void runWriter() {
+    List<Point> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        Point first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first != null) {
+          batch.add(first);
+          fillBatch(batch);
+          writeBatch(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void fillBatch(List<Point> batch) throws InterruptedException {
+    long deadline = System.nanoTime() + flushIntervalNanos;
+    while (batch.size() < batchSize) {
+      queue.drainTo(batch, batchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= batchSize || remaining <= 0) {
+        return;
+      }
+      Point next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void writeBatch(List<Point> batch) throws InterruptedException {
+    BatchPoints batchPoints = BatchPoints.database(databaseName).points(batch).build();
+    long backoff = INITIAL_RETRY_BACKOFF_MS;
+    for (int attempt = 0; ; attempt++) {
+      try {
+        influxDb.write(batchPoints);
+        writtenPoints.add(batch.size());
+        writtenBatches.increment();
+        break;
+      } catch (RuntimeException e) {
+        if (attempt >= maxRetries) {
+          LOG.error("Could not write batch of {} points to InfluxDB after {} retries, dropping batch",
+              batch.size(), maxRetries, e);
+          failedPoints.add(batch.size());
+          break;
+        }
+        LOG.warn("Could not write batch of {} points to InfluxDB, retrying in {} ms", batch.size(), backoff, e);
+        Thread.sleep(backoff);
+        backoff *= 2;
+      }
+    }
+    batch.clear();
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.dataexplorer.commons.influx;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.datalake.DataLakeMeasure;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.influxdb.dto.Point;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts events into InfluxDB points based on an extraction plan which is compiled once from the
+ * schema of a {@link DataLakeMeasure}. Each property is resolved by its selector (or by its slot
+ * for events with a compiled layout) instead of scanning all fields of the event per property.
+ */
+public class InfluxPointExtractor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(InfluxPointExtractor.class);
+
+  private final String measureName;
+  private final String timestampSelector;
+  private final FieldExtractor[] extractors;
+
+  private String selectorPrefix;
+  private String[] selectors;
+  private EventLayout layout;
+  private int[] slots;
+  private int timestampSlot;
+
+  public InfluxPointExtractor(DataLakeMeasure measure,
+                              Map<String, String> sanitizedRuntimeNames) {
+    this.measureName = measure.getMeasureName();
+    this.timestampSelector = measure.getTimestampField();
+    List<FieldExtractor> plan = new ArrayList<>();
+    for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
+      // timestamp should not be added as a field
+      if (ep instanceof EventPropertyPrimitive && !timestampSelector.endsWith(ep.getRuntimeName())) {
+        plan.add(new FieldExtractor(ep.getRuntimeName(),
+            sanitizedRuntimeNames.get(ep.getRuntimeName()),
+            PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope()),
+            FieldType.from(((EventPropertyPrimitive) ep).getRuntimeType())));
+      }
+    }
+    this.extractors = plan.toArray(new FieldExtractor[0]);
+  }
+
+  /**
+   * Creates a point from the given event
+   *
+   * @param event The event which should be converted
+   * @return The point containing all non-null schema properties of the event
+   */
+  public Point toPoint(Event event) throws SpRuntimeException {
+    Object[] values = new Object[extractors.length];
+    boolean[] present = new boolean[extractors.length];
+    long timestamp;
+
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      SlotEvent slotEvent = (SlotEvent) event;
+      int[] currentSlots = getSlots(slotEvent.getLayout());
+      if (timestampSlot == EventLayout.NO_SLOT || !slotEvent.hasValue(timestampSlot)) {
+        throw new SpRuntimeException("Timestamp field " + timestampSelector + " not found");
+      }
+      timestamp = slotEvent.getLong(timestampSlot);
+      for (int i = 0; i < extractors.length; i++) {
+        int slot = currentSlots[i];
+        if (slot != EventLayout.NO_SLOT && slotEvent.hasValue(slot)) {
+          Object value = slotEvent.getValue(slot);
+          if (value instanceof Map || value instanceof List) {
+            logIgnoredField(extractors[i].runtimeName, null);
+          } else {
+            present[i] = true;
+            values[i] = value;
+          }
+        }
+      }
+    } else {
+      timestamp = event.getFieldBySelector(timestampSelector).getAsPrimitive().getAsLong();
+      String[] currentSelectors = getSelectors(event.getSourceInfo().getSelectorPrefix());
+      Map<String, AbstractField> fields = event.getFields();
+      for (int i = 0; i < extractors.length; i++) {
+        AbstractField field = fields.get(currentSelectors[i]);
+        if (field != null) {
+          try {
+            values[i] = field.getAsPrimitive().getRawValue();
+            present[i] = true;
+          } catch (SpRuntimeException e) {
+            logIgnoredField(extractors[i].runtimeName, e);
+          }
+        }
+      }
+    }
+
+    Point.Builder point = Point.measurement(measureName).time(timestamp, TimeUnit.MILLISECONDS);
+    List<String> missingFields = null;
+    List<String> nullFields = null;
+    for (int i = 0; i < extractors.length; i++) {
+      FieldExtractor extractor = extractors[i];
+      if (!present[i]) {
+        missingFields = addTo(missingFields, extractor.runtimeName);
+      } else if (values[i] == null) {
+        nullFields = addTo(nullFields, extractor.sanitizedName);
+      } else {
+        extractor.addTo(point, values[i]);
+      }
+    }
+
+    if (missingFields != null) {
+      LOG.debug("Ignored {} fields which were present in the schema, but not in the provided event: {}",
+          missingFields.size(),
+          String.join(", ", missingFields));
+    }
+
+    if (nullFields != null) {
+      LOG.warn("Ignored {} fields which had a value 'null': {}", nullFields.size(), String.join(", ", nullFields));
+    }
+
+    return point.build();
+  }
+
+  private String[] getSelectors(String prefix) {
+    if (selectors == null || !prefix.equals(selectorPrefix)) {
+      String[] newSelectors = new String[extractors.length];
+      for (int i = 0; i < extractors.length; i++) {
+        newSelectors[i] = prefix + "::" + extractors[i].runtimeName;
+      }
+      this.selectors = newSelectors;
+      this.selectorPrefix = prefix;
+    }
+    return selectors;
+  }
+
+  private int[] getSlots(EventLayout eventLayout) {
+    if (eventLayout != layout) {
+      int[] newSlots = new int[extractors.length];
+      for (int i = 0; i < extractors.length; i++) {
+        newSlots[i] = eventLayout.rootIndexOf(extractors[i].runtimeName);
+      }
+      this.slots = newSlots;
+      this.timestampSlot = eventLayout.indexOf(timestampSelector);
+      this.layout = eventLayout;
+    }
+    return slots;
+  }
+
+  private static void logIgnoredField(String runtimeName, SpRuntimeException e) {
+    LOG.warn("Runtime exception while extracting field value of field {} - this field will be ignored",
+        runtimeName, e);
+  }
+
+  private static List<String> addTo(List<String> names, String name) {
+    List<String> result = names != null ? names : new ArrayList<>();
+    result.add(name);
+    return result;
+  }
+
+  private enum FieldType {
+    INTEGER, LONG, FLOAT, DOUBLE, BOOLEAN, STRING;
+
+    static FieldType from(String runtimeType) {
+      if (XSD.INTEGER.toString().equals(runtimeType)) {
+        return INTEGER;
+      } else if (XSD.LONG.toString().equals(runtimeType)) {
+        return LONG;
+      } else if (XSD.FLOAT.toString().equals(runtimeType)) {
+        return FLOAT;
+      } else if (XSD.DOUBLE.toString().equals(runtimeType)) {
+        return DOUBLE;
+      } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
+        return BOOLEAN;
+      } else {
+        return STRING;
+      }
+    }
+  }
+
+  private static final class FieldExtractor {
+
+    private final String runtimeName;
+    private final String sanitizedName;
+    private final boolean tag;
+    private final FieldType type;
+
+    private FieldExtractor(String runtimeName,
+                           String sanitizedName,
+                           boolean tag,
+                           FieldType type) {
+      this.runtimeName = runtimeName;
+      this.sanitizedName = sanitizedName;
+      this.tag = tag;
+      this.type = type;
+    }
+
+    private void addTo(Point.Builder point, Object value) {
+      // store property as tag when the field is a dimension property
+      if (tag) {
+        point.tag(sanitizedName, String.valueOf(value));
+        return;
+      }
+      try {
+        switch (type) {
+          case INTEGER:
+            if (value instanceof Integer) {
+              point.addField(sanitizedName, (Integer) value);
+            } else {
+              addIntegerOrFloat(point, value);
+            }
+            break;
+          case LONG:
+            if (value instanceof Long || value instanceof Integer) {
+              point.addField(sanitizedName, ((Number) value).longValue());
+            } else {
+              addLongOrFloat(point, value);
+            }
+            break;
+          case FLOAT:
+            point.addField(sanitizedName, value instanceof Number
+                ? ((Number) value).floatValue()
+                : Float.parseFloat(String.valueOf(value)));
+            break;
+          case DOUBLE:
+            point.addField(sanitizedName, value instanceof Double || value instanceof Integer || value instanceof Long
+                ? ((Number) value).doubleValue()
+                : Double.parseDouble(String.valueOf(value)));
+            break;
+          case BOOLEAN:
+            point.addField(sanitizedName, value instanceof Boolean
+                ? (Boolean) value
+                : Boolean.parseBoolean(String.valueOf(value)));
+            break;
+          default:
+            point.addField(sanitizedName, String.valueOf(value));
+        }
+      } catch (NumberFormatException e) {
+        LOG.warn("Wrong number format for field {}, ignoring.", sanitizedName);
+      }
+    }
+
+    private void addIntegerOrFloat(Point.Builder point, Object value) {
+      String stringValue = String.valueOf(value);
+      try {
+        point.addField(sanitizedName, Integer.parseInt(stringValue));
+      } catch (NumberFormatException e) {
+        point.addField(sanitizedName, Float.parseFloat(stringValue));
+      }
+    }
+
+    private void addLongOrFloat(Point.Builder point, Object value) {
+      String stringValue = String.valueOf(value);
+      try {
+        point.addField(sanitizedName, Long.parseLong(stringValue));
+      } catch (NumberFormatException e) {
+        point.addField(sanitizedName, Float.parseFloat(stringValue));
+      }
+    }
+  }
+}
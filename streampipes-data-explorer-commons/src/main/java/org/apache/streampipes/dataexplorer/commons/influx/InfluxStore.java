@@ -18,31 +18,24 @@
 
 package org.apache.streampipes.dataexplorer.commons.influx;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.field.PrimitiveField;
-import org.apache.streampipes.model.schema.EventProperty;
-import org.apache.streampipes.model.schema.EventPropertyPrimitive;
-import org.apache.streampipes.model.schema.PropertyScope;
 import org.apache.streampipes.svcdiscovery.api.SpConfig;
-import org.apache.streampipes.vocabulary.XSD;
 
 import org.influxdb.InfluxDB;
 import org.influxdb.InfluxDBFactory;
-import org.influxdb.dto.Point;
 import org.influxdb.dto.Pong;
 import org.influxdb.dto.Query;
 import org.influxdb.dto.QueryResult;
-import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 public class InfluxStore {
 
@@ -50,6 +43,8 @@ public class InfluxStore {
   DataLakeMeasure measure;
   Map<String, String> sanitizedRuntimeNames = new HashMap<>();
   private InfluxDB influxDb = null;
+  private InfluxPointExtractor pointExtractor;
+  private InfluxBatchWriter writer;
 
   public InfluxStore(DataLakeMeasure measure,
                      InfluxConnectionSettings settings) {
@@ -59,6 +54,7 @@ public class InfluxStore {
         .getEventProperties()
         .forEach(ep -> sanitizedRuntimeNames.put(ep.getRuntimeName(),
             InfluxNameSanitizer.renameReservedKeywords(ep.getRuntimeName())));
+    this.pointExtractor = new InfluxPointExtractor(measure, sanitizedRuntimeNames);
 
     connect(settings);
   }
@@ -69,7 +65,7 @@ public class InfluxStore {
   }
 
   /**
-   * Connects to the InfluxDB Server, sets the database and initializes the batch-behaviour
+   * Connects to the InfluxDB Server, sets the database and starts the batch writer
    *
    * @throws SpRuntimeException If not connection can be established or if the database could not
    *                            be found
@@ -95,9 +91,14 @@ public class InfluxStore {
 
     // setting up the database
     influxDb.setDatabase(databaseName);
-    int batchSize = 2000;
-    int flushDuration = 500;
-    influxDb.enableBatch(batchSize, flushDuration, TimeUnit.MILLISECONDS);
+    int batchSize = Envs.SP_DATALAKE_BATCH_SIZE.getValueAsIntOrDefault(DefaultEnvValues.DATALAKE_BATCH_SIZE_DEFAULT);
+    int flushDuration = Envs.SP_DATALAKE_FLUSH_INTERVAL_MS
+        .getValueAsIntOrDefault(DefaultEnvValues.DATALAKE_FLUSH_INTERVAL_MS_DEFAULT);
+    int queueCapacity = Envs.SP_DATALAKE_WRITE_QUEUE_CAPACITY
+        .getValueAsIntOrDefault(DefaultEnvValues.DATALAKE_WRITE_QUEUE_CAPACITY_DEFAULT);
+    int maxRetries = Envs.SP_DATALAKE_WRITE_RETRIES
+        .getValueAsIntOrDefault(DefaultEnvValues.DATALAKE_WRITE_RETRIES_DEFAULT);
+    writer = new InfluxBatchWriter(influxDb, databaseName, batchSize, flushDuration, queueCapacity, maxRetries);
   }
 
   private boolean databaseExists(String dbName) {
@@ -130,110 +131,22 @@ public class InfluxStore {
    * @throws SpRuntimeException If the column name (key-value of the event map) is not allowed
    */
   public void onEvent(Event event) throws SpRuntimeException {
-    var missingFields = new ArrayList<String>();
-    var nullFields = new ArrayList<String>();
     if (event == null) {
       throw new SpRuntimeException("event is null");
     }
 
-    Long timestampValue = event.getFieldBySelector(measure.getTimestampField()).getAsPrimitive().getAsLong();
-    Point.Builder point =
-        Point.measurement(measure.getMeasureName()).time((long) timestampValue, TimeUnit.MILLISECONDS);
-
-    for (EventProperty ep : measure.getEventSchema().getEventProperties()) {
-      if (ep instanceof EventPropertyPrimitive) {
-        String runtimeName = ep.getRuntimeName();
-
-        // timestamp should not be added as a field
-        if (!measure.getTimestampField().endsWith(runtimeName)) {
-          String sanitizedRuntimeName = sanitizedRuntimeNames.get(runtimeName);
-
-          try {
-            var field = event.getOptionalFieldByRuntimeName(runtimeName);
-            if (field.isPresent()) {
-              PrimitiveField eventPropertyPrimitiveField = field.get().getAsPrimitive();
-              if (eventPropertyPrimitiveField.getRawValue() == null) {
-                nullFields.add(sanitizedRuntimeName);
-              } else {
-
-                // store property as tag when the field is a dimension property
-                if (PropertyScope.DIMENSION_PROPERTY.name().equals(ep.getPropertyScope())) {
-                  point.tag(sanitizedRuntimeName, eventPropertyPrimitiveField.getAsString());
-                } else {
-                  handleMeasurementProperty(
-                      point,
-                      (EventPropertyPrimitive) ep,
-                      sanitizedRuntimeName,
-                      eventPropertyPrimitiveField);
-                }
-              }
-            } else {
-              missingFields.add(runtimeName);
-            }
-          } catch (SpRuntimeException iae) {
-            LOG.warn("Runtime exception while extracting field value of field {} - this field will be ignored",
-                runtimeName, iae);
-          }
-        }
-      }
-    }
-
-    if (missingFields.size() > 0) {
-      LOG.debug("Ignored {} fields which were present in the schema, but not in the provided event: {}",
-          missingFields.size(),
-          String.join(", ", missingFields));
-    }
-
-    if (nullFields.size() > 0) {
-      LOG.warn("Ignored {} fields which had a value 'null': {}", nullFields.size(), String.join(", ", nullFields));
-    }
-
-    influxDb.write(point.build());
+    writer.write(pointExtractor.toPoint(event));
   }
 
-  private void handleMeasurementProperty(Point.Builder p,
-                                         @NotNull EventPropertyPrimitive ep,
-                                         String preparedRuntimeName,
-                                         PrimitiveField eventPropertyPrimitiveField) {
-    try {
-      // Store property according to property type
-      String runtimeType = ep.getRuntimeType();
-      if (XSD.INTEGER.toString().equals(runtimeType)) {
-        try {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsInt());
-        } catch (NumberFormatException ef) {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-        }
-      } else if (XSD.FLOAT.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-      } else if (XSD.DOUBLE.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsDouble());
-      } else if (XSD.BOOLEAN.toString().equals(runtimeType)) {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsBoolean());
-      } else if (XSD.LONG.toString().equals(runtimeType)) {
-        try {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsLong());
-        } catch (NumberFormatException ef) {
-          p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsFloat());
-        }
-      } else {
-        p.addField(preparedRuntimeName, eventPropertyPrimitiveField.getAsString());
-      }
-    } catch (NumberFormatException e) {
-      LOG.warn("Wrong number format for field {}, ignoring.", preparedRuntimeName);
-    }
+  public InfluxBatchWriter getWriter() {
+    return writer;
   }
 
   /**
    * Shuts down the connection to the InfluxDB server
    */
   public void close() throws SpRuntimeException {
-    influxDb.flush();
-    try {
-      Thread.sleep(1000);
-    } catch (InterruptedException e) {
-      throw new SpRuntimeException(e);
-    }
+    writer.close();
     influxDb.close();
   }
 
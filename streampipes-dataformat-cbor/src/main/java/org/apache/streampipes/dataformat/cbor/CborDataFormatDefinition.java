@@ -18,7 +18,11 @@
 package org.apache.streampipes.dataformat.cbor;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.JacksonEventReader;
+import org.apache.streampipes.dataformat.JacksonEventWriter;
 import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,9 +35,13 @@ import java.util.Map;
 public class CborDataFormatDefinition implements SpDataFormatDefinition {
 
   private ObjectMapper objectMapper;
+  private JacksonEventReader eventReader;
+  private JacksonEventWriter eventWriter;
 
   public CborDataFormatDefinition() {
     this.objectMapper = new ObjectMapper(new CBORFactory());
+    this.eventReader = new JacksonEventReader(objectMapper);
+    this.eventWriter = new JacksonEventWriter(objectMapper);
   }
 
   @Override
@@ -53,4 +61,14 @@ public class CborDataFormatDefinition implements SpDataFormatDefinition {
       throw new SpRuntimeException("Could not convert map data structure to JSON string");
     }
   }
+
+  @Override
+  public Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    return eventReader.readEvent(event, layout);
+  }
+
+  @Override
+  public byte[] fromEvent(Event event) throws SpRuntimeException {
+    return eventWriter.writeEvent(event);
+  }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Reads events from any Jackson-supported binary or text format (JSON, CBOR, Smile) token by
+ * token and stores the values directly in the slots of a {@link SlotEvent}, without building an
+ * intermediate map. Values which are not part of a projected layout are skipped without being
+ * decoded.
+ */
+public class JacksonEventReader implements Serializable {
+
+  private final ObjectMapper objectMapper;
+
+  public JacksonEventReader(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public Event readEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    SlotEvent slotEvent = layout.newEvent();
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new SpRuntimeException("Could not convert event, expected an object");
+      }
+      readObject(parser, slotEvent, layout, EventLayout.NO_SLOT);
+      return slotEvent;
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to event data structure", e);
+    }
+  }
+
+  private void readObject(JsonParser parser,
+                          SlotEvent slotEvent,
+                          EventLayout layout,
+                          int parentSlot) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      int slot = layout.childIndexOf(parentSlot, fieldName);
+      if (slot == EventLayout.NO_SLOT) {
+        if (layout.isProjected()) {
+          parser.skipChildren();
+        } else {
+          slotEvent.putUnmappedValue(parentSlot, fieldName, readValue(parser, token));
+        }
+      } else if (token == JsonToken.START_OBJECT && layout.getSlotType(slot) == EventLayout.SlotType.NESTED) {
+        slotEvent.markPresent(slot);
+        readObject(parser, slotEvent, layout, slot);
+      } else {
+        slotEvent.setValue(slot, readValue(parser, token));
+      }
+    }
+  }
+
+  private Object readValue(JsonParser parser, JsonToken token) throws IOException {
+    switch (token) {
+      case VALUE_STRING:
+        return parser.getText();
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        return parser.getNumberValue();
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NULL:
+        return null;
+      default:
+        return objectMapper.readValue(parser, Object.class);
+    }
+  }
+}
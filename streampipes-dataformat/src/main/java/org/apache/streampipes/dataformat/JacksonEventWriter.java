@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes events to any Jackson-supported format (JSON, CBOR, Smile) through a streaming generator.
+ * Output field names are taken from the field names out of the event, so that rename rules are
+ * applied on the fly without converting the event to a map first. Each thread reuses its own
+ * output buffer.
+ */
+public class JacksonEventWriter implements Serializable {
+
+  private static final int INITIAL_BUFFER_SIZE = 512;
+  private static final int LINEAR_SCAN_LIMIT = 16;
+
+  private final ObjectMapper objectMapper;
+  private transient ThreadLocal<ByteArrayBuilder> buffers;
+
+  public JacksonEventWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public byte[] writeEvent(Event event) throws SpRuntimeException {
+    ByteArrayBuilder buffer = getBuffer();
+    try {
+      try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+        writeEvent(generator, event);
+      }
+      return buffer.toByteArray();
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not convert event to byte array", e);
+    } finally {
+      buffer.reset();
+    }
+  }
+
+  private void writeEvent(JsonGenerator generator,
+                          Event event) throws IOException {
+    generator.writeStartObject();
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      SlotEvent slotEvent = (SlotEvent) event;
+      writeSlots(generator, slotEvent, slotEvent.getLayout().getRootSlots(), EventLayout.NO_SLOT);
+    } else {
+      writeFields(generator, event.getFields());
+    }
+    generator.writeEndObject();
+  }
+
+  private ByteArrayBuilder getBuffer() {
+    if (buffers == null) {
+      buffers = ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER_SIZE));
+    }
+    return buffers.get();
+  }
+
+  private void writeSlots(JsonGenerator generator,
+                          SlotEvent event,
+                          int[] slots,
+                          int parentSlot) throws IOException {
+    EventLayout layout = event.getLayout();
+    Map<String, Object> unmappedValues = event.getUnmappedValues(parentSlot);
+    String[] names = new String[slots.length + unmappedValues.size()];
+    int i = 0;
+    for (int slot : slots) {
+      names[i++] = event.hasValue(slot) ? layout.getFieldNameOut(slot) : null;
+    }
+    for (String name : unmappedValues.keySet()) {
+      names[i++] = name;
+    }
+    boolean[] shadowed = findShadowed(names);
+
+    i = 0;
+    for (int slot : slots) {
+      if (isWritten(names, shadowed, i++)) {
+        generator.writeFieldName(layout.getFieldNameOut(slot));
+        if (event.hasNestedValues(slot)) {
+          generator.writeStartObject();
+          writeSlots(generator, event, layout.getChildren(slot), slot);
+          generator.writeEndObject();
+        } else {
+          writeValue(generator, event.getValue(slot));
+        }
+      }
+    }
+    for (Map.Entry<String, Object> entry : unmappedValues.entrySet()) {
+      if (isWritten(names, shadowed, i++)) {
+        generator.writeFieldName(entry.getKey());
+        writeValue(generator, entry.getValue());
+      }
+    }
+  }
+
+  private void writeFields(JsonGenerator generator,
+                           Map<String, AbstractField> fields) throws IOException {
+    String[] names = new String[fields.size()];
+    int i = 0;
+    for (AbstractField field : fields.values()) {
+      names[i++] = field.getFieldNameOut();
+    }
+    boolean[] shadowed = findShadowed(names);
+
+    i = 0;
+    for (AbstractField field : fields.values()) {
+      if (isWritten(names, shadowed, i++)) {
+        generator.writeFieldName(field.getFieldNameOut());
+        writeField(generator, field);
+      }
+    }
+  }
+
+  /**
+   * Rename rules and unmapped values may map several values of an object to the same output name.
+   * As with the map-based conversion, the last value wins, so that no duplicate keys are written.
+   *
+   * @return the positions overridden by a later value, or null if all names are distinct
+   */
+  private boolean[] findShadowed(String[] names) {
+    boolean[] shadowed = null;
+    if (names.length <= LINEAR_SCAN_LIMIT) {
+      for (int i = 0; i < names.length; i++) {
+        for (int j = i + 1; j < names.length && names[i] != null; j++) {
+          if (names[i].equals(names[j])) {
+            shadowed = markShadowed(shadowed, names.length, i);
+            break;
+          }
+        }
+      }
+    } else {
+      Set<String> laterNames = new HashSet<>();
+      for (int i = names.length - 1; i >= 0; i--) {
+        if (names[i] != null && !laterNames.add(names[i])) {
+          shadowed = markShadowed(shadowed, names.length, i);
+        }
+      }
+    }
+    return shadowed;
+  }
+
+  private boolean[] markShadowed(boolean[] shadowed, int length, int position) {
+    boolean[] result = shadowed != null ? shadowed : new boolean[length];
+    result[position] = true;
+    return result;
+  }
+
+  private boolean isWritten(String[] names, boolean[] shadowed, int position) {
+    return names[position] != null && (shadowed == null || !shadowed[position]);
+  }
+
+  private void writeField(JsonGenerator generator,
+                          AbstractField field) throws IOException {
+    if (field instanceof PrimitiveField) {
+      writeValue(generator, field.getRawValue());
+    } else if (field instanceof ListField) {
+      generator.writeStartArray();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        writeField(generator, item);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeStartObject();
+      writeFields(generator, field.getAsComposite().getRawValue());
+      generator.writeEndObject();
+    }
+  }
+
+  private void writeValue(JsonGenerator generator,
+                          Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Integer) {
+      generator.writeNumber((Integer) value);
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double) {
+      generator.writeNumber((Double) value);
+    } else if (value instanceof Float) {
+      generator.writeNumber((Float) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else {
+      objectMapper.writeValue(generator, value);
+    }
+  }
+}
@@ -19,6 +19,10 @@
 package org.apache.streampipes.dataformat;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 
 import java.io.Serializable;
 import java.util.Map;
@@ -28,4 +32,20 @@ public interface SpDataFormatDefinition extends Serializable {
   Map<String, Object> toMap(byte[] event) throws SpRuntimeException;
 
   byte[] fromMap(Map<String, Object> event) throws SpRuntimeException;
+
+  /**
+   * Decodes an event directly into the slots of the given layout. Formats which do not support
+   * streaming decoding fall back to an intermediate map.
+   */
+  default Event toEvent(byte[] event, EventLayout layout) throws SpRuntimeException {
+    return EventFactory.fromMap(toMap(event), layout);
+  }
+
+  /**
+   * Encodes an event using the output names of its fields. Formats which do not support
+   * streaming encoding fall back to an intermediate map.
+   */
+  default byte[] fromEvent(Event event) throws SpRuntimeException {
+    return fromMap(new EventConverter(event).toMap());
+  }
 }
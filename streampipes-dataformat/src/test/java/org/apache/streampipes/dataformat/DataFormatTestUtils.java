@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DataFormatTestUtils {
+
+  private static final String INT_TYPE = "http://www.w3.org/2001/XMLSchema#integer";
+  private static final String STRING_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+
+  public static Collection<Object[]> objectMappers() {
+    return Arrays.asList(new Object[][]{
+        {"json", new ObjectMapper()},
+        {"cbor", new ObjectMapper(new CBORFactory())},
+        {"smile", new ObjectMapper(new SmileFactory())}
+    });
+  }
+
+  /**
+   * Schema: timestamp (int), name (string), tags (list of strings), nested (timestamp, timestamp2).
+   */
+  public static EventLayout makeLayout(List<PropertyRenameRule> renameRules) {
+    List<EventProperty> nestedProperties = Arrays.asList(
+        new EventPropertyPrimitive(INT_TYPE, "timestamp", "", Collections.emptyList()),
+        new EventPropertyPrimitive(INT_TYPE, "timestamp2", "", Collections.emptyList()));
+    EventSchema schema = new EventSchema(Arrays.asList(
+        new EventPropertyPrimitive(INT_TYPE, "timestamp", "", Collections.emptyList()),
+        new EventPropertyPrimitive(STRING_TYPE, "name", "", Collections.emptyList()),
+        new EventPropertyList("tags", new EventPropertyPrimitive(STRING_TYPE, "tag", "", Collections.emptyList())),
+        new EventPropertyNested("nested", nestedProperties)));
+
+    return EventLayout.from(getSourceInfo(), new SchemaInfo(schema, renameRules));
+  }
+
+  public static EventLayout makeLayout() {
+    return makeLayout(Collections.emptyList());
+  }
+
+  public static SourceInfo getSourceInfo() {
+    return new SourceInfo("source", PropertySelectorConstants.FIRST_STREAM_ID_PREFIX);
+  }
+
+  public static Map<String, Object> makeMap() {
+    Map<String, Object> nested = new HashMap<>();
+    nested.put("timestamp", 1);
+    nested.put("timestamp2", 2);
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("timestamp", 1);
+    map.put("name", "sensor");
+    map.put("tags", Arrays.asList("a", "b"));
+    map.put("nested", nested);
+    return map;
+  }
+
+  public static List<String> rootFieldNames(ObjectMapper objectMapper,
+                                            byte[] event) throws IOException {
+    List<String> fieldNames = new ArrayList<>();
+    try (JsonParser parser = objectMapper.getFactory().createParser(event)) {
+      parser.nextToken();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        fieldNames.add(parser.getCurrentName());
+        parser.nextToken();
+        parser.skipChildren();
+      }
+    }
+    return fieldNames;
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(Parameterized.class)
+public class TestJacksonEventReader {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return DataFormatTestUtils.objectMappers();
+  }
+
+  private final ObjectMapper objectMapper;
+  private final JacksonEventReader reader;
+
+  public TestJacksonEventReader(String format, ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.reader = new JacksonEventReader(objectMapper);
+  }
+
+  @Test
+  public void testNestedValues() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    SlotEvent event = read(objectMapper.writeValueAsBytes(DataFormatTestUtils.makeMap()), layout);
+
+    assertEquals(1, event.getInt(layout.indexOf("s0::timestamp")));
+    assertEquals("sensor", event.getString(layout.indexOf("s0::name")));
+    assertTrue(event.hasNestedValues(layout.indexOf("s0::nested")));
+    assertEquals(1, event.getInt(layout.indexOf("s0::nested::timestamp")));
+    assertEquals(2, event.getInt(layout.indexOf("s0::nested::timestamp2")));
+    assertFalse(event.isMaterialized());
+  }
+
+  @Test
+  public void testListValues() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    SlotEvent event = read(objectMapper.writeValueAsBytes(DataFormatTestUtils.makeMap()), layout);
+
+    assertEquals(Arrays.asList("a", "b"), event.getValue(layout.indexOf("s0::tags")));
+    assertEquals("b", event.getFieldBySelector("s0::tags")
+        .getAsList()
+        .getRawValue()
+        .get(1)
+        .getAsPrimitive()
+        .getAsString());
+  }
+
+  @Test
+  public void testNullValues() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    map.put("name", null);
+    map.remove("timestamp");
+    SlotEvent event = read(objectMapper.writeValueAsBytes(map), layout);
+
+    assertTrue(event.hasValue(layout.indexOf("s0::name")));
+    assertNull(event.getValue(layout.indexOf("s0::name")));
+    assertFalse(event.hasValue(layout.indexOf("s0::timestamp")));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUnmappedValues() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    map.put("unknown", Collections.singletonMap("value", 7));
+    ((Map<String, Object>) map.get("nested")).put("unknown2", "x");
+    SlotEvent event = read(objectMapper.writeValueAsBytes(map), layout);
+
+    assertEquals(Collections.singletonMap("value", 7), event.getUnmappedValues(EventLayout.NO_SLOT).get("unknown"));
+    assertEquals("x", event.getUnmappedValues(layout.indexOf("s0::nested")).get("unknown2"));
+    assertTrue(event.getFields().containsKey("s0::unknown"));
+  }
+
+  @Test
+  public void testProjectedLayoutSkipsValues() throws IOException {
+    EventLayout fullLayout = DataFormatTestUtils.makeLayout();
+    EventLayout layout = EventLayout.projected(fullLayout.getSourceInfo(), fullLayout.getSchemaInfo(),
+        Collections.singleton("timestamp"));
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    map.put("unknown", 7);
+    Event event = read(objectMapper.writeValueAsBytes(map), layout);
+
+    assertEquals(1, event.getFields().size());
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::timestamp")
+        .getAsPrimitive()
+        .getAsInt());
+  }
+
+  @Test
+  public void testDuplicateKeys() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeNumberField("timestamp", 1);
+      generator.writeStringField("unknown", "first");
+      generator.writeNumberField("timestamp", 2);
+      generator.writeStringField("unknown", "second");
+      generator.writeEndObject();
+    }
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    SlotEvent event = read(out.toByteArray(), layout);
+
+    assertEquals(2, event.getInt(layout.indexOf("s0::timestamp")));
+    assertEquals("second", event.getUnmappedValues(EventLayout.NO_SLOT).get("unknown"));
+    assertEquals(2, event.getFields().size());
+  }
+
+  @Test
+  public void testInvalidEventKeepsCause() throws IOException {
+    byte[] event = objectMapper.writeValueAsBytes(DataFormatTestUtils.makeMap());
+    try {
+      reader.readEvent(Arrays.copyOf(event, event.length - 1), DataFormatTestUtils.makeLayout());
+      fail("Expected SpRuntimeException");
+    } catch (SpRuntimeException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+  }
+
+  private SlotEvent read(byte[] event, EventLayout layout) {
+    return (SlotEvent) reader.readEvent(event, layout);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.dataformat;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class TestJacksonEventWriter {
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return DataFormatTestUtils.objectMappers();
+  }
+
+  private final ObjectMapper objectMapper;
+  private final JacksonEventReader reader;
+  private final JacksonEventWriter writer;
+
+  public TestJacksonEventWriter(String format, ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.reader = new JacksonEventReader(objectMapper);
+    this.writer = new JacksonEventWriter(objectMapper);
+  }
+
+  @Test
+  public void testSlotEventRoundTrip() throws IOException {
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    SlotEvent event = (SlotEvent) read(map, DataFormatTestUtils.makeLayout());
+
+    assertEquals(map, write(event));
+    assertFalse(event.isMaterialized());
+  }
+
+  @Test
+  public void testMaterializedEventRoundTrip() throws IOException {
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    Event event = read(map, DataFormatTestUtils.makeLayout());
+    event.getFields();
+
+    assertEquals(map, write(event));
+  }
+
+  @Test
+  public void testFieldEventRoundTrip() throws IOException {
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    EventLayout layout = DataFormatTestUtils.makeLayout();
+    Event event = EventFactory.fromMap(map, layout.getSourceInfo(), layout.getSchemaInfo());
+
+    assertEquals(map, write(event));
+  }
+
+  @Test
+  public void testNullAndUnmappedValues() throws IOException {
+    Map<String, Object> nestedUnknown = new HashMap<>();
+    nestedUnknown.put("value", 7);
+    nestedUnknown.put("values", Arrays.asList(1, 2));
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    map.put("name", null);
+    map.put("unknown", nestedUnknown);
+
+    assertEquals(map, write(read(map, DataFormatTestUtils.makeLayout())));
+  }
+
+  @Test
+  public void testRenameRules() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout(Arrays.asList(
+        new PropertyRenameRule("s0::nested", "ns"),
+        new PropertyRenameRule("s0::nested::timestamp2", "ts2")));
+    Event event = read(DataFormatTestUtils.makeMap(), layout);
+
+    Map<String, Object> outMap = write(event);
+
+    assertEquals(Arrays.asList("timestamp", "name", "tags", "ns"),
+        DataFormatTestUtils.rootFieldNames(objectMapper, writer.writeEvent(event)));
+    assertEquals(2, ((Map<?, ?>) outMap.get("ns")).get("ts2"));
+  }
+
+  @Test
+  public void testRenamedSlotsDoNotDuplicateKeys() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout(
+        Collections.singletonList(new PropertyRenameRule("s0::name", "timestamp")));
+
+    assertWrittenLikeEventConverter(layout, DataFormatTestUtils.makeMap(), "timestamp");
+  }
+
+  @Test
+  public void testRenamedSlotAndUnmappedValueDoNotDuplicateKeys() throws IOException {
+    EventLayout layout = DataFormatTestUtils.makeLayout(
+        Collections.singletonList(new PropertyRenameRule("s0::timestamp", "unknown")));
+    Map<String, Object> map = DataFormatTestUtils.makeMap();
+    map.put("unknown", 7);
+
+    assertWrittenLikeEventConverter(layout, map, "unknown");
+  }
+
+  private void assertWrittenLikeEventConverter(EventLayout layout,
+                                               Map<String, Object> map,
+                                               String duplicateName) throws IOException {
+    Map<String, Object> expected = new EventConverter(read(map, layout)).toMap();
+
+    for (Event event : Arrays.asList(read(map, layout), materialized(read(map, layout)))) {
+      byte[] output = writer.writeEvent(event);
+      List<String> fieldNames = DataFormatTestUtils.rootFieldNames(objectMapper, output);
+
+      assertEquals(1, Collections.frequency(fieldNames, duplicateName));
+      assertEquals(expected.size(), fieldNames.size());
+      assertEquals(expected, objectMapper.readValue(output, HashMap.class));
+    }
+  }
+
+  private Event materialized(Event event) {
+    assertTrue(event.getFields().size() > 0);
+    return event;
+  }
+
+  private Event read(Map<String, Object> map, EventLayout layout) throws IOException {
+    return reader.readEvent(objectMapper.writeValueAsBytes(map), layout);
+  }
+
+  private Map<String, Object> write(Event event) throws IOException {
+    return objectMapper.readValue(writer.writeEvent(event), HashMap.class);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.MessageCounter;
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics of a single pipeline element. Counters are striped, so that they can be updated from
+ * multiple consumer threads without contention. Timestamps of the last message are either passed
+ * explicitly or derived from counter changes whenever a snapshot is taken. Gauges are registered
+ * once by the components of the element and survive a reset of the counters.
+ */
+public class ElementMetrics {
+
+  private final Map<String, Counter> messagesIn = new ConcurrentHashMap<>();
+  private volatile Counter messagesOut = new Counter();
+  private volatile LatencyHistogram processingTime = new LatencyHistogram();
+  private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+  public void increaseInCounter(String sourceInfo) {
+    getInCounter(sourceInfo).increment();
+  }
+
+  public void increaseInCounter(String sourceInfo, long timestamp) {
+    getInCounter(sourceInfo).increment(timestamp);
+  }
+
+  public void increaseOutCounter() {
+    messagesOut.increment();
+  }
+
+  public void increaseOutCounter(long timestamp) {
+    messagesOut.increment(timestamp);
+  }
+
+  public void recordProcessingTime(long nanos) {
+    processingTime.record(nanos);
+  }
+
+  public void registerGauge(String name, LongSupplier gauge) {
+    gauges.put(name, gauge);
+  }
+
+  public void unregisterGauges() {
+    gauges.clear();
+  }
+
+  /**
+   * Resets the message counters and the processing time histogram, registered gauges are kept.
+   */
+  public void resetCounters() {
+    messagesIn.clear();
+    messagesOut = new Counter();
+    processingTime = new LatencyHistogram();
+  }
+
+  public LatencyHistogram getProcessingTime() {
+    return processingTime;
+  }
+
+  public Map<String, Long> getGaugeValues() {
+    Map<String, Long> values = new HashMap<>();
+    gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+    return values;
+  }
+
+  public Map<String, Long> getInCounts() {
+    Map<String, Long> values = new HashMap<>();
+    messagesIn.forEach((sourceInfo, counter) -> values.put(sourceInfo, counter.count.sum()));
+    return values;
+  }
+
+  public long getOutCount() {
+    return messagesOut.count.sum();
+  }
+
+  public SpMetricsEntry toMetricsEntry(long now) {
+    SpMetricsEntry entry = new SpMetricsEntry();
+    LatencyHistogram histogram = this.processingTime;
+    long lastTimestamp = 0;
+    for (Map.Entry<String, Counter> in : messagesIn.entrySet()) {
+      MessageCounter counter = in.getValue().snapshot(now);
+      entry.getMessagesIn().put(in.getKey(), counter);
+      lastTimestamp = Math.max(lastTimestamp, counter.getLastTimestamp());
+    }
+    MessageCounter out = messagesOut.snapshot(now);
+    entry.setMessagesOut(out);
+    entry.setLastTimestamp(Math.max(lastTimestamp, out.getLastTimestamp()));
+    entry.setGauges(getGaugeValues());
+    if (histogram.getCount() > 0) {
+      entry.setProcessingTimeMs(makeProcessingTimeInfo(histogram));
+    }
+    return entry;
+  }
+
+  private Map<String, Double> makeProcessingTimeInfo(LatencyHistogram histogram) {
+    Map<String, Double> info = new HashMap<>();
+    info.put("mean", histogram.getMean() / 1_000_000);
+    info.put("p50", histogram.getValueAtPercentile(50) / 1_000_000.0);
+    info.put("p99", histogram.getValueAtPercentile(99) / 1_000_000.0);
+    info.put("max", histogram.getMax() / 1_000_000.0);
+    return info;
+  }
+
+  private Counter getInCounter(String sourceInfo) {
+    Counter counter = messagesIn.get(sourceInfo);
+    return counter != null ? counter : messagesIn.computeIfAbsent(sourceInfo, key -> new Counter());
+  }
+
+  private static class Counter {
+
+    private final LongAdder count = new LongAdder();
+    private volatile long lastTimestamp;
+    private long lastSnapshotCount;
+
+    void increment() {
+      count.increment();
+    }
+
+    void increment(long timestamp) {
+      count.increment();
+      lastTimestamp = timestamp;
+    }
+
+    synchronized MessageCounter snapshot(long now) {
+      long current = count.sum();
+      if (current != lastSnapshotCount) {
+        lastSnapshotCount = current;
+        lastTimestamp = Math.max(lastTimestamp, now);
+      }
+      MessageCounter counter = new MessageCounter();
+      counter.setCounter(current);
+      counter.setLastTimestamp(lastTimestamp);
+      return counter;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import java.util.Map;
+
+/**
+ * Renders the metrics of all pipeline elements in the Prometheus text exposition format.
+ */
+public class PrometheusMetricsWriter {
+
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+  private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+  private final StringBuilder sb = new StringBuilder();
+
+  public String write(Map<String, ElementMetrics> metrics) {
+    writeHeader("sp_messages_in_total", "counter", "Number of messages received by a pipeline element");
+    metrics.forEach((resourceId, elementMetrics) ->
+        elementMetrics.getInCounts().forEach((sourceInfo, count) ->
+            writeSample("sp_messages_in_total", label(resourceId) + ",source=\"" + escape(sourceInfo) + "\"",
+                count)));
+
+    writeHeader("sp_messages_out_total", "counter", "Number of messages produced by a pipeline element");
+    metrics.forEach((resourceId, elementMetrics) ->
+        writeSample("sp_messages_out_total", label(resourceId), elementMetrics.getOutCount()));
+
+    writeHeader("sp_processing_time_seconds", "summary", "Sampled processing time of a pipeline element");
+    metrics.forEach((resourceId, elementMetrics) -> {
+      LatencyHistogram histogram = elementMetrics.getProcessingTime();
+      if (histogram.getCount() > 0) {
+        for (double quantile : QUANTILES) {
+          writeSample("sp_processing_time_seconds", label(resourceId) + ",quantile=\"" + quantile + "\"",
+              histogram.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND);
+        }
+        writeSample("sp_processing_time_seconds_sum", label(resourceId), histogram.getSum() / NANOS_PER_SECOND);
+        writeSample("sp_processing_time_seconds_count", label(resourceId), histogram.getCount());
+      }
+    });
+
+    writeHeader("sp_gauge", "gauge", "Gauges registered by a pipeline element, e.g., queue sizes");
+    metrics.forEach((resourceId, elementMetrics) ->
+        elementMetrics.getGaugeValues().forEach((name, value) ->
+            writeSample("sp_gauge", label(resourceId) + ",name=\"" + escape(name) + "\"", value)));
+
+    return sb.toString();
+  }
+
+  private void writeHeader(String name, String type, String help) {
+    sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private void writeSample(String name, String labels, Number value) {
+    sb.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+
+  private String label(String resourceId) {
+    return "element=\"" + escape(resourceId) + "\"";
+  }
+
+  private String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+}
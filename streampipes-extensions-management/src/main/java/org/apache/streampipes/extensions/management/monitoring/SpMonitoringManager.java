@@ -23,48 +23,79 @@ import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.model.monitoring.SpMetricsEntry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
 public enum SpMonitoringManager {
 
   INSTANCE;
 
   private final Map<String, List<SpLogEntry>> logInfos;
-  private final Map<String, SpMetricsEntry> metricsInfos;
+  private final Map<String, ElementMetrics> metrics;
 
   SpMonitoringManager() {
-    this.logInfos = new HashMap<>();
-    this.metricsInfos = new HashMap<>();
+    this.logInfos = new ConcurrentHashMap<>();
+    this.metrics = new ConcurrentHashMap<>();
   }
 
   public void addErrorMessage(String resourceId,
                               SpLogEntry errorMessageEntry) {
-    if (!logInfos.containsKey(resourceId)) {
-      logInfos.put(resourceId, new ArrayList<>());
-    }
-    this.logInfos.get(resourceId).add(0, errorMessageEntry);
+    this.logInfos
+        .computeIfAbsent(resourceId, key -> Collections.synchronizedList(new ArrayList<>()))
+        .add(0, errorMessageEntry);
+  }
+
+  /**
+   * Increases the input counter without an explicit timestamp, the timestamp of the last message
+   * is derived when the metrics are requested.
+   */
+  public void increaseInCounter(String resourceId,
+                                String sourceInfo) {
+    getElementMetrics(resourceId).increaseInCounter(sourceInfo);
   }
 
   public void increaseInCounter(String resourceId,
                                 String sourceInfo,
                                 long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addInMetrics(sourceInfo, timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    getElementMetrics(resourceId).increaseInCounter(sourceInfo, timestamp);
   }
 
+  public void increaseOutCounter(String resourceId) {
+    getElementMetrics(resourceId).increaseOutCounter();
+  }
 
   public void increaseOutCounter(String resourceId,
                                  long timestamp) {
-    var currentEntry = getMetricsEntry(resourceId, timestamp);
-    currentEntry.addOutMetrics(timestamp);
-    this.metricsInfos.put(resourceId, currentEntry);
+    getElementMetrics(resourceId).increaseOutCounter(timestamp);
+  }
+
+  public void recordProcessingTime(String resourceId,
+                                   long nanos) {
+    getElementMetrics(resourceId).recordProcessingTime(nanos);
+  }
+
+  public void registerGauge(String resourceId,
+                            String name,
+                            LongSupplier gauge) {
+    getElementMetrics(resourceId).registerGauge(name, gauge);
+  }
+
+  /**
+   * Removes all gauges of the given element, e.g., once its components have been stopped.
+   */
+  public void unregisterGauges(String resourceId) {
+    getElementMetrics(resourceId).unregisterGauges();
   }
 
+  /**
+   * Resets the counters of the given element. Gauges registered by the running element are kept.
+   */
   public void resetCounter(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+    getElementMetrics(resourceId).resetCounters();
   }
 
   public void resetLogs(String resourceId) {
@@ -78,13 +109,11 @@ public enum SpMonitoringManager {
     this.resetLogs(resourceId);
   }
 
-  public SpMetricsEntry getMetricsEntry(String resourceId,
-                                        long timestamp) {
-    checkAndPrepareMetrics(resourceId);
-    var currentEntry = this.metricsInfos.get(resourceId);
-    currentEntry.setLastTimestamp(timestamp);
-
-    return currentEntry;
+  public ElementMetrics getElementMetrics(String resourceId) {
+    ElementMetrics elementMetrics = metrics.get(resourceId);
+    return elementMetrics != null
+        ? elementMetrics
+        : metrics.computeIfAbsent(resourceId, key -> new ElementMetrics());
   }
 
   public Map<String, List<SpLogEntry>> getAllLogs() {
@@ -92,24 +121,25 @@ public enum SpMonitoringManager {
   }
 
   public Map<String, SpMetricsEntry> getAllMetrics() {
-    return this.metricsInfos;
+    long now = System.currentTimeMillis();
+    Map<String, SpMetricsEntry> metricsInfos = new HashMap<>();
+    metrics.forEach((resourceId, elementMetrics) -> metricsInfos.put(resourceId,
+        elementMetrics.toMetricsEntry(now)));
+    return metricsInfos;
   }
 
-  public SpEndpointMonitoringInfo getMonitoringInfo() {
-    return new SpEndpointMonitoringInfo(logInfos, metricsInfos);
+  public Map<String, ElementMetrics> getAllElementMetrics() {
+    return metrics;
   }
 
-  private void checkAndPrepareMetrics(String resourceId) {
-    if (!metricsInfos.containsKey(resourceId)) {
-      addMetricsObject(resourceId);
-    }
+  public SpEndpointMonitoringInfo getMonitoringInfo() {
+    return new SpEndpointMonitoringInfo(logInfos, getAllMetrics());
   }
 
-  private void addMetricsObject(String resourceId) {
-    this.metricsInfos.put(resourceId, new SpMetricsEntry());
+  public String getPrometheusMetrics() {
+    return new PrometheusMetricsWriter().write(metrics);
   }
 
-
   public void clearAllLogs() {
     logInfos.forEach((key, value) -> value.clear());
   }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.apache.streampipes.model.monitoring.SpMetricsEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElementMetricsTest {
+
+  @Test
+  public void resetKeepsGauges() {
+    var metrics = new ElementMetrics();
+    metrics.registerGauge("queue_size", () -> 3);
+    metrics.increaseInCounter("s0");
+    metrics.increaseOutCounter();
+    metrics.recordProcessingTime(1000);
+
+    metrics.resetCounters();
+    SpMetricsEntry entry = metrics.toMetricsEntry(System.currentTimeMillis());
+
+    assertEquals(Long.valueOf(3), entry.getGauges().get("queue_size"));
+    assertTrue(entry.getMessagesIn().isEmpty());
+    assertEquals(0, entry.getMessagesOut().getCounter());
+    assertTrue(entry.getProcessingTimeMs().isEmpty());
+  }
+
+  @Test
+  public void countsAfterReset() {
+    var metrics = new ElementMetrics();
+    metrics.increaseInCounter("s0");
+    metrics.resetCounters();
+    metrics.increaseInCounter("s0");
+    metrics.increaseOutCounter();
+
+    assertEquals(Long.valueOf(1), metrics.getInCounts().get("s0"));
+    assertEquals(1, metrics.getOutCount());
+  }
+
+  @Test
+  public void unregisterGauges() {
+    var metrics = new ElementMetrics();
+    metrics.registerGauge("queue_size", () -> 3);
+    metrics.unregisterGauges();
+
+    assertTrue(metrics.getGaugeValues().isEmpty());
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.extensions.management.monitoring;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketBoundaries() {
+    for (long value : new long[]{0, 1, 7, 8, 15, 16, 1000, 123456789, Long.MAX_VALUE}) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue(value <= LatencyHistogram.highestValueOf(index));
+      if (index > 0) {
+        assertTrue(value > LatencyHistogram.highestValueOf(index - 1));
+      }
+    }
+  }
+
+  @Test
+  public void percentiles() {
+    var histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMax());
+    assertWithinPrecision(500_000, histogram.getValueAtPercentile(50));
+    assertWithinPrecision(990_000, histogram.getValueAtPercentile(99));
+    assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+  }
+
+  private void assertWithinPrecision(long expected, long actual) {
+    assertTrue(actual >= expected && actual <= expected * 1.125);
+  }
+}
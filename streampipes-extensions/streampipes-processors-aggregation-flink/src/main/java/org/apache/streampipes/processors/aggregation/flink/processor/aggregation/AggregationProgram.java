@@ -23,16 +23,13 @@ import org.apache.streampipes.extensions.management.config.ConfigExtractor;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.aggregation.flink.AbstractAggregationProgram;
 
-import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
 import org.apache.flink.streaming.api.datastream.KeyedStream;
 import org.apache.flink.streaming.api.windowing.assigners.SlidingEventTimeWindows;
 import org.apache.flink.streaming.api.windowing.time.Time;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class AggregationProgram extends AbstractAggregationProgram<AggregationParameters> {
 
@@ -48,9 +45,14 @@ public class AggregationProgram extends AbstractAggregationProgram<AggregationPa
     return getKeyedStream(dataStreams[0]);
   }
 
+  @Override
+  protected List<String> getPartitionKeys(int streamIndex) {
+    return bindingParams.getGroupBy();
+  }
+
   private DataStream<Event> getKeyedStream(DataStream<Event> dataStream) {
     if (bindingParams.getGroupBy().size() > 0) {
-      KeyedStream<Event, Map<String, String>> keyedStream = dataStream.keyBy(getKeySelector());
+      KeyedStream<Event, String> keyedStream = asKeyedStream(dataStream);
       if (bindingParams.getTimeWindow()) {
         return keyedStream
             .window(SlidingEventTimeWindows.of(Time.seconds(bindingParams.getWindowSize()),
@@ -75,18 +77,4 @@ public class AggregationProgram extends AbstractAggregationProgram<AggregationPa
       }
     }
   }
-
-  private KeySelector<Event, Map<String, String>> getKeySelector() {
-    List<String> groupBy = bindingParams.getGroupBy();
-    return new KeySelector<Event, Map<String, String>>() {
-      @Override
-      public Map<String, String> getKey(Event event) throws Exception {
-        Map<String, String> keys = new HashMap<>();
-        for (String groupBy : groupBy) {
-          keys.put(groupBy, event.getFieldBySelector(groupBy).getAsPrimitive().getAsString());
-        }
-        return keys;
-      }
-    };
-  }
 }
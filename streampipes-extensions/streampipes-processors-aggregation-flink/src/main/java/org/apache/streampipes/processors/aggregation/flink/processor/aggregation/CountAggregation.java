@@ -26,10 +26,9 @@ import org.apache.flink.streaming.api.windowing.windows.GlobalWindow;
 import org.apache.flink.util.Collector;
 
 import java.util.List;
-import java.util.Map;
 
 public class CountAggregation extends Aggregation
-    implements WindowFunction<Event, Event, Map<String, String>, GlobalWindow>,
+    implements WindowFunction<Event, Event, String, GlobalWindow>,
     AllWindowFunction<Event, Event, GlobalWindow> {
 
   // Keyed stream
@@ -44,7 +43,7 @@ public class CountAggregation extends Aggregation
   }
 
   @Override
-  public void apply(Map<String, String> keys, GlobalWindow window, Iterable<Event> input, Collector<Event> out) {
+  public void apply(String key, GlobalWindow window, Iterable<Event> input, Collector<Event> out) {
     process(input, out);
   }
 
@@ -26,10 +26,9 @@ import org.apache.flink.streaming.api.windowing.windows.TimeWindow;
 import org.apache.flink.util.Collector;
 
 import java.util.List;
-import java.util.Map;
 
 public class TimeAggregation extends Aggregation
-    implements WindowFunction<Event, Event, Map<String, String>, TimeWindow>,
+    implements WindowFunction<Event, Event, String, TimeWindow>,
     AllWindowFunction<Event, Event, TimeWindow> {
 
   // Keyed stream
@@ -43,7 +42,7 @@ public class TimeAggregation extends Aggregation
   }
 
   @Override
-  public void apply(Map<String, String> keys, TimeWindow window, Iterable<Event> input, Collector<Event> out) {
+  public void apply(String key, TimeWindow window, Iterable<Event> input, Collector<Event> out) {
     process(input, out);
   }
 
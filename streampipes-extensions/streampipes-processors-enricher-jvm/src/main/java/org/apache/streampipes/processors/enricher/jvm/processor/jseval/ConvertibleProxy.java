@@ -16,9 +16,17 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericalfilter;
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
 
-public enum NumericalOperator {
-  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
-  GE, GT, LE, LT, EQ, IE
+import org.graalvm.polyglot.proxy.ProxyObject;
+
+import java.util.Map;
+
+/**
+ * Object exposed to JavaScript which can be converted back to plain Java objects including all
+ * members written by the script.
+ */
+interface ConvertibleProxy extends ProxyObject {
+
+  Map<String, Object> toMap();
 }
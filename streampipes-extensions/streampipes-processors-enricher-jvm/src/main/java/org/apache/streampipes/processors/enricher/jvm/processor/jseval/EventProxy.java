@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exposes the fields of an event to JavaScript without converting the event to a map first.
+ * Members are resolved by their selector when the script reads them. Members written or deleted
+ * by the script are kept in an overlay, so that the event itself is not modified.
+ */
+public class EventProxy implements ConvertibleProxy {
+
+  private final Map<String, AbstractField> fields;
+  private final String selectorBase;
+  private Map<String, AbstractField> fieldsByName;
+  private Map<String, Object> writtenMembers;
+  private Map<String, Object> nestedMembers;
+  private Set<String> removedMembers;
+
+  public EventProxy(Map<String, AbstractField> fields, String selectorBase) {
+    this.fields = fields;
+    this.selectorBase = selectorBase;
+  }
+
+  @Override
+  public Object getMember(String key) {
+    if (writtenMembers != null && writtenMembers.containsKey(key)) {
+      return writtenMembers.get(key);
+    }
+    AbstractField field = findField(key);
+    if (field == null) {
+      return null;
+    } else if (field instanceof PrimitiveField) {
+      return field.getRawValue();
+    }
+    // keep nested proxies, so that changes made by the script are visible in the result
+    if (nestedMembers == null) {
+      nestedMembers = new LinkedHashMap<>();
+    }
+    return nestedMembers.computeIfAbsent(key, k -> toProxy(field, selectorBase + "::" + k));
+  }
+
+  @Override
+  public Object getMemberKeys() {
+    return ProxyArray.fromList(new ArrayList<>(getKeys()));
+  }
+
+  @Override
+  public boolean hasMember(String key) {
+    return (writtenMembers != null && writtenMembers.containsKey(key)) || findField(key) != null;
+  }
+
+  @Override
+  public void putMember(String key, Value value) {
+    if (writtenMembers == null) {
+      writtenMembers = new LinkedHashMap<>();
+    }
+    writtenMembers.put(key, value);
+  }
+
+  @Override
+  public boolean removeMember(String key) {
+    boolean existed = hasMember(key);
+    if (writtenMembers != null) {
+      writtenMembers.remove(key);
+    }
+    if (nestedMembers != null) {
+      nestedMembers.remove(key);
+    }
+    if (removedMembers == null) {
+      removedMembers = new HashSet<>();
+    }
+    removedMembers.add(key);
+    return existed;
+  }
+
+  /**
+   * Converts the proxy including all members written by the script to plain Java objects.
+   */
+  @Override
+  public Map<String, Object> toMap() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    for (String key : getKeys()) {
+      result.put(key, toJava(getMember(key)));
+    }
+    return result;
+  }
+
+  private Set<String> getKeys() {
+    Set<String> keys = new LinkedHashSet<>();
+    for (AbstractField field : fields.values()) {
+      if (removedMembers == null || !removedMembers.contains(field.getFieldNameIn())) {
+        keys.add(field.getFieldNameIn());
+      }
+    }
+    if (writtenMembers != null) {
+      keys.addAll(writtenMembers.keySet());
+    }
+    return keys;
+  }
+
+  private AbstractField findField(String key) {
+    if (removedMembers != null && removedMembers.contains(key)) {
+      return null;
+    }
+    AbstractField field = fields.get(selectorBase + "::" + key);
+    if (field == null) {
+      // events created outside the runtime may not use selectors as keys
+      return getFieldsByName().get(key);
+    }
+    return field;
+  }
+
+  private Map<String, AbstractField> getFieldsByName() {
+    if (fieldsByName == null) {
+      fieldsByName = new HashMap<>();
+      for (AbstractField field : fields.values()) {
+        fieldsByName.putIfAbsent(field.getFieldNameIn(), field);
+      }
+    }
+    return fieldsByName;
+  }
+
+  private static Object toProxy(AbstractField field, String selector) {
+    if (field instanceof PrimitiveField) {
+      return field.getRawValue();
+    } else if (field instanceof ListField) {
+      List<AbstractField> listItems = field.getAsList().getRawValue();
+      List<Object> items = new ArrayList<>(listItems.size());
+      for (int i = 0; i < listItems.size(); i++) {
+        items.add(toProxy(listItems.get(i), selector + "::" + i));
+      }
+      return ProxyArray.fromList(items);
+    } else {
+      return new EventProxy(field.getAsComposite().getRawValue(), selector);
+    }
+  }
+
+  static Object toJava(Object member) {
+    if (member instanceof Value) {
+      return JSValueConverter.toJava((Value) member);
+    } else if (member instanceof ConvertibleProxy) {
+      return ((ConvertibleProxy) member).toMap();
+    } else if (member instanceof ProxyArray) {
+      ProxyArray array = (ProxyArray) member;
+      List<Object> items = new ArrayList<>((int) array.getSize());
+      for (long i = 0; i < array.getSize(); i++) {
+        items.add(toJava(array.get(i)));
+      }
+      return items;
+    } else {
+      return member;
+    }
+  }
+}
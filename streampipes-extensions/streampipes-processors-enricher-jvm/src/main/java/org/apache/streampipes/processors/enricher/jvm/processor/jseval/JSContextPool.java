@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of JavaScript contexts which evaluate the same function. All contexts share one engine, so
+ * that the parsed and compiled code is cached across contexts and processor instances. Contexts
+ * are created lazily and can be used by one thread at a time.
+ */
+public class JSContextPool implements AutoCloseable {
+
+  private static final Engine ENGINE = Engine.create();
+
+  private final Source source;
+  private final int maxSize;
+  private final BlockingQueue<JSFunction> idleFunctions;
+  private final AtomicInteger created = new AtomicInteger(1);
+  private volatile boolean closed = false;
+
+  public JSContextPool(String code, int maxSize) {
+    this.source = Source.create("js", "(" + code + ")");
+    this.maxSize = maxSize;
+    this.idleFunctions = new ArrayBlockingQueue<>(maxSize);
+    // evaluate the first context eagerly so that syntax errors are reported at invocation time
+    this.idleFunctions.add(makeFunction());
+  }
+
+  public JSFunction acquire() throws SpRuntimeException {
+    JSFunction function = idleFunctions.poll();
+    if (function != null) {
+      return function;
+    }
+    if (created.getAndUpdate(count -> count < maxSize ? count + 1 : count) < maxSize) {
+      return makeFunction();
+    }
+    try {
+      return idleFunctions.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a JavaScript context", e);
+    }
+  }
+
+  public void release(JSFunction function) {
+    if (closed || !idleFunctions.offer(function)) {
+      function.close();
+    }
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    JSFunction function;
+    while ((function = idleFunctions.poll()) != null) {
+      function.close();
+    }
+  }
+
+  private JSFunction makeFunction() {
+    Context context = Context.newBuilder("js").engine(ENGINE).build();
+    return new JSFunction(context, context.eval(source));
+  }
+
+  public static final class JSFunction {
+
+    private final Context context;
+    private final Value function;
+
+    private JSFunction(Context context, Value function) {
+      this.context = context;
+      this.function = function;
+    }
+
+    public Value execute(Object... arguments) {
+      return function.execute(arguments);
+    }
+
+    private void close() {
+      context.close();
+    }
+  }
+}
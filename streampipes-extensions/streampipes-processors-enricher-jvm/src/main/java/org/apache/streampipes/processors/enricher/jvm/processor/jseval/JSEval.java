@@ -19,11 +19,11 @@ package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SlotEvent;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
-import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyObject;
 
@@ -31,40 +31,59 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class JSEval implements EventProcessor<JSEvalParameters> {
-  private Context polyglot;
-  private Value function;
+
+  // events are processed one at a time, partitions processed in parallel use their own instance
+  private static final int MAX_CONTEXTS = 1;
+
+  private JSContextPool contextPool;
 
   @Override
   public void onInvocation(JSEvalParameters parameters, SpOutputCollector spOutputCollector,
                            EventProcessorRuntimeContext runtimeContext) throws SpRuntimeException {
-    polyglot = Context.create();
-    String code = parameters.getCode();
-    function = polyglot.eval("js", "(" + code + ")");
+    contextPool = new JSContextPool(parameters.getCode(), MAX_CONTEXTS);
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector outputCollector) throws SpRuntimeException {
     // create new event with input event's source info and schema info.
     Event outEvent = new Event(new HashMap<>(), event.getSourceInfo(), event.getSchemaInfo());
+    JSContextPool.JSFunction function = contextPool.acquire();
     try {
-
-      final Map<String, Object> eventData = event.getRaw();
-
-      Object result = function.execute(ProxyObject.fromMap(eventData));
-      Map<String, Object> resultEvent = ((Value) result).as(java.util.Map.class);
+      Map<String, Object> resultEvent = toResultMap(function.execute(makeProxy(event)));
       if (resultEvent != null) {
         resultEvent.forEach(outEvent::addField);
         outputCollector.collect(outEvent);
       }
+    } finally {
+      contextPool.release(function);
+    }
+  }
+
+  /**
+   * Exposes slot events through their layout, so that they do not need to be materialized.
+   */
+  static ProxyObject makeProxy(Event event) {
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      return new SlotEventProxy((SlotEvent) event);
+    }
+    return new EventProxy(event.getFields(), event.getSourceInfo().getSelectorPrefix());
+  }
 
-    } catch (ClassCastException e) {
+  static Map<String, Object> toResultMap(Value result) {
+    if (result.isNull()) {
+      return null;
+    } else if (result.isProxyObject() && result.asProxyObject() instanceof ConvertibleProxy) {
+      return ((ConvertibleProxy) result.asProxyObject()).toMap();
+    } else if (result.hasMembers() && !result.hasArrayElements() && !result.isHostObject()) {
+      return JSValueConverter.toMap(result);
+    } else {
       throw new SpRuntimeException("`process` method must return a map with new event data.");
     }
   }
 
   @Override
   public void onDetach() {
-    // do nothing.
+    contextPool.close();
   }
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes a copy of a map value of an event to JavaScript, so that the event itself is not modified.
+ */
+class MapProxy implements ConvertibleProxy {
+
+  private final Map<String, Object> members = new LinkedHashMap<>();
+
+  MapProxy(Map<?, ?> value) {
+    value.forEach((key, member) -> members.put(String.valueOf(key), toProxy(member)));
+  }
+
+  /**
+   * Wraps map and list values into proxies which copy them, other values are returned as they are.
+   */
+  static Object toProxy(Object value) {
+    if (value instanceof Map) {
+      return new MapProxy((Map<?, ?>) value);
+    } else if (value instanceof List) {
+      List<?> values = (List<?>) value;
+      List<Object> items = new ArrayList<>(values.size());
+      for (Object item : values) {
+        items.add(toProxy(item));
+      }
+      return ProxyArray.fromList(items);
+    } else {
+      return value;
+    }
+  }
+
+  @Override
+  public Object getMember(String key) {
+    return members.get(key);
+  }
+
+  @Override
+  public Object getMemberKeys() {
+    return ProxyArray.fromList(new ArrayList<>(members.keySet()));
+  }
+
+  @Override
+  public boolean hasMember(String key) {
+    return members.containsKey(key);
+  }
+
+  @Override
+  public void putMember(String key, Value value) {
+    members.put(key, value);
+  }
+
+  @Override
+  public boolean removeMember(String key) {
+    boolean existed = members.containsKey(key);
+    members.remove(key);
+    return existed;
+  }
+
+  @Override
+  public Map<String, Object> toMap() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    members.forEach((key, member) -> result.put(key, EventProxy.toJava(member)));
+    return result;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exposes the values of a slot event to JavaScript through the layout of the event, so that the
+ * event is not materialized into fields. Members written or deleted by the script are kept in an
+ * overlay, so that the event itself is not modified.
+ */
+public class SlotEventProxy implements ConvertibleProxy {
+
+  private final SlotEvent event;
+  private final int parentSlot;
+  private Map<String, Object> writtenMembers;
+  private Map<String, Object> nestedMembers;
+  private Set<String> removedMembers;
+
+  public SlotEventProxy(SlotEvent event) {
+    this(event, EventLayout.NO_SLOT);
+  }
+
+  private SlotEventProxy(SlotEvent event, int parentSlot) {
+    this.event = event;
+    this.parentSlot = parentSlot;
+  }
+
+  @Override
+  public Object getMember(String key) {
+    if (writtenMembers != null && writtenMembers.containsKey(key)) {
+      return writtenMembers.get(key);
+    }
+    if (isRemoved(key)) {
+      return null;
+    }
+    if (nestedMembers != null && nestedMembers.containsKey(key)) {
+      return nestedMembers.get(key);
+    }
+    int slot = findSlot(key);
+    Object value;
+    if (slot == EventLayout.NO_SLOT) {
+      value = event.getUnmappedValues(parentSlot).get(key);
+    } else if (event.hasNestedValues(slot)) {
+      return addNestedMember(key, new SlotEventProxy(event, slot));
+    } else {
+      value = event.getValue(slot);
+    }
+    // keep nested proxies, so that changes made by the script are visible in the result
+    Object member = MapProxy.toProxy(value);
+    return member != value ? addNestedMember(key, member) : value;
+  }
+
+  @Override
+  public Object getMemberKeys() {
+    return ProxyArray.fromList(new ArrayList<>(getKeys()));
+  }
+
+  @Override
+  public boolean hasMember(String key) {
+    if (writtenMembers != null && writtenMembers.containsKey(key)) {
+      return true;
+    } else if (isRemoved(key)) {
+      return false;
+    }
+    int slot = findSlot(key);
+    return slot != EventLayout.NO_SLOT
+        ? event.hasValue(slot)
+        : event.getUnmappedValues(parentSlot).containsKey(key);
+  }
+
+  @Override
+  public void putMember(String key, Value value) {
+    if (writtenMembers == null) {
+      writtenMembers = new LinkedHashMap<>();
+    }
+    writtenMembers.put(key, value);
+  }
+
+  @Override
+  public boolean removeMember(String key) {
+    boolean existed = hasMember(key);
+    if (writtenMembers != null) {
+      writtenMembers.remove(key);
+    }
+    if (nestedMembers != null) {
+      nestedMembers.remove(key);
+    }
+    if (removedMembers == null) {
+      removedMembers = new HashSet<>();
+    }
+    removedMembers.add(key);
+    return existed;
+  }
+
+  @Override
+  public Map<String, Object> toMap() {
+    Map<String, Object> result = new LinkedHashMap<>();
+    for (String key : getKeys()) {
+      result.put(key, EventProxy.toJava(getMember(key)));
+    }
+    return result;
+  }
+
+  private Set<String> getKeys() {
+    EventLayout layout = event.getLayout();
+    int[] slots = parentSlot == EventLayout.NO_SLOT ? layout.getRootSlots() : layout.getChildren(parentSlot);
+    Set<String> keys = new LinkedHashSet<>();
+    for (int slot : slots) {
+      if (event.hasValue(slot) && !isRemoved(layout.getRuntimeName(slot))) {
+        keys.add(layout.getRuntimeName(slot));
+      }
+    }
+    for (String key : event.getUnmappedValues(parentSlot).keySet()) {
+      if (!isRemoved(key)) {
+        keys.add(key);
+      }
+    }
+    if (writtenMembers != null) {
+      keys.addAll(writtenMembers.keySet());
+    }
+    return keys;
+  }
+
+  private int findSlot(String key) {
+    EventLayout layout = event.getLayout();
+    return parentSlot == EventLayout.NO_SLOT ? layout.rootIndexOf(key) : layout.childIndexOf(parentSlot, key);
+  }
+
+  private boolean isRemoved(String key) {
+    return removedMembers != null && removedMembers.contains(key);
+  }
+
+  private Object addNestedMember(String key, Object member) {
+    if (nestedMembers == null) {
+      nestedMembers = new LinkedHashMap<>();
+    }
+    nestedMembers.put(key, member);
+    return member;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestEventProxy {
+
+  @Test
+  public void testReadMembers() {
+    Map<String, Object> result = evaluate("function(e) { return {a: e.a, x: e.nested.x, first: e.list[0], "
+        + "size: e.list.length, v: e.items[1].v, missing: e.missing}; }", makeEvent());
+
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("a", 1);
+    expected.put("x", "y");
+    expected.put("first", 1);
+    expected.put("size", 3);
+    expected.put("v", 2);
+    expected.put("missing", null);
+    assertEquals(expected, result);
+  }
+
+  @Test
+  public void testWrittenMembersDoNotModifyEvent() {
+    Event event = makeEvent();
+    Map<String, Object> result = evaluate("function(e) { e.a = 5; e.added = 'z'; return e; }", event);
+
+    assertEquals(Arrays.asList("a", "nested", "list", "items", "added"), new ArrayList<>(result.keySet()));
+    assertEquals(5, result.get("a"));
+    assertEquals("z", result.get("added"));
+    assertEquals(1, event.getFieldByRuntimeName("a").getAsPrimitive().getAsInt().intValue());
+  }
+
+  @Test
+  public void testRemovedMembers() {
+    Map<String, Object> result = evaluate("function(e) { delete e.a; delete e.list; e.hasA = ('a' in e); "
+        + "return e; }", makeEvent());
+
+    assertEquals(Arrays.asList("nested", "items", "hasA"), new ArrayList<>(result.keySet()));
+    assertEquals(false, result.get("hasA"));
+  }
+
+  @Test
+  public void testRemovedMemberCanBeWrittenAgain() {
+    Map<String, Object> result = evaluate("function(e) { delete e.a; e.a = 3; return e; }", makeEvent());
+
+    assertEquals(Arrays.asList("nested", "list", "items", "a"), new ArrayList<>(result.keySet()));
+    assertEquals(3, result.get("a"));
+  }
+
+  @Test
+  public void testNestedMembers() {
+    Map<String, Object> result = evaluate("function(e) { e.nested.count = 2; delete e.nested.x; "
+        + "e.items[0].v = 10; return e; }", makeEvent());
+
+    assertEquals(Map.of("count", 2), result.get("nested"));
+    assertEquals(Arrays.asList(Map.of("v", 10), Map.of("v", 2)), result.get("items"));
+  }
+
+  @Test
+  public void testLists() {
+    Map<String, Object> result = evaluate("function(e) { e.list[0] = 'first'; "
+        + "e.copy = Array.prototype.slice.call(e.list, 1); return e; }", makeEvent());
+
+    assertEquals(Arrays.asList("first", 2, 3), result.get("list"));
+    assertEquals(Arrays.asList(2, 3), result.get("copy"));
+  }
+
+  @Test
+  public void testReturnNewObject() {
+    Map<String, Object> result = evaluate("function(e) { return {sum: e.a + e.list[2], nested: e.nested}; }",
+        makeEvent());
+
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("sum", 4);
+    expected.put("nested", Map.of("x", "y"));
+    assertEquals(expected, result);
+  }
+
+  @Test
+  public void testFieldsWithoutSelectors() {
+    Event event = new Event(new HashMap<>(), new SourceInfo("source", "s0"),
+        new SchemaInfo(null, new ArrayList<>()));
+    event.addField("a", 1);
+
+    Map<String, Object> result = evaluate("function(e) { e.b = e.a + 1; return e; }", event);
+
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("a", 1);
+    expected.put("b", 2);
+    assertEquals(expected, result);
+  }
+
+  @Test
+  public void testReturnNull() {
+    assertNull(evaluate("function(e) { return null; }", makeEvent()));
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testReturnArray() {
+    evaluate("function(e) { return [e.a]; }", makeEvent());
+  }
+
+  private static Event makeEvent() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put("nested", Map.of("x", "y"));
+    map.put("list", Arrays.asList(1, 2, 3));
+    map.put("items", Arrays.asList(Map.of("v", 1), Map.of("v", 2)));
+    return EventFactory.fromMap(map, new SourceInfo("source", "s0"), new SchemaInfo(null, new ArrayList<>()));
+  }
+
+  private static Map<String, Object> evaluate(String code, Event event) {
+    try (JSContextPool pool = new JSContextPool(code, 1)) {
+      JSContextPool.JSFunction function = pool.acquire();
+      try {
+        EventProxy proxy = new EventProxy(event.getFields(), event.getSourceInfo().getSelectorPrefix());
+        return JSEval.toResultMap(function.execute(proxy));
+      } finally {
+        pool.release(function);
+      }
+    }
+  }
+}
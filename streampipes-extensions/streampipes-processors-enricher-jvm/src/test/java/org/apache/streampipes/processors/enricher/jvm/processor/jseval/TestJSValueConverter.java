@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.model.runtime.EventFactory;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestJSValueConverter {
+
+  @Test
+  public void testPrimitives() {
+    assertEquals(1, evaluate("1"));
+    assertEquals(2, evaluate("2.0"));
+    assertEquals(3000000000L, evaluate("3000000000"));
+    assertEquals(1.5, evaluate("1.5"));
+    assertEquals("text", evaluate("'text'"));
+    assertEquals(true, evaluate("true"));
+    assertNull(evaluate("null"));
+    assertNull(evaluate("undefined"));
+  }
+
+  @Test
+  public void testArrays() {
+    List<Object> expected = Arrays.asList(1, "y", null, Arrays.asList(true, false));
+
+    assertEquals(expected, evaluate("[1, 'y', null, [true, false]]"));
+  }
+
+  @Test
+  public void testObjects() {
+    Map<String, Object> nested = new LinkedHashMap<>();
+    nested.put("k", Arrays.asList(Map.of("z", 2)));
+    nested.put("n", null);
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("b", 1.5);
+    expected.put("a", nested);
+
+    Object result = evaluate("({b: 1.5, a: {k: [{z: 2}], n: null}})");
+
+    assertEquals(expected, result);
+    // keys keep the order in which the script defined them
+    assertEquals(Arrays.asList("b", "a"), Arrays.asList(((Map<?, ?>) result).keySet().toArray()));
+  }
+
+  @Test
+  public void testProxyMembers() {
+    Map<String, Object> expected = Map.of("nested", Map.of("x", "y"));
+
+    assertEquals(expected, evaluate("function(e) { return {nested: e}; }", Map.of("x", "y")));
+  }
+
+  private static Object evaluate(String expression) {
+    return evaluate("function(e) { return " + expression + "; }", Map.of());
+  }
+
+  private static Object evaluate(String code, Map<String, Object> event) {
+    try (JSContextPool pool = new JSContextPool(code, 1)) {
+      JSContextPool.JSFunction function = pool.acquire();
+      try {
+        EventProxy proxy = new EventProxy(EventFactory.fromMap(event).getFields(), "o");
+        // the converted result must stay usable after the context is closed
+        return JSValueConverter.toJava(function.execute(proxy));
+      } finally {
+        pool.release(function);
+      }
+    }
+  }
+}
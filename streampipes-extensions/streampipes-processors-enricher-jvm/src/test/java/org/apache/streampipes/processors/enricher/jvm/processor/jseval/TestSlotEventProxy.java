@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.enricher.jvm.processor.jseval;
+
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestSlotEventProxy {
+
+  private static final String INT_TYPE = "http://www.w3.org/2001/XMLSchema#integer";
+  private static final String STRING_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+
+  @Test
+  public void testSlotEventsAreNotMaterialized() {
+    SlotEvent event = makeEvent();
+
+    assertTrue(JSEval.makeProxy(event) instanceof SlotEventProxy);
+    evaluate("function(e) { e.b = e.a + e.nested.x.length + e.list[0] + e.extra; return e; }", event);
+
+    assertFalse(event.isMaterialized());
+  }
+
+  @Test
+  public void testReadMembers() {
+    Map<String, Object> result = evaluate("function(e) { return {a: e.a, x: e.nested.x, first: e.list[0], "
+        + "size: e.list.length, v: e.items[1].v, extra: e.extra, missing: e.missing}; }", makeEvent());
+
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("a", 1);
+    expected.put("x", "y");
+    expected.put("first", 1);
+    expected.put("size", 3);
+    expected.put("v", 2);
+    expected.put("extra", 7);
+    expected.put("missing", null);
+    assertEquals(expected, result);
+  }
+
+  @Test
+  public void testWrittenMembersDoNotModifyEvent() {
+    SlotEvent event = makeEvent();
+    Map<String, Object> result = evaluate("function(e) { e.a = 5; e.added = 'z'; e.nested.x = 'w'; "
+        + "e.list[0] = 0; e.items[0].v = 10; return e; }", event);
+
+    assertEquals(Arrays.asList("a", "nested", "list", "items", "extra", "added"), new ArrayList<>(result.keySet()));
+    assertEquals(5, result.get("a"));
+    assertEquals("z", result.get("added"));
+    assertEquals(Map.of("x", "w"), result.get("nested"));
+    assertEquals(Arrays.asList(0, 2, 3), result.get("list"));
+    assertEquals(Arrays.asList(Map.of("v", 10), Map.of("v", 2)), result.get("items"));
+
+    EventLayout layout = event.getLayout();
+    assertEquals(1, event.getValue(layout.rootIndexOf("a")));
+    assertEquals("y", event.getValue(layout.indexOf("s0::nested::x")));
+    assertEquals(Arrays.asList(1, 2, 3), event.getValue(layout.rootIndexOf("list")));
+    assertEquals(Arrays.asList(Map.of("v", 1), Map.of("v", 2)), event.getValue(layout.rootIndexOf("items")));
+  }
+
+  @Test
+  public void testRemovedMembers() {
+    Map<String, Object> result = evaluate("function(e) { delete e.a; delete e.extra; delete e.nested.x; "
+        + "e.hasA = ('a' in e); e.hasExtra = ('extra' in e); return e; }", makeEvent());
+
+    assertEquals(Arrays.asList("nested", "list", "items", "hasA", "hasExtra"), new ArrayList<>(result.keySet()));
+    assertEquals(Collections.emptyMap(), result.get("nested"));
+    assertEquals(false, result.get("hasA"));
+    assertEquals(false, result.get("hasExtra"));
+  }
+
+  @Test
+  public void testRemovedMemberCanBeWrittenAgain() {
+    Map<String, Object> result = evaluate("function(e) { delete e.a; e.a = 3; return e; }", makeEvent());
+
+    assertEquals(Arrays.asList("nested", "list", "items", "extra", "a"), new ArrayList<>(result.keySet()));
+    assertEquals(3, result.get("a"));
+  }
+
+  @Test
+  public void testAbsentSlotsAreNoMembers() {
+    Map<String, Object> runtimeMap = new LinkedHashMap<>();
+    runtimeMap.put("a", 1);
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(runtimeMap, makeLayout());
+
+    Map<String, Object> result = evaluate("function(e) { e.hasNested = ('nested' in e); return e; }", event);
+
+    Map<String, Object> expected = new LinkedHashMap<>();
+    expected.put("a", 1);
+    expected.put("hasNested", false);
+    assertEquals(expected, result);
+  }
+
+  private static SlotEvent makeEvent() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put("nested", Map.of("x", "y"));
+    map.put("list", Arrays.asList(1, 2, 3));
+    map.put("items", Arrays.asList(Map.of("v", 1), Map.of("v", 2)));
+    map.put("extra", 7);
+    return (SlotEvent) EventFactory.fromMap(map, makeLayout());
+  }
+
+  private static EventLayout makeLayout() {
+    EventSchema schema = new EventSchema(Arrays.asList(
+        new EventPropertyPrimitive(INT_TYPE, "a", "", Collections.emptyList()),
+        new EventPropertyNested("nested", List.of(
+            new EventPropertyPrimitive(STRING_TYPE, "x", "", Collections.emptyList()))),
+        new EventPropertyList("list", new EventPropertyPrimitive(INT_TYPE, "value", "", Collections.emptyList())),
+        new EventPropertyList("items", new EventPropertyNested("item", List.of(
+            new EventPropertyPrimitive(INT_TYPE, "v", "", Collections.emptyList()))))));
+    return EventLayout.from(new SourceInfo("source", "s0"), new SchemaInfo(schema, new ArrayList<>()));
+  }
+
+  private static Map<String, Object> evaluate(String code, SlotEvent event) {
+    try (JSContextPool pool = new JSContextPool(code, 1)) {
+      JSContextPool.JSFunction function = pool.acquire();
+      try {
+        return JSEval.toResultMap(function.execute(JSEval.makeProxy(event)));
+      } finally {
+        pool.release(function);
+      }
+    }
+  }
+}
@@ -44,6 +44,7 @@ public class MergeByTimeProcessor extends StreamPipesDataProcessor {
   private static final String TIMESTAMP_MAPPING_STREAM_2_KEY = "timestamp_mapping_stream_2";
   private static final String NUMBER_MAPPING = "number_mapping";
   private static final String TIME_INTERVAL = "time-interval";
+  private static final int MAX_BUFFER_SIZE = 10000;
 
   private List<String> outputKeySelectors;
   private String timestampFieldStream0;
@@ -83,53 +84,32 @@ public class MergeByTimeProcessor extends StreamPipesDataProcessor {
 
     this.timeInterval = processorParams.extractor().singleValueParameter(TIME_INTERVAL, Integer.class);
 
-    this.streamBufferS0 = new StreamBuffer(this.timestampFieldStream0);
-    this.streamBufferS1 = new StreamBuffer(this.timestampFieldStream1);
+    this.streamBufferS0 = new StreamBuffer(MAX_BUFFER_SIZE);
+    this.streamBufferS1 = new StreamBuffer(MAX_BUFFER_SIZE);
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
-    String streamId = event.getSourceInfo().getSelectorPrefix();
-
-    // Decide to which buffer the event should be added
-    if ("s0".equals(streamId)) {
-      this.streamBufferS0.add(event);
+    boolean firstStream = "s0".equals(event.getSourceInfo().getSelectorPrefix());
+    StreamBuffer ownBuffer = firstStream ? this.streamBufferS0 : this.streamBufferS1;
+    StreamBuffer otherBuffer = firstStream ? this.streamBufferS1 : this.streamBufferS0;
+    long timestamp = event.getFieldBySelector(firstStream ? timestampFieldStream0 : timestampFieldStream1)
+        .getAsPrimitive()
+        .getAsLong();
+
+    // Events of the other stream which are older than the time interval can no longer be matched
+    otherBuffer.removeOldEvents(timestamp - timeInterval);
+
+    // Match with the oldest event of the other stream within the time interval
+    if (otherBuffer.getLength() > 0 && otherBuffer.getTimestamp(0) < timestamp + timeInterval) {
+      Event match = otherBuffer.get(0);
+      Event resultingEvent = firstStream ? mergeEvents(event, match) : mergeEvents(match, event);
+      spOutputCollector.collect(resultingEvent);
+      otherBuffer.removeOldEvents(otherBuffer.getTimestamp(0));
+      ownBuffer.removeOldEvents(timestamp);
     } else {
-      this.streamBufferS1.add(event);
-    }
-
-    // Calculate matching events between data streams
-    for (Event e0 : this.streamBufferS0.getList()) {
-      long time0 = e0.getFieldBySelector(timestampFieldStream0).getAsPrimitive().getAsLong();
-      for (Event e1 : this.streamBufferS1.getList()) {
-        long time1 = e1.getFieldBySelector(timestampFieldStream1).getAsPrimitive().getAsLong();
-
-        if (time0 + timeInterval > time1 && time1 > time0 - timeInterval) {
-          Event resultingEvent = mergeEvents(e0, e1);
-          spOutputCollector.collect(resultingEvent);
-          this.streamBufferS0.removeOldEvents(time0);
-          this.streamBufferS1.removeOldEvents(time1);
-        }
-      }
+      ownBuffer.add(timestamp, event);
     }
-
-    // Clean up buffer if events do not match to avoid buffer overflow
-    if (this.streamBufferS0.getLength() > 0 && this.streamBufferS1.getLength() > 0) {
-      Event e0 = this.streamBufferS0.get(0);
-      Event e1 = this.streamBufferS1.get(0);
-
-      long time0 = e0.getFieldBySelector(this.timestampFieldStream0).getAsPrimitive().getAsLong();
-      long time1 = e1.getFieldBySelector(this.timestampFieldStream1).getAsPrimitive().getAsLong();
-
-      if (time0 > time1) {
-        this.streamBufferS0.removeOldEvents(time0);
-        this.streamBufferS1.removeOldEvents(time0);
-      } else {
-        this.streamBufferS0.removeOldEvents(time1);
-        this.streamBufferS1.removeOldEvents(time1);
-      }
-    }
-
   }
 
   @Override
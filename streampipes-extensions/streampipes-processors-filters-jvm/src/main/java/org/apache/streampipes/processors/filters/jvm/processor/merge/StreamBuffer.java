@@ -20,46 +20,117 @@ package org.apache.streampipes.processors.filters.jvm.processor.merge;
 
 import org.apache.streampipes.model.runtime.Event;
 
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * Buffer of events ordered by timestamp. Timestamps are stored in a primitive array next to the
+ * events, so that range probes are binary searches and eviction of old events is a single index
+ * move. If the buffer reaches its capacity, the oldest event is dropped.
+ */
 public class StreamBuffer {
-  private String timestampProperty;
-  private List<Event> buffer;
 
-  public StreamBuffer(String timestampProperty) {
-    buffer = new LinkedList<>();
-    this.timestampProperty = timestampProperty;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int capacity;
+  private long[] timestamps;
+  private Event[] events;
+  private int start;
+  private int end;
+
+  public StreamBuffer(int capacity) {
+    this.capacity = capacity;
+    reset();
   }
 
-  public void add(Event event) {
-    buffer.add(event);
+  public void add(long timestamp, Event event) {
+    if (getLength() == capacity) {
+      removeFirst();
+    }
+    ensureSpace();
+    int position = end;
+    if (start < end && timestamps[end - 1] > timestamp) {
+      // out-of-order event, keep the buffer sorted
+      position = start + firstIndexAfter(timestamp);
+      System.arraycopy(timestamps, position, timestamps, position + 1, end - position);
+      System.arraycopy(events, position, events, position + 1, end - position);
+    }
+    timestamps[position] = timestamp;
+    events[position] = event;
+    end++;
   }
 
   public int getLength() {
-    return buffer.size();
+    return end - start;
   }
 
-  public List<Event> getList() {
-    return this.buffer;
+  public Event get(int i) {
+    return events[start + i];
   }
 
-  public Event get(int i) {
-    return this.buffer.get(i);
+  public long getTimestamp(int i) {
+    return timestamps[start + i];
   }
 
-  public void removeOldEvents(long timestamp) {
-    Iterator itr = this.buffer.iterator();
-    while (itr.hasNext()) {
-      Event e = (Event) itr.next();
-      if (e.getFieldBySelector(timestampProperty).getAsPrimitive().getAsLong() <= timestamp) {
-        itr.remove();
+  /**
+   * Returns the index of the first event with a timestamp greater than the given timestamp, or
+   * the length of the buffer if there is no such event.
+   */
+  public int firstIndexAfter(long timestamp) {
+    int low = start;
+    int high = end;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (timestamps[mid] <= timestamp) {
+        low = mid + 1;
+      } else {
+        high = mid;
       }
     }
+    return low - start;
+  }
+
+  /**
+   * Removes all events with a timestamp less than or equal to the given timestamp.
+   */
+  public void removeOldEvents(long timestamp) {
+    int newStart = start + firstIndexAfter(timestamp);
+    Arrays.fill(events, start, newStart, null);
+    start = newStart;
   }
 
   public void reset() {
-    this.buffer = new LinkedList<>();
+    this.timestamps = new long[Math.min(INITIAL_CAPACITY, capacity)];
+    this.events = new Event[timestamps.length];
+    this.start = 0;
+    this.end = 0;
+  }
+
+  private void removeFirst() {
+    events[start++] = null;
+  }
+
+  private void ensureSpace() {
+    if (end < timestamps.length) {
+      return;
+    }
+    int length = getLength();
+    int newSize = length * 2 > timestamps.length
+        ? Math.min(Math.max(timestamps.length * 2, 1), capacity)
+        : timestamps.length;
+    if (newSize > timestamps.length) {
+      long[] newTimestamps = new long[newSize];
+      Event[] newEvents = new Event[newSize];
+      System.arraycopy(timestamps, start, newTimestamps, 0, length);
+      System.arraycopy(events, start, newEvents, 0, length);
+      this.timestamps = newTimestamps;
+      this.events = newEvents;
+    } else {
+      // also if the buffer is at its capacity and cannot grow any further
+      System.arraycopy(timestamps, start, timestamps, 0, length);
+      System.arraycopy(events, start, events, 0, length);
+      Arrays.fill(events, length, end, null);
+    }
+    this.start = 0;
+    this.end = length;
   }
 }
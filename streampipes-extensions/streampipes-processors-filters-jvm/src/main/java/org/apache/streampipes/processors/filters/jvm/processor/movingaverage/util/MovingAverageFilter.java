@@ -18,21 +18,36 @@
 
 package org.apache.streampipes.processors.filters.jvm.processor.movingaverage.util;
 
-import java.util.List;
-
 public class MovingAverageFilter extends MovingFilter {
 
+  private double sum;
+  private int replacements;
+
   public MovingAverageFilter(int n) {
     super(n);
   }
 
   @Override
-  protected double filterMeasurement(List<Double> measurements) {
-    double sum = 0;
-    for (double m : measurements) {
-      sum += m;
+  protected void onInsert(int slot, double measurement) {
+    sum += measurement;
+  }
+
+  @Override
+  protected void onReplace(int slot, double oldMeasurement, double newMeasurement) {
+    sum += newMeasurement - oldMeasurement;
+    // recompute the sum once per window to avoid accumulating rounding errors
+    if (++replacements == getWindowSize()) {
+      replacements = 0;
+      sum = 0;
+      for (int i = 0; i < getSize(); i++) {
+        sum += getMeasurement(i);
+      }
     }
-    return sum / measurements.size();
+  }
+
+  @Override
+  protected double filterMeasurement() {
+    return sum / getSize();
   }
 
 }
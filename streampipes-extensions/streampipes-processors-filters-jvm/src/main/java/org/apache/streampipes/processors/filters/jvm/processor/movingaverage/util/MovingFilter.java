@@ -18,25 +18,36 @@
 
 package org.apache.streampipes.processors.filters.jvm.processor.movingaverage.util;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Filter over the last n measurements. The window is kept in a primitive ring buffer and
+ * subclasses are notified about each inserted and evicted measurement, so that they can update
+ * their result incrementally instead of recomputing it over the whole window.
+ */
 public abstract class MovingFilter {
-  private int n;
+  private final int n;
+  private final double[] measurements;
+  private int size;
+  private int head;
   private double filteredMeasurement;
-  private List<Double> measurements;
 
   public MovingFilter(int n) {
     this.n = n;
-    measurements = new ArrayList<Double>();
+    this.measurements = new double[n];
   }
 
   public double update(double newMeasurement) {
-    measurements.add(newMeasurement);
-    if (measurements.size() > n) {
-      measurements.remove(0);
+    if (size < n) {
+      int slot = size++;
+      measurements[slot] = newMeasurement;
+      onInsert(slot, newMeasurement);
+    } else {
+      int slot = head;
+      double oldMeasurement = measurements[slot];
+      measurements[slot] = newMeasurement;
+      head = (head + 1) % n;
+      onReplace(slot, oldMeasurement, newMeasurement);
     }
-    filteredMeasurement = filterMeasurement(measurements);
+    filteredMeasurement = filterMeasurement();
     return filteredMeasurement;
   }
 
@@ -44,5 +55,27 @@ public abstract class MovingFilter {
     return filteredMeasurement;
   }
 
-  protected abstract double filterMeasurement(List<Double> measurements);
+  protected int getWindowSize() {
+    return n;
+  }
+
+  protected int getSize() {
+    return size;
+  }
+
+  protected double getMeasurement(int slot) {
+    return measurements[slot];
+  }
+
+  /**
+   * Called when a measurement is added to a window which is not yet full.
+   */
+  protected abstract void onInsert(int slot, double measurement);
+
+  /**
+   * Called when the oldest measurement of a full window is replaced by a new measurement.
+   */
+  protected abstract void onReplace(int slot, double oldMeasurement, double newMeasurement);
+
+  protected abstract double filterMeasurement();
 }
@@ -18,25 +18,175 @@
 
 package org.apache.streampipes.processors.filters.jvm.processor.movingaverage.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
+/**
+ * Moving median based on two indexed heaps over the slots of the window: a max-heap holding the
+ * lower half and a min-heap holding the upper half of the measurements. Each heap tracks the
+ * position of its slots, so that replacing the oldest measurement is a single O(log n) update.
+ */
 public class MovingMedianFilter extends MovingFilter {
 
+  private final double[] values;
+  private final SlotHeap lower;
+  private final SlotHeap upper;
+
   public MovingMedianFilter(int n) {
     super(n);
+    this.values = new double[n];
+    int[] positions = new int[n];
+    boolean[] inLower = new boolean[n];
+    this.lower = new SlotHeap(n, true, values, positions, inLower);
+    this.upper = new SlotHeap(n, false, values, positions, inLower);
+  }
+
+  @Override
+  protected void onInsert(int slot, double measurement) {
+    values[slot] = measurement;
+    if (lower.isEmpty() || measurement <= lower.topValue()) {
+      lower.push(slot);
+    } else {
+      upper.push(slot);
+    }
+    rebalance();
   }
 
   @Override
-  protected double filterMeasurement(List<Double> measurements) {
-    List<Double> sorted = new ArrayList<Double>();
-    sorted.addAll(measurements);
-    Collections.sort(sorted);
-    if (sorted.size() % 2 == 0) {
-      return (sorted.get(sorted.size() / 2) + sorted.get(sorted.size() / 2 - 1)) / 2;
-    }
-    return sorted.get(sorted.size() / 2);
+  protected void onReplace(int slot, double oldMeasurement, double newMeasurement) {
+    values[slot] = newMeasurement;
+    if (lower.contains(slot)) {
+      lower.update(slot);
+    } else {
+      upper.update(slot);
+    }
+    if (!upper.isEmpty() && lower.topValue() > upper.topValue()) {
+      int lowerTop = lower.top();
+      int upperTop = upper.top();
+      lower.replaceTop(upperTop);
+      upper.replaceTop(lowerTop);
+    }
   }
 
-}
\ No newline at end of file
+  @Override
+  protected double filterMeasurement() {
+    if (lower.size() > upper.size()) {
+      return lower.topValue();
+    }
+    return (lower.topValue() + upper.topValue()) / 2;
+  }
+
+  private void rebalance() {
+    if (lower.size() > upper.size() + 1) {
+      upper.push(lower.pop());
+    } else if (upper.size() > lower.size()) {
+      lower.push(upper.pop());
+    }
+  }
+
+  private static final class SlotHeap {
+
+    private final int[] heap;
+    private final boolean max;
+    private final double[] values;
+    private final int[] positions;
+    private final boolean[] inLower;
+    private int size;
+
+    private SlotHeap(int capacity,
+                     boolean max,
+                     double[] values,
+                     int[] positions,
+                     boolean[] inLower) {
+      this.heap = new int[capacity];
+      this.max = max;
+      this.values = values;
+      this.positions = positions;
+      this.inLower = inLower;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private boolean contains(int slot) {
+      return inLower[slot] == max;
+    }
+
+    private int top() {
+      return heap[0];
+    }
+
+    private double topValue() {
+      return values[heap[0]];
+    }
+
+    private void push(int slot) {
+      place(slot, size++);
+      siftUp(size - 1);
+    }
+
+    private int pop() {
+      int slot = heap[0];
+      size--;
+      if (size > 0) {
+        place(heap[size], 0);
+        siftDown(0);
+      }
+      return slot;
+    }
+
+    private void replaceTop(int slot) {
+      place(slot, 0);
+      siftDown(0);
+    }
+
+    private void update(int slot) {
+      siftDown(siftUp(positions[slot]));
+    }
+
+    private int siftUp(int position) {
+      int slot = heap[position];
+      while (position > 0) {
+        int parent = (position - 1) / 2;
+        if (!before(slot, heap[parent])) {
+          break;
+        }
+        place(heap[parent], position);
+        position = parent;
+      }
+      place(slot, position);
+      return position;
+    }
+
+    private void siftDown(int position) {
+      int slot = heap[position];
+      while (true) {
+        int child = 2 * position + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && before(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!before(heap[child], slot)) {
+          break;
+        }
+        place(heap[child], position);
+        position = child;
+      }
+      place(slot, position);
+    }
+
+    private boolean before(int a, int b) {
+      return max ? values[a] > values[b] : values[a] < values[b];
+    }
+
+    private void place(int slot, int position) {
+      heap[position] = slot;
+      positions[slot] = position;
+      inLower[slot] = max;
+    }
+  }
+}
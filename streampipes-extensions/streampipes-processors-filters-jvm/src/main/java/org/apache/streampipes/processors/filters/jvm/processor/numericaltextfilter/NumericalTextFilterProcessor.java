@@ -23,6 +23,8 @@ import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.processors.filters.jvm.processor.util.FieldReader;
+import org.apache.streampipes.processors.filters.jvm.processor.util.FilterPredicates;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.helpers.EpRequirements;
@@ -36,6 +38,9 @@ import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
 
 public class NumericalTextFilterProcessor extends StreamPipesDataProcessor {
 
@@ -48,12 +53,10 @@ public class NumericalTextFilterProcessor extends StreamPipesDataProcessor {
   private static final String TEXT_OPERATION = "text-operation";
   private static final String TEXT_KEYWORD = "text-keyword";
 
-  private double numberThreshold;
-  private NumericalOperator numericalOperator;
-  private String numberProperty;
-  private String textKeyword;
-  private StringOperator textOperator;
-  private String textProperty;
+  private DoublePredicate numberFilter;
+  private FieldReader numberProperty;
+  private Predicate<String> textFilter;
+  private FieldReader textProperty;
 
 
   @Override
@@ -86,70 +89,23 @@ public class NumericalTextFilterProcessor extends StreamPipesDataProcessor {
                            EventProcessorRuntimeContext eventProcessorRuntimeContext) throws SpRuntimeException {
 
     // number
-    this.numberProperty = processorParams.extractor().mappingPropertyValue(NUMBER_MAPPING);
-    this.numberThreshold = processorParams.extractor().singleValueParameter(NUMBER_VALUE, Double.class);
+    this.numberProperty = new FieldReader(processorParams.extractor().mappingPropertyValue(NUMBER_MAPPING));
+    double numberThreshold = processorParams.extractor().singleValueParameter(NUMBER_VALUE, Double.class);
     String numberOperation = processorParams.extractor().selectedSingleValue(NUMBER_OPERATION, String.class);
+    this.numberFilter = FilterPredicates.numerical(numberOperation, numberThreshold);
 
     // text
-    this.textProperty = processorParams.extractor().mappingPropertyValue(TEXT_MAPPING);
-    this.textKeyword = processorParams.extractor().singleValueParameter(TEXT_KEYWORD, String.class);
-    this.textOperator =
-        StringOperator.valueOf(processorParams.extractor().selectedSingleValue(TEXT_OPERATION, String.class));
-
-    String numOperation = "GT";
-
-    if (numberOperation.equals("<=")) {
-      numOperation = "LE";
-    } else if (numberOperation.equals("<")) {
-      numOperation = "LT";
-    } else if (numberOperation.equals(">=")) {
-      numOperation = "GE";
-    } else if (numberOperation.equals("==")) {
-      numOperation = "EQ";
-    } else if (numberOperation.equals("!=")) {
-      numOperation = "IE";
-    }
-
-    this.numericalOperator = NumericalOperator.valueOf(numOperation);
+    this.textProperty = new FieldReader(processorParams.extractor().mappingPropertyValue(TEXT_MAPPING));
+    String textKeyword = processorParams.extractor().singleValueParameter(TEXT_KEYWORD, String.class);
+    String textOperation = processorParams.extractor().selectedSingleValue(TEXT_OPERATION, String.class);
+    this.textFilter = FilterPredicates.text(textOperation, textKeyword);
 
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
-    boolean satisfiesNumberFilter = false;
-    boolean satisfiesTextFilter = false;
-
-    Double numbervalue = event.getFieldBySelector(this.numberProperty)
-        .getAsPrimitive()
-        .getAsDouble();
-
-    String value = event.getFieldBySelector(this.textProperty)
-        .getAsPrimitive()
-        .getAsString();
-
-    Double threshold = this.numberThreshold;
-
-    if (this.numericalOperator == NumericalOperator.EQ) {
-      satisfiesNumberFilter = (Math.abs(numbervalue - threshold) < 0.000001);
-    } else if (this.numericalOperator == NumericalOperator.GE) {
-      satisfiesNumberFilter = (numbervalue >= threshold);
-    } else if (this.numericalOperator == NumericalOperator.GT) {
-      satisfiesNumberFilter = numbervalue > threshold;
-    } else if (this.numericalOperator == NumericalOperator.LE) {
-      satisfiesNumberFilter = (numbervalue <= threshold);
-    } else if (this.numericalOperator == NumericalOperator.LT) {
-      satisfiesNumberFilter = (numbervalue < threshold);
-    } else if (this.numericalOperator == NumericalOperator.IE) {
-      satisfiesNumberFilter = (Math.abs(numbervalue - threshold) > 0.000001);
-    }
-
-    if (this.textOperator == StringOperator.MATCHES) {
-      satisfiesTextFilter = (value.equals(this.textKeyword));
-    } else if (this.textOperator == StringOperator.CONTAINS) {
-      satisfiesTextFilter = (value.contains(this.textKeyword));
-    }
-
-    if (satisfiesNumberFilter && satisfiesTextFilter) {
+    // the text field is only read if the number filter is satisfied
+    if (numberFilter.test(numberProperty.readDouble(event)) && textFilter.test(textProperty.readString(event))) {
       spOutputCollector.collect(event);
     }
   }
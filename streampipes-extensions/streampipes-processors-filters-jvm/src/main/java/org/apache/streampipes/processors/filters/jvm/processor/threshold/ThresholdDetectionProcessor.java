@@ -23,6 +23,8 @@ import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.PropertyScope;
+import org.apache.streampipes.processors.filters.jvm.processor.util.FieldReader;
+import org.apache.streampipes.processors.filters.jvm.processor.util.FilterPredicates;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.helpers.EpProperties;
@@ -38,6 +40,8 @@ import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
+import java.util.function.DoublePredicate;
+
 public class ThresholdDetectionProcessor extends StreamPipesDataProcessor {
 
   private static final String NUMBER_MAPPING = "number-mapping";
@@ -46,9 +50,8 @@ public class ThresholdDetectionProcessor extends StreamPipesDataProcessor {
 
   private static final String RESULT_FIELD = "thresholdDetected";
 
-  private double threshold;
-  private ThresholdDetectionOperator numericalOperator;
-  private String filterProperty;
+  private DoublePredicate filter;
+  private FieldReader filterProperty;
 
 
   @Override
@@ -76,58 +79,18 @@ public class ThresholdDetectionProcessor extends StreamPipesDataProcessor {
   @Override
   public void onInvocation(ProcessorParams processorParams, SpOutputCollector spOutputCollector,
                            EventProcessorRuntimeContext eventProcessorRuntimeContext) throws SpRuntimeException {
-    this.threshold = processorParams.extractor().singleValueParameter(VALUE, Double.class);
+    double threshold = processorParams.extractor().singleValueParameter(VALUE, Double.class);
     String stringOperation = processorParams.extractor().selectedSingleValue(OPERATION, String.class);
 
-    String operation = "GT";
-
-    if (stringOperation.equals("<=")) {
-      operation = "LE";
-    } else if (stringOperation.equals("<")) {
-      operation = "LT";
-    } else if (stringOperation.equals(">=")) {
-      operation = "GE";
-    } else if (stringOperation.equals("==")) {
-      operation = "EQ";
-    } else if (stringOperation.equals("!=")) {
-      operation = "IE";
-    }
-
-    this.filterProperty = processorParams.extractor().mappingPropertyValue(NUMBER_MAPPING);
-    this.numericalOperator = ThresholdDetectionOperator.valueOf(operation);
+    this.filter = FilterPredicates.numerical(stringOperation, threshold);
+    this.filterProperty = new FieldReader(processorParams.extractor().mappingPropertyValue(NUMBER_MAPPING));
 
   }
 
   @Override
   public void onEvent(Event event, SpOutputCollector spOutputCollector) throws SpRuntimeException {
-    Boolean satisfiesFilter = false;
-
-    Double value = event.getFieldBySelector(this.filterProperty).getAsPrimitive()
-        .getAsDouble();
-
-    Double threshold = this.threshold;
-
-    if (this.numericalOperator == ThresholdDetectionOperator.EQ) {
-      satisfiesFilter = (Math.abs(value - threshold) < 0.000001);
-    } else if (this.numericalOperator == ThresholdDetectionOperator.GE) {
-      satisfiesFilter = (value >= threshold);
-    } else if (this.numericalOperator == ThresholdDetectionOperator.GT) {
-      satisfiesFilter = value > threshold;
-    } else if (this.numericalOperator == ThresholdDetectionOperator.LE) {
-      satisfiesFilter = (value <= threshold);
-    } else if (this.numericalOperator == ThresholdDetectionOperator.LT) {
-      satisfiesFilter = (value < threshold);
-    } else if (this.numericalOperator == ThresholdDetectionOperator.IE) {
-      satisfiesFilter = (Math.abs(value - threshold) > 0.000001);
-    }
-
-    if (satisfiesFilter) {
-      event.addField("thresholdDetected", true);
-      spOutputCollector.collect(event);
-    } else {
-      event.addField("thresholdDetected", false);
-      spOutputCollector.collect(event);
-    }
+    event.addField(RESULT_FIELD, filter.test(filterProperty.readDouble(event)));
+    spOutputCollector.collect(event);
   }
 
   @Override
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.util;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+/**
+ * Reads a field of an event as a primitive value. For events with a compiled layout, the slot of
+ * the field is resolved once per layout and read directly, otherwise the field is resolved by its
+ * selector.
+ */
+public class FieldReader {
+
+  private final String selector;
+
+  private EventLayout layout;
+  private int slot = EventLayout.NO_SLOT;
+
+  public FieldReader(String selector) {
+    this.selector = selector;
+  }
+
+  public Object readRaw(Event event) {
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      SlotEvent slotEvent = (SlotEvent) event;
+      if (slotEvent.getLayout() != layout) {
+        this.layout = slotEvent.getLayout();
+        this.slot = layout.indexOf(selector);
+      }
+      if (slot != EventLayout.NO_SLOT) {
+        return slotEvent.getValue(slot);
+      }
+    }
+    return event.getFieldBySelector(selector).getRawValue();
+  }
+
+  public double readDouble(Event event) {
+    Object value = readRaw(event);
+    if (value instanceof Float) {
+      // widen by the decimal representation like PrimitiveField#getAsDouble, so that 0.1f reads as 0.1
+      return Double.parseDouble(value.toString());
+    } else if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    }
+    return Double.parseDouble(String.valueOf(value));
+  }
+
+  public String readString(Event event) {
+    return String.valueOf(readRaw(event));
+  }
+}
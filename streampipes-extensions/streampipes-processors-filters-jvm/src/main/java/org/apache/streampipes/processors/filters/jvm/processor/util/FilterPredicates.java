@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.util;
+
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles the operator and threshold configured for a filter into a specialized predicate once
+ * at invocation time, so that evaluating an event does not dispatch on the operator.
+ */
+public class FilterPredicates {
+
+  private static final double EQUALITY_TOLERANCE = 0.000001;
+
+  private FilterPredicates() {
+
+  }
+
+  /**
+   * Creates a predicate for a numerical comparison with the given threshold.
+   *
+   * @param operation one of {@code <, <=, >, >=, ==, !=}
+   */
+  public static DoublePredicate numerical(String operation, double threshold) {
+    switch (operation) {
+      case "<":
+        return value -> value < threshold;
+      case "<=":
+        return value -> value <= threshold;
+      case ">=":
+        return value -> value >= threshold;
+      case "==":
+        return value -> Math.abs(value - threshold) < EQUALITY_TOLERANCE;
+      case "!=":
+        return value -> Math.abs(value - threshold) > EQUALITY_TOLERANCE;
+      default:
+        return value -> value > threshold;
+    }
+  }
+
+  /**
+   * Creates a predicate which matches strings that are equal to or contain the given keyword.
+   *
+   * @param operation either {@code MATCHES} or {@code CONTAINS}
+   */
+  public static Predicate<String> text(String operation, String keyword) {
+    switch (operation) {
+      case "MATCHES":
+        return keyword::equals;
+      case "CONTAINS":
+        return value -> value.contains(keyword);
+      default:
+        throw new IllegalArgumentException("Unsupported text operation " + operation);
+    }
+  }
+}
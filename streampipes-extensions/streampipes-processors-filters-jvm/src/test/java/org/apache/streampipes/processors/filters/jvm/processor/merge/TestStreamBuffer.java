@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.merge;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TestStreamBuffer {
+
+  @Test
+  public void testGrow() {
+    StreamBuffer buffer = new StreamBuffer(1000);
+    List<Event> events = addEvents(buffer, 0, 300);
+
+    assertContent(buffer, 0, events);
+  }
+
+  @Test
+  public void testCompactAfterRemovingOldEvents() {
+    StreamBuffer buffer = new StreamBuffer(100);
+    List<Event> events = addEvents(buffer, 0, 100);
+    buffer.removeOldEvents(79);
+    assertEquals(20, buffer.getLength());
+
+    // the buffer is at its capacity and moves the remaining events to the front
+    events.addAll(addEvents(buffer, 100, 50));
+
+    assertContent(buffer, 80, events.subList(80, 150));
+  }
+
+  @Test
+  public void testDropOldestAtCapacity() {
+    StreamBuffer buffer = new StreamBuffer(64);
+    List<Event> events = addEvents(buffer, 0, 500);
+
+    assertContent(buffer, 500 - 64, events.subList(500 - 64, 500));
+  }
+
+  @Test
+  public void testOutOfOrderInsert() {
+    StreamBuffer buffer = new StreamBuffer(10);
+    Event first = add(buffer, 10);
+    Event third = add(buffer, 30);
+    Event fifth = add(buffer, 50);
+    Event fourth = add(buffer, 40);
+    Event second = add(buffer, 20);
+    Event secondDuplicate = add(buffer, 20);
+    Event beforeFirst = add(buffer, 5);
+
+    assertEquals(7, buffer.getLength());
+    long[] timestamps = {5, 10, 20, 20, 30, 40, 50};
+    Event[] events = {beforeFirst, first, second, secondDuplicate, third, fourth, fifth};
+    for (int i = 0; i < timestamps.length; i++) {
+      assertEquals(timestamps[i], buffer.getTimestamp(i));
+      assertSame(events[i], buffer.get(i));
+    }
+    assertEquals(4, buffer.firstIndexAfter(20));
+    assertEquals(0, buffer.firstIndexAfter(1));
+    assertEquals(7, buffer.firstIndexAfter(50));
+  }
+
+  @Test
+  public void testOutOfOrderInsertAtCapacity() {
+    StreamBuffer buffer = new StreamBuffer(64);
+    List<Event> events = addEvents(buffer, 0, 64);
+    buffer.removeOldEvents(9);
+    // inserted behind the event with the same timestamp after the buffer has been compacted
+    Event late = add(buffer, 10);
+    events.add(11, late);
+    events.addAll(addEvents(buffer, 64, 10));
+
+    assertEquals(64, buffer.getLength());
+    List<Event> expected = events.subList(events.size() - 64, events.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), buffer.get(i));
+    }
+    // the first event with timestamp 10 has been dropped as the oldest event
+    assertEquals(10, buffer.getTimestamp(0));
+    assertEquals(11, buffer.getTimestamp(1));
+    assertEquals(73, buffer.getTimestamp(63));
+  }
+
+  private List<Event> addEvents(StreamBuffer buffer, long firstTimestamp, int count) {
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      events.add(add(buffer, firstTimestamp + i));
+    }
+    return events;
+  }
+
+  private Event add(StreamBuffer buffer, long timestamp) {
+    Event event = new Event();
+    buffer.add(timestamp, event);
+    return event;
+  }
+
+  private void assertContent(StreamBuffer buffer, long firstTimestamp, List<Event> events) {
+    assertEquals(events.size(), buffer.getLength());
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals(firstTimestamp + i, buffer.getTimestamp(i));
+      assertSame(events.get(i), buffer.get(i));
+    }
+  }
+}
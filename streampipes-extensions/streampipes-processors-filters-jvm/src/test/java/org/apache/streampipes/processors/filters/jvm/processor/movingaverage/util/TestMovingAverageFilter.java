@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.processors.filters.jvm.processor.movingaverage.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMovingAverageFilter {
+
+  private static final int SEQUENCE_LENGTH = 2000;
+
+  @Test
+  public void testWindowFill() {
+    MovingAverageFilter filter = new MovingAverageFilter(4);
+
+    assertEquals(2.0, filter.update(2.0), 0.0);
+    assertEquals(3.0, filter.update(4.0), 0.0);
+    assertEquals(4.0, filter.update(6.0), 0.0);
+    assertEquals(5.0, filter.update(8.0), 0.0);
+    assertEquals(5.0, filter.getFilteredMeasurement(), 0.0);
+  }
+
+  @Test
+  public void testEviction() {
+    MovingAverageFilter filter = new MovingAverageFilter(3);
+    filter.update(1.0);
+    filter.update(2.0);
+    filter.update(3.0);
+
+    // each update evicts the oldest measurement of the full window
+    assertEquals(4.0, filter.update(7.0), 0.0);
+    assertEquals(6.0, filter.update(8.0), 0.0);
+    assertEquals(9.0, filter.update(12.0), 0.0);
+  }
+
+  @Test
+  public void testWindowSizeOne() {
+    MovingAverageFilter filter = new MovingAverageFilter(1);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i * 1.5, filter.update(i * 1.5), 0.0);
+    }
+  }
+
+  @Test
+  public void testRandomSequences() {
+    for (int windowSize : new int[]{1, 2, 3, 8, 31}) {
+      compareWithWindowSum(windowSize);
+    }
+  }
+
+  private void compareWithWindowSum(int windowSize) {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      double[] sequence = new double[SEQUENCE_LENGTH];
+      MovingAverageFilter filter = new MovingAverageFilter(windowSize);
+      for (int i = 0; i < sequence.length; i++) {
+        sequence[i] = random.nextDouble() * 2000 - 1000;
+        double average = filter.update(sequence[i]);
+        String message = "window size " + windowSize + ", seed " + seed + ", position " + i;
+        assertEquals(message, referenceAverage(sequence, i, windowSize), average, 1e-9);
+      }
+    }
+  }
+
+  private double referenceAverage(double[] sequence, int position, int windowSize) {
+    int from = Math.max(0, position - windowSize + 1);
+    double sum = 0;
+    for (int i = from; i <= position; i++) {
+      sum += sequence[i];
+    }
+    return sum / (position - from + 1);
+  }
+}
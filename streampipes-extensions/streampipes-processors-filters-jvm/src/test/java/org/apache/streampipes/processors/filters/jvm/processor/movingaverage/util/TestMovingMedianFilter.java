@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.movingaverage.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestMovingMedianFilter {
+
+  private static final int SEQUENCE_LENGTH = 2000;
+
+  @Test
+  public void testOddWindowSizes() {
+    for (int windowSize : new int[]{1, 3, 5, 7, 31}) {
+      compareWithSortedWindow(windowSize);
+    }
+  }
+
+  @Test
+  public void testEvenWindowSizes() {
+    for (int windowSize : new int[]{2, 4, 6, 8, 32}) {
+      compareWithSortedWindow(windowSize);
+    }
+  }
+
+  @Test
+  public void testConstantSequence() {
+    MovingMedianFilter filter = new MovingMedianFilter(4);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(2.5, filter.update(2.5), 0.0);
+    }
+  }
+
+  private void compareWithSortedWindow(int windowSize) {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      // a small range of values produces many duplicates within a window
+      int range = seed % 2 == 0 ? 5 : 1000;
+      double[] sequence = new double[SEQUENCE_LENGTH];
+      MovingMedianFilter filter = new MovingMedianFilter(windowSize);
+      for (int i = 0; i < sequence.length; i++) {
+        sequence[i] = random.nextInt(range) - range / 2;
+        double median = filter.update(sequence[i]);
+        String message = "window size " + windowSize + ", seed " + seed + ", position " + i;
+        assertEquals(message, referenceMedian(sequence, i, windowSize), median, 0.0);
+      }
+    }
+  }
+
+  private double referenceMedian(double[] sequence, int position, int windowSize) {
+    int from = Math.max(0, position - windowSize + 1);
+    double[] window = Arrays.copyOfRange(sequence, from, position + 1);
+    Arrays.sort(window);
+    int middle = window.length / 2;
+    return window.length % 2 == 1
+        ? window[middle]
+        : (window[middle - 1] + window[middle]) / 2;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.util;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestFieldReader {
+
+  private static final String SELECTOR = PropertySelectorConstants.FIRST_STREAM_ID_PREFIX + "::value";
+
+  @Test
+  public void testReadNumbers() {
+    FieldReader reader = new FieldReader(SELECTOR);
+    Object[] values = {1, 2L, 2.5, 0.1f, (short) 3, (byte) 4, new BigDecimal("5.25"), "6.5"};
+    double[] expected = {1.0, 2.0, 2.5, 0.1, 3.0, 4.0, 5.25, 6.5};
+
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(expected[i], reader.readDouble(makeMapEvent(values[i])), 0.0);
+      assertEquals(expected[i], reader.readDouble(makeSlotEvent(makeLayout("value"), values[i])), 0.0);
+    }
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testReadInvalidNumber() {
+    new FieldReader(SELECTOR).readDouble(makeMapEvent("text"));
+  }
+
+  @Test
+  public void testReadString() {
+    FieldReader reader = new FieldReader(SELECTOR);
+
+    assertEquals("sensor", reader.readString(makeMapEvent("sensor")));
+    assertEquals("sensor", reader.readString(makeSlotEvent(makeLayout("value"), "sensor")));
+    assertEquals("1", reader.readString(makeSlotEvent(makeLayout("value"), 1)));
+  }
+
+  @Test
+  public void testSlotAndMapBackedEventsAgree() {
+    FieldReader reader = new FieldReader(SELECTOR);
+    EventLayout layout = makeLayout("value");
+    SlotEvent slotEvent = makeSlotEvent(layout, 42.0);
+
+    assertFalse(slotEvent.isMaterialized());
+    assertEquals(42.0, reader.readDouble(slotEvent), 0.0);
+    assertEquals(42.0, reader.readDouble(makeMapEvent(42.0)), 0.0);
+
+    // a materialized event may have been changed through its fields and is read by selector
+    slotEvent.updateFieldBySelector(SELECTOR, 43);
+    assertTrue(slotEvent.isMaterialized());
+    assertEquals(43.0, reader.readDouble(slotEvent), 0.0);
+  }
+
+  @Test
+  public void testLayoutChange() {
+    FieldReader reader = new FieldReader(SELECTOR);
+
+    assertEquals(1.0, reader.readDouble(makeSlotEvent(makeLayout("value", "other"), 1.0)), 0.0);
+    // the slot of the field differs in the second layout and is resolved again
+    assertEquals(2.0, reader.readDouble(makeSlotEvent(makeLayout("other", "value"), 2.0)), 0.0);
+    assertEquals(3.0, reader.readDouble(makeSlotEvent(makeLayout("value", "other"), 3.0)), 0.0);
+  }
+
+  @Test
+  public void testFieldMissingInLayout() {
+    FieldReader reader = new FieldReader(SELECTOR);
+
+    // the field is not part of the schema and is kept as an unmapped value
+    assertEquals(7.0, reader.readDouble(makeSlotEvent(makeLayout("other"), 7.0)), 0.0);
+  }
+
+  private static Event makeMapEvent(Object value) {
+    return EventFactory.fromMap(makeMap(value), getSourceInfo(), new SchemaInfo(null, new ArrayList<>()));
+  }
+
+  private static SlotEvent makeSlotEvent(EventLayout layout, Object value) {
+    return (SlotEvent) EventFactory.fromMap(makeMap(value), layout);
+  }
+
+  private static Map<String, Object> makeMap(Object value) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("value", value);
+    map.put("other", -1);
+    return map;
+  }
+
+  private static EventLayout makeLayout(String... runtimeNames) {
+    List<EventProperty> properties = new ArrayList<>();
+    Arrays.stream(runtimeNames).forEach(runtimeName -> properties.add(
+        new EventPropertyPrimitive(XSD.DOUBLE.toString(), runtimeName, "", Collections.emptyList())));
+    return EventLayout.from(getSourceInfo(), new SchemaInfo(new EventSchema(properties), new ArrayList<>()));
+  }
+
+  private static SourceInfo getSourceInfo() {
+    return new SourceInfo("source", PropertySelectorConstants.FIRST_STREAM_ID_PREFIX);
+  }
+}
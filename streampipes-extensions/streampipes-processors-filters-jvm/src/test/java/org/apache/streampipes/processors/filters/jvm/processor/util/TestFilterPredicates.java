@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.filters.jvm.processor.util;
+
+import org.junit.Test;
+
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestFilterPredicates {
+
+  @Test
+  public void testLessThan() {
+    DoublePredicate predicate = FilterPredicates.numerical("<", 10.0);
+
+    assertTrue(predicate.test(9.9));
+    assertFalse(predicate.test(10.0));
+    assertFalse(predicate.test(10.1));
+  }
+
+  @Test
+  public void testLessOrEqual() {
+    DoublePredicate predicate = FilterPredicates.numerical("<=", 10.0);
+
+    assertTrue(predicate.test(9.9));
+    assertTrue(predicate.test(10.0));
+    assertFalse(predicate.test(10.1));
+  }
+
+  @Test
+  public void testGreaterThan() {
+    DoublePredicate predicate = FilterPredicates.numerical(">", 10.0);
+
+    assertFalse(predicate.test(9.9));
+    assertFalse(predicate.test(10.0));
+    assertTrue(predicate.test(10.1));
+  }
+
+  @Test
+  public void testGreaterOrEqual() {
+    DoublePredicate predicate = FilterPredicates.numerical(">=", 10.0);
+
+    assertFalse(predicate.test(9.9));
+    assertTrue(predicate.test(10.0));
+    assertTrue(predicate.test(10.1));
+  }
+
+  @Test
+  public void testEqualWithinTolerance() {
+    DoublePredicate predicate = FilterPredicates.numerical("==", 10.0);
+
+    assertTrue(predicate.test(10.0));
+    assertTrue(predicate.test(10.0000005));
+    assertTrue(predicate.test(9.9999995));
+    assertTrue(predicate.test(0.1 + 0.2 + 9.7));
+    assertFalse(predicate.test(10.000002));
+    assertFalse(predicate.test(9.999998));
+  }
+
+  @Test
+  public void testNotEqualOutsideTolerance() {
+    DoublePredicate predicate = FilterPredicates.numerical("!=", 10.0);
+
+    assertFalse(predicate.test(10.0));
+    assertFalse(predicate.test(10.0000005));
+    assertFalse(predicate.test(9.9999995));
+    assertTrue(predicate.test(10.000002));
+    assertTrue(predicate.test(9.999998));
+  }
+
+  @Test
+  public void testUnknownOperatorIsGreaterThan() {
+    DoublePredicate predicate = FilterPredicates.numerical("unknown", 10.0);
+
+    assertFalse(predicate.test(10.0));
+    assertTrue(predicate.test(10.1));
+  }
+
+  @Test
+  public void testMatches() {
+    Predicate<String> predicate = FilterPredicates.text("MATCHES", "sensor");
+
+    assertTrue(predicate.test("sensor"));
+    assertFalse(predicate.test("sensor1"));
+    assertFalse(predicate.test("Sensor"));
+  }
+
+  @Test
+  public void testContains() {
+    Predicate<String> predicate = FilterPredicates.text("CONTAINS", "sensor");
+
+    assertTrue(predicate.test("sensor"));
+    assertTrue(predicate.test("a sensor value"));
+    assertFalse(predicate.test("sens"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownTextOperator() {
+    FilterPredicates.text("STARTS_WITH", "sensor");
+  }
+}
@@ -23,8 +23,6 @@ import org.apache.streampipes.model.DataProcessorType;
 import org.apache.streampipes.model.graph.DataProcessorDescription;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.schema.PropertyScope;
-import org.apache.streampipes.processors.geo.jvm.latlong.processor.revgeocoder.geocityname.geocode.GeoName;
-import org.apache.streampipes.processors.geo.jvm.latlong.processor.revgeocoder.geocityname.geocode.ReverseGeoCode;
 import org.apache.streampipes.sdk.builder.ProcessingElementBuilder;
 import org.apache.streampipes.sdk.builder.StreamRequirementsBuilder;
 import org.apache.streampipes.sdk.helpers.EpProperties;
@@ -40,13 +38,22 @@ import org.apache.streampipes.wrapper.standalone.ProcessorParams;
 import org.apache.streampipes.wrapper.standalone.StreamPipesDataProcessor;
 
 import org.apache.http.client.fluent.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 public class GeoCityNameRevdecodeProcessor extends StreamPipesDataProcessor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GeoCityNameRevdecodeProcessor.class);
+
   private static final String LATITUDE_MAPPING_KEY = "latitude-mapping-key";
   private static final String LONGITUDE_MAPPING_KEY = "longitude-mapping-key";
   private static final String GEONAME_RUNTIME_NAME = "geoname";
@@ -54,7 +61,9 @@ public class GeoCityNameRevdecodeProcessor extends StreamPipesDataProcessor {
   String longitudeFieldMapper;
   private static final String CITIES_DATASET_URL = "http://download.geonames"
       + ".org/export/dump/cities1000.zip";
-  private ReverseGeoCode reverseGeoCode;
+  private static final Path CITIES_INDEX_FILE = Paths.get(System.getProperty("java.io.tmpdir"),
+      "streampipes", "geonames", "cities1000.idx");
+  private GeoNameIndex geoNameIndex;
 
   @Override
   public DataProcessorDescription declareModel() {
@@ -85,14 +94,9 @@ public class GeoCityNameRevdecodeProcessor extends StreamPipesDataProcessor {
     this.longitudeFieldMapper = parameters.extractor().mappingPropertyValue(LONGITUDE_MAPPING_KEY);
 
     try {
-      InputStream stream = downloadCitiesDataSet();
-      if (stream != null) {
-        ZipInputStream zipInputStream = null;
-        zipInputStream = new ZipInputStream(stream);
-        this.reverseGeoCode = new ReverseGeoCode(zipInputStream, false);
-      }
+      this.geoNameIndex = loadCitiesIndex();
     } catch (IOException e) {
-      throw new SpRuntimeException("Could not download cities file...");
+      throw new SpRuntimeException("Could not download cities file...", e);
     }
   }
 
@@ -102,9 +106,11 @@ public class GeoCityNameRevdecodeProcessor extends StreamPipesDataProcessor {
     Double latitude = event.getFieldBySelector(latitudeFieldMapper).getAsPrimitive().getAsDouble();
     Double longitude = event.getFieldBySelector(longitudeFieldMapper).getAsPrimitive().getAsDouble();
 
-    GeoName geoName = this.reverseGeoCode.nearestPlace(latitude, longitude);
+    int place = this.geoNameIndex.nearest(latitude, longitude);
 
-    event.addField(GEONAME_RUNTIME_NAME, geoName.name + " | " + geoName.country);
+    if (place != -1) {
+      event.addField(GEONAME_RUNTIME_NAME, geoNameIndex.getName(place) + " | " + geoNameIndex.getCountry(place));
+    }
     collector.collect(event);
   }
 
@@ -113,7 +119,38 @@ public class GeoCityNameRevdecodeProcessor extends StreamPipesDataProcessor {
 
   }
 
-  private InputStream downloadCitiesDataSet() throws IOException {
+  /**
+   * Builds the cities index on first use and maps it, so that all instances share one index. A cached
+   * index that cannot be opened, e.g. one written by another version, is deleted and built again.
+   */
+  private static synchronized GeoNameIndex loadCitiesIndex() throws IOException {
+    if (Files.exists(CITIES_INDEX_FILE)) {
+      try {
+        return GeoNameIndex.open(CITIES_INDEX_FILE);
+      } catch (IOException e) {
+        LOG.warn("Could not open cached cities index {}, rebuilding it", CITIES_INDEX_FILE, e);
+        Files.delete(CITIES_INDEX_FILE);
+      }
+    }
+    buildCitiesIndex();
+    return GeoNameIndex.open(CITIES_INDEX_FILE);
+  }
+
+  private static void buildCitiesIndex() throws IOException {
+    Files.createDirectories(CITIES_INDEX_FILE.getParent());
+    try (ZipInputStream zipInputStream = new ZipInputStream(downloadCitiesDataSet())) {
+      ZipEntry entry = zipInputStream.getNextEntry();
+      while (entry != null && entry.getName().equals("readme.txt")) {
+        entry = zipInputStream.getNextEntry();
+      }
+      if (entry == null) {
+        throw new IOException("Cities data set does not contain a data file");
+      }
+      GeoNameIndex.build(zipInputStream, false, CITIES_INDEX_FILE);
+    }
+  }
+
+  private static InputStream downloadCitiesDataSet() throws IOException {
     byte[] citiesDataset = Request.Get(CITIES_DATASET_URL).execute().returnContent().asBytes();
     return new ByteArrayInputStream(citiesDataset);
   }
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.geo.jvm.latlong.processor.revgeocoder.geocityname;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.toRadians;
+
+/**
+ * Read-only nearest-neighbor index over geonames places. The index is built once from a geonames
+ * dump into a binary file which stores the 3D unit-sphere coordinates of all places as flat
+ * arrays in implicit KD-tree order: the node of a range is its middle element, its left and right
+ * subtrees are the ranges below and above. The file is memory-mapped and each version of a file is
+ * opened only once per JVM, so that all processor instances share the same pages.
+ */
+public class GeoNameIndex {
+
+  private static final int MAGIC = 0x53504749;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int DIMENSIONS = 3;
+
+  private static final Map<Path, GeoNameIndex> OPEN_INDEXES = new ConcurrentHashMap<>();
+
+  private final FileTime lastModified;
+  private final Object fileKey;
+  private final int size;
+  private final DoubleBuffer[] coordinates;
+  private final IntBuffer labelOffsets;
+  private final ByteBuffer labels;
+
+  private GeoNameIndex(MappedByteBuffer buffer, BasicFileAttributes attributes) throws IOException {
+    this.lastModified = attributes.lastModifiedTime();
+    this.fileKey = attributes.fileKey();
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported geonames index format");
+    }
+    this.size = buffer.getInt(8);
+    long dataSize = (long) size * DIMENSIONS * Double.BYTES + (size + 1L) * Integer.BYTES;
+    if (size < 0 || HEADER_SIZE + dataSize > buffer.capacity()) {
+      throw new IOException("Truncated geonames index");
+    }
+    this.coordinates = new DoubleBuffer[DIMENSIONS];
+    int position = HEADER_SIZE;
+    for (int axis = 0; axis < DIMENSIONS; axis++) {
+      coordinates[axis] = buffer.slice(position, size * Double.BYTES).asDoubleBuffer();
+      position += size * Double.BYTES;
+    }
+    this.labelOffsets = buffer.slice(position, (size + 1) * Integer.BYTES).asIntBuffer();
+    position += (size + 1) * Integer.BYTES;
+    this.labels = buffer.slice(position, buffer.capacity() - position);
+  }
+
+  /**
+   * Opens the index stored in the given file, or returns the already opened instance if the file
+   * has not been replaced since. Instances of a replaced file stay usable.
+   */
+  public static GeoNameIndex open(Path indexFile) throws IOException {
+    try {
+      return OPEN_INDEXES.compute(indexFile.toAbsolutePath(), (path, current) -> {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+          if (current != null && current.isVersionOf(attributes)) {
+            return current;
+          }
+          return new GeoNameIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), attributes);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * Builds an index file from a raw geonames text file.
+   *
+   * @param placenames the text file downloaded from http://download.geonames.org/export/dump/
+   * @param majorOnly  only include major places
+   * @param indexFile  the file the index is written to
+   */
+  public static void build(InputStream placenames,
+                           boolean majorOnly,
+                           Path indexFile) throws IOException {
+    PlaceList places = readPlaces(placenames, majorOnly);
+    int[] order = new int[places.size];
+    Arrays.setAll(order, i -> i);
+    arrange(order, places.coordinates, 0, places.size, 0);
+
+    Path tempFile = Files.createTempFile(indexFile.toAbsolutePath().getParent(), "geonames", ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(places.size);
+      out.writeInt(0);
+      for (int axis = 0; axis < DIMENSIONS; axis++) {
+        for (int index : order) {
+          out.writeDouble(places.coordinates[axis][index]);
+        }
+      }
+      byte[][] encodedLabels = new byte[places.size][];
+      int offset = 0;
+      out.writeInt(offset);
+      for (int i = 0; i < order.length; i++) {
+        encodedLabels[i] = places.labels.get(order[i]).getBytes(StandardCharsets.UTF_8);
+        offset += encodedLabels[i].length;
+        out.writeInt(offset);
+      }
+      for (byte[] label : encodedLabels) {
+        out.write(label);
+      }
+    }
+    Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private boolean isVersionOf(BasicFileAttributes attributes) {
+    return lastModified.equals(attributes.lastModifiedTime()) && Objects.equals(fileKey, attributes.fileKey());
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the index of the place nearest to the given position, or -1 if the index is empty.
+   */
+  public int nearest(double latitude, double longitude) {
+    return new NearestSearch().find(latitude, longitude);
+  }
+
+  /**
+   * Returns the indexes of the places nearest to each of the given positions.
+   */
+  public int[] nearest(double[] latitudes, double[] longitudes) {
+    NearestSearch search = new NearestSearch();
+    int[] result = new int[latitudes.length];
+    for (int i = 0; i < latitudes.length; i++) {
+      result[i] = search.find(latitudes[i], longitudes[i]);
+    }
+    return result;
+  }
+
+  public String getName(int place) {
+    String label = getLabel(place);
+    return label.substring(0, label.indexOf('\t'));
+  }
+
+  public String getCountry(int place) {
+    String label = getLabel(place);
+    return label.substring(label.indexOf('\t') + 1);
+  }
+
+  private String getLabel(int place) {
+    int start = labelOffsets.get(place);
+    byte[] bytes = new byte[labelOffsets.get(place + 1) - start];
+    labels.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static PlaceList readPlaces(InputStream placenames, boolean majorOnly) throws IOException {
+    PlaceList places = new PlaceList();
+    BufferedReader in = new BufferedReader(new InputStreamReader(placenames, StandardCharsets.UTF_8));
+    String line;
+    while ((line = in.readLine()) != null) {
+      String[] names = line.split("\t");
+      if (!majorOnly || names[6].equals("P")) {
+        places.add(Double.parseDouble(names[4]), Double.parseDouble(names[5]), names[1] + "\t" + names[8]);
+      }
+    }
+    return places;
+  }
+
+  /**
+   * Reorders the given range so that its middle element is the median along the axis of the
+   * current depth, then recursively arranges both halves.
+   */
+  private static void arrange(int[] order, double[][] coordinates, int from, int to, int depth) {
+    if (to - from <= 1) {
+      return;
+    }
+    int middle = (from + to) >>> 1;
+    select(order, coordinates[depth % DIMENSIONS], from, to - 1, middle);
+    arrange(order, coordinates, from, middle, depth + 1);
+    arrange(order, coordinates, middle + 1, to, depth + 1);
+  }
+
+  private static void select(int[] order, double[] keys, int left, int right, int k) {
+    while (right > left) {
+      double pivot = keys[order[(left + right) >>> 1]];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (keys[order[i]] < pivot) {
+          i++;
+        }
+        while (keys[order[j]] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          int tmp = order[i];
+          order[i] = order[j];
+          order[j] = tmp;
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private static void toPoint(double latitude, double longitude, double[] point) {
+    point[0] = cos(toRadians(latitude)) * cos(toRadians(longitude));
+    point[1] = cos(toRadians(latitude)) * sin(toRadians(longitude));
+    point[2] = sin(toRadians(latitude));
+  }
+
+  private final class NearestSearch {
+
+    private final double[] query = new double[DIMENSIONS];
+    private int best;
+    private double bestDistance;
+
+    private int find(double latitude, double longitude) {
+      toPoint(latitude, longitude, query);
+      best = -1;
+      bestDistance = Double.POSITIVE_INFINITY;
+      visit(0, size, 0);
+      return best;
+    }
+
+    private void visit(int from, int to, int depth) {
+      if (from >= to) {
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      double distance = squaredDistance(middle);
+      if (distance < bestDistance) {
+        best = middle;
+        bestDistance = distance;
+      }
+      int axis = depth % DIMENSIONS;
+      double axisDistance = query[axis] - coordinates[axis].get(middle);
+      if (axisDistance < 0) {
+        visit(from, middle, depth + 1);
+        if (axisDistance * axisDistance < bestDistance) {
+          visit(middle + 1, to, depth + 1);
+        }
+      } else {
+        visit(middle + 1, to, depth + 1);
+        if (axisDistance * axisDistance < bestDistance) {
+          visit(from, middle, depth + 1);
+        }
+      }
+    }
+
+    private double squaredDistance(int place) {
+      double x = query[0] - coordinates[0].get(place);
+      double y = query[1] - coordinates[1].get(place);
+      double z = query[2] - coordinates[2].get(place);
+      return (x * x) + (y * y) + (z * z);
+    }
+  }
+
+  private static final class PlaceList {
+
+    private final double[][] coordinates = new double[DIMENSIONS][1024];
+    private final List<String> labels = new ArrayList<>();
+    private final double[] point = new double[DIMENSIONS];
+    private int size;
+
+    private void add(double latitude, double longitude, String label) {
+      if (size == coordinates[0].length) {
+        for (int axis = 0; axis < DIMENSIONS; axis++) {
+          coordinates[axis] = Arrays.copyOf(coordinates[axis], size * 2);
+        }
+      }
+      toPoint(latitude, longitude, point);
+      for (int axis = 0; axis < DIMENSIONS; axis++) {
+        coordinates[axis][size] = point[axis];
+      }
+      labels.add(label);
+      size++;
+    }
+  }
+}
@@ -1,41 +0,0 @@
-/*
-The MIT License (MIT)
-[OSI Approved License]
-The MIT License (MIT)
-Copyright (c) 2014 Daniel Glasson
-Permission is hereby granted, free of charge, to any person obtaining a copy
-of this software and associated documentation files (the "Software"), to deal
-in the Software without restriction, including without limitation the rights
-to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
-copies of the Software, and to permit persons to whom the Software is
-furnished to do so, subject to the following conditions:
-The above copyright notice and this permission notice shall be included in
-all copies or substantial portions of the Software.
-THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
-IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
-FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
-AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
-LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
-OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
-THE SOFTWARE.
-*/
-
-package org.apache.streampipes.processors.geo.jvm.latlong.processor.revgeocoder.geocityname.geocode.kdtree;
-
-import java.util.Comparator;
-
-/**
- * @author Daniel Glasson
- * Make the user return a comparator for each axis
- * Squared distances should be an optimisation
- */
-public abstract class KDNodeComparator<T> {
-  // This should return a comparator for whatever axis is passed in
-  protected abstract Comparator getComparator(int axis);
-
-  // Return squared distance between current and other
-  protected abstract double squaredDistance(T other);
-
-  // Return squared distance between one axis only
-  protected abstract double axisSquaredDistance(T other, int axis);
-}
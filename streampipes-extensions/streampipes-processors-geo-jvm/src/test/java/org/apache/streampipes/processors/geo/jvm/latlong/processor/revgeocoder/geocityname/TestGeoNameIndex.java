@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.geo.jvm.latlong.processor.revgeocoder.geocityname;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.toRadians;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TestGeoNameIndex {
+
+  private Path directory;
+
+  @Before
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("geonames-test");
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testNearestMatchesBruteForce() throws IOException {
+    Random random = new Random(42);
+    int count = 2000;
+    double[] latitudes = new double[count];
+    double[] longitudes = new double[count];
+    StringBuilder placenames = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      latitudes[i] = randomLatitude(random);
+      longitudes[i] = randomLongitude(random);
+      placenames.append(makePlace("place" + i, latitudes[i], longitudes[i], "P", "C" + i));
+    }
+    GeoNameIndex index = build(placenames.toString(), false);
+
+    double[] queryLatitudes = new double[500];
+    double[] queryLongitudes = new double[500];
+    for (int i = 0; i < queryLatitudes.length; i++) {
+      queryLatitudes[i] = randomLatitude(random);
+      queryLongitudes[i] = randomLongitude(random);
+      int expected = bruteForceNearest(latitudes, longitudes, queryLatitudes[i], queryLongitudes[i]);
+
+      int place = index.nearest(queryLatitudes[i], queryLongitudes[i]);
+      assertEquals("place" + expected, index.getName(place));
+      assertEquals("C" + expected, index.getCountry(place));
+    }
+
+    int[] places = index.nearest(queryLatitudes, queryLongitudes);
+    for (int i = 0; i < places.length; i++) {
+      assertEquals(index.nearest(queryLatitudes[i], queryLongitudes[i]), places[i]);
+    }
+  }
+
+  @Test
+  public void testEmptyIndex() throws IOException {
+    GeoNameIndex index = build("", false);
+
+    assertEquals(0, index.size());
+    assertEquals(-1, index.nearest(49.0, 8.4));
+    assertArrayEquals(new int[] {-1, -1}, index.nearest(new double[] {49.0, 0.0}, new double[] {8.4, 0.0}));
+  }
+
+  @Test
+  public void testBuildAndOpen() throws IOException {
+    String placenames = makePlace("Karlsruhe", 49.00937, 8.40444, "P", "DE")
+        + makePlace("Rhine", 49.0, 8.3, "H", "DE")
+        + makePlace("Zürich", 47.36667, 8.55, "P", "CH");
+
+    GeoNameIndex index = build(placenames, false);
+    assertEquals(3, index.size());
+    assertEquals("Karlsruhe", index.getName(index.nearest(49.01, 8.4)));
+    assertEquals("DE", index.getCountry(index.nearest(49.01, 8.4)));
+    assertEquals("Zürich", index.getName(index.nearest(47.4, 8.5)));
+    assertEquals("Rhine", index.getName(index.nearest(49.0, 8.3)));
+
+    GeoNameIndex majorPlaces = build(placenames, true);
+    assertEquals(2, majorPlaces.size());
+    assertEquals("Karlsruhe", majorPlaces.getName(majorPlaces.nearest(49.0, 8.3)));
+  }
+
+  @Test
+  public void testOpenSharesInstanceUntilFileIsReplaced() throws IOException {
+    Path indexFile = directory.resolve("cities.idx");
+    GeoNameIndex.build(toStream(makePlace("Karlsruhe", 49.00937, 8.40444, "P", "DE")), false, indexFile);
+    GeoNameIndex index = GeoNameIndex.open(indexFile);
+    assertSame(index, GeoNameIndex.open(indexFile));
+
+    GeoNameIndex.build(toStream(makePlace("Zürich", 47.36667, 8.55, "P", "CH")), false, indexFile);
+    GeoNameIndex rebuiltIndex = GeoNameIndex.open(indexFile);
+
+    assertNotSame(index, rebuiltIndex);
+    assertEquals("Zürich", rebuiltIndex.getName(rebuiltIndex.nearest(49.0, 8.4)));
+    // instances of the replaced file stay usable
+    assertEquals("Karlsruhe", index.getName(index.nearest(47.4, 8.5)));
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenRejectsUnsupportedFormat() throws IOException {
+    Path indexFile = directory.resolve("cities.idx");
+    GeoNameIndex.build(toStream(makePlace("Karlsruhe", 49.00937, 8.40444, "P", "DE")), false, indexFile);
+    byte[] content = Files.readAllBytes(indexFile);
+    // bump the version field of the header
+    content[7]++;
+    Files.write(indexFile, content);
+
+    GeoNameIndex.open(indexFile);
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenRejectsTruncatedFile() throws IOException {
+    Path indexFile = directory.resolve("cities.idx");
+    GeoNameIndex.build(toStream(makePlace("Karlsruhe", 49.00937, 8.40444, "P", "DE")), false, indexFile);
+    byte[] content = Files.readAllBytes(indexFile);
+    Files.write(indexFile, Arrays.copyOf(content, 20));
+
+    GeoNameIndex.open(indexFile);
+  }
+
+  private GeoNameIndex build(String placenames, boolean majorOnly) throws IOException {
+    Path indexFile = Files.createTempFile(directory, "geonames", ".idx");
+    GeoNameIndex.build(toStream(placenames), majorOnly, indexFile);
+    return GeoNameIndex.open(indexFile);
+  }
+
+  private static ByteArrayInputStream toStream(String placenames) {
+    return new ByteArrayInputStream(placenames.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String makePlace(String name, double latitude, double longitude, String featureClass,
+                                  String country) {
+    // columns of the geonames dump: id, name, ascii name, alternate names, latitude, longitude,
+    // feature class, feature code, country code
+    return String.join("\t", "1", name, name, "", String.valueOf(latitude), String.valueOf(longitude),
+        featureClass, "PPL", country) + "\n";
+  }
+
+  private static double randomLatitude(Random random) {
+    return Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+  }
+
+  private static double randomLongitude(Random random) {
+    return random.nextDouble() * 360 - 180;
+  }
+
+  private static int bruteForceNearest(double[] latitudes, double[] longitudes, double latitude, double longitude) {
+    int best = -1;
+    double bestDistance = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < latitudes.length; i++) {
+      double distance = haversine(latitudes[i], longitudes[i], latitude, longitude);
+      if (distance < bestDistance) {
+        best = i;
+        bestDistance = distance;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Haversine term of the great-circle distance, which grows monotonically with the distance.
+   */
+  private static double haversine(double latitude1, double longitude1, double latitude2, double longitude2) {
+    double latitudeTerm = sin(toRadians(latitude2 - latitude1) / 2);
+    double longitudeTerm = sin(toRadians(longitude2 - longitude1) / 2);
+    return latitudeTerm * latitudeTerm
+        + cos(toRadians(latitude1)) * cos(toRadians(latitude2)) * longitudeTerm * longitudeTerm;
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.commons;
+
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Decodes and encodes the Base64 image strings which are exchanged between the image processors.
+ *
+ * <p>Images are streamed between the Base64 codec and ImageIO through in-memory image streams, so
+ * that neither a decoded byte array nor ImageIO's temporary cache files are created. Each thread
+ * reuses its own output buffer for encoding.
+ *
+ * <p>If local event handover is enabled, decoded frames are remembered for as long as their image
+ * string is referenced, so that further image processors in the same JVM which receive the same
+ * string do not need to decode it again. Frames are always decoded from the encoded image, i.e.,
+ * they are identical to the frames decoded by processors receiving the image from the broker.
+ * Frames returned by {@link #decode(String)} may therefore be shared and must not be modified;
+ * use {@link #decodeForUpdate(String)} to obtain a frame which can be drawn upon.
+ */
+public class ImageCodec {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImageCodec.class);
+
+  private static final String OUTPUT_FORMAT = "jpg";
+  private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+  private static final boolean SHARE_FRAMES = Envs.SP_LOCAL_EVENT_HANDOVER
+      .getValueAsBooleanOrDefault(DefaultEnvValues.LOCAL_EVENT_HANDOVER_DEFAULT);
+
+  // weak keys: a frame is released as soon as no event references its encoded string anymore
+  private static final Map<String, BufferedImage> FRAMES = new WeakHashMap<>();
+
+  private static final ThreadLocal<ByteArrayOutputStream> OUTPUT_BUFFERS =
+      ThreadLocal.withInitial(() -> new ByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+  private ImageCodec() {
+
+  }
+
+  /**
+   * Decodes the given Base64 image. The returned frame may be shared with other processors and
+   * must be treated as read-only.
+   */
+  public static Optional<BufferedImage> decode(String imageBase64) {
+    return decode(imageBase64, SHARE_FRAMES);
+  }
+
+  static Optional<BufferedImage> decode(String imageBase64,
+                                        boolean shareFrames) {
+    if (!shareFrames) {
+      return read(imageBase64);
+    }
+    BufferedImage frame = getSharedFrame(imageBase64);
+    if (frame != null) {
+      return Optional.of(frame);
+    }
+    Optional<BufferedImage> decoded = read(imageBase64);
+    decoded.ifPresent(f -> {
+      synchronized (FRAMES) {
+        FRAMES.put(imageBase64, f);
+      }
+    });
+    return decoded;
+  }
+
+  private static Optional<BufferedImage> read(String imageBase64) {
+    ImageInputStream in = new MemoryCacheImageInputStream(Base64.getDecoder().wrap(new AsciiInputStream(imageBase64)));
+    try {
+      // ImageIO closes the stream once the image has been read
+      return Optional.ofNullable(ImageIO.read(in));
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Could not decode image", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Decodes the given Base64 image into a frame which is owned by the caller and can be modified.
+   */
+  public static Optional<BufferedImage> decodeForUpdate(String imageBase64) {
+    return decodeForUpdate(imageBase64, SHARE_FRAMES);
+  }
+
+  static Optional<BufferedImage> decodeForUpdate(String imageBase64,
+                                                 boolean shareFrames) {
+    BufferedImage frame = shareFrames ? getSharedFrame(imageBase64) : null;
+    if (frame != null) {
+      return Optional.of(copy(frame));
+    }
+    return read(imageBase64);
+  }
+
+  /**
+   * Encodes the given frame as a Base64 JPEG image.
+   */
+  public static Optional<String> encode(BufferedImage frame) {
+    ByteArrayOutputStream buffer = OUTPUT_BUFFERS.get();
+    buffer.reset();
+    try {
+      try (OutputStream base64Out = Base64.getEncoder().wrap(buffer);
+           ImageOutputStream out = new MemoryCacheImageOutputStream(base64Out)) {
+        if (!ImageIO.write(frame, OUTPUT_FORMAT, out)) {
+          LOG.warn("No image writer available for image type {}", frame.getType());
+          return Optional.empty();
+        }
+      }
+      return Optional.of(buffer.toString(StandardCharsets.ISO_8859_1));
+    } catch (IOException e) {
+      LOG.warn("Could not encode image", e);
+      return Optional.empty();
+    } finally {
+      if (buffer.size() > INITIAL_BUFFER_SIZE * 64) {
+        OUTPUT_BUFFERS.remove();
+      }
+    }
+  }
+
+  private static BufferedImage getSharedFrame(String imageBase64) {
+    synchronized (FRAMES) {
+      return FRAMES.get(imageBase64);
+    }
+  }
+
+  private static BufferedImage copy(BufferedImage frame) {
+    ColorModel colorModel = frame.getColorModel();
+    return new BufferedImage(colorModel, frame.copyData(null), colorModel.isAlphaPremultiplied(), null);
+  }
+
+  /**
+   * Reads the characters of a Base64 string as bytes without copying the string.
+   */
+  static class AsciiInputStream extends InputStream {
+
+    private final String value;
+    private int position;
+
+    AsciiInputStream(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public int read() {
+      return position < value.length() ? value.charAt(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int available = value.length() - position;
+      if (available <= 0) {
+        return -1;
+      }
+      int count = Math.min(len, available);
+      for (int i = 0; i < count; i++) {
+        b[off + i] = (byte) value.charAt(position + i);
+      }
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return value.length() - position;
+    }
+  }
+}
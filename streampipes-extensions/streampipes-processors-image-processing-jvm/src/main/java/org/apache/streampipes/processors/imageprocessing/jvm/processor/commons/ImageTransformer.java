@@ -22,11 +22,7 @@ import org.apache.streampipes.model.runtime.field.AbstractField;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenrichment.BoxCoordinates;
 import org.apache.streampipes.processors.imageprocessing.jvm.processor.imageenrichment.ImageEnrichmentParameters;
 
-import javax.imageio.ImageIO;
-
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +40,10 @@ public class ImageTransformer extends PlainImageTransformer<ImageEnrichmentParam
     return getImage(params.getImageProperty());
   }
 
+  public Optional<BufferedImage> getImageForUpdate() {
+    return getImageForUpdate(params.getImageProperty());
+  }
+
   public List<Map<String, Object>> getAllBoxCoordinates() {
     List<Map<String, AbstractField>> allBoxes = in.getFieldBySelector(params.getBoxArray())
         .getAsList()
@@ -88,20 +88,7 @@ public class ImageTransformer extends PlainImageTransformer<ImageEnrichmentParam
     return String.valueOf(obj);
   }
 
-
-  public Optional<byte[]> makeImage(BufferedImage image) {
-
-    try {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      ImageIO.write(image, "jpg", baos);
-      baos.flush();
-      byte[] finalImage = baos.toByteArray();
-      baos.close();
-      return Optional.of(finalImage);
-    } catch (IOException e) {
-      e.printStackTrace();
-      return Optional.empty();
-    }
-
+  public Optional<String> makeEncodedImage(BufferedImage image) {
+    return ImageCodec.encode(image);
   }
 }
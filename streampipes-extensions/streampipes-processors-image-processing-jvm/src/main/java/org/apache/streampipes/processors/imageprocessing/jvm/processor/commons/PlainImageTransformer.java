@@ -20,13 +20,7 @@ package org.apache.streampipes.processors.imageprocessing.jvm.processor.commons;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 
-import javax.imageio.ImageIO;
-
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Base64;
 import java.util.Optional;
 
 public class PlainImageTransformer<T extends EventProcessorBindingParams> {
@@ -39,15 +33,21 @@ public class PlainImageTransformer<T extends EventProcessorBindingParams> {
     this.params = params;
   }
 
+  /**
+   * Returns the decoded image, which may be shared with other processors and must not be modified.
+   */
   public Optional<BufferedImage> getImage(String imagePropertyName) {
-    String imageBase64 = in.getFieldBySelector(imagePropertyName).getAsPrimitive().getAsString();
-
-    InputStream img = new ByteArrayInputStream(Base64.getDecoder().decode(imageBase64));
-    try {
-      return Optional.of(ImageIO.read(img));
-    } catch (IOException e) {
-      e.printStackTrace();
-      return Optional.empty();
-    }
+    return ImageCodec.decode(getImageBase64(imagePropertyName));
+  }
+
+  /**
+   * Returns a decoded copy of the image which can be modified.
+   */
+  public Optional<BufferedImage> getImageForUpdate(String imagePropertyName) {
+    return ImageCodec.decodeForUpdate(getImageBase64(imagePropertyName));
+  }
+
+  private String getImageBase64(String imagePropertyName) {
+    return in.getFieldBySelector(imagePropertyName).getAsPrimitive().getAsString();
   }
 }
@@ -45,6 +45,7 @@ public class GenericImageClassification implements EventProcessor<GenericImageCl
 
   private ImageClassifier<Planar<GrayF32>> classifier;
   private List<String> categories;
+  private Planar<GrayF32> image;
 
   @Override
   public void onInvocation(GenericImageClassificationParameters genericImageClassificationParameters,
@@ -62,6 +63,7 @@ public class GenericImageClassification implements EventProcessor<GenericImageCl
       e.printStackTrace();
     }
     this.categories = classifier.getCategories();
+    this.image = new Planar<>(GrayF32.class, 1, 1, 3);
   }
 
   @Override
@@ -74,7 +76,8 @@ public class GenericImageClassification implements EventProcessor<GenericImageCl
     Optional<BufferedImage> imageOpt = imageTransformer.getImage(params.getImagePropertyName());
     if (imageOpt.isPresent()) {
       BufferedImage buffered = imageOpt.get();
-      Planar<GrayF32> image = new Planar<>(GrayF32.class, buffered.getWidth(), buffered.getHeight(), 3);
+      // the planar image buffer is reused and only grows if a larger image arrives
+      image.reshape(buffered.getWidth(), buffered.getHeight());
       ConvertBufferedImage.convertFromPlanar(buffered, image, true, GrayF32.class);
 
       classifier.classify(image);
@@ -25,7 +25,6 @@ import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
 
 import java.awt.image.BufferedImage;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -55,12 +54,12 @@ public class ImageCropper implements EventProcessor<ImageCropperParameters> {
         BufferedImage dest = image.getSubimage(boxCoordinates.getX(), boxCoordinates.getY(), boxCoordinates.getWidth(),
             boxCoordinates.getHeight());
 
-        Optional<byte[]> finalImage = imageTransformer.makeImage(dest);
+        Optional<String> finalImage = imageTransformer.makeEncodedImage(dest);
 
         if (finalImage.isPresent()) {
           Event outEvent = new Event();
           outEvent.addField("timestamp", in.getFieldByRuntimeName("timestamp").getAsPrimitive().getAsLong());
-          outEvent.addField("image", Base64.getEncoder().encodeToString(finalImage.get()));
+          outEvent.addField("image", finalImage.get());
           outEvent.addField("classname", box.get("classname"));
           outEvent.addField("score", box.get("score"));
           out.collect(outEvent);
@@ -29,7 +29,6 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -48,8 +47,9 @@ public class ImageEnricher implements EventProcessor<ImageEnrichmentParameters>
   public void onEvent(org.apache.streampipes.model.runtime.Event in, SpOutputCollector out) {
     ImageTransformer imageTransformer = new ImageTransformer(in, params);
 
+    // the boxes are drawn onto the frame, so it must not be shared with other processors
     Optional<BufferedImage> imageOpt =
-        imageTransformer.getImage();
+        imageTransformer.getImageForUpdate();
 
 
     if (imageOpt.isPresent()) {
@@ -89,11 +89,11 @@ public class ImageEnricher implements EventProcessor<ImageEnrichmentParameters>
 
       }
 
-      Optional<byte[]> finalImage = imageTransformer.makeImage(image);
+      Optional<String> finalImage = imageTransformer.makeEncodedImage(image);
 
       if (finalImage.isPresent()) {
         org.apache.streampipes.model.runtime.Event event = new org.apache.streampipes.model.runtime.Event();
-        event.addField("image", Base64.getEncoder().encodeToString(finalImage.get()));
+        event.addField("image", finalImage.get());
         out.collect(event);
       }
     }
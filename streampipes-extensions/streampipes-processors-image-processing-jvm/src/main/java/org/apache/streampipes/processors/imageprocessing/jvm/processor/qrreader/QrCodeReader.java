@@ -40,6 +40,8 @@ public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
   private QrCodeReaderParameters params;
   private Boolean sendIfNoResult;
   private String placeholderValue;
+  private QrCodeDetector<GrayU8> detector;
+  private GrayU8 gray;
   private static final Logger LOG = LoggerFactory.getLogger(QrCodeReader.class);
 
   @Override
@@ -49,6 +51,8 @@ public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
     this.params = qrCodeReaderParameters;
     this.sendIfNoResult = qrCodeReaderParameters.getSendIfNoResult();
     this.placeholderValue = qrCodeReaderParameters.getPlaceholderValue();
+    this.detector = FactoryFiducial.qrcode(null, GrayU8.class);
+    this.gray = new GrayU8(1, 1);
   }
 
   @Override
@@ -59,9 +63,9 @@ public class QrCodeReader implements EventProcessor<QrCodeReaderParameters> {
     if (imageOpt.isPresent()) {
       BufferedImage input = imageOpt.get();
 
-      GrayU8 gray = ConvertBufferedImage.convertFrom(input, (GrayU8) null);
-
-      QrCodeDetector<GrayU8> detector = FactoryFiducial.qrcode(null, GrayU8.class);
+      // the gray image buffer is reused and only grows if a larger image arrives
+      gray.reshape(input.getWidth(), input.getHeight());
+      ConvertBufferedImage.convertFrom(input, gray);
 
       detector.process(gray);
       List<QrCode> detections = detector.getDetections();
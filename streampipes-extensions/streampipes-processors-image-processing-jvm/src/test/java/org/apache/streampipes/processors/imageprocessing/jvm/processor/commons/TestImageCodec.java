@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.imageprocessing.jvm.processor.commons;
+
+import org.junit.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestImageCodec {
+
+  @Test
+  public void testRoundTrip() {
+    String image = ImageCodec.encode(makeFrame(Color.RED)).orElseThrow();
+    BufferedImage frame = ImageCodec.decode(image, false).orElseThrow();
+
+    assertEquals(32, frame.getWidth());
+    assertEquals(16, frame.getHeight());
+    assertColor(Color.RED, frame.getRGB(8, 8));
+  }
+
+  @Test
+  public void testInvalidImageIsNotDecoded() {
+    String image = Base64.getEncoder().encodeToString("no image".getBytes(StandardCharsets.UTF_8));
+
+    assertFalse(ImageCodec.decode(image, false).isPresent());
+    assertFalse(ImageCodec.decode(image, true).isPresent());
+  }
+
+  @Test
+  public void testSharedFrameIsDecodedOnce() {
+    String image = ImageCodec.encode(makeFrame(Color.BLUE)).orElseThrow();
+    BufferedImage first = ImageCodec.decode(image, true).orElseThrow();
+
+    assertSame(first, ImageCodec.decode(image, true).orElseThrow());
+    assertNotSame(first, ImageCodec.decode(image, false).orElseThrow());
+  }
+
+  @Test
+  public void testSharedFrameMatchesRemotelyDecodedFrame() {
+    BufferedImage original = makeFrame(Color.GREEN);
+    String image = ImageCodec.encode(original).orElseThrow();
+
+    BufferedImage shared = ImageCodec.decode(image, true).orElseThrow();
+    BufferedImage remote = ImageCodec.decode(image, false).orElseThrow();
+
+    assertNotSame(original, shared);
+    assertArrayEquals(rgb(remote), rgb(shared));
+  }
+
+  @Test
+  public void testFrameForUpdateIsNotShared() {
+    String image = ImageCodec.encode(makeFrame(Color.WHITE)).orElseThrow();
+    BufferedImage shared = ImageCodec.decode(image, true).orElseThrow();
+
+    BufferedImage updated = ImageCodec.decodeForUpdate(image, true).orElseThrow();
+    updated.setRGB(0, 0, Color.BLACK.getRGB());
+
+    assertNotSame(shared, updated);
+    assertColor(Color.WHITE, shared.getRGB(0, 0));
+    assertSame(shared, ImageCodec.decode(image, true).orElseThrow());
+  }
+
+  @Test
+  public void testAsciiInputStreamReadsSingleBytes() throws IOException {
+    InputStream in = new ImageCodec.AsciiInputStream("ab");
+
+    assertEquals(2, in.available());
+    assertEquals('a', in.read());
+    assertEquals('b', in.read());
+    assertEquals(-1, in.read());
+    assertEquals(0, in.available());
+  }
+
+  @Test
+  public void testAsciiInputStreamReadsIntoOffset() throws IOException {
+    InputStream in = new ImageCodec.AsciiInputStream("abcde");
+    byte[] buffer = new byte[4];
+
+    assertEquals(0, in.read(buffer, 0, 0));
+    assertEquals(3, in.read(buffer, 1, 3));
+    assertArrayEquals(new byte[]{0, 'a', 'b', 'c'}, buffer);
+    assertEquals(2, in.read(buffer, 0, 4));
+    assertEquals('d', buffer[0]);
+    assertEquals('e', buffer[1]);
+    assertEquals(-1, in.read(buffer, 0, 4));
+  }
+
+  @Test
+  public void testAsciiInputStreamMatchesBase64Decoder() throws IOException {
+    byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    String encoded = Base64.getEncoder().encodeToString(bytes);
+
+    InputStream in = Base64.getDecoder().wrap(new ImageCodec.AsciiInputStream(encoded));
+    assertArrayEquals(bytes, in.readAllBytes());
+  }
+
+  private static BufferedImage makeFrame(Color color) {
+    BufferedImage frame = new BufferedImage(32, 16, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = frame.createGraphics();
+    graphics.setColor(color);
+    graphics.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+    graphics.dispose();
+    return frame;
+  }
+
+  private static int[] rgb(BufferedImage frame) {
+    return frame.getRGB(0, 0, frame.getWidth(), frame.getHeight(), null, 0, frame.getWidth());
+  }
+
+  // JPEG is lossy, so colors are compared with a tolerance
+  private static void assertColor(Color expected, int actualRgb) {
+    Color actual = new Color(actualRgb);
+    assertTrue(Math.abs(expected.getRed() - actual.getRed()) < 8
+        && Math.abs(expected.getGreen() - actual.getGreen()) < 8
+        && Math.abs(expected.getBlue() - actual.getBlue()) < 8);
+  }
+}
@@ -22,7 +22,6 @@ import org.apache.streampipes.client.StreamPipesClient;
 import org.apache.streampipes.extensions.management.config.ConfigExtractor;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.processors.statistics.flink.AbstractStatisticsProgram;
-import org.apache.streampipes.processors.statistics.flink.extensions.MapKeySelector;
 import org.apache.streampipes.processors.statistics.flink.extensions.SlidingEventTimeWindow;
 import org.apache.streampipes.processors.statistics.flink.extensions.TimestampMappingFunction;
 
@@ -31,6 +30,7 @@ import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
 
+import java.util.Collections;
 import java.util.List;
 
 public class StatisticsSummaryProgramWindow extends
@@ -54,8 +54,7 @@ public class StatisticsSummaryProgramWindow extends
         StatisticsSummaryParamsSerializable(serializableParams.getValueToObserve(),
         serializableParams.getTimestampMapping(), serializableParams.getGroupBy(),
         serializableParams.getTimeWindowSize(), serializableParams.getTimeUnit());
-    DataStream<Event> output = messageStream[0]
-        .keyBy(new MapKeySelector(sp.getGroupBy()).getKeySelector())
+    DataStream<Event> output = asKeyedStream(messageStream[0])
         .transform
             ("sliding-window-event-shift",
                 TypeInformation.of(new TypeHint<List<Event>>() {
@@ -68,5 +67,9 @@ public class StatisticsSummaryProgramWindow extends
     return output;
   }
 
+  @Override
+  protected List<String> getPartitionKeys(int streamIndex) {
+    return Collections.singletonList(serializableParams.getGroupBy());
+  }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.jvm.processor;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * JVM-wide cache of deserialized OpenNLP models. Models are identified by their type and the hash of
+ * the uploaded model binary, so that all processors which use the same model file share a single
+ * instance. A model is removed from the cache once the last processor using it has released it.
+ * OpenNLP models are thread-safe, the tools created from them (e.g., TokenizerME) are not.
+ */
+public class NlpModelCache {
+
+  private static final Map<String, CachedModel<?>> MODELS = new HashMap<>();
+
+  @FunctionalInterface
+  public interface ModelLoader<M> {
+    M load(InputStream modelIn) throws IOException;
+  }
+
+  /**
+   * Returns the cached model for the given model binary, loading it if it is not cached yet. Each
+   * call must be paired with a call to {@link CachedModel#release()}.
+   */
+  @SuppressWarnings("unchecked")
+  public static synchronized <M> CachedModel<M> acquire(byte[] modelContent,
+                                                        Class<M> modelType,
+                                                        ModelLoader<M> loader) throws SpRuntimeException {
+    String key = modelType.getName() + ":" + hash(modelContent);
+    CachedModel<?> cachedModel = MODELS.get(key);
+    if (cachedModel == null) {
+      cachedModel = new CachedModel<>(key, load(modelContent, loader));
+      MODELS.put(key, cachedModel);
+    }
+    cachedModel.references++;
+    return (CachedModel<M>) cachedModel;
+  }
+
+  private static synchronized void release(CachedModel<?> cachedModel) {
+    if (cachedModel.references > 0 && --cachedModel.references == 0) {
+      MODELS.remove(cachedModel.key);
+    }
+  }
+
+  private static <M> M load(byte[] modelContent, ModelLoader<M> loader) {
+    try (InputStream modelIn = new ByteArrayInputStream(modelContent)) {
+      return loader.load(modelIn);
+    } catch (IOException e) {
+      throw new SpRuntimeException("Error when loading the uploaded model.", e);
+    }
+  }
+
+  private static String hash(byte[] modelContent) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(modelContent));
+    } catch (NoSuchAlgorithmException e) {
+      throw new SpRuntimeException("SHA-256 is not available", e);
+    }
+  }
+
+  public static class CachedModel<M> {
+
+    private final String key;
+    private final M model;
+    private int references;
+
+    private CachedModel(String key, M model) {
+      this.key = key;
+      this.model = model;
+    }
+
+    public M getModel() {
+      return model;
+    }
+
+    public void release() {
+      NlpModelCache.release(this);
+    }
+  }
+}
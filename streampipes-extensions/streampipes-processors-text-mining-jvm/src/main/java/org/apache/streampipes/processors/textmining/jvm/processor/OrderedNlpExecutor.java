@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.jvm.processor;
+
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.StreamPipesErrorMessage;
+import org.apache.streampipes.model.monitoring.SpLogEntry;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.wrapper.routing.SpOutputCollector;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Applies an OpenNLP tool to incoming events, either directly on the calling thread or, if
+ * SP_NLP_WORKER_THREADS is greater than one, on a pool of worker threads. Each worker thread uses its
+ * own tool instance created from the shared model. Results are emitted in the order in which the
+ * events arrived, and the number of pending events is bounded to propagate backpressure. Errors of
+ * the worker threads cannot be thrown to the runtime and are added to the log of the pipeline element.
+ */
+public class OrderedNlpExecutor<T, R> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OrderedNlpExecutor.class);
+
+  private static final int PENDING_EVENTS_PER_THREAD = 4;
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+  @FunctionalInterface
+  public interface Task<T, R> {
+    R process(T tool, Event event);
+  }
+
+  @FunctionalInterface
+  public interface Emitter<R> {
+    void emit(Event event, R result, SpOutputCollector out);
+  }
+
+  private final String elementId;
+  private final Task<T, R> task;
+  private final Emitter<R> emitter;
+  private final T tool;
+  private final ExecutorService executor;
+  private final ThreadLocal<T> tools;
+  private final Semaphore permits;
+  private final int maxPendingEvents;
+  private final Map<Long, Result> completed = new HashMap<>();
+
+  private long nextSequence;
+  private long nextEmitSequence;
+
+  public OrderedNlpExecutor(String elementId,
+                            Supplier<T> toolFactory,
+                            Task<T, R> task,
+                            Emitter<R> emitter) {
+    this(elementId,
+        Envs.SP_NLP_WORKER_THREADS.getValueAsIntOrDefault(DefaultEnvValues.NLP_WORKER_THREADS_DEFAULT),
+        toolFactory,
+        task,
+        emitter);
+  }
+
+  OrderedNlpExecutor(String elementId,
+                     int threads,
+                     Supplier<T> toolFactory,
+                     Task<T, R> task,
+                     Emitter<R> emitter) {
+    this.elementId = elementId;
+    this.task = task;
+    this.emitter = emitter;
+    if (threads <= 1) {
+      this.tool = toolFactory.get();
+      this.executor = null;
+      this.tools = null;
+      this.maxPendingEvents = 0;
+      this.permits = null;
+    } else {
+      this.tool = null;
+      this.executor = Executors.newFixedThreadPool(threads, makeThreadFactory(elementId));
+      this.tools = ThreadLocal.withInitial(toolFactory);
+      this.maxPendingEvents = threads * PENDING_EVENTS_PER_THREAD;
+      this.permits = new Semaphore(maxPendingEvents);
+    }
+  }
+
+  /**
+   * Creates an executor whose task modifies the event and returns the event which should be emitted.
+   */
+  public static <T> OrderedNlpExecutor<T, Event> forEvents(String elementId,
+                                                           Supplier<T> toolFactory,
+                                                           Task<T, Event> task) {
+    return new OrderedNlpExecutor<>(elementId, toolFactory, task, (event, result, out) -> out.collect(result));
+  }
+
+  public void process(Event event, SpOutputCollector out) throws SpRuntimeException {
+    if (executor == null) {
+      emitter.emit(event, task.process(tool, event), out);
+      return;
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for a free NLP worker", e);
+    }
+    long sequence = nextSequence++;
+    try {
+      executor.execute(() -> complete(sequence, processSafely(event, out)));
+    } catch (RejectedExecutionException e) {
+      complete(sequence, new Result(event, null, out, false));
+      throw new SpRuntimeException("NLP worker pool has already been shut down", e);
+    }
+  }
+
+  /**
+   * Waits until all pending events have been emitted and stops the worker threads.
+   */
+  public void close() {
+    if (executor == null) {
+      return;
+    }
+    try {
+      if (permits.tryAcquire(maxPendingEvents, CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        permits.release(maxPendingEvents);
+      } else {
+        LOG.warn("Discarding pending events of the NLP worker pool after {} seconds", CLOSE_TIMEOUT_SECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    executor.shutdownNow();
+  }
+
+  private Result processSafely(Event event, SpOutputCollector out) {
+    try {
+      return new Result(event, task.process(tools.get(), event), out, true);
+    } catch (RuntimeException e) {
+      LOG.error("Could not process event", e);
+      addLogEntry(e);
+      return new Result(event, null, out, false);
+    }
+  }
+
+  private void complete(long sequence, Result result) {
+    synchronized (completed) {
+      completed.put(sequence, result);
+      Result next;
+      while ((next = completed.remove(nextEmitSequence)) != null) {
+        nextEmitSequence++;
+        try {
+          if (next.successful) {
+            emitter.emit(next.event, next.value, next.out);
+          }
+        } catch (RuntimeException e) {
+          LOG.error("Could not emit event", e);
+          addLogEntry(e);
+        } finally {
+          permits.release();
+        }
+      }
+    }
+  }
+
+  private void addLogEntry(RuntimeException e) {
+    SpMonitoringManager.INSTANCE.addErrorMessage(elementId,
+        SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(e)));
+  }
+
+  private static ThreadFactory makeThreadFactory(String name) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "sp-nlp-" + name + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private class Result {
+
+    private final Event event;
+    private final R value;
+    private final SpOutputCollector out;
+    private final boolean successful;
+
+    private Result(Event event,
+                   R value,
+                   SpOutputCollector out,
+                   boolean successful) {
+      this.event = event;
+      this.value = value;
+      this.out = out;
+      this.successful = successful;
+    }
+  }
+}
@@ -22,6 +22,8 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.processors.textmining.jvm.processor.TextMiningUtil;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -31,9 +33,6 @@ import opennlp.tools.chunker.ChunkerME;
 import opennlp.tools.chunker.ChunkerModel;
 import opennlp.tools.util.Span;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -43,7 +42,8 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
 
   private String tags;
   private String tokens;
-  private ChunkerME chunker;
+  private NlpModelCache.CachedModel<ChunkerModel> model;
+  private OrderedNlpExecutor<ChunkerME, Event> executor;
 
   public Chunker() {
 //    try (InputStream modelIn = getClass().getClassLoader().getResourceAsStream("chunker-en.bin")) {
@@ -62,19 +62,17 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
     this.tags = chunkerParameters.getTags();
     this.tokens = chunkerParameters.getTokens();
 
-    InputStream modelIn = new ByteArrayInputStream(chunkerParameters.getFileContent());
-    ChunkerModel model = null;
-    try {
-      model = new ChunkerModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
-
-    chunker = new ChunkerME(model);
+    this.model = NlpModelCache.acquire(chunkerParameters.getFileContent(), ChunkerModel.class, ChunkerModel::new);
+    this.executor = OrderedNlpExecutor.forEvents(chunkerParameters.getGraph().getElementId(),
+        () -> new ChunkerME(model.getModel()), this::chunk);
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    executor.process(inputEvent, out);
+  }
+
+  private Event chunk(ChunkerME chunker, Event inputEvent) throws SpRuntimeException {
     ListField tags = inputEvent.getFieldBySelector(this.tags).getAsList();
     ListField tokens = inputEvent.getFieldBySelector(this.tokens).getAsList();
 
@@ -90,10 +88,12 @@ public class Chunker implements EventProcessor<ChunkerParameters> {
     inputEvent.addField(ChunkerController.CHUNK_TYPE_FIELD_KEY, types);
     inputEvent.addField(ChunkerController.CHUNK_FIELD_KEY, chunks);
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    executor.close();
+    model.release();
   }
 }
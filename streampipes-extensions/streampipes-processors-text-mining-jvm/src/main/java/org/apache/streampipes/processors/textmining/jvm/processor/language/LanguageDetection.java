@@ -21,6 +21,8 @@ package org.apache.streampipes.processors.textmining.jvm.processor.language;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
@@ -30,16 +32,13 @@ import opennlp.tools.langdetect.LanguageDetector;
 import opennlp.tools.langdetect.LanguageDetectorME;
 import opennlp.tools.langdetect.LanguageDetectorModel;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class LanguageDetection implements EventProcessor<LanguageDetectionParameters> {
 
   private static Logger log;
 
   private String detection;
-  private LanguageDetector languageDetector;
+  private NlpModelCache.CachedModel<LanguageDetectorModel> model;
+  private OrderedNlpExecutor<LanguageDetector, Event> executor;
 
   public LanguageDetection() {
   }
@@ -51,29 +50,30 @@ public class LanguageDetection implements EventProcessor<LanguageDetectionParame
     log = languageDetectionParameters.getGraph().getLogger(LanguageDetection.class);
     this.detection = languageDetectionParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(languageDetectionParameters.getFileContent());
-    LanguageDetectorModel model = null;
-    try {
-      model = new LanguageDetectorModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
-
-    languageDetector = new LanguageDetectorME(model);
+    this.model = NlpModelCache.acquire(languageDetectionParameters.getFileContent(),
+        LanguageDetectorModel.class, LanguageDetectorModel::new);
+    this.executor = OrderedNlpExecutor.forEvents(languageDetectionParameters.getGraph().getElementId(),
+        () -> new LanguageDetectorME(model.getModel()), this::detectLanguage);
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) {
+    executor.process(inputEvent, out);
+  }
+
+  private Event detectLanguage(LanguageDetector languageDetector, Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
     Language language = languageDetector.predictLanguage(text);
 
     inputEvent.addField(LanguageDetectionController.LANGUAGE_KEY, language.getLang());
     inputEvent.addField(LanguageDetectionController.CONFIDENCE_KEY, language.getConfidence());
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    executor.close();
+    model.release();
   }
 }
@@ -21,6 +21,8 @@ package org.apache.streampipes.processors.textmining.jvm.processor.namefinder;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.processors.textmining.jvm.processor.TextMiningUtil;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -30,15 +32,13 @@ import opennlp.tools.namefind.NameFinderME;
 import opennlp.tools.namefind.TokenNameFinderModel;
 import opennlp.tools.util.Span;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 public class NameFinder implements EventProcessor<NameFinderParameters> {
 
   private String tokens;
-  private NameFinderME nameFinder;
+  private NlpModelCache.CachedModel<TokenNameFinderModel> model;
+  private OrderedNlpExecutor<NameFinderME, Event> executor;
 
   public NameFinder() {
 
@@ -49,13 +49,20 @@ public class NameFinder implements EventProcessor<NameFinderParameters> {
                            SpOutputCollector spOutputCollector,
                            EventProcessorRuntimeContext runtimeContext) {
 
-    loadModel(nameFinderParameters.getModel());
+    this.model = NlpModelCache.acquire(nameFinderParameters.getModel(),
+        TokenNameFinderModel.class, TokenNameFinderModel::new);
+    this.executor = OrderedNlpExecutor.forEvents(nameFinderParameters.getGraph().getElementId(),
+        () -> new NameFinderME(model.getModel()), this::findNames);
 
     this.tokens = nameFinderParameters.getTokens();
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) throws SpRuntimeException {
+    executor.process(inputEvent, out);
+  }
+
+  private Event findNames(NameFinderME nameFinder, Event inputEvent) throws SpRuntimeException {
     ListField tokens = inputEvent.getFieldBySelector(this.tokens).getAsList();
 
     String[] tokensArray = tokens.castItems(String.class).stream().toArray(String[]::new);
@@ -67,19 +74,12 @@ public class NameFinder implements EventProcessor<NameFinderParameters> {
     nameFinder.clearAdaptiveData();
 
     inputEvent.addField(NameFinderController.FOUND_NAME_FIELD_KEY, names);
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
-  }
-
-  private void loadModel(byte[] modelContent) {
-    try (InputStream modelIn = new ByteArrayInputStream(modelContent)) {
-      TokenNameFinderModel model = new TokenNameFinderModel(modelIn);
-      nameFinder = new NameFinderME(model);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    executor.close();
+    model.release();
   }
 }
@@ -22,6 +22,8 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.field.ListField;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
@@ -29,16 +31,13 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import opennlp.tools.postag.POSModel;
 import opennlp.tools.postag.POSTaggerME;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class PartOfSpeech implements EventProcessor<PartOfSpeechParameters> {
 
   private static Logger log;
 
   private String detection;
-  private POSTaggerME posTagger;
+  private NlpModelCache.CachedModel<POSModel> model;
+  private OrderedNlpExecutor<POSTaggerME, Event> executor;
 
   public PartOfSpeech() {
   }
@@ -50,19 +49,17 @@ public class PartOfSpeech implements EventProcessor<PartOfSpeechParameters> {
     log = partOfSpeechParameters.getGraph().getLogger(PartOfSpeech.class);
     this.detection = partOfSpeechParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(partOfSpeechParameters.getFileContent());
-    POSModel model = null;
-    try {
-      model = new POSModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
-
-    posTagger = new POSTaggerME(model);
+    this.model = NlpModelCache.acquire(partOfSpeechParameters.getFileContent(), POSModel.class, POSModel::new);
+    this.executor = OrderedNlpExecutor.forEvents(partOfSpeechParameters.getGraph().getElementId(),
+        () -> new POSTaggerME(model.getModel()), this::tag);
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) {
+    executor.process(inputEvent, out);
+  }
+
+  private Event tag(POSTaggerME posTagger, Event inputEvent) {
     ListField text = inputEvent.getFieldBySelector(detection).getAsList();
 
     String[] tags = posTagger.tag(text.castItems(String.class).stream().toArray(String[]::new));
@@ -72,10 +69,12 @@ public class PartOfSpeech implements EventProcessor<PartOfSpeechParameters> {
     inputEvent.addField(PartOfSpeechController.CONFIDENCE_KEY, confidence);
     inputEvent.addField(PartOfSpeechController.TAG_KEY, tags);
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    executor.close();
+    model.release();
   }
 }
@@ -21,6 +21,8 @@ package org.apache.streampipes.processors.textmining.jvm.processor.sentencedetec
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
@@ -28,17 +30,14 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import opennlp.tools.sentdetect.SentenceDetectorME;
 import opennlp.tools.sentdetect.SentenceModel;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class SentenceDetection implements EventProcessor<SentenceDetectionParameters> {
 
   private static Logger log;
 
   // Field with the text
   private String detection;
-  private SentenceDetectorME sentenceDetector;
+  private NlpModelCache.CachedModel<SentenceModel> model;
+  private OrderedNlpExecutor<SentenceDetectorME, String[]> executor;
 
   public SentenceDetection() {
   }
@@ -50,23 +49,25 @@ public class SentenceDetection implements EventProcessor<SentenceDetectionParame
     log = sentenceDetectionParameters.getGraph().getLogger(SentenceDetection.class);
     this.detection = sentenceDetectionParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(sentenceDetectionParameters.getFileContent());
-    SentenceModel model = null;
-    try {
-      model = new SentenceModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
-
-    sentenceDetector = new SentenceDetectorME(model);
+    this.model = NlpModelCache.acquire(sentenceDetectionParameters.getFileContent(),
+        SentenceModel.class, SentenceModel::new);
+    this.executor = new OrderedNlpExecutor<>(sentenceDetectionParameters.getGraph().getElementId(),
+        () -> new SentenceDetectorME(model.getModel()), this::detectSentences, this::emitSentences);
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) {
+    executor.process(inputEvent, out);
+  }
+
+  private String[] detectSentences(SentenceDetectorME sentenceDetector, Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
 
-    String sentences[] = sentenceDetector.sentDetect(text);
+    return sentenceDetector.sentDetect(text);
+  }
 
+  // The event is reused for all sentences, so each sentence must be emitted before the next one is set
+  private void emitSentences(Event inputEvent, String[] sentences, SpOutputCollector out) {
     for (String sentence : sentences) {
       inputEvent.updateFieldBySelector(detection, sentence);
       out.collect(inputEvent);
@@ -75,5 +76,7 @@ public class SentenceDetection implements EventProcessor<SentenceDetectionParame
 
   @Override
   public void onDetach() {
+    executor.close();
+    model.release();
   }
 }
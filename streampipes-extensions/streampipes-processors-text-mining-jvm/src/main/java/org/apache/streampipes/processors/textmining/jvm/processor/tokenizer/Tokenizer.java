@@ -21,6 +21,8 @@ package org.apache.streampipes.processors.textmining.jvm.processor.tokenizer;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.processors.textmining.jvm.processor.NlpModelCache;
+import org.apache.streampipes.processors.textmining.jvm.processor.OrderedNlpExecutor;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.runtime.EventProcessor;
@@ -28,17 +30,14 @@ import org.apache.streampipes.wrapper.runtime.EventProcessor;
 import opennlp.tools.tokenize.TokenizerME;
 import opennlp.tools.tokenize.TokenizerModel;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
 public class Tokenizer implements EventProcessor<TokenizerParameters> {
 
   private static Logger log;
 
   // Field with the text
   private String detection;
-  private TokenizerME tokenizer;
+  private NlpModelCache.CachedModel<TokenizerModel> model;
+  private OrderedNlpExecutor<TokenizerME, Event> executor;
 
   public Tokenizer() {
   }
@@ -50,27 +49,28 @@ public class Tokenizer implements EventProcessor<TokenizerParameters> {
     log = tokenizerParameters.getGraph().getLogger(Tokenizer.class);
     this.detection = tokenizerParameters.getDetectionName();
 
-    InputStream modelIn = new ByteArrayInputStream(tokenizerParameters.getFileContent());
-    TokenizerModel model = null;
-    try {
-      model = new TokenizerModel(modelIn);
-    } catch (IOException e) {
-      throw new SpRuntimeException("Error when loading the uploaded model.", e);
-    }
-
-    tokenizer = new TokenizerME(model);
+    this.model = NlpModelCache.acquire(tokenizerParameters.getFileContent(),
+        TokenizerModel.class, TokenizerModel::new);
+    this.executor = OrderedNlpExecutor.forEvents(tokenizerParameters.getGraph().getElementId(),
+        () -> new TokenizerME(model.getModel()), this::tokenize);
   }
 
   @Override
   public void onEvent(Event inputEvent, SpOutputCollector out) {
+    executor.process(inputEvent, out);
+  }
+
+  private Event tokenize(TokenizerME tokenizer, Event inputEvent) {
     String text = inputEvent.getFieldBySelector(detection).getAsPrimitive().getAsString();
 
     inputEvent.addField(TokenizerController.TOKEN_LIST_FIELD_KEY, tokenizer.tokenize(text));
 
-    out.collect(inputEvent);
+    return inputEvent;
   }
 
   @Override
   public void onDetach() {
+    executor.close();
+    model.release();
   }
 }
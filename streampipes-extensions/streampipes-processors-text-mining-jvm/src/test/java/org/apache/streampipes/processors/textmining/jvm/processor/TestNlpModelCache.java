@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.jvm.processor;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TestNlpModelCache {
+
+  private final AtomicInteger loadedModels = new AtomicInteger();
+
+  @Test
+  public void testModelIsShared() {
+    NlpModelCache.CachedModel<String> first = acquire("shared", String.class);
+    NlpModelCache.CachedModel<String> second = acquire("shared", String.class);
+
+    assertSame(first, second);
+    assertEquals("shared", first.getModel());
+    assertEquals(1, loadedModels.get());
+
+    first.release();
+    second.release();
+  }
+
+  @Test
+  public void testModelIsRemovedAfterLastRelease() {
+    NlpModelCache.CachedModel<String> first = acquire("released", String.class);
+    NlpModelCache.CachedModel<String> second = acquire("released", String.class);
+
+    first.release();
+    // still referenced by the second processor
+    assertSame(second, acquire("released", String.class));
+    second.release();
+    second.release();
+
+    NlpModelCache.CachedModel<String> reloaded = acquire("released", String.class);
+    assertNotSame(first, reloaded);
+    assertEquals(2, loadedModels.get());
+    reloaded.release();
+  }
+
+  @Test
+  public void testAdditionalReleaseIsIgnored() {
+    NlpModelCache.CachedModel<String> model = acquire("ignored", String.class);
+    model.release();
+    model.release();
+
+    NlpModelCache.CachedModel<String> first = acquire("ignored", String.class);
+    NlpModelCache.CachedModel<String> second = acquire("ignored", String.class);
+    model.release();
+
+    // the release of the evicted instance does not affect the cached instance
+    assertSame(first, acquire("ignored", String.class));
+    first.release();
+    second.release();
+    first.release();
+  }
+
+  @Test
+  public void testModelTypesAreCachedSeparately() {
+    NlpModelCache.CachedModel<String> model = acquire("typed", String.class);
+    NlpModelCache.CachedModel<CharSequence> otherType = acquire("typed", CharSequence.class);
+
+    assertNotSame(model, otherType);
+    assertEquals(2, loadedModels.get());
+    model.release();
+    otherType.release();
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testLoadError() {
+    NlpModelCache.acquire("broken".getBytes(StandardCharsets.UTF_8), String.class, modelIn -> {
+      throw new IOException("Invalid model");
+    });
+  }
+
+  private <M> NlpModelCache.CachedModel<M> acquire(String content, Class<M> modelType) {
+    return NlpModelCache.acquire(content.getBytes(StandardCharsets.UTF_8), modelType, modelIn -> {
+      loadedModels.incrementAndGet();
+      return modelType.cast(new String(modelIn.readAllBytes(), StandardCharsets.UTF_8));
+    });
+  }
+}
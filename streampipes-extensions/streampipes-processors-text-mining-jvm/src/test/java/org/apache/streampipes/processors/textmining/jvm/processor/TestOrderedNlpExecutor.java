@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.processors.textmining.jvm.processor;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.monitoring.SpLogEntry;
+import org.apache.streampipes.model.runtime.Event;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class TestOrderedNlpExecutor {
+
+  private static final String ELEMENT_ID = "test-nlp-executor";
+
+  private final List<Integer> emitted = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger createdTools = new AtomicInteger();
+
+  @After
+  public void resetLogs() {
+    SpMonitoringManager.INSTANCE.resetLogs(ELEMENT_ID);
+  }
+
+  @Test
+  public void testOrderIsPreserved() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(4, (tool, event) -> {
+      threads.add(Thread.currentThread());
+      sleepRandomly();
+      return getIndex(event);
+    });
+
+    processEvents(executor, 200);
+    executor.close();
+
+    assertEquals(range(200), emitted);
+    // each worker thread creates its own tool
+    assertTrue(threads.size() <= 4);
+    assertEquals(threads.size(), createdTools.get());
+  }
+
+  @Test
+  public void testCloseDrainsPendingEvents() {
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(2, (tool, event) -> {
+      sleepRandomly();
+      return getIndex(event);
+    });
+
+    processEvents(executor, 20);
+    executor.close();
+
+    // all events are emitted once close returns
+    assertEquals(range(20), emitted);
+  }
+
+  @Test(expected = SpRuntimeException.class)
+  public void testProcessAfterClose() {
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(2, (tool, event) -> getIndex(event));
+    executor.close();
+
+    executor.process(makeEvent(0), null);
+  }
+
+  @Test
+  public void testWorkerErrorsAreLogged() {
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(4, (tool, event) -> {
+      sleepRandomly();
+      int index = getIndex(event);
+      if (index % 10 == 0) {
+        throw new SpRuntimeException("Could not process event " + index);
+      }
+      return index;
+    });
+
+    processEvents(executor, 50);
+    executor.close();
+
+    // failed events are skipped without affecting the order of the remaining events
+    List<Integer> expected = range(50).stream().filter(index -> index % 10 != 0).collect(Collectors.toList());
+    assertEquals(expected, emitted);
+    List<SpLogEntry> logs = SpMonitoringManager.INSTANCE.getAllLogs().get(ELEMENT_ID);
+    assertEquals(5, logs.size());
+  }
+
+  @Test
+  public void testDirectMode() {
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(1, (tool, event) -> getIndex(event));
+
+    processEvents(executor, 10);
+
+    assertEquals(range(10), emitted);
+    assertEquals(1, createdTools.get());
+  }
+
+  @Test
+  public void testDirectModeThrowsErrors() {
+    OrderedNlpExecutor<Object, Integer> executor = makeExecutor(1, (tool, event) -> {
+      throw new SpRuntimeException("Could not process event");
+    });
+
+    // errors are thrown to the runtime, which adds them to the log
+    assertThrows(SpRuntimeException.class, () -> executor.process(makeEvent(0), null));
+    List<SpLogEntry> logs = SpMonitoringManager.INSTANCE.getAllLogs().get(ELEMENT_ID);
+    assertTrue(logs == null || logs.isEmpty());
+  }
+
+  private OrderedNlpExecutor<Object, Integer> makeExecutor(int threads,
+                                                           OrderedNlpExecutor.Task<Object, Integer> task) {
+    return new OrderedNlpExecutor<>(ELEMENT_ID, threads, () -> {
+      createdTools.incrementAndGet();
+      return new Object();
+    }, task, (event, result, out) -> emitted.add(result));
+  }
+
+  private static void processEvents(OrderedNlpExecutor<Object, Integer> executor, int count) {
+    for (int i = 0; i < count; i++) {
+      executor.process(makeEvent(i), null);
+    }
+  }
+
+  private static Event makeEvent(int index) {
+    Event event = new Event();
+    event.addField("index", index);
+    return event;
+  }
+
+  private static int getIndex(Event event) {
+    return event.getFieldByRuntimeName("index").getAsPrimitive().getAsInt();
+  }
+
+  private static List<Integer> range(int count) {
+    return IntStream.range(0, count).boxed().collect(Collectors.toList());
+  }
+
+  private static void sleepRandomly() {
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -18,6 +18,8 @@
 
 package org.apache.streampipes.sinks.databases.jvm.jdbcclient;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
@@ -33,7 +35,12 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 
 public class JdbcClient {
@@ -48,6 +55,27 @@ public class JdbcClient {
 
   protected Logger logger;
 
+  /**
+   * Number of rows which are written with a single batch, a value of 1 writes each event immediately
+   */
+  protected int batchSize = 1;
+
+  /**
+   * Maximum number of batches which are kept while they cannot be written, older rows are dropped
+   */
+  private static final int MAX_PENDING_BATCHES = 10;
+
+  private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+  /**
+   * SQL states of a missing table in PostgreSQL (undefined_table) and MySQL (base table not found)
+   */
+  private static final List<String> UNDEFINED_TABLE_STATES = List.of("42P01", "42S02");
+
+  private final List<Map<String, Object>> pendingEvents = new ArrayList<>();
+
+  private ScheduledExecutorService flushScheduler;
+
   /**
    * A wrapper class for all supported SQL data types (INT, BIGINT, FLOAT, DOUBLE, VARCHAR(255)).
    * If no matching type is found, it is interpreted as a String (VARCHAR(255))
@@ -85,6 +113,37 @@ public class JdbcClient {
   }
 
 
+  /**
+   * Enables batched writes as configured by SP_JDBC_BATCH_SIZE. Pending rows are written as soon as the batch is
+   * full or SP_JDBC_FLUSH_INTERVAL_MS has passed.
+   */
+  protected void initializeBatching() {
+    this.batchSize = Envs.SP_JDBC_BATCH_SIZE.getValueAsIntOrDefault(DefaultEnvValues.JDBC_BATCH_SIZE_DEFAULT);
+    if (batchSize > 1) {
+      long flushInterval = Envs.SP_JDBC_FLUSH_INTERVAL_MS
+          .getValueAsIntOrDefault(DefaultEnvValues.JDBC_FLUSH_INTERVAL_MS_DEFAULT);
+      this.flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sp-jdbc-flush-" + tableDescription.getName());
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.flushScheduler.scheduleAtFixedRate(this::flushQuietly, flushInterval, flushInterval,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Derives the prepared statement from the event schema once, instead of from the first incoming event
+   */
+  protected void initializePreparedStatement() throws SpRuntimeException {
+    checkConnected();
+    try {
+      this.statementHandler.generatePreparedStatement(this.dbDescription, this.tableDescription, connection);
+    } catch (SQLException e) {
+      throw new SpRuntimeException("Could not prepare insert statement: " + e.getMessage());
+    }
+  }
+
   /**
    * Connects to the SQL database and initializes {@link JdbcClient#connection}
    *
@@ -194,7 +253,6 @@ public class JdbcClient {
    * @throws SpRuntimeException When there was an error in the saving process
    */
   protected void save(final Event event) throws SpRuntimeException {
-    //TODO: Add batch support (https://stackoverflow.com/questions/3784197/efficient-way-to-do-batch-inserts-with-jdbc)
     checkConnected();
     Map<String, Object> eventMap = event.getRaw();
     if (event == null) {
@@ -205,6 +263,10 @@ public class JdbcClient {
       createTable();
       this.tableDescription.setTableExists();
     }
+    if (batchSize > 1) {
+      addToBatch(eventMap);
+      return;
+    }
     try {
       checkConnected();
       this.statementHandler.executePreparedStatement(
@@ -233,6 +295,132 @@ public class JdbcClient {
     }
   }
 
+  private synchronized void addToBatch(Map<String, Object> eventMap) throws SpRuntimeException {
+    pendingEvents.add(eventMap);
+    if (pendingEvents.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  /**
+   * Writes all pending rows of the current batch within a single transaction. If the database is not reachable or
+   * a missing table cannot be recreated, the rows are kept for the next flush up to {@link #MAX_PENDING_BATCHES}
+   * batches. If the batch is rejected for any other reason, e.g., because of a constraint violation or a value of
+   * the wrong type, the rows are written one by one and only the rows which still fail are dropped.
+   *
+   * @throws SpRuntimeException When the rows could not be written or some rows were dropped
+   */
+  public synchronized void flush() throws SpRuntimeException {
+    if (pendingEvents.isEmpty()) {
+      return;
+    }
+    checkConnected();
+    try {
+      writeBatchInTransaction(pendingEvents);
+    } catch (SQLException e) {
+      if (isConnectionException(e)) {
+        dropOverflowingRows();
+        throw new SpRuntimeException("Could not write batch, keeping " + pendingEvents.size() + " rows: "
+            + e.getMessage(), e);
+      } else if (isMissingTable(e)) {
+        logger.warn("Table '" + this.tableDescription.getName() + "' was unexpectedly not found and gets recreated.");
+        this.tableDescription.setTableMissing();
+        recreateTable();
+        writeRows();
+      } else {
+        writeRows();
+      }
+      return;
+    } catch (SpRuntimeException e) {
+      writeRows();
+      return;
+    }
+    pendingEvents.clear();
+  }
+
+  /**
+   * Creates the missing table of the pending rows. If the table cannot be created, the rows are kept for the next
+   * flush up to {@link #MAX_PENDING_BATCHES} batches.
+   */
+  private void recreateTable() throws SpRuntimeException {
+    try {
+      createTable();
+    } catch (SpRuntimeException e) {
+      dropOverflowingRows();
+      throw new SpRuntimeException("Could not recreate table '" + this.tableDescription.getName() + "', keeping "
+          + pendingEvents.size() + " rows: " + e.getMessage(), e);
+    }
+    this.tableDescription.setTableExists();
+  }
+
+  private void writeBatchInTransaction(List<Map<String, Object>> events) throws SQLException, SpRuntimeException {
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    try {
+      writeBatch(events);
+      connection.commit();
+    } catch (SQLException | RuntimeException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+  }
+
+  /**
+   * Writes the pending rows one by one after the batch was rejected and drops the rows which cannot be written.
+   */
+  private void writeRows() throws SpRuntimeException {
+    int droppedRows = 0;
+    Exception lastError = null;
+    for (Map<String, Object> event : pendingEvents) {
+      try {
+        this.statementHandler.executePreparedStatement(this.dbDescription, this.tableDescription, connection, event);
+      } catch (SQLException | RuntimeException e) {
+        droppedRows++;
+        lastError = e;
+      }
+    }
+    int rows = pendingEvents.size();
+    pendingEvents.clear();
+    if (droppedRows > 0) {
+      throw new SpRuntimeException("Dropped " + droppedRows + " of " + rows + " rows which could not be written: "
+          + lastError.getMessage(), lastError);
+    }
+  }
+
+  private void dropOverflowingRows() {
+    int overflow = pendingEvents.size() - batchSize * MAX_PENDING_BATCHES;
+    if (overflow > 0) {
+      pendingEvents.subList(0, overflow).clear();
+      logger.warn("Dropped " + overflow + " rows of table '" + this.tableDescription.getName()
+          + "' since the rows could not be written.");
+    }
+  }
+
+  private boolean isConnectionException(SQLException e) {
+    return e.getSQLState() != null && e.getSQLState().startsWith(CONNECTION_EXCEPTION_CLASS);
+  }
+
+  private boolean isMissingTable(SQLException e) {
+    return UNDEFINED_TABLE_STATES.contains(e.getSQLState());
+  }
+
+  /**
+   * Writes the given rows with a single round trip. Can be overridden to use a database-specific bulk path.
+   */
+  protected void writeBatch(List<Map<String, Object>> events) throws SQLException, SpRuntimeException {
+    this.statementHandler.executeBatch(this.dbDescription, this.tableDescription, connection, events);
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (SpRuntimeException e) {
+      logger.error("Could not write batch: " + e.getMessage());
+    }
+  }
+
   protected void createTable() throws SpRuntimeException {
     String createStatement = "CREATE TABLE ";
 
@@ -259,6 +447,11 @@ public class JdbcClient {
    */
   protected void closeAll() {
     boolean error = false;
+    if (flushScheduler != null) {
+      flushScheduler.shutdown();
+      flushScheduler = null;
+      flushQuietly();
+    }
     try {
       if (this.statementHandler.statement != null) {
         this.statementHandler.statement.close();
@@ -19,14 +19,20 @@
 package org.apache.streampipes.sinks.databases.jvm.jdbcclient.model;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.SQLStatementUtils;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.StatementUtils;
+import org.apache.streampipes.vocabulary.XSD;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class StatementHandler {
@@ -38,6 +44,9 @@ public class StatementHandler {
    */
   protected HashMap<String, ParameterInformation> eventParameterMap = new HashMap<>();
 
+  private final BitSet filledParameters = new BitSet();
+  private int batchedRows = 0;
+
   public StatementHandler(Statement statement, PreparedStatement preparedStatement) {
     this.statement = statement;
     this.preparedStatement = preparedStatement;
@@ -71,6 +80,63 @@ public class StatementHandler {
     this.preparedStatement = connection.prepareStatement(finalStatement);
   }
 
+  /**
+   * Initializes the variables {@link StatementHandler#eventParameterMap} and {@link StatementHandler#preparedStatement}
+   * from the event schema of the table, so that the statement does not need to be derived from incoming events.
+   *
+   * @throws SpRuntimeException When the tablename or a column name is not allowed
+   * @throws SQLException       When the prepareStatement cannot be evaluated
+   */
+  public void generatePreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
+                                        Connection connection)
+      throws SQLException, SpRuntimeException {
+    eventParameterMap.clear();
+    StringBuilder statement1 = new StringBuilder("INSERT INTO ");
+    StringBuilder statement2 = new StringBuilder("VALUES ( ");
+    SQLStatementUtils.checkRegEx(tableDescription.getName(), "Tablename", dbDescription);
+    statement1.append(tableDescription.getName()).append(" ( ");
+
+    extendPreparedStatement(dbDescription, tableDescription.getEventSchema().getEventProperties(), statement1,
+        statement2, 1, "", "");
+
+    statement1.append(" ) ");
+    statement2.append(" );");
+    this.preparedStatement = connection.prepareStatement(statement1.append(statement2).toString());
+  }
+
+  private int extendPreparedStatement(DbDescription dbDescription,
+                                      List<EventProperty> properties,
+                                      StringBuilder s1,
+                                      StringBuilder s2,
+                                      int index,
+                                      String preProperty,
+                                      String prefix)
+      throws SpRuntimeException {
+
+    for (EventProperty property : properties) {
+      SQLStatementUtils.checkRegEx(property.getRuntimeName(), "Columnname", dbDescription);
+      if (property instanceof EventPropertyNested) {
+        index = extendPreparedStatement(dbDescription, ((EventPropertyNested) property).getEventProperties(), s1, s2,
+            index, preProperty + property.getRuntimeName() + "_", prefix);
+      } else {
+        String runtimeType = property instanceof EventPropertyPrimitive
+            ? ((EventPropertyPrimitive) property).getRuntimeType()
+            : XSD.STRING.toString();
+        eventParameterMap.put(preProperty + property.getRuntimeName(), new ParameterInformation(index,
+            DbDataTypeFactory.getFromUri(runtimeType, dbDescription.getEngine())));
+        if (dbDescription.isColumnNameQuoted()) {
+          s1.append(prefix).append("\"").append(preProperty).append(property.getRuntimeName()).append("\"");
+        } else {
+          s1.append(prefix).append(preProperty).append(property.getRuntimeName());
+        }
+        s2.append(prefix).append("?");
+        index++;
+      }
+      prefix = ", ";
+    }
+    return index;
+  }
+
   /**
    * @param event
    * @param s1
@@ -95,7 +161,7 @@ public class StatementHandler {
             pair.getKey() + "_", prefix);
       } else {
         SQLStatementUtils.checkRegEx(pair.getKey(), "Columnname", dbDescription);
-        eventParameterMap.put(pair.getKey(), new ParameterInformation(index,
+        eventParameterMap.put(preProperty + pair.getKey(), new ParameterInformation(index,
             DbDataTypeFactory.getFromObject(pair.getValue(), dbDescription.getEngine())));
         if (dbDescription.isColumnNameQuoted()) {
           s1.append(prefix).append("\"").append(preProperty).append(pair.getKey()).append("\"");
@@ -111,43 +177,68 @@ public class StatementHandler {
   }
 
   /**
-   * Fills a prepared statement with the actual values base on {@link StatementHandler#eventParameterMap}. If
-   * {@link StatementHandler#eventParameterMap} is empty or not complete (which should only happen once in the
-   * beginning), it calls
-   * {@link StatementHandler#generatePreparedStatement
-   * (DbDescription, TableDescription, Connection, Map)} to generate a new one.
+   * Fills a prepared statement with the actual values based on {@link StatementHandler#eventParameterMap}.
+   * Parameters for which the event does not contain a value are set to null.
    *
-   * @param event
-   * @param pre
-   * @throws SQLException
-   * @throws SpRuntimeException
+   * @return false if the event contains a value which is not part of the current prepared statement
    */
-  private void fillPreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
-                                     Connection connection, final Map<String, Object> event, String pre)
+  private boolean fillPreparedStatement(final Map<String, Object> event)
       throws SQLException, SpRuntimeException {
+    filledParameters.clear();
+    if (!fillPreparedStatement(event, "")) {
+      return false;
+    }
+    for (ParameterInformation p : eventParameterMap.values()) {
+      if (!filledParameters.get(p.getIndex())) {
+        this.preparedStatement.setObject(p.getIndex(), null);
+      }
+    }
+    return true;
+  }
 
-    //TODO: Possible error: when the event does not contain all objects of the parameter list
+  private boolean fillPreparedStatement(final Map<String, Object> event, String pre)
+      throws SQLException, SpRuntimeException {
     for (Map.Entry<String, Object> pair : event.entrySet()) {
       String newKey = pre + pair.getKey();
       if (pair.getValue() instanceof Map) {
         // recursively extracts nested values
-        fillPreparedStatement(dbDescription, tableDescription, connection, (Map<String, Object>) pair.getValue(),
-            newKey + "_");
-      } else {
-        if (!eventParameterMap.containsKey(newKey)) {
-          //TODO: start the for loop all over again
-          generatePreparedStatement(dbDescription, tableDescription, connection, event);
+        if (!fillPreparedStatement((Map<String, Object>) pair.getValue(), newKey + "_")) {
+          return false;
         }
+      } else {
         ParameterInformation p = eventParameterMap.get(newKey);
+        if (p == null) {
+          return false;
+        }
         StatementUtils.setValue(p, pair.getValue(), this.getPreparedStatement());
+        filledParameters.set(p.getIndex());
       }
     }
+    return true;
+  }
+
+  /**
+   * Fills the prepared statement with the given event. If the event does not match the prepared statement (which
+   * should only happen once in the beginning if no statement was derived from the schema), all batched rows are
+   * written and a new statement is generated from the event.
+   */
+  private void prepareRow(DbDescription dbDescription, TableDescription tableDescription,
+                          Connection connection, final Map<String, Object> event)
+      throws SQLException, SpRuntimeException {
+    if (this.getPreparedStatement() != null) {
+      this.preparedStatement.clearParameters();
+      if (fillPreparedStatement(event)) {
+        return;
+      }
+      writeBatchedRows();
+    }
+    generatePreparedStatement(dbDescription, tableDescription, connection, event);
+    fillPreparedStatement(event);
   }
 
   /**
    * Clears, fills and executes the saved prepared statement {@code ps} with the data found in
-   * event. To fill in the values it calls
-   * {@link StatementHandler#fillPreparedStatement(DbDescription, TableDescription, Connection, Map, String)}.
+   * event.
    *
    * @param event Data to be saved in the SQL table
    * @throws SQLException       When the statement cannot be executed
@@ -158,13 +249,43 @@ public class StatementHandler {
   public void executePreparedStatement(DbDescription dbDescription, TableDescription tableDescription,
                                        Connection connection, final Map<String, Object> event)
       throws SQLException, SpRuntimeException {
-    if (this.getPreparedStatement() != null) {
-      this.preparedStatement.clearParameters();
-    }
-    fillPreparedStatement(dbDescription, tableDescription, connection, event, "");
+    prepareRow(dbDescription, tableDescription, connection, event);
     this.preparedStatement.executeUpdate();
   }
 
+  /**
+   * Adds the events as rows to the batch of the prepared statement and writes them with a single round trip.
+   *
+   * @param events Data to be saved in the SQL table
+   * @throws SQLException       When the batch cannot be executed
+   * @throws SpRuntimeException When the table name is not allowed or a value cannot be set
+   */
+  public void executeBatch(DbDescription dbDescription, TableDescription tableDescription,
+                           Connection connection, final List<Map<String, Object>> events)
+      throws SQLException, SpRuntimeException {
+    try {
+      for (Map<String, Object> event : events) {
+        prepareRow(dbDescription, tableDescription, connection, event);
+        this.preparedStatement.addBatch();
+        batchedRows++;
+      }
+      writeBatchedRows();
+    } catch (SQLException | SpRuntimeException e) {
+      if (this.preparedStatement != null) {
+        this.preparedStatement.clearBatch();
+      }
+      batchedRows = 0;
+      throw e;
+    }
+  }
+
+  private void writeBatchedRows() throws SQLException {
+    if (batchedRows > 0) {
+      batchedRows = 0;
+      this.preparedStatement.executeBatch();
+    }
+  }
+
   public PreparedStatement getPreparedStatement() {
     return preparedStatement;
   }
@@ -27,6 +27,7 @@ import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.DbDescription
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.SupportedDbEngines;
 import org.apache.streampipes.vocabulary.XSD;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class SQLStatementUtils {
@@ -102,4 +103,25 @@ public class SQLStatementUtils {
 
     return stringBuilder;
   }
+
+  /**
+   * Returns the names of all columns of the given properties in the order of the table definition, nested properties
+   * are flattened to preProperty_runtimeName.
+   *
+   * @param properties  The list of properties for which the column names should be extracted
+   * @param preProperty A string which gets prepended to all property runtimeNames
+   * @return The list of column names
+   */
+  public static List<String> extractColumnNames(List<EventProperty> properties, String preProperty) {
+    List<String> columnNames = new ArrayList<>();
+    for (EventProperty property : properties) {
+      if (property instanceof EventPropertyNested) {
+        columnNames.addAll(extractColumnNames(((EventPropertyNested) property).getEventProperties(),
+            preProperty + property.getRuntimeName() + "_"));
+      } else {
+        columnNames.add(preProperty + property.getRuntimeName());
+      }
+    }
+    return columnNames;
+  }
 }
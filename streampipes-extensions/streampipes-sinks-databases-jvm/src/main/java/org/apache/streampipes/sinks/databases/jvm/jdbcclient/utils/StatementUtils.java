@@ -39,18 +39,22 @@ public class StatementUtils {
    */
   public static void setValue(ParameterInformation p, Object value, PreparedStatement ps)
       throws SQLException, SpRuntimeException {
+    if (value == null) {
+      ps.setObject(p.getIndex(), null);
+      return;
+    }
     switch (DbDataTypeFactory.getDataType(p.getDataType())) {
       case Integer:
-        ps.setInt(p.getIndex(), (Integer) value);
+        ps.setInt(p.getIndex(), ((Number) value).intValue());
         break;
       case Long:
-        ps.setLong(p.getIndex(), (Long) value);
+        ps.setLong(p.getIndex(), ((Number) value).longValue());
         break;
       case Float:
-        ps.setFloat(p.getIndex(), (Float) value);
+        ps.setFloat(p.getIndex(), ((Number) value).floatValue());
         break;
       case Double:
-        ps.setDouble(p.getIndex(), (Double) value);
+        ps.setDouble(p.getIndex(), ((Number) value).doubleValue());
         break;
       case Boolean:
         ps.setBoolean(p.getIndex(), (Boolean) value);
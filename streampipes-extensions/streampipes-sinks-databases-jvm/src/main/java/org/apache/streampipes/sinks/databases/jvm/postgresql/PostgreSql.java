@@ -18,20 +18,37 @@
 
 package org.apache.streampipes.sinks.databases.jvm.postgresql;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.logging.api.Logger;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.JdbcClient;
 import org.apache.streampipes.sinks.databases.jvm.jdbcclient.model.SupportedDbEngines;
+import org.apache.streampipes.sinks.databases.jvm.jdbcclient.utils.SQLStatementUtils;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.runtime.EventSink;
 
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParameters> {
 
   private PostgreSqlParameters params;
 
   private Logger log;
 
+  private boolean copyEnabled;
+  private List<String> columnNames;
+  private String copyStatement;
+
   @Override
   public void onInvocation(PostgreSqlParameters parameters, EventSinkRuntimeContext runtimeContext)
       throws SpRuntimeException {
@@ -47,6 +64,72 @@ public class PostgreSql extends JdbcClient implements EventSink<PostgreSqlParame
         parameters,
         SupportedDbEngines.POSTGRESQL,
         this.log);
+
+    initializePreparedStatement();
+    initializeBatching();
+
+    this.copyEnabled = batchSize > 1 && Envs.SP_POSTGRES_COPY_ENABLED
+        .getValueAsBooleanOrDefault(DefaultEnvValues.POSTGRES_COPY_ENABLED_DEFAULT);
+    if (copyEnabled) {
+      this.columnNames = SQLStatementUtils.extractColumnNames(
+          this.tableDescription.getEventSchema().getEventProperties(), "");
+      this.copyStatement = "COPY " + params.getDbTable() + " ("
+          + columnNames.stream()
+          .map(column -> dbDescription.isColumnNameQuoted() ? "\"" + column + "\"" : column)
+          .collect(Collectors.joining(", "))
+          + ") FROM STDIN WITH (FORMAT csv)";
+    }
+  }
+
+  /**
+   * Writes the rows of a batch with a single COPY statement if enabled, which avoids the per-row overhead
+   * of batched inserts.
+   */
+  @Override
+  protected void writeBatch(List<Map<String, Object>> events) throws SQLException, SpRuntimeException {
+    if (!copyEnabled) {
+      super.writeBatch(events);
+      return;
+    }
+    StringBuilder csv = new StringBuilder();
+    Map<String, Object> row = new HashMap<>();
+    for (Map<String, Object> event : events) {
+      row.clear();
+      flatten(event, "", row);
+      for (int i = 0; i < columnNames.size(); i++) {
+        if (i > 0) {
+          csv.append(',');
+        }
+        appendCsvValue(csv, row.get(columnNames.get(i)));
+      }
+      csv.append('\n');
+    }
+    try {
+      connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copyStatement, new StringReader(csv.toString()));
+    } catch (IOException e) {
+      throw new SpRuntimeException("Could not copy rows to table: " + e.getMessage(), e);
+    }
+  }
+
+  private void flatten(Map<String, Object> event, String prefix, Map<String, Object> row) {
+    event.forEach((key, value) -> {
+      if (value instanceof Map) {
+        flatten((Map<String, Object>) value, prefix + key + "_", row);
+      } else {
+        row.put(prefix + key, value);
+      }
+    });
+  }
+
+  private void appendCsvValue(StringBuilder csv, Object value) {
+    if (value == null) {
+      return;
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      csv.append(value);
+    } else {
+      csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+    }
   }
 
   @Override
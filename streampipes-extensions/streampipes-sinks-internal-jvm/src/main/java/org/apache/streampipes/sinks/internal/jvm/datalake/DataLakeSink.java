@@ -20,6 +20,7 @@ package org.apache.streampipes.sinks.internal.jvm.datalake;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.dataexplorer.commons.TimeSeriesStore;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.DataSinkType;
 import org.apache.streampipes.model.datalake.DataLakeMeasure;
 import org.apache.streampipes.model.graph.DataSinkDescription;
@@ -74,6 +75,13 @@ public class DataLakeSink extends StreamPipesDataSink {
         measure,
         true);
 
+    String resourceId = parameters.getGraph().getElementId();
+    SpMonitoringManager.INSTANCE.registerGauge(resourceId, "datalake_written_points",
+        timeSeriesStore::getWrittenPoints);
+    SpMonitoringManager.INSTANCE.registerGauge(resourceId, "datalake_failed_points",
+        timeSeriesStore::getFailedPoints);
+    SpMonitoringManager.INSTANCE.registerGauge(resourceId, "datalake_pending_points",
+        timeSeriesStore::getPendingPoints);
   }
 
   @Override
@@ -35,6 +35,8 @@ import javax.jms.JMSException;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
 
+import java.util.List;
+
 
 public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
 
@@ -43,6 +45,8 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
   private Connection connection;
   private Session session;
   private MessageProducer producer;
+  private Session batchSession;
+  private MessageProducer batchProducer;
 
   private boolean connected = false;
 
@@ -102,6 +106,13 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
           .getTopicDefinition()
           .getActualTopicName()));
       this.producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+      // batches are sent within a local transaction, so that they are committed with a single round trip
+      this.batchSession = connection
+          .createSession(true, Session.SESSION_TRANSACTED);
+      this.batchProducer = batchSession.createProducer(batchSession.createTopic(protocolSettings
+          .getTopicDefinition()
+          .getActualTopicName()));
+      this.batchProducer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
       this.connection.start();
       this.connected = true;
     } catch (JMSException e) {
@@ -123,9 +134,34 @@ public class ActiveMQPublisher implements EventProducer<JmsTransportProtocol> {
     }
   }
 
+  @Override
+  public void publish(List<byte[]> events) {
+    try {
+      for (byte[] event : events) {
+        BytesMessage message = batchSession.createBytesMessage();
+        message.writeBytes(event);
+        batchProducer.send(message);
+      }
+      batchSession.commit();
+    } catch (JMSException e) {
+      rollback();
+      throw new SpRuntimeException("Could not publish batch of " + events.size() + " events", e);
+    }
+  }
+
+  private void rollback() {
+    try {
+      batchSession.rollback();
+    } catch (JMSException e) {
+      LOG.error("Could not roll back batch", e);
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
+      batchProducer.close();
+      batchSession.close();
       producer.close();
       session.close();
       connection.close();
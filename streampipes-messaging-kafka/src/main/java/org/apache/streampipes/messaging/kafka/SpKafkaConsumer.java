@@ -18,15 +18,20 @@
 
 package org.apache.streampipes.messaging.kafka;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventConsumer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.PartitionedEventProcessor;
 import org.apache.streampipes.messaging.kafka.config.ConsumerConfigFactory;
 import org.apache.streampipes.messaging.kafka.config.KafkaConfigAppender;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.grounding.WildcardTopicDefinition;
 
+import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
 import org.apache.kafka.common.TopicPartition;
@@ -43,6 +48,13 @@ import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
+/**
+ * Kafka consumer which polls a topic from a single thread by default. With SP_KAFKA_CONSUMER_THREADS
+ * set to more than one, multiple threads join the same consumer group, so that each thread polls
+ * its own share of the topic partitions (see SP_KAFKA_TOPIC_PARTITIONS). Records are then handed
+ * over to a {@link PartitionedEventProcessor} together with their partition from all threads in
+ * parallel, any other event processor receives them one at a time.
+ */
 public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, Runnable,
     Serializable {
 
@@ -79,15 +91,15 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
 
   @Override
   public void run() {
+    consume(makeProperties(protocol, appenders), false);
+  }
 
-    Properties props = makeProperties(protocol, appenders);
-
+  private void consume(Properties props, boolean concurrent) {
     KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(props);
     if (!patternTopic) {
       consumer.subscribe(Collections.singletonList(topic));
     } else {
-      topic = replaceWildcardWithPatternFormat(topic);
-      consumer.subscribe(Pattern.compile(topic), new ConsumerRebalanceListener() {
+      consumer.subscribe(Pattern.compile(replaceWildcardWithPatternFormat(topic)), new ConsumerRebalanceListener() {
         @Override
         public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
           // TODO
@@ -102,12 +114,24 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     Duration duration = Duration.of(100, ChronoUnit.MILLIS);
     while (isRunning) {
       ConsumerRecords<byte[], byte[]> records = consumer.poll(duration);
-      records.forEach(record -> eventProcessor.onEvent(record.value()));
+      records.forEach(record -> handOver(record, concurrent));
     }
     LOG.info("Closing Kafka Consumer.");
     consumer.close();
   }
 
+  private void handOver(ConsumerRecord<byte[], byte[]> record, boolean concurrent) {
+    if (eventProcessor instanceof PartitionedEventProcessor) {
+      ((PartitionedEventProcessor<byte[]>) eventProcessor).onEvent(record.value(), record.partition());
+    } else if (concurrent) {
+      synchronized (eventProcessor) {
+        eventProcessor.onEvent(record.value());
+      }
+    } else {
+      eventProcessor.onEvent(record.value());
+    }
+  }
+
   private String replaceWildcardWithPatternFormat(String topic) {
     topic = topic.replaceAll("\\.", "\\\\.");
     return topic.replaceAll("\\*", ".*");
@@ -131,8 +155,22 @@ public class SpKafkaConsumer implements EventConsumer<KafkaTransportProtocol>, R
     this.topic = protocol.getTopicDefinition().getActualTopicName();
     this.isRunning = true;
 
-    Thread thread = new Thread(this);
-    thread.start();
+    int consumerThreads = Envs.SP_KAFKA_CONSUMER_THREADS
+        .getValueAsIntOrDefault(DefaultEnvValues.KAFKA_CONSUMER_THREADS_DEFAULT);
+    if (consumerThreads <= 1) {
+      Thread thread = new Thread(this);
+      thread.start();
+    } else {
+      // all threads share the generated group id and therefore split the partitions among them
+      Properties props = makeProperties(protocol, appenders);
+      for (int i = 0; i < consumerThreads; i++) {
+        Properties threadProps = new Properties();
+        threadProps.putAll(props);
+        threadProps.put(ConsumerConfig.CLIENT_ID_CONFIG, props.get(ConsumerConfig.CLIENT_ID_CONFIG) + "-" + i);
+        Thread thread = new Thread(() -> consume(threadProps, true), "sp-kafka-consumer-" + topic + "-" + i);
+        thread.start();
+      }
+    }
   }
 
   @Override
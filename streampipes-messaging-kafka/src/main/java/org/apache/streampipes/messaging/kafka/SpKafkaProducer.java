@@ -18,6 +18,7 @@
 
 package org.apache.streampipes.messaging.kafka;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
 import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.kafka.config.KafkaConfigAppender;
@@ -25,6 +26,8 @@ import org.apache.streampipes.messaging.kafka.config.ProducerConfigFactory;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 
 import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.KafkaAdminClient;
 import org.apache.kafka.clients.admin.ListTopicsResult;
@@ -33,6 +36,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.config.TopicConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,12 +48,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, Serializable {
 
 
   private static final String COLON = ":";
   private static final String SP_KAFKA_RETENTION_MS_DEFAULT = "600000";
+  private static final long ADMIN_REQUEST_TIMEOUT_MS = 10000;
 
   private String brokerUrl;
   private String topic;
@@ -81,7 +89,20 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
 
   public void publish(byte[] message) {
     if (connected) {
-      producer.send(new ProducerRecord<>(topic, message));
+      producer.send(new ProducerRecord<>(topic, message), this::onCompletion);
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (connected) {
+      producer.flush();
+    }
+  }
+
+  private void onCompletion(RecordMetadata metadata, Exception exception) {
+    if (exception != null) {
+      LOG.error("Could not publish event to topic " + topic, exception);
     }
   }
 
@@ -129,7 +150,10 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
           ? Envs.SP_KAFKA_RETENTION_MS.getValue() : SP_KAFKA_RETENTION_MS_DEFAULT;
       topicConfig.put(TopicConfig.RETENTION_MS_CONFIG, retentionTime);
 
-      final NewTopic newTopic = new NewTopic(topic, 1, (short) 1);
+      int partitions = Envs.SP_KAFKA_TOPIC_PARTITIONS
+          .getValueAsIntOrDefault(DefaultEnvValues.KAFKA_TOPIC_PARTITIONS_DEFAULT);
+
+      final NewTopic newTopic = new NewTopic(topic, partitions, (short) 1);
       newTopic.configs(topicConfig);
 
       final CreateTopicsResult createTopicsResult = adminClient.createTopics(Collections.singleton(newTopic));
@@ -153,6 +177,48 @@ public class SpKafkaProducer implements EventProducer<KafkaTransportProtocol>, S
     return connected;
   }
 
+  /**
+   * Counts the consumer groups with at least one member which is assigned to a partition of the
+   * topic. Consumers which assign partitions manually, e.g., Flink sources, are not part of a
+   * consumer group and are therefore not counted.
+   */
+  @Override
+  public int getSubscriberCount() {
+    Properties props = new Properties();
+    props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
+    try (AdminClient adminClient = AdminClient.create(props)) {
+      List<String> groupIds = adminClient.listConsumerGroups()
+          .all()
+          .get(ADMIN_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+          .stream()
+          .map(ConsumerGroupListing::groupId)
+          .collect(Collectors.toList());
+      if (groupIds.isEmpty()) {
+        return 0;
+      }
+      return (int) adminClient.describeConsumerGroups(groupIds)
+          .all()
+          .get(ADMIN_REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+          .values()
+          .stream()
+          .filter(this::isSubscribed)
+          .count();
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.warn("Could not determine the subscribers of topic " + topic, e);
+      return -1;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return -1;
+    }
+  }
+
+  private boolean isSubscribed(ConsumerGroupDescription group) {
+    return group.members()
+        .stream()
+        .flatMap(member -> member.assignment().topicPartitions().stream())
+        .anyMatch(partition -> topic.equals(partition.topic()));
+  }
+
   private boolean topicExists(ListTopicsResult topicsInKafka) {
     try {
       return topicsInKafka.names().get().stream().anyMatch(t -> t.equals(topic));
@@ -29,13 +29,18 @@ public class AbstractMqttConnector {
   protected boolean connected = false;
 
   protected void createBrokerConnection(MqttTransportProtocol protocolSettings) throws Exception {
-    this.mqtt = new MQTT();
-    this.mqtt.setHost(makeBrokerUrl(protocolSettings));
+    this.mqtt = makeMqtt(protocolSettings);
     this.connection = mqtt.blockingConnection();
     this.connection.connect();
     this.connected = true;
   }
 
+  protected MQTT makeMqtt(MqttTransportProtocol protocolSettings) throws Exception {
+    MQTT mqtt = new MQTT();
+    mqtt.setHost(makeBrokerUrl(protocolSettings));
+    return mqtt;
+  }
+
   private String makeBrokerUrl(MqttTransportProtocol protocolSettings) {
     return "tcp://" + protocolSettings.getBrokerHostname() + ":" + protocolSettings.getPort();
   }
@@ -21,20 +21,29 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.model.grounding.MqttTransportProtocol;
 
+import org.fusesource.mqtt.client.Future;
+import org.fusesource.mqtt.client.FutureConnection;
 import org.fusesource.mqtt.client.QoS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class MqttPublisher extends AbstractMqttConnector implements EventProducer<MqttTransportProtocol> {
 
   private static final Logger LOG = LoggerFactory.getLogger(MqttPublisher.class);
 
   private String currentTopic;
+  private FutureConnection futureConnection;
 
   @Override
   public void connect(MqttTransportProtocol protocolSettings) throws SpRuntimeException {
     try {
-      this.createBrokerConnection(protocolSettings);
+      this.mqtt = makeMqtt(protocolSettings);
+      this.futureConnection = mqtt.futureConnection();
+      this.futureConnection.connect().await();
+      this.connected = true;
       this.currentTopic = protocolSettings.getTopicDefinition().getActualTopicName();
     } catch (Exception e) {
       throw new SpRuntimeException(e);
@@ -45,7 +54,7 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
   public void publish(byte[] event) {
     if (connected && currentTopic != null) {
       try {
-        this.connection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false);
+        this.futureConnection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false).await();
       } catch (Exception e) {
         // TODO exception handling once system-wide logging is implemented
         LOG.error(e.getMessage());
@@ -53,10 +62,36 @@ public class MqttPublisher extends AbstractMqttConnector implements EventProduce
     }
   }
 
+  @Override
+  public void publish(List<byte[]> events) {
+    if (!connected || currentTopic == null) {
+      throw new SpRuntimeException("Could not publish batch of " + events.size()
+          + " events, the publisher is not connected");
+    }
+    // publish the whole batch first and wait for the acknowledgements afterwards
+    List<Future<Void>> acknowledgements = new ArrayList<>(events.size());
+    for (byte[] event : events) {
+      acknowledgements.add(this.futureConnection.publish(currentTopic, event, QoS.AT_LEAST_ONCE, false));
+    }
+    int failed = 0;
+    Exception cause = null;
+    for (Future<Void> acknowledgement : acknowledgements) {
+      try {
+        acknowledgement.await();
+      } catch (Exception e) {
+        failed++;
+        cause = cause != null ? cause : e;
+      }
+    }
+    if (cause != null) {
+      throw new SpRuntimeException("Could not publish " + failed + " of " + events.size() + " events", cause);
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
-      this.connection.disconnect();
+      this.futureConnection.disconnect().await();
     } catch (Exception e) {
       e.printStackTrace();
     } finally {
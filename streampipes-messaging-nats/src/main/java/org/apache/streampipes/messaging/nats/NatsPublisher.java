@@ -25,10 +25,13 @@ import org.apache.streampipes.model.grounding.NatsTransportProtocol;
 import io.nats.client.Connection;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.concurrent.TimeoutException;
 
 public class NatsPublisher extends AbstractNatsConnector implements EventProducer<NatsTransportProtocol> {
 
+  private static final long FLUSH_TIMEOUT_MS = 1000;
+
   @Override
   public void connect(NatsTransportProtocol protocolSettings) throws SpRuntimeException {
     try {
@@ -43,6 +46,15 @@ public class NatsPublisher extends AbstractNatsConnector implements EventProduce
     natsConnection.publish(subject, event);
   }
 
+  @Override
+  public void flush() throws SpRuntimeException {
+    try {
+      natsConnection.flush(Duration.ofMillis(FLUSH_TIMEOUT_MS));
+    } catch (InterruptedException | TimeoutException e) {
+      throw new SpRuntimeException("Could not flush NATS connection", e);
+    }
+  }
+
   @Override
   public void disconnect() throws SpRuntimeException {
     try {
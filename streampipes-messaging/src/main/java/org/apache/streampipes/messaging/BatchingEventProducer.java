@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.messaging;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.model.grounding.TransportProtocol;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous producer which buffers published events in a bounded queue and hands them over to
+ * the underlying transport in batches. A batch is sent as soon as it reaches the maximum batch
+ * size or the linger time has passed since its first event. If the queue is full, publish blocks
+ * the calling thread, which propagates backpressure to the pipeline element. Events published
+ * after {@link #disconnect()} are rejected, all events accepted before are published before the
+ * underlying producer is disconnected. Batches which fail on the publisher thread are passed to a
+ * {@link FailedBatchHandler}.
+ */
+public class BatchingEventProducer<T extends TransportProtocol> implements EventProducer<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BatchingEventProducer.class);
+
+  private static final long IDLE_POLL_TIMEOUT_MS = 100;
+
+  private final EventProducer<T> producer;
+  private final int maxBatchSize;
+  private final long lingerNanos;
+  private final BlockingQueue<byte[]> queue;
+  private final FailedBatchHandler failedBatchHandler;
+  private final ReentrantLock publishLock = new ReentrantLock();
+  private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+  private transient Thread publisherThread;
+  private volatile boolean running = false;
+
+  public BatchingEventProducer(EventProducer<T> producer,
+                               int maxBatchSize,
+                               long lingerMs,
+                               int queueCapacity,
+                               FailedBatchHandler failedBatchHandler) {
+    this.producer = producer;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.failedBatchHandler = failedBatchHandler;
+  }
+
+  @Override
+  public void connect(T protocolSettings) throws SpRuntimeException {
+    producer.connect(protocolSettings);
+    stateLock.writeLock().lock();
+    try {
+      this.running = true;
+      this.publisherThread = new Thread(this::runPublisher,
+          "sp-producer-" + protocolSettings.getTopicDefinition().getActualTopicName());
+      this.publisherThread.setDaemon(true);
+      this.publisherThread.start();
+    } finally {
+      stateLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Enqueues the event. Publishing threads share the read lock, so that disconnect cannot stop the
+   * publisher thread while an event is being enqueued. A publish blocked by a full queue is
+   * released by the publisher thread, which keeps running until disconnect holds the write lock.
+   */
+  @Override
+  public void publish(byte[] event) {
+    stateLock.readLock().lock();
+    try {
+      if (!running) {
+        throw new SpRuntimeException("Could not publish event, the producer is not connected");
+      }
+      queue.put(event);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for free space in the producer queue", e);
+    } finally {
+      stateLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void flush() throws SpRuntimeException {
+    List<byte[]> batch = new ArrayList<>(maxBatchSize);
+    while (queue.drainTo(batch, maxBatchSize) > 0) {
+      publishBatch(batch);
+    }
+    producer.flush();
+  }
+
+  @Override
+  public void disconnect() throws SpRuntimeException {
+    stateLock.writeLock().lock();
+    try {
+      this.running = false;
+    } finally {
+      stateLock.writeLock().unlock();
+    }
+    if (publisherThread != null) {
+      try {
+        publisherThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      this.publisherThread = null;
+    }
+    try {
+      // no events are enqueued anymore, publish the events the publisher thread left behind
+      flush();
+    } finally {
+      producer.disconnect();
+    }
+  }
+
+  @Override
+  public boolean isConnected() {
+    return producer.isConnected();
+  }
+
+  @Override
+  public int getSubscriberCount() {
+    return producer.getSubscriberCount();
+  }
+
+  public int getQueueSize() {
+    return queue.size();
+  }
+
+  private void runPublisher() {
+    List<byte[]> batch = new ArrayList<>(maxBatchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        byte[] first = queue.poll(IDLE_POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first != null) {
+          batch.add(first);
+          fillBatch(batch);
+          publishBatch(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not publish batch of {} events", batch.size(), e);
+        failedBatchHandler.onFailedBatch(batch.size(), e);
+        batch.clear();
+      }
+    }
+  }
+
+  private void fillBatch(List<byte[]> batch) throws InterruptedException {
+    long deadline = System.nanoTime() + lingerNanos;
+    while (batch.size() < maxBatchSize) {
+      queue.drainTo(batch, maxBatchSize - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= maxBatchSize || remaining <= 0) {
+        return;
+      }
+      byte[] next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void publishBatch(List<byte[]> batch) {
+    publishLock.lock();
+    try {
+      producer.publish(batch);
+    } finally {
+      publishLock.unlock();
+    }
+    batch.clear();
+  }
+
+  /**
+   * Receives batches which could not be published on the publisher thread. The events of such a
+   * batch are not retried.
+   */
+  @FunctionalInterface
+  public interface FailedBatchHandler extends Serializable {
+
+    void onFailedBatch(int batchSize, RuntimeException cause);
+  }
+}
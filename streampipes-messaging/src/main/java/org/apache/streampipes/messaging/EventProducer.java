@@ -22,6 +22,7 @@ import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 
 import java.io.Serializable;
+import java.util.List;
 
 public interface EventProducer<T extends TransportProtocol> extends Serializable {
 
@@ -29,6 +30,28 @@ public interface EventProducer<T extends TransportProtocol> extends Serializable
 
   void publish(byte[] event);
 
+  /**
+   * Publishes a batch of events. Transports which support batching send the whole batch with as
+   * few broker round trips as possible, the default publishes the events one by one.
+   */
+  default void publish(List<byte[]> events) {
+    events.forEach(this::publish);
+  }
+
+  /**
+   * Blocks until all events published so far have been handed over to the broker.
+   */
+  default void flush() throws SpRuntimeException {
+  }
+
+  /**
+   * Returns the number of consumers which currently subscribe to the topic of this producer, or -1
+   * if the transport cannot determine it.
+   */
+  default int getSubscriberCount() {
+    return -1;
+  }
+
   void disconnect() throws SpRuntimeException;
 
   boolean isConnected();
@@ -16,9 +16,14 @@
  *
  */
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericaltextfilter;
+package org.apache.streampipes.messaging;
 
-public enum NumericalOperator {
-  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
-  GE, GT, LE, LT, EQ, IE
+/**
+ * Event processor which is informed about the partition of the topic an event was received from.
+ * Consumers which poll partitions from multiple threads call {@link #onEvent(Object, int)}
+ * concurrently for different partitions, but never for the same partition.
+ */
+public interface PartitionedEventProcessor<T> extends InternalEventProcessor<T> {
+
+  void onEvent(T event, int partition);
 }
@@ -29,10 +29,14 @@ public class SpMetricsEntry {
   private long lastTimestamp;
   private Map<String, MessageCounter> messagesIn;
   private MessageCounter messagesOut;
+  private Map<String, Long> gauges;
+  private Map<String, Double> processingTimeMs;
 
   public SpMetricsEntry() {
     this.messagesIn = new HashMap<>();
     this.messagesOut = new MessageCounter();
+    this.gauges = new HashMap<>();
+    this.processingTimeMs = new HashMap<>();
   }
 
   public long getLastTimestamp() {
@@ -59,6 +63,22 @@ public class SpMetricsEntry {
     this.messagesOut = messagesOut;
   }
 
+  public Map<String, Long> getGauges() {
+    return gauges;
+  }
+
+  public void setGauges(Map<String, Long> gauges) {
+    this.gauges = gauges;
+  }
+
+  public Map<String, Double> getProcessingTimeMs() {
+    return processingTimeMs;
+  }
+
+  public void setProcessingTimeMs(Map<String, Double> processingTimeMs) {
+    this.processingTimeMs = processingTimeMs;
+  }
+
   public void addOutMetrics(long lastTimestamp) {
     this.messagesOut.setLastTimestamp(lastTimestamp);
     this.messagesOut.setCounter(this.messagesOut.getCounter() + 1);
@@ -80,5 +100,7 @@ public class SpMetricsEntry {
     this.messagesIn.clear();
     this.messagesOut.setCounter(0);
     this.messagesOut.setLastTimestamp(0);
+    this.gauges.clear();
+    this.processingTimeMs.clear();
   }
 }
@@ -71,7 +71,7 @@ public class Event {
   }
 
   public Optional<AbstractField> getOptionalFieldByRuntimeName(String runtimeName) {
-    return fieldMap
+    return getFields()
         .entrySet()
         .stream()
         .map(Map.Entry::getValue)
@@ -86,11 +86,11 @@ public class Event {
   }
 
   public void removeFieldBySelector(String fieldSelector) {
-    this.fieldMap.remove(fieldSelector);
+    getFields().remove(fieldSelector);
   }
 
   public AbstractField getFieldBySelector(String fieldSelector) {
-    return getFieldBySelector(fieldSelector, fieldMap);
+    return getFieldBySelector(fieldSelector, getFields());
   }
 
   private AbstractField getFieldBySelector(String fieldSelector, Map<String, AbstractField>
@@ -110,10 +110,11 @@ public class Event {
   }
 
   public void updateFieldBySelector(String selector, AbstractField field) {
-    if (fieldMap.containsKey(selector)) {
-      fieldMap.put(selector, field);
+    Map<String, AbstractField> fields = getFields();
+    if (fields.containsKey(selector)) {
+      fields.put(selector, field);
     } else {
-      updateFieldMap(fieldMap.get(makeSelector(selector, 2))
+      updateFieldMap(fields.get(makeSelector(selector, 2))
           .getAsComposite()
           .getRawValue(), selector, 2, field);
     }
@@ -169,7 +170,7 @@ public class Event {
   }
 
   public void addField(AbstractField field) {
-    this.fieldMap.put(makeKey(field), field);
+    getFields().put(makeKey(field), field);
   }
 
   public void addField(String runtimeName, Integer value) {
@@ -206,7 +207,7 @@ public class Event {
   }
 
   private void addPrimitive(String runtimeName, Object value) {
-    this.fieldMap.put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
+    getFields().put(runtimeName, new PrimitiveField(runtimeName, runtimeName, value));
   }
 
   public void addFieldAtPosition(String baseSelector, AbstractField field) {
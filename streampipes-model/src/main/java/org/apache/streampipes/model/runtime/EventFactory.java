@@ -28,7 +28,9 @@ import org.apache.streampipes.model.schema.EventSchema;
 import com.google.gson.internal.LinkedTreeMap;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -77,6 +79,186 @@ public class EventFactory {
     return new Event(fields, sourceInfo, schemaInfo);
   }
 
+  public static Event fromMap(Map<String, Object> event,
+                              EventLayout layout) {
+    SlotEvent slotEvent = layout.newEvent();
+    fillSlots(slotEvent, layout, event, EventLayout.NO_SLOT);
+    return slotEvent;
+  }
+
+  private static void fillSlots(SlotEvent slotEvent,
+                                EventLayout layout,
+                                Map<String, Object> event,
+                                int parentSlot) {
+    event.forEach((key, value) -> fillSlot(slotEvent, layout, parentSlot, key, value));
+  }
+
+  private static void fillSlot(SlotEvent slotEvent,
+                               EventLayout layout,
+                               int parentSlot,
+                               String key,
+                               Object value) {
+    int slot = layout.childIndexOf(parentSlot, key);
+    if (slot == EventLayout.NO_SLOT) {
+      if (!layout.isProjected()) {
+        slotEvent.putUnmappedValue(parentSlot, key, value);
+      }
+    } else if (layout.getSlotType(slot) == EventLayout.SlotType.NESTED && value instanceof Map) {
+      slotEvent.markPresent(slot);
+      fillSlots(slotEvent, layout, (Map<String, Object>) value, slot);
+    } else {
+      slotEvent.setValue(slot, value);
+    }
+  }
+
+  /**
+   * Creates an event of an input stream from an event which was collected for the same topic
+   * within this JVM. Properties are matched by their output names, just like after a round trip
+   * through the broker, but no intermediate map is built and values are shared with the given
+   * event instead of being copied.
+   */
+  public static Event fromEvent(Event event,
+                                EventLayout layout) {
+    SlotEvent slotEvent = layout.newEvent();
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      SlotEvent source = (SlotEvent) event;
+      copySlots(source, source.getLayout().getRootSlots(), EventLayout.NO_SLOT, slotEvent, layout,
+          EventLayout.NO_SLOT);
+    } else {
+      copyFields(event.getFields().values(), slotEvent, layout, EventLayout.NO_SLOT);
+    }
+    return slotEvent;
+  }
+
+  /**
+   * Creates a deep copy of the given event, e.g., to hand it over to another thread while the
+   * producer keeps modifying the original. Slot-based events are copied slot by slot without being
+   * materialized, all other events field by field. Map and list values are copied as well. The copy
+   * is meant to be read only, e.g., by {@link #fromEvent(Event, EventLayout)}.
+   */
+  public static Event copyOf(Event event) {
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      return ((SlotEvent) event).copy();
+    } else {
+      return new Event(copyFieldMap(event.getFields()), event.getSourceInfo(), event.getSchemaInfo());
+    }
+  }
+
+  private static Map<String, AbstractField> copyFieldMap(Map<String, AbstractField> fields) {
+    Map<String, AbstractField> copy = new LinkedTreeMap<>();
+    fields.forEach((selector, field) -> copy.put(selector, copyField(field)));
+    return copy;
+  }
+
+  private static AbstractField copyField(AbstractField field) {
+    if (field instanceof PrimitiveField) {
+      return new PrimitiveField(field.getFieldNameIn(), field.getFieldNameOut(), copyValue(field.getRawValue()));
+    } else if (field instanceof ListField) {
+      List<AbstractField> items = new ArrayList<>();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        items.add(copyField(item));
+      }
+      return new ListField(field.getFieldNameIn(), field.getFieldNameOut(), items);
+    } else {
+      return new NestedField(field.getFieldNameIn(), field.getFieldNameOut(),
+          copyFieldMap(field.getAsComposite().getRawValue()));
+    }
+  }
+
+  static Object copyValue(Object value) {
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      ((Map<?, ?>) value).forEach((key, item) -> copy.put(key, copyValue(item)));
+      return copy;
+    } else if (value instanceof List) {
+      List<Object> copy = new ArrayList<>();
+      for (Object item : (List<?>) value) {
+        copy.add(copyValue(item));
+      }
+      return copy;
+    } else {
+      return value;
+    }
+  }
+
+  private static void copySlots(SlotEvent source,
+                                int[] sourceSlots,
+                                int sourceParentSlot,
+                                SlotEvent target,
+                                EventLayout layout,
+                                int parentSlot) {
+    EventLayout sourceLayout = source.getLayout();
+    for (int sourceSlot : sourceSlots) {
+      if (!source.hasValue(sourceSlot)) {
+        continue;
+      }
+      String name = sourceLayout.getFieldNameOut(sourceSlot);
+      if (source.hasNestedValues(sourceSlot)) {
+        int slot = layout.childIndexOf(parentSlot, name);
+        if (slot != EventLayout.NO_SLOT && layout.getSlotType(slot) == EventLayout.SlotType.NESTED) {
+          target.markPresent(slot);
+          copySlots(source, sourceLayout.getChildren(sourceSlot), sourceSlot, target, layout, slot);
+        } else {
+          fillSlot(target, layout, parentSlot, name, toMap(source, sourceSlot));
+        }
+      } else {
+        fillSlot(target, layout, parentSlot, name, source.getValue(sourceSlot));
+      }
+    }
+    source.getUnmappedValues(sourceParentSlot)
+        .forEach((name, value) -> fillSlot(target, layout, parentSlot, name, value));
+  }
+
+  private static Map<String, Object> toMap(SlotEvent source,
+                                           int parentSlot) {
+    EventLayout sourceLayout = source.getLayout();
+    Map<String, Object> values = new LinkedHashMap<>();
+    for (int slot : sourceLayout.getChildren(parentSlot)) {
+      if (source.hasValue(slot)) {
+        values.put(sourceLayout.getFieldNameOut(slot), source.hasNestedValues(slot)
+            ? toMap(source, slot)
+            : source.getValue(slot));
+      }
+    }
+    values.putAll(source.getUnmappedValues(parentSlot));
+    return values;
+  }
+
+  private static void copyFields(Collection<AbstractField> fields,
+                                 SlotEvent target,
+                                 EventLayout layout,
+                                 int parentSlot) {
+    for (AbstractField field : fields) {
+      String name = field.getFieldNameOut();
+      if (field instanceof NestedField) {
+        int slot = layout.childIndexOf(parentSlot, name);
+        if (slot != EventLayout.NO_SLOT && layout.getSlotType(slot) == EventLayout.SlotType.NESTED) {
+          target.markPresent(slot);
+          copyFields(field.getAsComposite().getRawValue().values(), target, layout, slot);
+          continue;
+        }
+      }
+      fillSlot(target, layout, parentSlot, name, toRawValue(field));
+    }
+  }
+
+  private static Object toRawValue(AbstractField field) {
+    if (field instanceof PrimitiveField) {
+      return field.getRawValue();
+    } else if (field instanceof ListField) {
+      List<Object> items = new ArrayList<>();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        items.add(toRawValue(item));
+      }
+      return items;
+    } else {
+      Map<String, Object> values = new LinkedHashMap<>();
+      field.getAsComposite().getRawValue().values()
+          .forEach(nestedField -> values.put(nestedField.getFieldNameOut(), toRawValue(nestedField)));
+      return values;
+    }
+  }
+
   public static Event makeSubset(Event event, List<String> fieldSelectors) {
     Map<String, AbstractField> fieldMap = makeFieldMap(event.getFields(), fieldSelectors);
     return new Event(fieldMap, event.getSourceInfo(), event.getSchemaInfo());
@@ -122,7 +304,7 @@ public class EventFactory {
     return fieldSelectors.stream().anyMatch(f -> f.equals(key));
   }
 
-  private static AbstractField makeField(String runtimeName, Object o, String currentSelector,
+  static AbstractField makeField(String runtimeName, Object o, String currentSelector,
                                          SchemaInfo schemaInfo) {
     if (o instanceof Map) {
       Map<String, Object> items = (Map<String, Object>) o;
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slot layout of an input stream, compiled once from the event schema of a pipeline element.
+ * Every (possibly nested) event property is assigned a fixed slot index which is used by
+ * {@link SlotEvent} to store values in a flat array instead of a field map.
+ */
+public class EventLayout implements Serializable {
+
+  public static final int NO_SLOT = -1;
+
+  public enum SlotType {
+    PRIMITIVE,
+    NESTED,
+    LIST
+  }
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final boolean projected;
+
+  private final String[] selectors;
+  private final String[] runtimeNames;
+  private final String[] fieldNamesOut;
+  private final SlotType[] slotTypes;
+  private final int[] parents;
+  private final int[][] children;
+  private final int[] rootSlots;
+
+  private final Map<String, Integer> selectorIndex;
+  private final Map<String, Integer> rootIndex;
+  private final List<Map<String, Integer>> childIndex;
+
+  private EventLayout(SourceInfo sourceInfo,
+                      SchemaInfo schemaInfo,
+                      List<Slot> slots,
+                      boolean projected) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.projected = projected;
+
+    int size = slots.size();
+    this.selectors = new String[size];
+    this.runtimeNames = new String[size];
+    this.fieldNamesOut = new String[size];
+    this.slotTypes = new SlotType[size];
+    this.parents = new int[size];
+    this.children = new int[size][];
+    this.selectorIndex = new HashMap<>();
+    this.rootIndex = new HashMap<>();
+    this.childIndex = new ArrayList<>(size);
+
+    List<Integer> roots = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Slot slot = slots.get(i);
+      selectors[i] = slot.selector;
+      runtimeNames[i] = slot.runtimeName;
+      fieldNamesOut[i] = getNewRuntimeName(slot.selector, slot.runtimeName, schemaInfo.getRenameRules());
+      slotTypes[i] = slot.slotType;
+      parents[i] = slot.parent;
+      children[i] = slot.children.stream().mapToInt(Integer::intValue).toArray();
+      selectorIndex.put(slot.selector, i);
+      childIndex.add(new HashMap<>());
+      if (slot.parent == NO_SLOT) {
+        roots.add(i);
+        rootIndex.put(slot.runtimeName, i);
+      } else {
+        childIndex.get(slot.parent).put(slot.runtimeName, i);
+      }
+    }
+    this.rootSlots = roots.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  public static EventLayout from(SourceInfo sourceInfo, SchemaInfo schemaInfo) {
+    List<Slot> slots = new ArrayList<>();
+    if (schemaInfo.getEventSchema() != null) {
+      addSlots(schemaInfo.getEventSchema().getEventProperties(), sourceInfo.getSelectorPrefix(), NO_SLOT, slots);
+    }
+    return new EventLayout(sourceInfo, schemaInfo, slots, false);
+  }
+
+  /**
+   * Compiles a projected layout which only contains the given first-level properties. Decoders
+   * skip all other values of a projected layout instead of storing them as unmapped values.
+   *
+   * @param sourceInfo   The source info of the input stream
+   * @param schemaInfo   The schema info of the input stream
+   * @param runtimeNames The runtime names of the first-level properties to keep
+   * @return The projected layout
+   */
+  public static EventLayout projected(SourceInfo sourceInfo,
+                                      SchemaInfo schemaInfo,
+                                      Set<String> runtimeNames) {
+    List<Slot> slots = new ArrayList<>();
+    if (schemaInfo.getEventSchema() != null) {
+      List<EventProperty> properties = new ArrayList<>();
+      for (EventProperty property : schemaInfo.getEventSchema().getEventProperties()) {
+        if (runtimeNames.contains(property.getRuntimeName())) {
+          properties.add(property);
+        }
+      }
+      addSlots(properties, sourceInfo.getSelectorPrefix(), NO_SLOT, slots);
+    }
+    return new EventLayout(sourceInfo, schemaInfo, slots, true);
+  }
+
+  private static void addSlots(List<EventProperty> properties,
+                               String prefix,
+                               int parent,
+                               List<Slot> slots) {
+    for (EventProperty property : properties) {
+      int index = slots.size();
+      String selector = prefix + PropertySelectorConstants.PROPERTY_DELIMITER + property.getRuntimeName();
+      Slot slot = new Slot(selector, property.getRuntimeName(), toSlotType(property), parent);
+      slots.add(slot);
+      if (parent != NO_SLOT) {
+        slots.get(parent).children.add(index);
+      }
+      if (property instanceof EventPropertyNested) {
+        addSlots(((EventPropertyNested) property).getEventProperties(), selector, index, slots);
+      }
+    }
+  }
+
+  private static SlotType toSlotType(EventProperty property) {
+    if (property instanceof EventPropertyNested) {
+      return SlotType.NESTED;
+    } else if (property instanceof EventPropertyList) {
+      return SlotType.LIST;
+    } else {
+      return SlotType.PRIMITIVE;
+    }
+  }
+
+  private static String getNewRuntimeName(String selector,
+                                          String runtimeName,
+                                          List<PropertyRenameRule> renameRules) {
+    if (renameRules == null) {
+      return runtimeName;
+    }
+    return renameRules
+        .stream()
+        .filter(r -> r.getRuntimeId().equals(selector))
+        .findFirst()
+        .map(PropertyRenameRule::getNewRuntimeName).orElse(runtimeName);
+  }
+
+  public SlotEvent newEvent() {
+    return new SlotEvent(this);
+  }
+
+  /**
+   * Returns true if values which are not part of this layout should be skipped by decoders.
+   */
+  public boolean isProjected() {
+    return projected;
+  }
+
+  public int size() {
+    return selectors.length;
+  }
+
+  /**
+   * Returns the slot of the given field selector (e.g., s0::temperature) or {@link #NO_SLOT}.
+   */
+  public int indexOf(String selector) {
+    Integer index = selectorIndex.get(selector);
+    return index != null ? index : NO_SLOT;
+  }
+
+  /**
+   * Returns the slot of a first-level property with the given runtime name or {@link #NO_SLOT}.
+   */
+  public int rootIndexOf(String runtimeName) {
+    Integer index = rootIndex.get(runtimeName);
+    return index != null ? index : NO_SLOT;
+  }
+
+  /**
+   * Returns the slot of a child property of the given nested slot or {@link #NO_SLOT}.
+   */
+  public int childIndexOf(int parentSlot, String runtimeName) {
+    if (parentSlot == NO_SLOT) {
+      return rootIndexOf(runtimeName);
+    }
+    Integer index = childIndex.get(parentSlot).get(runtimeName);
+    return index != null ? index : NO_SLOT;
+  }
+
+  public String getSelector(int slot) {
+    return selectors[slot];
+  }
+
+  public String getRuntimeName(int slot) {
+    return runtimeNames[slot];
+  }
+
+  public String getFieldNameOut(int slot) {
+    return fieldNamesOut[slot];
+  }
+
+  public SlotType getSlotType(int slot) {
+    return slotTypes[slot];
+  }
+
+  public int getParent(int slot) {
+    return parents[slot];
+  }
+
+  public int[] getChildren(int slot) {
+    return children[slot];
+  }
+
+  public int[] getRootSlots() {
+    return rootSlots;
+  }
+
+  public String makeSelector(int parentSlot, String runtimeName) {
+    String prefix = parentSlot == NO_SLOT ? sourceInfo.getSelectorPrefix() : selectors[parentSlot];
+    return prefix + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeName;
+  }
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  private static class Slot {
+
+    private final String selector;
+    private final String runtimeName;
+    private final SlotType slotType;
+    private final int parent;
+    private final List<Integer> children = new ArrayList<>();
+
+    Slot(String selector, String runtimeName, SlotType slotType, int parent) {
+      this.selector = selector;
+      this.runtimeName = runtimeName;
+      this.slotType = slotType;
+      this.parent = parent;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "EventLayout{" + String.join(", ", selectors) + "}";
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.NestedField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+
+import com.google.gson.internal.LinkedTreeMap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Event backed by a slot array which is addressed through a precompiled {@link EventLayout}.
+ * Values can be read and written by slot index without creating any field objects. As soon as
+ * the field-based API of {@link Event} is used, the slots are materialized into the regular
+ * field map once and all further slot access is redirected to the materialized fields.
+ */
+public class SlotEvent extends Event {
+
+  private static final Object ABSENT = new Object();
+  private static final Object PRESENT = new Object();
+
+  private final EventLayout layout;
+  private final Object[] values;
+  private Map<Integer, Map<String, Object>> unmappedValues;
+  private boolean materialized;
+
+  public SlotEvent(EventLayout layout) {
+    super(new LinkedTreeMap<>(), layout.getSourceInfo(), layout.getSchemaInfo());
+    this.layout = layout;
+    this.values = new Object[layout.size()];
+    Arrays.fill(values, ABSENT);
+  }
+
+  public EventLayout getLayout() {
+    return layout;
+  }
+
+  public boolean isMaterialized() {
+    return materialized;
+  }
+
+  public boolean hasValue(int slot) {
+    if (materialized) {
+      return findField(slot) != null;
+    } else {
+      return values[slot] != ABSENT;
+    }
+  }
+
+  /**
+   * Returns true if the given slot holds a nested object whose values are stored in child slots.
+   */
+  public boolean hasNestedValues(int slot) {
+    if (materialized) {
+      AbstractField field = findField(slot);
+      return field != null && field.isComposite();
+    } else {
+      return values[slot] == PRESENT;
+    }
+  }
+
+  public Object getValue(int slot) {
+    if (materialized) {
+      AbstractField field = findField(slot);
+      return field != null ? field.getRawValue() : null;
+    } else {
+      Object value = values[slot];
+      return value == ABSENT || value == PRESENT ? null : value;
+    }
+  }
+
+  public String getString(int slot) {
+    return String.valueOf(getValue(slot));
+  }
+
+  public double getDouble(int slot) {
+    Object value = getValue(slot);
+    return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(String.valueOf(value));
+  }
+
+  public long getLong(int slot) {
+    Object value = getValue(slot);
+    return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(String.valueOf(value));
+  }
+
+  public int getInt(int slot) {
+    Object value = getValue(slot);
+    return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(String.valueOf(value));
+  }
+
+  public boolean getBoolean(int slot) {
+    Object value = getValue(slot);
+    return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(String.valueOf(value));
+  }
+
+  public void setValue(int slot, Object value) {
+    if (materialized) {
+      String runtimeName = layout.getRuntimeName(slot);
+      getContainer(layout.getParent(slot)).put(layout.getSelector(slot),
+          EventFactory.makeField(runtimeName, value, layout.getSelector(slot), getSchemaInfo()));
+    } else {
+      values[slot] = value;
+      markPresent(layout.getParent(slot));
+    }
+  }
+
+  /**
+   * Marks a nested slot as present, e.g., when a decoder starts reading a nested object.
+   */
+  public void markPresent(int slot) {
+    while (slot != EventLayout.NO_SLOT && values[slot] == ABSENT) {
+      values[slot] = PRESENT;
+      slot = layout.getParent(slot);
+    }
+  }
+
+  /**
+   * Stores a value which is not part of the compiled layout, so that it survives materialization.
+   */
+  public void putUnmappedValue(int parentSlot, String runtimeName, Object value) {
+    if (materialized) {
+      String selector = layout.makeSelector(parentSlot, runtimeName);
+      getContainer(parentSlot).put(selector, EventFactory.makeField(runtimeName, value, selector, getSchemaInfo()));
+    } else {
+      if (unmappedValues == null) {
+        unmappedValues = new HashMap<>();
+      }
+      unmappedValues.computeIfAbsent(parentSlot, key -> new LinkedHashMap<>()).put(runtimeName, value);
+      markPresent(parentSlot);
+    }
+  }
+
+  /**
+   * Returns the values stored below the given parent slot which are not part of the layout.
+   */
+  public Map<String, Object> getUnmappedValues(int parentSlot) {
+    if (unmappedValues == null || !unmappedValues.containsKey(parentSlot)) {
+      return Collections.emptyMap();
+    }
+    return unmappedValues.get(parentSlot);
+  }
+
+  /**
+   * Returns a deep copy of the slots and unmapped values of this event, map and list values are
+   * copied as well. Must only be called as long as the event has not been materialized.
+   */
+  @SuppressWarnings("unchecked")
+  SlotEvent copy() {
+    SlotEvent copy = new SlotEvent(layout);
+    for (int i = 0; i < values.length; i++) {
+      copy.values[i] = EventFactory.copyValue(values[i]);
+    }
+    if (unmappedValues != null) {
+      copy.unmappedValues = new HashMap<>();
+      unmappedValues.forEach((parentSlot, parentValues) ->
+          copy.unmappedValues.put(parentSlot, (Map<String, Object>) EventFactory.copyValue(parentValues)));
+    }
+    return copy;
+  }
+
+  /**
+   * Resolves first-level primitive properties through the layout without materializing the event.
+   */
+  @Override
+  public Optional<AbstractField> getOptionalFieldByRuntimeName(String runtimeName) {
+    if (!materialized) {
+      int slot = layout.rootIndexOf(runtimeName);
+      if (slot != EventLayout.NO_SLOT && values[slot] == ABSENT) {
+        return Optional.empty();
+      } else if (isPrimitiveSlot(slot)) {
+        return Optional.of(new SlotField(slot));
+      }
+    }
+    return super.getOptionalFieldByRuntimeName(runtimeName);
+  }
+
+  /**
+   * Resolves primitive properties through the layout without materializing the event.
+   */
+  @Override
+  public AbstractField getFieldBySelector(String fieldSelector) {
+    if (!materialized) {
+      int slot = layout.indexOf(fieldSelector);
+      if (isPrimitiveSlot(slot)) {
+        return new SlotField(slot);
+      }
+    }
+    return super.getFieldBySelector(fieldSelector);
+  }
+
+  private boolean isPrimitiveSlot(int slot) {
+    if (slot == EventLayout.NO_SLOT) {
+      return false;
+    }
+    Object value = values[slot];
+    return value != ABSENT && value != PRESENT && !(value instanceof Map) && !(value instanceof List);
+  }
+
+  @Override
+  public Map<String, AbstractField> getFields() {
+    Map<String, AbstractField> fields = super.getFields();
+    if (!materialized) {
+      materialized = true;
+      addFields(fields, layout.getRootSlots(), EventLayout.NO_SLOT);
+    }
+    return fields;
+  }
+
+  private void addFields(Map<String, AbstractField> fields, int[] slots, int parentSlot) {
+    for (int slot : slots) {
+      if (values[slot] != ABSENT) {
+        fields.put(layout.getSelector(slot), makeField(slot));
+      }
+    }
+    if (unmappedValues != null && unmappedValues.containsKey(parentSlot)) {
+      unmappedValues.get(parentSlot).forEach((runtimeName, value) -> {
+        String selector = layout.makeSelector(parentSlot, runtimeName);
+        fields.put(selector, EventFactory.makeField(runtimeName, value, selector, getSchemaInfo()));
+      });
+    }
+  }
+
+  private AbstractField makeField(int slot) {
+    Object value = values[slot];
+    if (value == PRESENT) {
+      Map<String, AbstractField> nestedFields = new LinkedTreeMap<>();
+      addFields(nestedFields, layout.getChildren(slot), slot);
+      return new NestedField(layout.getRuntimeName(slot), layout.getFieldNameOut(slot), nestedFields);
+    } else if (value instanceof Map || value instanceof List) {
+      return EventFactory.makeField(layout.getRuntimeName(slot), value, layout.getSelector(slot), getSchemaInfo());
+    } else {
+      return new PrimitiveField(layout.getRuntimeName(slot), layout.getFieldNameOut(slot), value);
+    }
+  }
+
+  private AbstractField findField(int slot) {
+    int parentSlot = layout.getParent(slot);
+    if (parentSlot == EventLayout.NO_SLOT) {
+      return getFields().get(layout.getSelector(slot));
+    } else {
+      AbstractField parent = findField(parentSlot);
+      return parent != null && parent.isComposite()
+          ? parent.getAsComposite().getRawValue().get(layout.getSelector(slot))
+          : null;
+    }
+  }
+
+  private Map<String, AbstractField> getContainer(int parentSlot) {
+    if (parentSlot == EventLayout.NO_SLOT) {
+      return getFields();
+    }
+    AbstractField parent = findField(parentSlot);
+    if (parent == null || !parent.isComposite()) {
+      parent = new NestedField(layout.getRuntimeName(parentSlot), layout.getFieldNameOut(parentSlot),
+          new LinkedTreeMap<>());
+      getContainer(layout.getParent(parentSlot)).put(layout.getSelector(parentSlot), parent);
+    }
+    return parent.getAsComposite().getRawValue();
+  }
+
+  /**
+   * Primitive field which is created on access and writes its value back to the slot of the event.
+   */
+  private class SlotField extends PrimitiveField {
+
+    private final int slot;
+
+    SlotField(int slot) {
+      super(layout.getRuntimeName(slot), layout.getFieldNameOut(slot), values[slot]);
+      this.slot = slot;
+    }
+
+    @Override
+    public void setValue(Object value) {
+      super.setValue(value);
+      SlotEvent.this.setValue(slot, value);
+    }
+  }
+}
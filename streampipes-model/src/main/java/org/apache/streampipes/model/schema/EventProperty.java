@@ -24,6 +24,7 @@ import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import org.apache.commons.collections.ListUtils;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,7 +36,7 @@ import java.util.Objects;
     @JsonSubTypes.Type(EventPropertyPrimitive.class)
 })
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@class")
-public abstract class EventProperty {
+public abstract class EventProperty implements Serializable {
 
   protected static final String PREFIX = "urn:streampipes.org:spi:";
   private static final long serialVersionUID = 7079045979946059387L;
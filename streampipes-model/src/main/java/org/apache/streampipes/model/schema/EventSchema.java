@@ -22,10 +22,11 @@ import org.apache.streampipes.model.util.Cloner;
 
 import org.apache.commons.collections.ListUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class EventSchema {
+public class EventSchema implements Serializable {
 
   private static final long serialVersionUID = -3994041794693686406L;
 
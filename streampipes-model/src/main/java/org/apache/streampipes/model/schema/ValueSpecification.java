@@ -21,12 +21,14 @@ package org.apache.streampipes.model.schema;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.io.Serializable;
+
 @JsonSubTypes({
     @JsonSubTypes.Type(QuantitativeValue.class),
     @JsonSubTypes.Type(Enumeration.class),
 })
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@class")
-public abstract class ValueSpecification {
+public abstract class ValueSpecification implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
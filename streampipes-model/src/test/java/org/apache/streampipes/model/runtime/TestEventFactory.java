@@ -19,6 +19,9 @@ package org.apache.streampipes.model.runtime;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
@@ -45,4 +48,21 @@ public class TestEventFactory {
     assertEquals("nested", event.getFieldBySelector("s0::nested").getFieldNameIn());
     assertEquals("timestamp2", event.getFieldBySelector("s0::nested::timestamp2").getFieldNameIn());
   }
+
+  @Test
+  public void testCopyIsIndependent() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("list", new ArrayList<>(Arrays.asList("1", "2")));
+    Event event = RuntimeTestUtils.makeSimpleEvent(runtimeMap, RuntimeTestUtils.getSourceInfo());
+
+    Event copy = EventFactory.copyOf(event);
+    event.updateFieldBySelector("s0::timestamp", 5);
+    event.updateFieldBySelector("s0::nested::timestamp2", 6);
+    event.getFieldBySelector("s0::list").getAsList().getRawValue().clear();
+
+    assertEquals(Integer.valueOf(1), copy.getFieldBySelector("s0::timestamp").getAsPrimitive().getAsInt());
+    assertEquals(Integer.valueOf(2), copy.getFieldBySelector("s0::nested::timestamp2").getAsPrimitive().getAsInt());
+    List<?> items = copy.getFieldBySelector("s0::list").getAsList().getRawValue();
+    assertEquals(2, items.size());
+  }
 }
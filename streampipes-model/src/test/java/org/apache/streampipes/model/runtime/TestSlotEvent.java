@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.model.runtime;
+
+import org.apache.streampipes.model.output.PropertyRenameRule;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestSlotEvent {
+
+  private static final String INT_TYPE = "http://www.w3.org/2001/XMLSchema#integer";
+
+  @Test
+  public void testSlotAccess() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    assertEquals(1, event.getInt(layout.indexOf("s0::timestamp")));
+    assertEquals(2L, event.getLong(layout.indexOf("s0::nested::timestamp2")));
+    assertFalse(event.isMaterialized());
+  }
+
+  @Test
+  public void testSelectorAccessWithoutMaterialization() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    Event event = EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    assertEquals(Integer.valueOf(2), event.getFieldBySelector("s0::nested::timestamp2")
+        .getAsPrimitive()
+        .getAsInt());
+    assertEquals(Integer.valueOf(1), event.getFieldBySelector("s0::nested::timestamp")
+        .getAsPrimitive()
+        .getAsInt());
+    assertFalse(((SlotEvent) event).isMaterialized());
+  }
+
+  @Test
+  public void testRuntimeNameAccessWithoutMaterialization() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+    runtimeMap.remove("timestamp");
+    Event sparseEvent = EventFactory.fromMap(runtimeMap, layout);
+
+    assertEquals(Integer.valueOf(1), event.getFieldByRuntimeName("timestamp").getAsPrimitive().getAsInt());
+    assertFalse(sparseEvent.getOptionalFieldByRuntimeName("timestamp").isPresent());
+    assertFalse(((SlotEvent) event).isMaterialized());
+    assertFalse(((SlotEvent) sparseEvent).isMaterialized());
+  }
+
+  @Test
+  public void testMaterialization() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    Event event = EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    assertTrue(event.getFieldBySelector("s0::nested").isComposite());
+    assertTrue(((SlotEvent) event).isMaterialized());
+  }
+
+  @Test
+  public void testUpdateWithoutMaterialization() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    event.updateFieldBySelector("s0::nested::timestamp2", 3);
+    event.getFieldByRuntimeName("timestamp").getAsPrimitive().setValue(5);
+
+    assertFalse(event.isMaterialized());
+    assertEquals(3, event.getInt(layout.indexOf("s0::nested::timestamp2")));
+    assertEquals(5, event.getInt(layout.indexOf("s0::timestamp")));
+    assertEquals(3, event.getFieldBySelector("s0::nested").getAsComposite().getRawValue()
+        .get("s0::nested::timestamp2").getRawValue());
+  }
+
+  @Test
+  public void testUpdateAfterMaterialization() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    event.getFields();
+    event.getFieldBySelector("s0::timestamp").getAsPrimitive().setValue(5);
+    event.setValue(layout.indexOf("s0::nested::timestamp2"), 3);
+
+    assertEquals(5, event.getInt(layout.indexOf("s0::timestamp")));
+    assertEquals(Integer.valueOf(3), event.getFieldBySelector("s0::nested::timestamp2")
+        .getAsPrimitive()
+        .getAsInt());
+  }
+
+  @Test
+  public void testUnmappedValues() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", 7);
+
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    assertEquals(Integer.valueOf(7), event.getFieldBySelector("s0::unknown")
+        .getAsPrimitive()
+        .getAsInt());
+    assertEquals(3, event.getFields().size());
+  }
+
+  @Test
+  public void testRenameRules() {
+    EventLayout layout = makeLayout(Arrays.asList(
+        new PropertyRenameRule("s0::nested", "ns"),
+        new PropertyRenameRule("s0::nested::timestamp2", "ts2")));
+    Event event = EventFactory.fromMap(RuntimeTestUtils.nestedMap(), layout);
+
+    Map<String, Object> outMap = new EventConverter(event).toMap();
+
+    assertTrue(outMap.containsKey("ns"));
+    assertTrue(((Map<?, ?>) outMap.get("ns")).containsKey("ts2"));
+  }
+
+  @Test
+  public void testProjectedLayout() {
+    EventLayout fullLayout = makeLayout(Collections.emptyList());
+    EventLayout layout = EventLayout.projected(fullLayout.getSourceInfo(), fullLayout.getSchemaInfo(),
+        Collections.singleton("timestamp"));
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", 7);
+
+    Event event = EventFactory.fromMap(runtimeMap, layout);
+
+    assertTrue(layout.isProjected());
+    assertEquals(1, layout.size());
+    assertEquals(1, event.getFields().size());
+    assertTrue(event.getFields().containsKey("s0::timestamp"));
+  }
+
+  @Test
+  public void testFromSlotEvent() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", 7);
+    Event outputEvent = EventFactory.fromMap(runtimeMap,
+        makeLayout(Collections.singletonList(new PropertyRenameRule("s0::timestamp", "ts"))));
+
+    assertHandedOver(outputEvent);
+    assertFalse(((SlotEvent) outputEvent).isMaterialized());
+  }
+
+  @Test
+  public void testFromFieldEvent() {
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    runtimeMap.put("unknown", 7);
+    EventLayout outputLayout = makeLayout(Collections.singletonList(new PropertyRenameRule("s0::timestamp", "ts")));
+    Event outputEvent = EventFactory.fromMap(runtimeMap, outputLayout.getSourceInfo(), outputLayout.getSchemaInfo());
+
+    assertHandedOver(outputEvent);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCopyIsIndependent() {
+    EventLayout layout = makeLayout(Collections.emptyList());
+    Map<String, Object> runtimeMap = RuntimeTestUtils.nestedMap();
+    List<Object> values = new ArrayList<>(Arrays.asList(1, 2));
+    runtimeMap.put("unknown", values);
+    SlotEvent event = (SlotEvent) EventFactory.fromMap(runtimeMap, layout);
+
+    SlotEvent copy = (SlotEvent) EventFactory.copyOf(event);
+    event.setValue(layout.indexOf("s0::nested::timestamp2"), 3);
+    values.add(3);
+    ((List<Object>) event.getUnmappedValues(EventLayout.NO_SLOT).get("unknown")).clear();
+
+    assertFalse(copy.isMaterialized());
+    assertEquals(2, copy.getInt(layout.indexOf("s0::nested::timestamp2")));
+    assertEquals(Arrays.asList(1, 2), copy.getUnmappedValues(EventLayout.NO_SLOT).get("unknown"));
+  }
+
+  private void assertHandedOver(Event outputEvent) {
+    EventLayout layout = makeLayout("ts", Collections.emptyList());
+    SlotEvent event = (SlotEvent) EventFactory.fromEvent(outputEvent, layout);
+
+    assertEquals(1, event.getInt(layout.indexOf("s0::ts")));
+    assertEquals(1, event.getInt(layout.indexOf("s0::nested::timestamp")));
+    assertEquals(2, event.getInt(layout.indexOf("s0::nested::timestamp2")));
+    assertEquals(Integer.valueOf(7), event.getFieldBySelector("s0::unknown")
+        .getAsPrimitive()
+        .getAsInt());
+    assertEquals(3, event.getFields().size());
+  }
+
+  private EventLayout makeLayout(List<PropertyRenameRule> renameRules) {
+    return makeLayout("timestamp", renameRules);
+  }
+
+  private EventLayout makeLayout(String timestampName,
+                                 List<PropertyRenameRule> renameRules) {
+    List<EventProperty> nestedProperties = Arrays.asList(
+        new EventPropertyPrimitive(INT_TYPE, "timestamp", "", Collections.emptyList()),
+        new EventPropertyPrimitive(INT_TYPE, "timestamp2", "", Collections.emptyList()));
+    EventSchema schema = new EventSchema(Arrays.asList(
+        new EventPropertyPrimitive(INT_TYPE, timestampName, "", Collections.emptyList()),
+        new EventPropertyNested("nested", nestedProperties)));
+
+    return EventLayout.from(RuntimeTestUtils.getSourceInfo(), new SchemaInfo(schema, renameRules));
+  }
+}
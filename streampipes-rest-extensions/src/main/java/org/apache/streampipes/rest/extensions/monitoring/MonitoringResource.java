@@ -40,4 +40,11 @@ public class MonitoringResource extends AbstractExtensionsResource {
       //SpLogManager.INSTANCE.clearAllLogs();
     }
   }
+
+  @GET
+  @Path("prometheus")
+  @Produces(MediaType.TEXT_PLAIN)
+  public Response getPrometheusMetrics() {
+    return ok(SpMonitoringManager.INSTANCE.getPrometheusMetrics());
+  }
 }
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a serialization round trip of the schema-based serializers with the generic Kryo
+ * serializer Flink falls back to for events without type information. Run with
+ * {@code mvn -P jmh test-compile exec:exec} from the module directory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializerBenchmark {
+
+  private final DataOutputSerializer output = new DataOutputSerializer(1024);
+  private final DataInputDeserializer input = new DataInputDeserializer();
+
+  private Map<String, Object> rawEvent;
+  private Event event;
+  private Event slotEvent;
+
+  private TypeSerializer<Event> eventSerializer;
+  private TypeSerializer<Map<String, Object>> mapSerializer;
+  private TypeSerializer<Event> kryoEventSerializer;
+  private TypeSerializer<Map<String, Object>> kryoMapSerializer;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    rawEvent = SerializerTestSchema.fullEvent();
+    event = EventFactory.fromMap(rawEvent, SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+    slotEvent = EventFactory.fromMap(rawEvent, SerializerTestSchema.layout());
+
+    eventSerializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+    mapSerializer = new EventMapSerializer(SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+    kryoEventSerializer = new KryoSerializer<>(Event.class, new ExecutionConfig());
+    kryoMapSerializer = (TypeSerializer<Map<String, Object>>) (TypeSerializer<?>)
+        new KryoSerializer<>(Map.class, new ExecutionConfig());
+  }
+
+  @Benchmark
+  public Event schemaEvent() throws IOException {
+    return roundTrip(eventSerializer, event);
+  }
+
+  @Benchmark
+  public Event schemaSlotEvent() throws IOException {
+    return roundTrip(eventSerializer, slotEvent);
+  }
+
+  @Benchmark
+  public Event kryoEvent() throws IOException {
+    return roundTrip(kryoEventSerializer, event);
+  }
+
+  @Benchmark
+  public Map<String, Object> schemaMap() throws IOException {
+    return roundTrip(mapSerializer, rawEvent);
+  }
+
+  @Benchmark
+  public Map<String, Object> kryoMap() throws IOException {
+    return roundTrip(kryoMapSerializer, rawEvent);
+  }
+
+  private <T> T roundTrip(TypeSerializer<T> serializer, T value) throws IOException {
+    output.clear();
+    serializer.serialize(value, output);
+    input.setBuffer(output.getSharedBuffer(), 0, output.length());
+    return serializer.deserialize(input);
+  }
+}
@@ -25,9 +25,13 @@ import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.EventGrounding;
 import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
+import org.apache.streampipes.model.output.PropertyRenameRule;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.schema.EventProperty;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.flink.converter.EventToMapConverter;
+import org.apache.streampipes.wrapper.flink.partition.EventKeySelector;
+import org.apache.streampipes.wrapper.flink.projection.MappedSelectorsVisitor;
 import org.apache.streampipes.wrapper.flink.serializer.ByteArraySerializer;
 import org.apache.streampipes.wrapper.flink.sink.JmsFlinkProducer;
 import org.apache.streampipes.wrapper.flink.sink.MqttFlinkProducer;
@@ -35,13 +39,19 @@ import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.KeyedStream;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 public abstract class FlinkDataProcessorRuntime<T extends EventProcessorBindingParams> extends
     FlinkRuntime<EventProcessorRuntimeParams<T>, T,
@@ -59,7 +69,7 @@ public abstract class FlinkDataProcessorRuntime<T extends EventProcessorBindingP
 
   @SuppressWarnings("deprecation")
   public void appendExecutionConfig(DataStream<Event>... convertedStream) {
-    DataStream<Map<String, Object>> applicationLogic = getApplicationLogic(convertedStream).flatMap
+    DataStream<Map<String, Object>> applicationLogic = getApplicationLogic(partition(convertedStream)).flatMap
         (new EventToMapConverter());
 
     EventGrounding outputGrounding = getOutputStream().getEventGrounding();
@@ -87,6 +97,87 @@ public abstract class FlinkDataProcessorRuntime<T extends EventProcessorBindingP
     return getGraph().getOutputStream();
   }
 
+  private DataStream<Event>[] partition(DataStream<Event>[] convertedStream) {
+    DataStream<Event>[] partitionedStream = convertedStream.clone();
+    for (int i = 0; i < partitionedStream.length; i++) {
+      List<String> partitionKeys = getPartitionKeys(i);
+      if (!partitionKeys.isEmpty()) {
+        partitionedStream[i] = partitionedStream[i].keyBy(new EventKeySelector(partitionKeys));
+      }
+    }
+    return partitionedStream;
+  }
+
+  /**
+   * Returns the selectors of the properties the given input stream is partitioned by. Streams are
+   * not partitioned by default, processors which group events by their own mapping properties,
+   * e.g., a group-by property, override this method.
+   *
+   * @param streamIndex The index of the input stream
+   * @return The selectors of the partition keys, or an empty list if the stream is not partitioned
+   */
+  protected List<String> getPartitionKeys(int streamIndex) {
+    return Collections.emptyList();
+  }
+
+  @Override
+  protected boolean isPartitioned() {
+    return IntStream.range(0, getGraph().getInputStreams().size())
+        .anyMatch(i -> !getPartitionKeys(i).isEmpty());
+  }
+
+  /**
+   * Returns an input stream handed over to {@link #getApplicationLogic} as the keyed stream it is,
+   * if partition keys are defined for it.
+   *
+   * @throws IllegalStateException If the stream is not partitioned
+   */
+  @SuppressWarnings("unchecked")
+  protected KeyedStream<Event, String> asKeyedStream(DataStream<Event> stream) {
+    if (!(stream instanceof KeyedStream)) {
+      throw new IllegalStateException("The input stream is not partitioned");
+    }
+    return (KeyedStream<Event, String>) stream;
+  }
+
+  /**
+   * Returns the first-level properties of the given input stream which are mapped by the static
+   * properties of this processor or which are part of its output schema, if source projection is
+   * enabled in the deployment config. Processors which access further properties of the input
+   * events need to override this method.
+   */
+  @Override
+  protected Set<String> getProjectedFields(int sourceIndex) {
+    if (!config.isSourceProjection()) {
+      return null;
+    }
+    String selectorPrefix = runtimeParams.getSourceInfo(sourceIndex).getSelectorPrefix() + "::";
+    MappedSelectorsVisitor visitor = new MappedSelectorsVisitor();
+    getGraph().getStaticProperties().forEach(sp -> sp.accept(visitor));
+
+    Set<String> projectedFields = new HashSet<>();
+    visitor.getSelectors()
+        .stream()
+        .filter(selector -> selector.startsWith(selectorPrefix))
+        .forEach(selector -> projectedFields.add(toRootRuntimeName(selector, selectorPrefix)));
+    for (EventProperty property : getOutputStream().getEventSchema().getEventProperties()) {
+      projectedFields.add(property.getRuntimeName());
+    }
+    for (PropertyRenameRule renameRule : bindingParams.getRenameRules()) {
+      String runtimeId = renameRule.getRuntimeId();
+      projectedFields.add(runtimeId.startsWith(selectorPrefix)
+          ? toRootRuntimeName(runtimeId, selectorPrefix)
+          : runtimeId);
+    }
+    return projectedFields;
+  }
+
+  private String toRootRuntimeName(String selector, String selectorPrefix) {
+    String path = selector.substring(selectorPrefix.length());
+    int separator = path.indexOf("::");
+    return separator >= 0 ? path.substring(0, separator) : path;
+  }
+
   protected abstract DataStream<Event> getApplicationLogic(DataStream<Event>... messageStream);
 
   protected Properties getProperties(KafkaTransportProtocol protocol) {
@@ -18,6 +18,9 @@
 
 package org.apache.streampipes.wrapper.flink;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
+
 import java.io.Serializable;
 
 public class FlinkDeploymentConfig implements Serializable {
@@ -29,6 +32,12 @@ public class FlinkDeploymentConfig implements Serializable {
   private int port;
   private boolean miniClusterMode;
 
+  private int parallelism;
+  private long checkpointIntervalMs;
+  private String stateBackend;
+  private String checkpointDirectory;
+  private boolean sourceProjection;
+
   public FlinkDeploymentConfig(String jarFile,
                                String host,
                                int port) {
@@ -36,6 +45,13 @@ public class FlinkDeploymentConfig implements Serializable {
     this.jarFile = jarFile;
     this.host = host;
     this.port = port;
+    this.parallelism = Envs.SP_FLINK_PARALLELISM.getValueAsIntOrDefault(DefaultEnvValues.FLINK_PARALLELISM_DEFAULT);
+    this.checkpointIntervalMs = Envs.SP_FLINK_CHECKPOINT_INTERVAL_MS
+        .getValueAsIntOrDefault(DefaultEnvValues.FLINK_CHECKPOINT_INTERVAL_MS_DEFAULT);
+    this.stateBackend = Envs.SP_FLINK_STATE_BACKEND.getValueOrDefault(DefaultEnvValues.FLINK_STATE_BACKEND_DEFAULT);
+    this.checkpointDirectory = Envs.SP_FLINK_CHECKPOINT_DIRECTORY.getValueOrDefault(null);
+    this.sourceProjection = Envs.SP_FLINK_SOURCE_PROJECTION
+        .getValueAsBooleanOrDefault(DefaultEnvValues.FLINK_SOURCE_PROJECTION_DEFAULT);
   }
 
   public FlinkDeploymentConfig(String jarFile,
@@ -62,4 +78,57 @@ public class FlinkDeploymentConfig implements Serializable {
     return miniClusterMode;
   }
 
+  /**
+   * The parallelism of the job, or 0 if the parallelism should be chosen by the runtime.
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * The checkpoint interval in milliseconds, or 0 if checkpointing is disabled.
+   */
+  public long getCheckpointIntervalMs() {
+    return checkpointIntervalMs;
+  }
+
+  public void setCheckpointIntervalMs(long checkpointIntervalMs) {
+    this.checkpointIntervalMs = checkpointIntervalMs;
+  }
+
+  /**
+   * The state backend used when checkpointing is enabled, either "hashmap" or "rocksdb".
+   */
+  public String getStateBackend() {
+    return stateBackend;
+  }
+
+  public void setStateBackend(String stateBackend) {
+    this.stateBackend = stateBackend;
+  }
+
+  public String getCheckpointDirectory() {
+    return checkpointDirectory;
+  }
+
+  public void setCheckpointDirectory(String checkpointDirectory) {
+    this.checkpointDirectory = checkpointDirectory;
+  }
+
+  /**
+   * If enabled, Kafka sources of data processors only decode the properties which are mapped by
+   * the pipeline element or which are part of its output schema.
+   */
+  public boolean isSourceProjection() {
+    return sourceProjection;
+  }
+
+  public void setSourceProjection(boolean sourceProjection) {
+    this.sourceProjection = sourceProjection;
+  }
+
 }
@@ -31,13 +31,16 @@ import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.distributed.runtime.DistributedRuntime;
 import org.apache.streampipes.wrapper.flink.consumer.JmsFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.consumer.MqttFlinkConsumer;
 import org.apache.streampipes.wrapper.flink.converter.MapToEventConverter;
 import org.apache.streampipes.wrapper.flink.logger.StatisticLogger;
-import org.apache.streampipes.wrapper.flink.serializer.ByteArrayDeserializer;
+import org.apache.streampipes.wrapper.flink.serializer.EventDeserializationSchema;
+import org.apache.streampipes.wrapper.flink.serializer.EventSchemaTypeInfo;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
 
@@ -47,17 +50,30 @@ import org.apache.flink.client.program.rest.RestClusterClient;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.configuration.StateBackendOptions;
 import org.apache.flink.runtime.client.JobStatusMessage;
+import org.apache.flink.streaming.api.CheckpointingMode;
 import org.apache.flink.streaming.api.TimeCharacteristic;
 import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.DataStreamSource;
 import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
 import org.apache.flink.streaming.api.functions.source.SourceFunction;
 import org.apache.flink.streaming.connectors.kafka.FlinkKafkaConsumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
@@ -68,6 +84,10 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
 
   private static final long serialVersionUID = 1L;
 
+  private static final Logger LOG = LoggerFactory.getLogger(FlinkRuntime.class);
+
+  private static final String PARTITION_LOOKUP_TIMEOUT_MS = "10000";
+
   protected TimeCharacteristic streamTimeCharacteristic;
   protected FlinkDeploymentConfig config;
   private StreamExecutionEnvironment env;
@@ -99,23 +119,15 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
     this.streamTimeCharacteristic = streamTimeCharacteristic;
   }
 
-  private SourceFunction<Map<String, Object>> getStream1Source() {
-    return getStreamSource(0);
-  }
-
-  private SourceFunction<Map<String, Object>> getStream2Source() {
-    return getStreamSource(1);
-  }
-
   /**
-   * This method takes the i's input stream and creates a source for the flink graph
-   * Currently just kafka is supported as a protocol
-   * TODO Add also jms support
+   * This method takes the i's input stream and creates the corresponding event stream of the
+   * flink graph. Kafka records are decoded into events directly by the source, while JMS and
+   * MQTT sources produce maps which are converted in a subsequent operator.
    *
-   * @param i
-   * @return
+   * @param i The index of the input stream
+   * @return The event stream or null if no such input stream exists
    */
-  private SourceFunction<Map<String, Object>> getStreamSource(int i) {
+  private DataStream<Event> getStream(int i) {
     if (bindingParams.getGraph().getInputStreams().size() - 1 >= i) {
 
       SpDataStream stream = bindingParams.getGraph().getInputStreams().get(i);
@@ -124,11 +136,11 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
         TransportFormat format = stream.getEventGrounding().getTransportFormats().get(0);
         SpDataFormatDefinition dataFormatDefinition = getDataFormatDefinition(format);
         if (protocol instanceof KafkaTransportProtocol) {
-          return getKafkaConsumer((KafkaTransportProtocol) protocol, dataFormatDefinition);
+          return addKafkaSource((KafkaTransportProtocol) protocol, dataFormatDefinition, i);
         } else if (protocol instanceof JmsTransportProtocol) {
-          return getJmsConsumer((JmsTransportProtocol) protocol, dataFormatDefinition);
+          return addSource(getJmsConsumer((JmsTransportProtocol) protocol, dataFormatDefinition), i);
         } else if (protocol instanceof MqttTransportProtocol) {
-          return getMqttConsumer((MqttTransportProtocol) protocol, dataFormatDefinition);
+          return addSource(getMqttConsumer((MqttTransportProtocol) protocol, dataFormatDefinition), i);
         } else {
           return null;
         }
@@ -150,19 +162,83 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
     return new MqttFlinkConsumer(protocol, spDataFormatDefinition);
   }
 
-  private SourceFunction<Map<String, Object>> getKafkaConsumer(KafkaTransportProtocol protocol,
-                                                               SpDataFormatDefinition spDataFormatDefinition) {
+  private DataStream<Event> addKafkaSource(KafkaTransportProtocol protocol,
+                                           SpDataFormatDefinition spDataFormatDefinition,
+                                           int sourceIndex) {
+    EventDeserializationSchema deserializationSchema = new EventDeserializationSchema(spDataFormatDefinition,
+        runtimeParams.getSourceInfo(sourceIndex),
+        runtimeParams.getSchemaInfo(sourceIndex),
+        getProjectedFields(sourceIndex),
+        runtimeParams.isCompiledEventLayout(),
+        getGraph());
+
     if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
-      return new FlinkKafkaConsumer<>(protocol
-          .getTopicDefinition()
-          .getActualTopicName(), new ByteArrayDeserializer(spDataFormatDefinition), getProperties(protocol));
+      String topic = protocol.getTopicDefinition().getActualTopicName();
+      DataStreamSource<Event> source = env.addSource(new FlinkKafkaConsumer<>(topic, deserializationSchema,
+          getProperties(protocol)));
+      // each partition is read by its own source instance, further instances would stay idle
+      if (!config.isMiniClusterMode()) {
+        int partitionCount = getPartitionCount(protocol, topic);
+        if (partitionCount > 0) {
+          source.setParallelism(getSourceParallelism(topic, partitionCount));
+        }
+      }
+      return source;
     } else {
       String patternTopic = replaceWildcardWithPatternFormat(protocol.getTopicDefinition().getActualTopicName());
-      return new FlinkKafkaConsumer<>(Pattern.compile(patternTopic), new ByteArrayDeserializer(spDataFormatDefinition),
-          getProperties(protocol));
+      return env.addSource(new FlinkKafkaConsumer<>(Pattern.compile(patternTopic), deserializationSchema,
+          getProperties(protocol)));
     }
   }
 
+  /**
+   * Returns the parallelism of a source reading the given number of partitions, which is capped at
+   * the configured parallelism of the job or, if none is configured, at the default parallelism of
+   * the environment, so that topics with many partitions do not exceed the slots available for the job.
+   */
+  private int getSourceParallelism(String topic,
+                                   int partitionCount) {
+    int sourceParallelism = getSourceParallelism(partitionCount, getParallelism(), env.getParallelism());
+    if (sourceParallelism < partitionCount) {
+      LOG.info("Topic {} has {} partitions, limiting the parallelism of its source to {}",
+          topic, partitionCount, sourceParallelism);
+    }
+    return sourceParallelism;
+  }
+
+  static int getSourceParallelism(int partitionCount,
+                                  int jobParallelism,
+                                  int envParallelism) {
+    int maxParallelism = jobParallelism > 0 ? jobParallelism : envParallelism;
+    return maxParallelism > 0 ? Math.min(partitionCount, maxParallelism) : partitionCount;
+  }
+
+  private int getPartitionCount(KafkaTransportProtocol protocol,
+                                String topic) {
+    Properties properties = getProperties(protocol);
+    properties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+    properties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+    properties.put(ConsumerConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, PARTITION_LOOKUP_TIMEOUT_MS);
+    try (KafkaConsumer<byte[], byte[]> consumer = new KafkaConsumer<>(properties)) {
+      List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+      return partitions != null ? partitions.size() : 0;
+    } catch (KafkaException e) {
+      LOG.warn("Could not determine the number of partitions of topic {}, using the default parallelism",
+          topic, e);
+      return 0;
+    }
+  }
+
+  /**
+   * Returns the first-level properties of the given input stream which should be decoded by the
+   * source. The default implementation returns null, so that complete events are decoded.
+   *
+   * @param sourceIndex The index of the input stream
+   */
+  protected Set<String> getProjectedFields(int sourceIndex) {
+    return null;
+  }
+
   @Override
   public void prepareRuntime() throws SpRuntimeException {
     if (config.isMiniClusterMode()) {
@@ -174,17 +250,13 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
 
     appendEnvironmentConfig(this.env);
     // Add the first source to the topology
-    DataStream<Event> messageStream1;
-    SourceFunction<Map<String, Object>> source1 = getStream1Source();
-    if (source1 != null) {
-      messageStream1 = addSource(source1, 0);
-    } else {
+    DataStream<Event> messageStream1 = getStream(0);
+    if (messageStream1 == null) {
       throw new SpRuntimeException("At least one source must be defined for a flink sepa");
     }
 
-    SourceFunction<Map<String, Object>> source2 = getStream2Source();
-    if (source2 != null) {
-      DataStream<Event> messageStream2 = addSource(source2, 1);
+    DataStream<Event> messageStream2 = getStream(1);
+    if (messageStream2 != null) {
       appendExecutionConfig(messageStream1, messageStream2);
     } else {
       appendExecutionConfig(messageStream1);
@@ -193,11 +265,16 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
 
   private DataStream<Event> addSource(SourceFunction<Map<String, Object>> sourceFunction,
                                       Integer sourceIndex) {
+    // events of the input streams are serialized based on their schema instead of falling back to Kryo
+    SourceInfo sourceInfo = runtimeParams.getSourceInfo(sourceIndex);
+    SchemaInfo schemaInfo = runtimeParams.getSchemaInfo(sourceIndex);
+    EventSchemaTypeInfo<Event> eventTypeInfo = EventSchemaTypeInfo.ofEvent(sourceInfo, schemaInfo);
     return env
-        .addSource(sourceFunction)
-        .flatMap(new MapToEventConverter<>(runtimeParams.getSourceInfo(sourceIndex).getSourceId(),
-            runtimeParams))
-        .flatMap(new StatisticLogger(getGraph()));
+        .addSource(sourceFunction, EventSchemaTypeInfo.ofMap(sourceInfo, schemaInfo))
+        .flatMap(new MapToEventConverter<>(sourceInfo.getSourceId(), runtimeParams))
+        .returns(eventTypeInfo)
+        .flatMap(new StatisticLogger(getGraph()))
+        .returns(eventTypeInfo);
   }
 
   @Override
@@ -278,8 +355,60 @@ public abstract class FlinkRuntime<T extends RuntimeParams<V, W, X>, V extends B
     //The default value is TimeCharacteristic.ProcessingTime
     if (this.streamTimeCharacteristic != null) {
       env.setStreamTimeCharacteristic(this.streamTimeCharacteristic);
-      env.setParallelism(1);
     }
+
+    int parallelism = getJobParallelism(this.streamTimeCharacteristic != null, isPartitioned(), getParallelism());
+    if (parallelism > 0) {
+      env.setParallelism(parallelism);
+    }
+
+    if (config.getCheckpointIntervalMs() > 0) {
+      enableCheckpointing(env);
+    }
+  }
+
+  /**
+   * Returns the parallelism of this job. The default implementation uses the parallelism of the
+   * deployment config, a value of 0 leaves the choice to the runtime. Jobs with a time
+   * characteristic run with a parallelism of 1 unless their input is partitioned and a parallelism
+   * is configured.
+   */
+  protected int getParallelism() {
+    return config.getParallelism();
+  }
+
+  /**
+   * Returns the parallelism a job is run with, or 0 to use the default parallelism of the runtime.
+   * Time-based operators on an unpartitioned stream rely on a single instance seeing all events.
+   * Partitioned time-based jobs only run in parallel if a parallelism is configured explicitly, so
+   * that they do not occupy all slots of the cluster by default.
+   */
+  static int getJobParallelism(boolean timeBased,
+                               boolean partitioned,
+                               int configuredParallelism) {
+    if (timeBased && (!partitioned || configuredParallelism <= 0)) {
+      return 1;
+    }
+    return Math.max(configuredParallelism, 0);
+  }
+
+  /**
+   * Returns true if the input streams of this job are partitioned by key, so that time-based
+   * operators can run with the configured parallelism.
+   */
+  protected boolean isPartitioned() {
+    return false;
+  }
+
+  private void enableCheckpointing(StreamExecutionEnvironment env) {
+    env.enableCheckpointing(config.getCheckpointIntervalMs(), CheckpointingMode.EXACTLY_ONCE);
+    if (config.getCheckpointDirectory() != null) {
+      env.getCheckpointConfig().setCheckpointStorage(config.getCheckpointDirectory());
+    }
+    // the state backend is resolved by name, so that RocksDB is only required on the cluster
+    Configuration stateConfig = new Configuration();
+    stateConfig.set(StateBackendOptions.STATE_BACKEND, config.getStateBackend());
+    env.configure(stateConfig, Thread.currentThread().getContextClassLoader());
   }
 
   private ClusterClient<? extends Comparable<? extends Comparable<?>>> getClusterClient() throws Exception {
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink.partition;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import org.apache.flink.api.java.functions.KeySelector;
+
+import java.util.List;
+
+/**
+ * Extracts the partition key of an event from one or more properties. Values of multiple
+ * properties are joined into a single string key.
+ */
+public class EventKeySelector implements KeySelector<Event, String> {
+
+  private static final long serialVersionUID = 1L;
+  private static final char SEPARATOR = '\u001F';
+
+  private final String[] selectors;
+
+  public EventKeySelector(List<String> selectors) {
+    this.selectors = selectors.toArray(new String[0]);
+  }
+
+  @Override
+  public String getKey(Event event) {
+    if (selectors.length == 1) {
+      return getValue(event, selectors[0]);
+    }
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < selectors.length; i++) {
+      if (i > 0) {
+        key.append(SEPARATOR);
+      }
+      key.append(getValue(event, selectors[i]));
+    }
+    return key.toString();
+  }
+
+  private String getValue(Event event, String selector) {
+    return String.valueOf(event.getFieldBySelector(selector).getRawValue());
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Base class of serializers which encode events based on the schema of an input stream. Values
+ * of schema properties are written by their position in the compiled {@link EventLayout}, so that
+ * no property names need to be written. Values which are not part of the schema are appended
+ * together with their names. If a projection is given, only the listed first-level properties
+ * are part of the layout.
+ *
+ * <p>Serializer instances cache the layout and a copy buffer and are therefore not thread-safe,
+ * {@link #duplicate()} always creates a new instance.</p>
+ */
+public abstract class AbstractEventSchemaSerializer<T> extends TypeSerializer<T> {
+
+  private static final long serialVersionUID = 1L;
+  private static final int INITIAL_COPY_BUFFER_SIZE = 256;
+
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final Set<String> projection;
+  private final String signature;
+
+  private transient EventLayout layout;
+  private transient DataOutputSerializer copyOutput;
+  private transient DataInputDeserializer copyInput;
+
+  protected AbstractEventSchemaSerializer(SourceInfo sourceInfo,
+                                          SchemaInfo schemaInfo,
+                                          Set<String> projection) {
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.projection = projection;
+    this.signature = signatureOf(sourceInfo, schemaInfo, projection);
+  }
+
+  static AbstractEventSchemaSerializer<?> create(boolean mapRepresentation,
+                                                SourceInfo sourceInfo,
+                                                SchemaInfo schemaInfo,
+                                                Set<String> projection) {
+    return mapRepresentation
+        ? new EventMapSerializer(sourceInfo, schemaInfo, projection)
+        : new EventSerializer(sourceInfo, schemaInfo, projection);
+  }
+
+  static String signatureOf(SourceInfo sourceInfo,
+                            SchemaInfo schemaInfo,
+                            Set<String> projection) {
+    EventLayout layout = makeLayout(sourceInfo, schemaInfo, projection);
+    StringBuilder signature = new StringBuilder(sourceInfo.getSourceId());
+    for (int slot = 0; slot < layout.size(); slot++) {
+      signature.append(';')
+          .append(layout.getSelector(slot))
+          .append('>')
+          .append(layout.getFieldNameOut(slot))
+          .append(':')
+          .append(layout.getSlotType(slot));
+    }
+    return signature.toString();
+  }
+
+  private static EventLayout makeLayout(SourceInfo sourceInfo,
+                                        SchemaInfo schemaInfo,
+                                        Set<String> projection) {
+    return projection != null
+        ? EventLayout.projected(sourceInfo, schemaInfo, projection)
+        : EventLayout.from(sourceInfo, schemaInfo);
+  }
+
+  protected abstract boolean isMapRepresentation();
+
+  public SourceInfo getSourceInfo() {
+    return sourceInfo;
+  }
+
+  public SchemaInfo getSchemaInfo() {
+    return schemaInfo;
+  }
+
+  public Set<String> getProjection() {
+    return projection;
+  }
+
+  protected EventLayout getLayout() {
+    if (layout == null) {
+      layout = makeLayout(sourceInfo, schemaInfo, projection);
+    }
+    return layout;
+  }
+
+  @Override
+  public boolean isImmutableType() {
+    return false;
+  }
+
+  @Override
+  public int getLength() {
+    return -1;
+  }
+
+  @Override
+  public T copy(T from) {
+    if (copyOutput == null) {
+      copyOutput = new DataOutputSerializer(INITIAL_COPY_BUFFER_SIZE);
+      copyInput = new DataInputDeserializer();
+    }
+    try {
+      serialize(from, copyOutput);
+      copyInput.setBuffer(copyOutput.getSharedBuffer(), 0, copyOutput.length());
+      return deserialize(copyInput);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not copy event", e);
+    } finally {
+      copyOutput.clear();
+    }
+  }
+
+  @Override
+  public T copy(T from, T reuse) {
+    return copy(from);
+  }
+
+  @Override
+  public T deserialize(T reuse, DataInputView source) throws IOException {
+    return deserialize(source);
+  }
+
+  @Override
+  public void copy(DataInputView source, DataOutputView target) throws IOException {
+    serialize(deserialize(source), target);
+  }
+
+  @Override
+  public TypeSerializerSnapshot<T> snapshotConfiguration() {
+    return new EventSchemaSerializerSnapshot<>(isMapRepresentation(), sourceInfo, schemaInfo, projection);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return signature.equals(((AbstractEventSchemaSerializer<?>) o).signature);
+  }
+
+  @Override
+  public int hashCode() {
+    return signature.hashCode();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.logging.impl.EventStatisticLogger;
+import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.apache.flink.api.common.serialization.AbstractDeserializationSchema;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Decodes raw records of a Kafka source directly into events, so that no intermediate map and no
+ * separate conversion operator is required. If a projection is given, only the listed
+ * first-level properties are decoded and all other values are skipped by the reader. Without a
+ * projection, events are decoded into the compiled layout of the stream if enabled, otherwise
+ * into regular field-based events.
+ */
+public class EventDeserializationSchema extends AbstractDeserializationSchema<Event> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final SpDataFormatDefinition spDataFormatDefinition;
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final Set<String> projection;
+  private final boolean compiledEventLayout;
+  private final InvocableStreamPipesEntity graph;
+
+  private transient EventLayout layout;
+
+  public EventDeserializationSchema(SpDataFormatDefinition spDataFormatDefinition,
+                                    SourceInfo sourceInfo,
+                                    SchemaInfo schemaInfo,
+                                    Set<String> projection,
+                                    boolean compiledEventLayout,
+                                    InvocableStreamPipesEntity graph) {
+    this.spDataFormatDefinition = spDataFormatDefinition;
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.projection = projection;
+    this.compiledEventLayout = compiledEventLayout;
+    this.graph = graph;
+  }
+
+  @Override
+  public Event deserialize(byte[] bytes) throws IOException {
+    EventStatisticLogger.log(graph.getName(), graph.getCorrespondingPipeline(), graph.getUri());
+    try {
+      EventLayout eventLayout = getLayout();
+      return eventLayout != null
+          ? spDataFormatDefinition.toEvent(bytes, eventLayout)
+          : EventFactory.fromMap(spDataFormatDefinition.toMap(bytes), sourceInfo, schemaInfo);
+    } catch (SpRuntimeException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public TypeInformation<Event> getProducedType() {
+    return EventSchemaTypeInfo.ofEvent(sourceInfo, schemaInfo, projection);
+  }
+
+  private EventLayout getLayout() {
+    if (layout == null) {
+      if (projection != null) {
+        layout = EventLayout.projected(sourceInfo, schemaInfo, projection);
+      } else if (compiledEventLayout) {
+        layout = EventLayout.from(sourceInfo, schemaInfo);
+      }
+    }
+    return layout;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes raw events, as produced by the sources of a Flink job, in a positional binary format
+ * based on the schema of the input stream.
+ */
+public class EventMapSerializer extends AbstractEventSchemaSerializer<Map<String, Object>> {
+
+  private static final long serialVersionUID = 1L;
+
+  public EventMapSerializer(SourceInfo sourceInfo,
+                            SchemaInfo schemaInfo) {
+    this(sourceInfo, schemaInfo, null);
+  }
+
+  public EventMapSerializer(SourceInfo sourceInfo,
+                            SchemaInfo schemaInfo,
+                            Set<String> projection) {
+    super(sourceInfo, schemaInfo, projection);
+  }
+
+  @Override
+  protected boolean isMapRepresentation() {
+    return true;
+  }
+
+  @Override
+  public TypeSerializer<Map<String, Object>> duplicate() {
+    return new EventMapSerializer(getSourceInfo(), getSchemaInfo(), getProjection());
+  }
+
+  @Override
+  public Map<String, Object> createInstance() {
+    return new LinkedHashMap<>();
+  }
+
+  @Override
+  public void serialize(Map<String, Object> event, DataOutputView target) throws IOException {
+    writeMap(target, event, getLayout().getRootSlots(), EventLayout.NO_SLOT);
+  }
+
+  @Override
+  public Map<String, Object> deserialize(DataInputView source) throws IOException {
+    return readMap(source, getLayout().getRootSlots());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeMap(DataOutputView out,
+                        Map<String, Object> map,
+                        int[] slots,
+                        int parentSlot) throws IOException {
+    EventLayout layout = getLayout();
+    int mappedEntries = 0;
+    for (int slot : slots) {
+      String runtimeName = layout.getRuntimeName(slot);
+      Object value = map.get(runtimeName);
+      if (value == null && !map.containsKey(runtimeName)) {
+        out.writeByte(EventValueCodec.ABSENT);
+        continue;
+      }
+      mappedEntries++;
+      if (value instanceof Map && layout.getSlotType(slot) == EventLayout.SlotType.NESTED) {
+        out.writeByte(EventValueCodec.NESTED);
+        writeMap(out, (Map<String, Object>) value, layout.getChildren(slot), slot);
+      } else {
+        EventValueCodec.writeValue(out, value);
+      }
+    }
+    out.writeInt(map.size() - mappedEntries);
+    if (map.size() > mappedEntries) {
+      for (Map.Entry<String, Object> entry : map.entrySet()) {
+        if (layout.childIndexOf(parentSlot, entry.getKey()) == EventLayout.NO_SLOT) {
+          EventValueCodec.writeEntry(out, entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+
+  private Map<String, Object> readMap(DataInputView in,
+                                      int[] slots) throws IOException {
+    EventLayout layout = getLayout();
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int slot : slots) {
+      byte tag = in.readByte();
+      if (tag == EventValueCodec.NESTED) {
+        map.put(layout.getRuntimeName(slot), readMap(in, layout.getChildren(slot)));
+      } else if (tag != EventValueCodec.ABSENT) {
+        map.put(layout.getRuntimeName(slot), EventValueCodec.readValue(in, tag));
+      }
+    }
+    int unmappedEntries = in.readInt();
+    for (int i = 0; i < unmappedEntries; i++) {
+      map.put(EventValueCodec.readName(in), EventValueCodec.readValue(in));
+    }
+    return map;
+  }
+}
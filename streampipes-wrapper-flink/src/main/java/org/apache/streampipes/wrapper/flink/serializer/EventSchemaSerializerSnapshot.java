@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Snapshot of an {@link AbstractEventSchemaSerializer}, which stores the source and schema info
+ * the serializer was created from, together with its optional projection. Serializers of a
+ * different schema are incompatible.
+ */
+public class EventSchemaSerializerSnapshot<T> implements TypeSerializerSnapshot<T> {
+
+  private static final int CURRENT_VERSION = 2;
+
+  private boolean mapRepresentation;
+  private SourceInfo sourceInfo;
+  private SchemaInfo schemaInfo;
+  private Set<String> projection;
+
+  public EventSchemaSerializerSnapshot() {
+
+  }
+
+  EventSchemaSerializerSnapshot(boolean mapRepresentation,
+                                SourceInfo sourceInfo,
+                                SchemaInfo schemaInfo,
+                                Set<String> projection) {
+    this.mapRepresentation = mapRepresentation;
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.projection = projection;
+  }
+
+  @Override
+  public int getCurrentVersion() {
+    return CURRENT_VERSION;
+  }
+
+  @Override
+  public void writeSnapshot(DataOutputView out) throws IOException {
+    out.writeBoolean(mapRepresentation);
+    writeObject(out, sourceInfo);
+    writeObject(out, schemaInfo);
+    writeObject(out, projection);
+  }
+
+  @Override
+  public void readSnapshot(int readVersion,
+                           DataInputView in,
+                           ClassLoader userCodeClassLoader) throws IOException {
+    this.mapRepresentation = in.readBoolean();
+    this.sourceInfo = readObject(in, userCodeClassLoader);
+    this.schemaInfo = readObject(in, userCodeClassLoader);
+    this.projection = readVersion >= 2 ? readObject(in, userCodeClassLoader) : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public TypeSerializer<T> restoreSerializer() {
+    return (TypeSerializer<T>) AbstractEventSchemaSerializer.create(mapRepresentation, sourceInfo, schemaInfo,
+        projection);
+  }
+
+  @Override
+  public TypeSerializerSchemaCompatibility<T> resolveSchemaCompatibility(TypeSerializer<T> newSerializer) {
+    return restoreSerializer().equals(newSerializer)
+        ? TypeSerializerSchemaCompatibility.compatibleAsIs()
+        : TypeSerializerSchemaCompatibility.incompatible();
+  }
+
+  private void writeObject(DataOutputView out, Object value) throws IOException {
+    byte[] bytes = InstantiationUtil.serializeObject(value);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private <V> V readObject(DataInputView in, ClassLoader classLoader) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    try {
+      return InstantiationUtil.deserializeObject(bytes, classLoader);
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Could not restore the schema of the event serializer", e);
+    }
+  }
+}
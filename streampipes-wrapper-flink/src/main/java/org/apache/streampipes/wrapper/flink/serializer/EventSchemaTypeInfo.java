@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Type information for events of an input stream with a known schema. Streams declared with this
+ * type are serialized with a positional binary format instead of the generic Kryo fallback.
+ */
+public class EventSchemaTypeInfo<T> extends TypeInformation<T> {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Class<T> typeClass;
+  private final boolean mapRepresentation;
+  private final SourceInfo sourceInfo;
+  private final SchemaInfo schemaInfo;
+  private final Set<String> projection;
+  private final String signature;
+
+  private EventSchemaTypeInfo(Class<T> typeClass,
+                              boolean mapRepresentation,
+                              SourceInfo sourceInfo,
+                              SchemaInfo schemaInfo,
+                              Set<String> projection) {
+    this.typeClass = typeClass;
+    this.mapRepresentation = mapRepresentation;
+    this.sourceInfo = sourceInfo;
+    this.schemaInfo = schemaInfo;
+    this.projection = projection;
+    this.signature = AbstractEventSchemaSerializer.signatureOf(sourceInfo, schemaInfo, projection);
+  }
+
+  public static EventSchemaTypeInfo<Event> ofEvent(SourceInfo sourceInfo,
+                                                   SchemaInfo schemaInfo) {
+    return ofEvent(sourceInfo, schemaInfo, null);
+  }
+
+  /**
+   * Creates the type information for events which only contain the given first-level properties.
+   */
+  public static EventSchemaTypeInfo<Event> ofEvent(SourceInfo sourceInfo,
+                                                   SchemaInfo schemaInfo,
+                                                   Set<String> projection) {
+    return new EventSchemaTypeInfo<>(Event.class, false, sourceInfo, schemaInfo, projection);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static EventSchemaTypeInfo<Map<String, Object>> ofMap(SourceInfo sourceInfo,
+                                                               SchemaInfo schemaInfo) {
+    return new EventSchemaTypeInfo<>((Class<Map<String, Object>>) (Class<?>) Map.class, true, sourceInfo,
+        schemaInfo, null);
+  }
+
+  @Override
+  public boolean isBasicType() {
+    return false;
+  }
+
+  @Override
+  public boolean isTupleType() {
+    return false;
+  }
+
+  @Override
+  public int getArity() {
+    return 1;
+  }
+
+  @Override
+  public int getTotalFields() {
+    return 1;
+  }
+
+  @Override
+  public Class<T> getTypeClass() {
+    return typeClass;
+  }
+
+  @Override
+  public boolean isKeyType() {
+    return false;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public TypeSerializer<T> createSerializer(ExecutionConfig config) {
+    return (TypeSerializer<T>) AbstractEventSchemaSerializer.create(mapRepresentation, sourceInfo, schemaInfo,
+        projection);
+  }
+
+  @Override
+  public String toString() {
+    return "EventSchemaTypeInfo<" + typeClass.getSimpleName() + ">(" + sourceInfo.getSourceId() + ")";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof EventSchemaTypeInfo)) {
+      return false;
+    }
+    EventSchemaTypeInfo<?> that = (EventSchemaTypeInfo<?>) o;
+    return that.canEqual(this)
+        && mapRepresentation == that.mapRepresentation
+        && signature.equals(that.signature);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * signature.hashCode() + Boolean.hashCode(mapRepresentation);
+  }
+
+  @Override
+  public boolean canEqual(Object obj) {
+    return obj instanceof EventSchemaTypeInfo;
+  }
+}
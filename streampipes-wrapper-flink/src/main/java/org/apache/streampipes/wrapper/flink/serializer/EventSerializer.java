@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes events of an input stream in a positional binary format. Events are deserialized
+ * into {@link SlotEvent}s, so that field objects are only created if the field API is used.
+ */
+public class EventSerializer extends AbstractEventSchemaSerializer<Event> {
+
+  private static final long serialVersionUID = 1L;
+
+  private transient EventLayout compatibleLayout;
+
+  public EventSerializer(SourceInfo sourceInfo,
+                         SchemaInfo schemaInfo) {
+    this(sourceInfo, schemaInfo, null);
+  }
+
+  public EventSerializer(SourceInfo sourceInfo,
+                         SchemaInfo schemaInfo,
+                         Set<String> projection) {
+    super(sourceInfo, schemaInfo, projection);
+  }
+
+  @Override
+  protected boolean isMapRepresentation() {
+    return false;
+  }
+
+  @Override
+  public TypeSerializer<Event> duplicate() {
+    return new EventSerializer(getSourceInfo(), getSchemaInfo(), getProjection());
+  }
+
+  @Override
+  public Event createInstance() {
+    return getLayout().newEvent();
+  }
+
+  @Override
+  public void serialize(Event event, DataOutputView target) throws IOException {
+    EventLayout layout = getLayout();
+    if (event instanceof SlotEvent
+        && !((SlotEvent) event).isMaterialized()
+        && isCompatible(((SlotEvent) event).getLayout())) {
+      writeSlots(target, (SlotEvent) event, layout.getRootSlots(), EventLayout.NO_SLOT);
+    } else {
+      writeFields(target, event.getFields(), layout.getRootSlots());
+    }
+  }
+
+  @Override
+  public Event deserialize(DataInputView source) throws IOException {
+    SlotEvent event = getLayout().newEvent();
+    readSlots(source, event, getLayout().getRootSlots(), EventLayout.NO_SLOT);
+    return event;
+  }
+
+  private void writeSlots(DataOutputView out,
+                          SlotEvent event,
+                          int[] slots,
+                          int parentSlot) throws IOException {
+    for (int slot : slots) {
+      if (!event.hasValue(slot)) {
+        out.writeByte(EventValueCodec.ABSENT);
+      } else if (event.hasNestedValues(slot)) {
+        out.writeByte(EventValueCodec.NESTED);
+        writeSlots(out, event, getLayout().getChildren(slot), slot);
+      } else {
+        EventValueCodec.writeValue(out, event.getValue(slot));
+      }
+    }
+    Map<String, Object> unmappedValues = event.getUnmappedValues(parentSlot);
+    out.writeInt(unmappedValues.size());
+    for (Map.Entry<String, Object> entry : unmappedValues.entrySet()) {
+      EventValueCodec.writeEntry(out, entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void writeFields(DataOutputView out,
+                           Map<String, AbstractField> fields,
+                           int[] slots) throws IOException {
+    EventLayout layout = getLayout();
+    int mappedFields = 0;
+    for (int slot : slots) {
+      AbstractField field = fields.get(layout.getSelector(slot));
+      if (field == null) {
+        out.writeByte(EventValueCodec.ABSENT);
+        continue;
+      }
+      mappedFields++;
+      if (field.isComposite() && layout.getSlotType(slot) == EventLayout.SlotType.NESTED) {
+        out.writeByte(EventValueCodec.NESTED);
+        writeFields(out, field.getAsComposite().getRawValue(), layout.getChildren(slot));
+      } else {
+        EventValueCodec.writeValue(out, toValue(field));
+      }
+    }
+    out.writeInt(fields.size() - mappedFields);
+    if (fields.size() > mappedFields) {
+      for (Map.Entry<String, AbstractField> entry : fields.entrySet()) {
+        if (layout.indexOf(entry.getKey()) == EventLayout.NO_SLOT) {
+          EventValueCodec.writeEntry(out, entry.getValue().getFieldNameIn(), toValue(entry.getValue()));
+        }
+      }
+    }
+  }
+
+  private void readSlots(DataInputView in,
+                         SlotEvent event,
+                         int[] slots,
+                         int parentSlot) throws IOException {
+    for (int slot : slots) {
+      byte tag = in.readByte();
+      if (tag == EventValueCodec.NESTED) {
+        event.markPresent(slot);
+        readSlots(in, event, getLayout().getChildren(slot), slot);
+      } else if (tag != EventValueCodec.ABSENT) {
+        event.setValue(slot, EventValueCodec.readValue(in, tag));
+      }
+    }
+    int unmappedValues = in.readInt();
+    for (int i = 0; i < unmappedValues; i++) {
+      event.putUnmappedValue(parentSlot, EventValueCodec.readName(in), EventValueCodec.readValue(in));
+    }
+  }
+
+  private boolean isCompatible(EventLayout eventLayout) {
+    EventLayout layout = getLayout();
+    if (eventLayout == layout || eventLayout == compatibleLayout) {
+      return true;
+    }
+    if (eventLayout.size() != layout.size()) {
+      return false;
+    }
+    for (int slot = 0; slot < layout.size(); slot++) {
+      if (!eventLayout.getSelector(slot).equals(layout.getSelector(slot))
+          || eventLayout.getParent(slot) != layout.getParent(slot)) {
+        return false;
+      }
+    }
+    compatibleLayout = eventLayout;
+    return true;
+  }
+
+  private Object toValue(AbstractField field) {
+    if (field.isList()) {
+      List<Object> values = new ArrayList<>();
+      for (AbstractField item : field.getAsList().getRawValue()) {
+        values.add(toValue(item));
+      }
+      return values;
+    } else if (field.isComposite()) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (AbstractField nestedField : field.getAsComposite().getRawValue().values()) {
+        values.put(nestedField.getFieldNameIn(), toValue(nestedField));
+      }
+      return values;
+    } else {
+      return field.getRawValue();
+    }
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of single event values. Every value is prefixed with a one-byte tag, the tags
+ * {@link #ABSENT} and {@link #NESTED} are reserved for the positional encoding of schema slots.
+ */
+final class EventValueCodec {
+
+  static final byte ABSENT = 0;
+  static final byte NESTED = 1;
+
+  private static final byte NULL = 2;
+  private static final byte STRING = 3;
+  private static final byte INT = 4;
+  private static final byte LONG = 5;
+  private static final byte DOUBLE = 6;
+  private static final byte FLOAT = 7;
+  private static final byte TRUE = 8;
+  private static final byte FALSE = 9;
+  private static final byte LIST = 10;
+  private static final byte MAP = 11;
+  private static final byte SERIALIZED = 12;
+
+  private EventValueCodec() {
+
+  }
+
+  static void writeValue(DataOutputView out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      StringValue.writeString((String) value, out);
+    } else if (value instanceof Integer) {
+      out.writeByte(INT);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof Float) {
+      out.writeByte(FLOAT);
+      out.writeFloat((Float) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      out.writeByte(LIST);
+      out.writeInt(list.size());
+      for (Object item : list) {
+        writeValue(out, item);
+      }
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      out.writeByte(MAP);
+      out.writeInt(map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        StringValue.writeString(String.valueOf(entry.getKey()), out);
+        writeValue(out, entry.getValue());
+      }
+    } else if (value instanceof Serializable) {
+      byte[] bytes = InstantiationUtil.serializeObject(value);
+      out.writeByte(SERIALIZED);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    } else {
+      throw new IOException("Unsupported value type " + value.getClass().getName());
+    }
+  }
+
+  static void writeEntry(DataOutputView out, String name, Object value) throws IOException {
+    StringValue.writeString(name, out);
+    writeValue(out, value);
+  }
+
+  static String readName(DataInputView in) throws IOException {
+    return StringValue.readString(in);
+  }
+
+  static Object readValue(DataInputView in) throws IOException {
+    return readValue(in, in.readByte());
+  }
+
+  static Object readValue(DataInputView in, byte tag) throws IOException {
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return StringValue.readString(in);
+      case INT:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case FLOAT:
+        return in.readFloat();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case LIST:
+        int size = in.readInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readValue(in));
+        }
+        return list;
+      case MAP:
+        int entries = in.readInt();
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+          map.put(readName(in), readValue(in));
+        }
+        return map;
+      case SERIALIZED:
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try {
+          return InstantiationUtil.deserializeObject(bytes, Thread.currentThread().getContextClassLoader());
+        } catch (ClassNotFoundException e) {
+          throw new IOException(e);
+        }
+      default:
+        throw new IOException("Unknown value tag " + tag);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.flink;
+
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestFlinkRuntime {
+
+  @Test
+  public void testSourceParallelismIsCappedAtJobParallelism() {
+    assertEquals(2, FlinkRuntime.getSourceParallelism(8, 2, 4));
+  }
+
+  @Test
+  public void testSourceParallelismIsCappedAtEnvironmentWithoutJobParallelism() {
+    var env = StreamExecutionEnvironment.createLocalEnvironment(3);
+
+    assertEquals(3, FlinkRuntime.getSourceParallelism(8, 0, env.getParallelism()));
+  }
+
+  @Test
+  public void testSourceParallelismIsNotCappedWithoutAnyParallelism() {
+    assertEquals(8, FlinkRuntime.getSourceParallelism(8, 0, -1));
+  }
+
+  @Test
+  public void testSourceParallelismIsPartitionCountIfLower() {
+    assertEquals(2, FlinkRuntime.getSourceParallelism(2, 0, 4));
+  }
+
+  @Test
+  public void testTimeBasedJobRunsWithSingleInstance() {
+    assertEquals(1, FlinkRuntime.getJobParallelism(true, false, 4));
+  }
+
+  @Test
+  public void testPartitionedTimeBasedJobRunsWithSingleInstanceWithoutConfiguredParallelism() {
+    assertEquals(1, FlinkRuntime.getJobParallelism(true, true, 0));
+  }
+
+  @Test
+  public void testPartitionedTimeBasedJobRunsWithConfiguredParallelism() {
+    assertEquals(4, FlinkRuntime.getJobParallelism(true, true, 4));
+  }
+
+  @Test
+  public void testJobWithoutTimeCharacteristicRunsWithConfiguredParallelism() {
+    assertEquals(4, FlinkRuntime.getJobParallelism(false, false, 4));
+    assertEquals(0, FlinkRuntime.getJobParallelism(false, false, 0));
+  }
+}
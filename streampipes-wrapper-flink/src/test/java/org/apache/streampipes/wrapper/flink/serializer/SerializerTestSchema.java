@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
+import org.apache.streampipes.model.schema.EventProperty;
+import org.apache.streampipes.model.schema.EventPropertyList;
+import org.apache.streampipes.model.schema.EventPropertyNested;
+import org.apache.streampipes.model.schema.EventPropertyPrimitive;
+import org.apache.streampipes.model.schema.EventSchema;
+import org.apache.streampipes.vocabulary.XSD;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input stream schema and raw events shared by the serializer tests. The events cover nested,
+ * list, null and absent values as well as values which are not part of the schema.
+ */
+final class SerializerTestSchema {
+
+  static final SourceInfo SOURCE_INFO = new SourceInfo("urn:test:source", "s0");
+
+  private SerializerTestSchema() {
+
+  }
+
+  static SchemaInfo schemaInfo() {
+    return new SchemaInfo(new EventSchema(Arrays.asList(
+        primitive(XSD.LONG, "timestamp"),
+        primitive(XSD.STRING, "sensorId"),
+        primitive(XSD.DOUBLE, "temperature"),
+        new EventPropertyNested("location", Arrays.asList(
+            primitive(XSD.DOUBLE, "latitude"),
+            primitive(XSD.DOUBLE, "longitude"))),
+        new EventPropertyList("values", primitive(XSD.DOUBLE, "value")),
+        primitive(XSD.BOOLEAN, "active"))), new ArrayList<>());
+  }
+
+  static SchemaInfo otherSchemaInfo() {
+    return new SchemaInfo(new EventSchema(Arrays.asList(
+        primitive(XSD.LONG, "timestamp"),
+        primitive(XSD.STRING, "sensorId"))), new ArrayList<>());
+  }
+
+  static EventLayout layout() {
+    return EventLayout.from(SOURCE_INFO, schemaInfo());
+  }
+
+  static List<Map<String, Object>> rawEvents() {
+    return Arrays.asList(fullEvent(), sparseEvent(), unmappedEvent(), emptyEvent());
+  }
+
+  static Map<String, Object> fullEvent() {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("timestamp", 1660000000000L);
+    event.put("sensorId", "sensor01");
+    event.put("temperature", 21.5);
+    event.put("location", location(49.0, 8.4));
+    event.put("values", Arrays.asList(1.0, 2.5, 3.0));
+    event.put("active", true);
+    return event;
+  }
+
+  static Map<String, Object> sparseEvent() {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("timestamp", 1660000000001L);
+    event.put("sensorId", null);
+    event.put("temperature", null);
+    event.put("values", Collections.emptyList());
+    event.put("active", false);
+    return event;
+  }
+
+  static Map<String, Object> unmappedEvent() {
+    Map<String, Object> location = location(49.0, 8.4);
+    location.put("altitude", 115);
+
+    Map<String, Object> details = new LinkedHashMap<>();
+    details.put("firmware", "1.2.0");
+    details.put("tags", Arrays.asList("a", "b"));
+
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("timestamp", 1660000000002L);
+    event.put("location", location);
+    event.put("values", Arrays.asList(1.0, null));
+    event.put("quality", 0.75f);
+    event.put("details", details);
+    return event;
+  }
+
+  static Map<String, Object> emptyEvent() {
+    return new LinkedHashMap<>();
+  }
+
+  private static Map<String, Object> location(double latitude, double longitude) {
+    Map<String, Object> location = new LinkedHashMap<>();
+    location.put("latitude", latitude);
+    location.put("longitude", longitude);
+    return location;
+  }
+
+  private static EventProperty primitive(URI runtimeType, String runtimeName) {
+    return new EventPropertyPrimitive(runtimeType.toString(), runtimeName, "", new ArrayList<>());
+  }
+}
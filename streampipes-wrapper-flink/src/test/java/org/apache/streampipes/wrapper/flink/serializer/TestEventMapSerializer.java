@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Round trips of raw events through the {@link EventMapSerializer}.
+ */
+public class TestEventMapSerializer extends SerializerTestBase<Map<String, Object>> {
+
+  @Override
+  protected TypeSerializer<Map<String, Object>> createSerializer() {
+    return new EventMapSerializer(SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+  }
+
+  @Override
+  protected int getLength() {
+    return -1;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected Class<Map<String, Object>> getTypeClass() {
+    return (Class<Map<String, Object>>) (Class<?>) Map.class;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  protected Map<String, Object>[] getTestData() {
+    return SerializerTestSchema.rawEvents().toArray(new Map[0]);
+  }
+
+  @Test
+  public void testNestedValueWhichIsNoMap() throws IOException {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("location", "49.0,8.4");
+
+    assertEquals(event, roundTrip(event));
+  }
+
+  @Test
+  public void testEmptyNestedValue() throws IOException {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("location", new LinkedHashMap<>());
+
+    assertEquals(event, roundTrip(event));
+  }
+
+  private Map<String, Object> roundTrip(Map<String, Object> event) throws IOException {
+    TypeSerializer<Map<String, Object>> serializer = createSerializer();
+    DataOutputSerializer out = new DataOutputSerializer(64);
+    serializer.serialize(event, out);
+
+    DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+    Map<String, Object> result = serializer.deserialize(in);
+    assertEquals(0, in.available());
+    return result;
+  }
+}
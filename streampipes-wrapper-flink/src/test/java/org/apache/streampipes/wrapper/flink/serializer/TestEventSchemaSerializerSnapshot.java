@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.Event;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestEventSchemaSerializerSnapshot {
+
+  private static final Set<String> PROJECTION = new HashSet<>(Arrays.asList("timestamp", "location"));
+
+  @Test
+  public void testRestoreEventSerializer() throws IOException {
+    EventSerializer serializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo());
+
+    TypeSerializerSnapshot<Event> snapshot = writeAndRead(serializer.snapshotConfiguration());
+    TypeSerializer<Event> restored = snapshot.restoreSerializer();
+
+    assertTrue(restored instanceof EventSerializer);
+    assertEquals(serializer, restored);
+    assertTrue(snapshot.resolveSchemaCompatibility(serializer).isCompatibleAsIs());
+  }
+
+  @Test
+  public void testRestoreProjectedSerializer() throws IOException {
+    EventSerializer serializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo(), PROJECTION);
+
+    TypeSerializerSnapshot<Event> snapshot = writeAndRead(serializer.snapshotConfiguration());
+    EventSerializer restored = (EventSerializer) snapshot.restoreSerializer();
+
+    assertEquals(PROJECTION, restored.getProjection());
+    assertEquals(serializer, restored);
+    assertTrue(snapshot.resolveSchemaCompatibility(serializer).isCompatibleAsIs());
+  }
+
+  @Test
+  public void testRestoreMapSerializer() throws IOException {
+    EventMapSerializer serializer = new EventMapSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo());
+
+    TypeSerializerSnapshot<Map<String, Object>> snapshot = writeAndRead(serializer.snapshotConfiguration());
+    TypeSerializer<Map<String, Object>> restored = snapshot.restoreSerializer();
+
+    assertTrue(restored instanceof EventMapSerializer);
+    assertEquals(serializer, restored);
+    assertTrue(snapshot.resolveSchemaCompatibility(serializer).isCompatibleAsIs());
+  }
+
+  @Test
+  public void testOtherSchemaIsIncompatible() throws IOException {
+    EventSerializer serializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo());
+    EventSerializer otherSerializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.otherSchemaInfo());
+
+    TypeSerializerSnapshot<Event> snapshot = writeAndRead(serializer.snapshotConfiguration());
+
+    assertTrue(snapshot.resolveSchemaCompatibility(otherSerializer).isIncompatible());
+  }
+
+  @Test
+  public void testOtherProjectionIsIncompatible() throws IOException {
+    EventSerializer serializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo(), PROJECTION);
+    EventSerializer otherSerializer = new EventSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo());
+
+    TypeSerializerSnapshot<Event> snapshot = writeAndRead(serializer.snapshotConfiguration());
+
+    assertTrue(snapshot.resolveSchemaCompatibility(otherSerializer).isIncompatible());
+  }
+
+  @Test
+  public void testRestoredSerializerReadsSerializedEvents() throws IOException {
+    EventMapSerializer serializer = new EventMapSerializer(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.schemaInfo());
+    DataOutputSerializer out = new DataOutputSerializer(64);
+    serializer.serialize(SerializerTestSchema.unmappedEvent(), out);
+
+    TypeSerializer<Map<String, Object>> restored = writeAndRead(serializer.snapshotConfiguration())
+        .restoreSerializer();
+    DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+
+    assertEquals(SerializerTestSchema.unmappedEvent(), restored.deserialize(in));
+  }
+
+  private <T> TypeSerializerSnapshot<T> writeAndRead(TypeSerializerSnapshot<T> snapshot) throws IOException {
+    DataOutputSerializer out = new DataOutputSerializer(256);
+    TypeSerializerSnapshot.writeVersionedSnapshot(out, snapshot);
+
+    DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+    return TypeSerializerSnapshot.readVersionedSnapshot(in, getClass().getClassLoader());
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.flink.serializer;
+
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+
+import org.apache.flink.api.common.typeutils.SerializerTestBase;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.testutils.DeeplyEqualsChecker;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Round trips of field-backed and slot-backed events through the {@link EventSerializer}. Events
+ * are compared by their raw values, since {@link Event} does not implement equals.
+ */
+public class TestEventSerializer extends SerializerTestBase<Event> {
+
+  public TestEventSerializer() {
+    super(new DeeplyEqualsChecker()
+        .withCustomCheck(
+            (o1, o2) -> o1 instanceof Event && o2 instanceof Event,
+            (o1, o2, checker) -> ((Event) o1).getRaw().equals(((Event) o2).getRaw())));
+  }
+
+  @Override
+  protected TypeSerializer<Event> createSerializer() {
+    return new EventSerializer(SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+  }
+
+  @Override
+  protected int getLength() {
+    return -1;
+  }
+
+  @Override
+  protected Class<Event> getTypeClass() {
+    return Event.class;
+  }
+
+  @Override
+  protected Event[] getTestData() {
+    EventLayout layout = SerializerTestSchema.layout();
+    List<Event> events = new ArrayList<>();
+    for (Map<String, Object> rawEvent : SerializerTestSchema.rawEvents()) {
+      events.add(fieldBacked(rawEvent));
+      events.add(EventFactory.fromMap(rawEvent, layout));
+      events.add(materialized(EventFactory.fromMap(rawEvent, layout)));
+    }
+    return events.toArray(new Event[0]);
+  }
+
+  @Test
+  public void testFieldBackedRoundTrip() throws IOException {
+    for (Map<String, Object> rawEvent : SerializerTestSchema.rawEvents()) {
+      Event result = roundTrip(fieldBacked(rawEvent));
+
+      assertEquals(rawEvent, result.getRaw());
+    }
+  }
+
+  @Test
+  public void testSlotBackedRoundTrip() throws IOException {
+    EventLayout layout = SerializerTestSchema.layout();
+    for (Map<String, Object> rawEvent : SerializerTestSchema.rawEvents()) {
+      Event result = roundTrip(EventFactory.fromMap(rawEvent, layout));
+
+      assertEquals(rawEvent, result.getRaw());
+    }
+  }
+
+  @Test
+  public void testSlotBackedEventOfOtherSchema() throws IOException {
+    Map<String, Object> rawEvent = SerializerTestSchema.fullEvent();
+    EventLayout otherLayout = EventLayout.from(SerializerTestSchema.SOURCE_INFO,
+        SerializerTestSchema.otherSchemaInfo());
+    Event result = roundTrip(EventFactory.fromMap(rawEvent, otherLayout));
+
+    assertEquals(rawEvent, result.getRaw());
+  }
+
+  @Test
+  public void testDeserializedEventsAreNotMaterialized() throws IOException {
+    EventLayout layout = SerializerTestSchema.layout();
+    SlotEvent result = (SlotEvent) roundTrip(fieldBacked(SerializerTestSchema.fullEvent()));
+
+    assertFalse(result.isMaterialized());
+    assertEquals(21.5, result.getDouble(layout.indexOf("s0::temperature")), 0.0);
+    assertEquals(49.0, result.getDouble(layout.indexOf("s0::location::latitude")), 0.0);
+    assertEquals("sensor01", result.getString(layout.indexOf("s0::sensorId")));
+  }
+
+  @Test
+  public void testNullAndAbsentValues() throws IOException {
+    EventLayout layout = SerializerTestSchema.layout();
+    SlotEvent result = (SlotEvent) roundTrip(EventFactory.fromMap(SerializerTestSchema.sparseEvent(), layout));
+
+    assertTrue(result.hasValue(layout.indexOf("s0::temperature")));
+    assertNull(result.getValue(layout.indexOf("s0::temperature")));
+    assertFalse(result.hasValue(layout.indexOf("s0::location")));
+    assertFalse(result.hasValue(layout.indexOf("s0::location::latitude")));
+    assertEquals(Collections.emptyList(), result.getValue(layout.indexOf("s0::values")));
+  }
+
+  @Test
+  public void testUnmappedValues() throws IOException {
+    EventLayout layout = SerializerTestSchema.layout();
+    SlotEvent result = (SlotEvent) roundTrip(fieldBacked(SerializerTestSchema.unmappedEvent()));
+
+    assertEquals(0.75f, result.getUnmappedValues(EventLayout.NO_SLOT).get("quality"));
+    assertEquals(SerializerTestSchema.unmappedEvent().get("details"),
+        result.getUnmappedValues(EventLayout.NO_SLOT).get("details"));
+    assertEquals(115, result.getUnmappedValues(layout.indexOf("s0::location")).get("altitude"));
+  }
+
+  @Test
+  public void testCopyCreatesIndependentEvent() {
+    EventLayout layout = SerializerTestSchema.layout();
+    EventSerializer serializer = (EventSerializer) createSerializer();
+    SlotEvent original = (SlotEvent) EventFactory.fromMap(SerializerTestSchema.fullEvent(), layout);
+
+    SlotEvent copy = (SlotEvent) serializer.copy(original);
+    copy.setValue(layout.indexOf("s0::location::latitude"), 50.0);
+
+    assertNotSame(original, copy);
+    assertEquals(49.0, original.getDouble(layout.indexOf("s0::location::latitude")), 0.0);
+    assertEquals(50.0, copy.getDouble(layout.indexOf("s0::location::latitude")), 0.0);
+    assertEquals(SerializerTestSchema.fullEvent(), serializer.copy(original, copy).getRaw());
+  }
+
+  private Event roundTrip(Event event) throws IOException {
+    TypeSerializer<Event> serializer = createSerializer();
+    DataOutputSerializer out = new DataOutputSerializer(64);
+    serializer.serialize(event, out);
+
+    DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+    Event result = serializer.deserialize(in);
+    assertEquals(0, in.available());
+    return result;
+  }
+
+  private static Event fieldBacked(Map<String, Object> rawEvent) {
+    return EventFactory.fromMap(rawEvent, SerializerTestSchema.SOURCE_INFO, SerializerTestSchema.schemaInfo());
+  }
+
+  private static Event materialized(Event event) {
+    event.getFields();
+    return event;
+  }
+}
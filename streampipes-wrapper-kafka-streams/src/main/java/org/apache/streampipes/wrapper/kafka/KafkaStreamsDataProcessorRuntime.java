@@ -18,20 +18,23 @@
 package org.apache.streampipes.wrapper.kafka;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.logging.impl.EventStatisticLogger;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
 import org.apache.streampipes.model.grounding.SimpleTopicDefinition;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
-import org.apache.streampipes.wrapper.kafka.converter.JsonToMapFormat;
-import org.apache.streampipes.wrapper.kafka.converter.MapToJsonFormat;
+import org.apache.streampipes.wrapper.kafka.serde.SpDataFormatSerdes;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
 
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
 import org.apache.kafka.streams.kstream.KStream;
-import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.Produced;
 
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -42,6 +45,8 @@ public abstract class KafkaStreamsDataProcessorRuntime<T extends
     DataProcessorInvocation, EventProcessorRuntimeContext> {
 
 
+  private Serde<Map<String, Object>> inputSerde;
+
   public KafkaStreamsDataProcessorRuntime(EventProcessorRuntimeParams<T> runtimeParams) {
     super(runtimeParams);
   }
@@ -53,22 +58,26 @@ public abstract class KafkaStreamsDataProcessorRuntime<T extends
       prepareRuntime();
       StreamsBuilder builder = new StreamsBuilder();
       SpDataStream inputStream = runtimeParams.getBindingParams().getGraph().getInputStreams().get(0);
+      SpDataStream outputStream = runtimeParams.getBindingParams().getGraph().getOutputStream();
       TransportProtocol protocol = protocol(inputStream);
-      KStream<String, String> stream;
+      this.inputSerde = makeSerde(inputStream);
+      Consumed<String, Map<String, Object>> consumed = Consumed.with(Serdes.String(), inputSerde);
+      KStream<String, Map<String, Object>> stream;
 
       if (protocol.getTopicDefinition() instanceof SimpleTopicDefinition) {
-        stream = builder.stream(getTopic(inputStream));
+        stream = builder.stream(getTopic(inputStream), consumed);
       } else {
-        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))));
+        stream = builder.stream(Pattern.compile(replaceWildcardWithPatternFormat(getTopic(inputStream))), consumed);
       }
 
-      KStream<String, Map<String, Object>> mapFormat = stream.flatMapValues((ValueMapper<String, Iterable<Map<String,
-          Object>>>) s -> new JsonToMapFormat(getGraph()).apply(s));
+      DataProcessorInvocation graph = getGraph();
+      KStream<String, Map<String, Object>> loggedStream = stream
+          .filter((key, event) -> event != null)
+          .peek((key, event) -> EventStatisticLogger.log(graph.getName(), graph.getCorrespondingPipeline(),
+              graph.getUri()));
 
-      KStream<String, String> outStream = getApplicationLogic(mapFormat).flatMapValues(new
-          MapToJsonFormat());
-      outStream.to(getTopic(runtimeParams.getBindingParams().getGraph()
-          .getOutputStream()));
+      getApplicationLogic(loggedStream)
+          .to(getTopic(outputStream), Produced.with(Serdes.String(), makeSerde(outputStream)));
       streams = new KafkaStreams(builder.build(), config);
 
       streams.start();
@@ -77,4 +86,16 @@ public abstract class KafkaStreamsDataProcessorRuntime<T extends
     }
   }
 
+  /**
+   * Returns the serde of the input stream, which can be used for operations that repartition the
+   * stream or keep events in a state store.
+   */
+  protected Serde<Map<String, Object>> getInputSerde() {
+    return inputSerde;
+  }
+
+  private Serde<Map<String, Object>> makeSerde(SpDataStream stream) {
+    return SpDataFormatSerdes.forMaps(getDataFormatDefinition(stream.getEventGrounding().getTransportFormats().get(0)));
+  }
+
 }
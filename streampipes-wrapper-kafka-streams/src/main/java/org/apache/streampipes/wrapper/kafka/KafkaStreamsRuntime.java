@@ -17,6 +17,8 @@
  */
 package org.apache.streampipes.wrapper.kafka;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
@@ -27,6 +29,7 @@ import org.apache.streampipes.wrapper.params.runtime.RuntimeParams;
 import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KafkaStreams;
 import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
 import org.apache.kafka.streams.kstream.KStream;
 
 import java.util.Map;
@@ -53,7 +56,27 @@ public abstract class KafkaStreamsRuntime<RP extends RuntimeParams<B, I, RC>, B
     config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, getKafkaUrl(runtimeParams.getBindingParams().getGraph()
         .getInputStreams().get(0)));
     config.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.String().getClass());
-    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.String().getClass());
+    config.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.ByteArray().getClass());
+    // events which cannot be decoded are logged and skipped instead of stopping the stream thread
+    config.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+        LogAndContinueExceptionHandler.class);
+    config.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, Envs.SP_KAFKA_STREAMS_NUM_THREADS
+        .getValueAsIntOrDefault(DefaultEnvValues.KAFKA_STREAMS_NUM_THREADS_DEFAULT));
+    config.put(StreamsConfig.CACHE_MAX_BYTES_BUFFERING_CONFIG, Envs.SP_KAFKA_STREAMS_CACHE_MAX_BYTES
+        .getValueAsIntOrDefault(DefaultEnvValues.KAFKA_STREAMS_CACHE_MAX_BYTES_DEFAULT));
+    config.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, Envs.SP_KAFKA_STREAMS_COMMIT_INTERVAL_MS
+        .getValueAsIntOrDefault(DefaultEnvValues.KAFKA_STREAMS_COMMIT_INTERVAL_MS_DEFAULT));
+    appendStreamsConfig(config);
+  }
+
+  /**
+   * This method can be called in case additional settings should be applied to the streams config,
+   * e.g., to override the number of stream threads for a single pipeline element.
+   *
+   * @param config The streams config
+   */
+  protected void appendStreamsConfig(Properties config) {
+
   }
 
   private String gneerateApplicationId(String elementId) {
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.aggregation;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.kstream.Aggregator;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.Initializer;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Suppressed;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.kstream.Window;
+import org.apache.kafka.streams.state.WindowStore;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates events in time windows, optionally grouped by one or more properties. The aggregates
+ * are kept in a windowed state store, which is backed by a changelog topic, so that the
+ * aggregation is distributed across all stream threads and instances of the pipeline element and
+ * survives restarts. A single result event is emitted per key when a window closes.
+ *
+ * @param <A> The type of the aggregate
+ */
+public class WindowedAggregation<A> {
+
+  private static final char KEY_SEPARATOR = '\u001F';
+
+  private final String storeName;
+  private final TimeWindows windows;
+  private final Initializer<A> initializer;
+  private final Aggregator<String, Map<String, Object>, A> aggregator;
+  private final Serde<A> aggregateSerde;
+  private final ResultMapper<A> resultMapper;
+
+  private List<String> groupBy = Collections.emptyList();
+
+  /**
+   * @param storeName      The name of the state store, which must be unique within the topology
+   * @param windowSize     The size of the windows
+   * @param advance        The advance interval of the windows, equal to the size for tumbling windows
+   * @param initializer    Creates the initial aggregate of a window
+   * @param aggregator     Adds an event to the aggregate of a window
+   * @param aggregateSerde The serde of the aggregate, used for the state store and its changelog
+   * @param resultMapper   Creates the result event from the final aggregate of a window
+   */
+  public WindowedAggregation(String storeName,
+                             Duration windowSize,
+                             Duration advance,
+                             Initializer<A> initializer,
+                             Aggregator<String, Map<String, Object>, A> aggregator,
+                             Serde<A> aggregateSerde,
+                             ResultMapper<A> resultMapper) {
+    this.storeName = storeName;
+    this.windows = TimeWindows.ofSizeWithNoGrace(windowSize).advanceBy(advance);
+    this.initializer = initializer;
+    this.aggregator = aggregator;
+    this.aggregateSerde = aggregateSerde;
+    this.resultMapper = resultMapper;
+  }
+
+  /**
+   * Groups the aggregation by the values of the given first-level properties.
+   *
+   * @param runtimeNames The runtime names of the properties
+   * @return this
+   */
+  public WindowedAggregation<A> groupBy(List<String> runtimeNames) {
+    this.groupBy = runtimeNames;
+    return this;
+  }
+
+  /**
+   * Appends the aggregation to the given stream.
+   *
+   * @param stream     The input stream
+   * @param eventSerde The serde of the input events, used when the stream is repartitioned by key
+   * @return A stream containing the result events of all closed windows
+   */
+  public KStream<String, Map<String, Object>> apply(KStream<String, Map<String, Object>> stream,
+                                                    Serde<Map<String, Object>> eventSerde) {
+    List<String> keys = groupBy;
+    return stream
+        .groupBy((key, event) -> makeKey(keys, event), Grouped.with(Serdes.String(), eventSerde))
+        .windowedBy(windows)
+        .aggregate(initializer, aggregator, Materialized.<String, A, WindowStore<Bytes, byte[]>>as(storeName)
+            .withKeySerde(Serdes.String())
+            .withValueSerde(aggregateSerde))
+        .suppress(Suppressed.untilWindowCloses(Suppressed.BufferConfig.unbounded()))
+        .toStream()
+        .map((windowedKey, aggregate) -> KeyValue.pair(windowedKey.key(),
+            resultMapper.toEvent(windowedKey.key(), windowedKey.window(), aggregate)));
+  }
+
+  private static String makeKey(List<String> groupBy,
+                                Map<String, Object> event) {
+    if (groupBy.size() == 1) {
+      return String.valueOf(event.get(groupBy.get(0)));
+    }
+    StringBuilder key = new StringBuilder();
+    for (int i = 0; i < groupBy.size(); i++) {
+      if (i > 0) {
+        key.append(KEY_SEPARATOR);
+      }
+      key.append(event.get(groupBy.get(i)));
+    }
+    return key.toString();
+  }
+
+  /**
+   * Creates the result event of a closed window.
+   *
+   * @param <A> The type of the aggregate
+   */
+  @FunctionalInterface
+  public interface ResultMapper<A> {
+
+    Map<String, Object> toEvent(String key, Window window, A aggregate);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Serdes which convert the raw bytes of a topic using the data format (JSON, CBOR, Smile, FST)
+ * of a stream, so that events are decoded once when they enter the topology and encoded once
+ * when they leave it. Records which cannot be converted are logged and converted to null instead, so
+ * that a single malformed record does not stop the stream thread.
+ */
+public class SpDataFormatSerdes {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpDataFormatSerdes.class);
+
+  private SpDataFormatSerdes() {
+
+  }
+
+  /**
+   * Creates a serde for raw events represented as maps.
+   *
+   * @param dataFormatDefinition The data format of the topic
+   * @return The serde
+   */
+  public static Serde<Map<String, Object>> forMaps(SpDataFormatDefinition dataFormatDefinition) {
+    return Serdes.serdeFrom(
+        (topic, event) -> event != null ? serialize(dataFormatDefinition, topic, event) : null,
+        (topic, bytes) -> bytes != null ? deserialize(dataFormatDefinition, topic, bytes) : null);
+  }
+
+  private static byte[] serialize(SpDataFormatDefinition dataFormatDefinition,
+                                  String topic,
+                                  Map<String, Object> event) {
+    try {
+      return dataFormatDefinition.fromMap(event);
+    } catch (SpRuntimeException e) {
+      LOG.warn("Could not serialize event for topic {}, sending an empty record instead", topic, e);
+      return null;
+    }
+  }
+
+  private static Map<String, Object> deserialize(SpDataFormatDefinition dataFormatDefinition,
+                                                 String topic,
+                                                 byte[] bytes) {
+    try {
+      return dataFormatDefinition.toMap(bytes);
+    } catch (SpRuntimeException e) {
+      LOG.warn("Could not deserialize record of topic {}, skipping it", topic, e);
+      return null;
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.kafka.aggregation;
+
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+import org.apache.streampipes.wrapper.kafka.serde.SpDataFormatSerdes;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Counts events per sensor in windows of ten seconds and checks that results are only emitted once
+ * the stream time has passed the end of a window.
+ */
+public class TestWindowedAggregation {
+
+  private static final Instant START = Instant.ofEpochMilli(1660000000000L);
+
+  private final Serde<Map<String, Object>> serde = SpDataFormatSerdes.forMaps(new JsonDataFormatDefinition());
+
+  private TopologyTestDriver driver;
+  private TestInputTopic<String, Map<String, Object>> inputTopic;
+  private TestOutputTopic<String, Map<String, Object>> outputTopic;
+
+  @After
+  public void tearDown() {
+    if (driver != null) {
+      driver.close();
+    }
+  }
+
+  @Test
+  public void testTumblingWindowIsEmittedWhenClosed() {
+    start(Duration.ofSeconds(10), Collections.singletonList("sensorId"));
+
+    pipe("sensor01", 0);
+    pipe("sensor01", 1);
+    pipe("sensor02", 2);
+    pipe("sensor01", 9);
+
+    assertTrue(outputTopic.isEmpty());
+
+    pipe("sensor03", 10);
+
+    Map<String, Map<String, Object>> results = outputTopic.readKeyValuesToMap();
+    assertEquals(2, results.size());
+    assertResult(results.get("sensor01"), 0, 3);
+    assertResult(results.get("sensor02"), 0, 1);
+    assertTrue(outputTopic.isEmpty());
+  }
+
+  @Test
+  public void testLateEventIsDropped() {
+    start(Duration.ofSeconds(10), Collections.singletonList("sensorId"));
+
+    pipe("sensor01", 0);
+    pipe("sensor01", 10);
+    pipe("sensor01", 5);
+    pipe("sensor01", 20);
+
+    List<Map<String, Object>> results = outputTopic.readValuesToList();
+    assertEquals(2, results.size());
+    assertResult(results.get(0), 0, 1);
+    assertResult(results.get(1), 10, 1);
+  }
+
+  @Test
+  public void testHoppingWindowsWithoutGroupBy() {
+    start(Duration.ofSeconds(5), Collections.emptyList());
+
+    pipe("sensor01", 1);
+    pipe("sensor02", 6);
+    pipe("sensor01", 12);
+
+    List<Map<String, Object>> results = outputTopic.readValuesToList();
+    assertEquals(2, results.size());
+    assertResult(results.get(0), -5, 1);
+    assertResult(results.get(1), 0, 2);
+  }
+
+  private void start(Duration advance, List<String> groupBy) {
+    StreamsBuilder builder = new StreamsBuilder();
+    WindowedAggregation<Long> aggregation = new WindowedAggregation<>("count-store",
+        Duration.ofSeconds(10),
+        advance,
+        () -> 0L,
+        (key, event, count) -> count + 1,
+        Serdes.Long(),
+        (key, window, count) -> {
+          Map<String, Object> result = new HashMap<>();
+          result.put("windowStart", window.start() - START.toEpochMilli());
+          result.put("count", count);
+          return result;
+        }).groupBy(groupBy);
+    aggregation.apply(builder.stream("input", Consumed.with(Serdes.String(), serde)), serde)
+        .to("output", Produced.with(Serdes.String(), serde));
+
+    Properties config = new Properties();
+    config.put(StreamsConfig.APPLICATION_ID_CONFIG, "test-aggregation");
+    config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    driver = new TopologyTestDriver(builder.build(), config);
+    inputTopic = driver.createInputTopic("input", new StringSerializer(), serde.serializer());
+    outputTopic = driver.createOutputTopic("output", new StringDeserializer(), serde.deserializer());
+  }
+
+  private void pipe(String sensorId, int second) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("sensorId", sensorId);
+    inputTopic.pipeInput(null, event, START.plusSeconds(second));
+  }
+
+  private static void assertResult(Map<String, Object> result, int windowStartSecond, long count) {
+    assertEquals(windowStartSecond * 1000L, ((Number) result.get("windowStart")).longValue());
+    assertEquals(count, ((Number) result.get("count")).longValue());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.kafka.serde;
+
+import org.apache.streampipes.dataformat.json.JsonDataFormatDefinition;
+
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Produced;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs raw topic bytes through a topology which decodes and encodes events with the map serde,
+ * configured like the Kafka Streams runtime.
+ */
+public class TestSpDataFormatSerdes {
+
+  private final JsonDataFormatDefinition dataFormat = new JsonDataFormatDefinition();
+
+  private TopologyTestDriver driver;
+  private TestInputTopic<String, byte[]> inputTopic;
+  private TestOutputTopic<String, byte[]> outputTopic;
+
+  @Before
+  public void setUp() {
+    Serde<Map<String, Object>> serde = SpDataFormatSerdes.forMaps(dataFormat);
+    StreamsBuilder builder = new StreamsBuilder();
+    builder.stream("input", Consumed.with(Serdes.String(), serde))
+        .filter((key, event) -> event != null)
+        .mapValues(event -> {
+          event.put("processed", true);
+          return event;
+        })
+        .to("output", Produced.with(Serdes.String(), serde));
+
+    Properties config = new Properties();
+    config.put(StreamsConfig.APPLICATION_ID_CONFIG, "test-serdes");
+    config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+    config.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+        LogAndContinueExceptionHandler.class);
+
+    driver = new TopologyTestDriver(builder.build(), config);
+    inputTopic = driver.createInputTopic("input", new StringSerializer(), new ByteArraySerializer());
+    outputTopic = driver.createOutputTopic("output", new StringDeserializer(), new ByteArrayDeserializer());
+  }
+
+  @After
+  public void tearDown() {
+    driver.close();
+  }
+
+  @Test
+  public void testRoundTrip() {
+    inputTopic.pipeInput("key", bytes("{\"timestamp\":1660000000000,\"sensorId\":\"sensor01\","
+        + "\"temperature\":21.5,\"location\":{\"latitude\":49.0},\"values\":[1,2]}"));
+
+    List<byte[]> output = outputTopic.readValuesToList();
+
+    assertEquals(1, output.size());
+    Map<String, Object> event = dataFormat.toMap(output.get(0));
+    assertEquals(1660000000000L, event.get("timestamp"));
+    assertEquals("sensor01", event.get("sensorId"));
+    assertEquals(21.5, event.get("temperature"));
+    assertEquals(Map.of("latitude", 49.0), event.get("location"));
+    assertEquals(List.of(1, 2), event.get("values"));
+    assertEquals(true, event.get("processed"));
+  }
+
+  @Test
+  public void testMalformedRecordIsSkipped() {
+    inputTopic.pipeInput("key", bytes("{\"timestamp\":"));
+    inputTopic.pipeInput("key", bytes("{\"timestamp\":1}"));
+
+    List<byte[]> output = outputTopic.readValuesToList();
+
+    assertEquals(1, output.size());
+    assertEquals(1, dataFormat.toMap(output.get(0)).get("timestamp"));
+  }
+
+  @Test
+  public void testTombstoneIsSkipped() {
+    inputTopic.pipeInput("key", (byte[]) null);
+
+    assertTrue(outputTopic.isEmpty());
+  }
+
+  @Test
+  public void testNullEvent() {
+    Serde<Map<String, Object>> serde = SpDataFormatSerdes.forMaps(dataFormat);
+
+    assertNull(serde.serializer().serialize("topic", null));
+    assertNull(serde.deserializer().deserialize("topic", null));
+  }
+
+  @Test
+  public void testMalformedRecordIsDeserializedAsNull() {
+    Serde<Map<String, Object>> serde = SpDataFormatSerdes.forMaps(dataFormat);
+
+    assertNull(serde.deserializer().deserialize("topic", bytes("{\"timestamp\":")));
+  }
+
+  @Test
+  public void testUnserializableEventIsSerializedAsNull() {
+    Serde<Map<String, Object>> serde = SpDataFormatSerdes.forMaps(dataFormat);
+
+    assertNull(serde.serializer().serialize("topic", Map.of("value", new Object())));
+  }
+
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+}
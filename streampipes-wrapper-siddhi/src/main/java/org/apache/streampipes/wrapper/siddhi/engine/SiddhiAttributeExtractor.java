@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.siddhi.engine;
+
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
+import org.apache.streampipes.model.runtime.field.AbstractField;
+import org.apache.streampipes.model.runtime.field.PrimitiveField;
+import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts the attribute values of a Siddhi input stream from an event. The attribute order is
+ * compiled once from the event type of the stream, and each attribute is looked up by its selector
+ * (or by its slot for events with a compiled layout) instead of converting the whole event to a map.
+ */
+public class SiddhiAttributeExtractor {
+
+  private final String[] runtimeNames;
+
+  private String selectorPrefix;
+  private String[] selectors;
+  private EventLayout layout;
+  private int[] slots;
+
+  public SiddhiAttributeExtractor(List<EventPropertyDef> eventType) {
+    this.runtimeNames = eventType
+        .stream()
+        .map(EventPropertyDef::getFieldName)
+        .toArray(String[]::new);
+  }
+
+  public Object[] extract(Event event) {
+    Object[] values = new Object[runtimeNames.length];
+    Map<String, Object> rawEvent = null;
+
+    if (event instanceof SlotEvent && !((SlotEvent) event).isMaterialized()) {
+      SlotEvent slotEvent = (SlotEvent) event;
+      int[] currentSlots = getSlots(slotEvent.getLayout());
+      for (int i = 0; i < values.length; i++) {
+        int slot = currentSlots[i];
+        if (slot == EventLayout.NO_SLOT) {
+          values[i] = slotEvent.getUnmappedValues(EventLayout.NO_SLOT).get(runtimeNames[i]);
+        } else if (slotEvent.hasNestedValues(slot)) {
+          rawEvent = rawEvent != null ? rawEvent : event.getRaw();
+          values[i] = rawEvent.get(runtimeNames[i]);
+        } else {
+          values[i] = slotEvent.getValue(slot);
+        }
+      }
+    } else {
+      String[] currentSelectors = getSelectors(event.getSourceInfo().getSelectorPrefix());
+      Map<String, AbstractField> fields = event.getFields();
+      for (int i = 0; i < values.length; i++) {
+        AbstractField field = fields.get(currentSelectors[i]);
+        if (field instanceof PrimitiveField) {
+          values[i] = field.getRawValue();
+        } else if (field != null) {
+          // lists and nested properties are handed over in their map representation
+          rawEvent = rawEvent != null ? rawEvent : event.getRaw();
+          values[i] = rawEvent.get(runtimeNames[i]);
+        }
+      }
+    }
+    return values;
+  }
+
+  private String[] getSelectors(String prefix) {
+    if (selectors == null || !prefix.equals(selectorPrefix)) {
+      String[] newSelectors = new String[runtimeNames.length];
+      for (int i = 0; i < runtimeNames.length; i++) {
+        newSelectors[i] = prefix + PropertySelectorConstants.PROPERTY_DELIMITER + runtimeNames[i];
+      }
+      this.selectors = newSelectors;
+      this.selectorPrefix = prefix;
+    }
+    return selectors;
+  }
+
+  private int[] getSlots(EventLayout eventLayout) {
+    if (eventLayout != layout) {
+      int[] newSlots = new int[runtimeNames.length];
+      for (int i = 0; i < runtimeNames.length; i++) {
+        newSlots[i] = eventLayout.rootIndexOf(runtimeNames[i]);
+      }
+      this.slots = newSlots;
+      this.layout = eventLayout;
+    }
+    return slots;
+  }
+}
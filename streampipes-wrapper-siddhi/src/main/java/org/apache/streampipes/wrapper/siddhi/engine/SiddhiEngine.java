@@ -17,6 +17,12 @@
  */
 package org.apache.streampipes.wrapper.siddhi.engine;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.model.StreamPipesErrorMessage;
+import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
@@ -25,11 +31,11 @@ import org.apache.streampipes.wrapper.siddhi.engine.callback.SiddhiOutputStreamC
 import org.apache.streampipes.wrapper.siddhi.engine.callback.SiddhiOutputStreamDebugCallback;
 import org.apache.streampipes.wrapper.siddhi.engine.generator.SiddhiInvocationConfigGenerator;
 import org.apache.streampipes.wrapper.siddhi.manager.SpSiddhiManager;
-import org.apache.streampipes.wrapper.siddhi.model.EventPropertyDef;
 import org.apache.streampipes.wrapper.siddhi.utils.SiddhiUtils;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.query.api.definition.Attribute;
@@ -37,25 +43,52 @@ import io.siddhi.query.api.definition.StreamDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a Siddhi app for a pipeline element. Incoming events are converted to Siddhi events by a
+ * precompiled attribute extractor per input stream. If SP_SIDDHI_BATCH_SIZE is greater than one,
+ * events are sent to Siddhi in micro-batches, which are flushed as soon as they are full or the
+ * linger time SP_SIDDHI_BATCH_LINGER_MS has passed. All input streams share one batch, which is
+ * sent as consecutive runs of events of the same stream, so that events of different streams
+ * reach Siddhi in the order in which they arrived. Siddhi may then report the results of a batch
+ * in a single callback invocation, which is why every result is emitted in this case.
+ */
 public class SiddhiEngine {
 
   private static final Logger LOG = LoggerFactory.getLogger(SiddhiEngine.class);
 
   private SiddhiAppRuntime siddhiAppRuntime;
-  private final Map<String, InputHandler> siddhiInputHandlers;
-  private Map<String, List<EventPropertyDef>> typeInfo;
+  private final Map<String, SiddhiInput> siddhiInputs;
+  // serializes sending of events and batches to all inputs, so that the output collector is never
+  // invoked concurrently by the processing thread and the batch flusher
+  private final Object sendLock = new Object();
+  private final int batchSize;
+  private final long batchLingerMs;
+  private final Event[] batch;
+  private final SiddhiInput[] batchInputs;
+  private int batchCount;
+  private ScheduledExecutorService batchFlusher;
+  private String elementId;
 
   private Boolean debugMode;
   private SiddhiDebugCallback debugCallback;
 
   public SiddhiEngine() {
-    this.siddhiInputHandlers = new HashMap<>();
+    this.siddhiInputs = new HashMap<>();
     this.debugMode = false;
+    this.batchSize = Math.max(1, Envs.SP_SIDDHI_BATCH_SIZE
+        .getValueAsIntOrDefault(DefaultEnvValues.SIDDHI_BATCH_SIZE_DEFAULT));
+    this.batchLingerMs = Math.max(1, Envs.SP_SIDDHI_BATCH_LINGER_MS
+        .getValueAsIntOrDefault(DefaultEnvValues.SIDDHI_BATCH_LINGER_MS_DEFAULT));
+    this.batch = batchSize > 1 ? new Event[batchSize] : null;
+    this.batchInputs = batchSize > 1 ? new SiddhiInput[batchSize] : null;
   }
 
   public SiddhiEngine(SiddhiDebugCallback debugCallback) {
@@ -69,7 +102,8 @@ public class SiddhiEngine {
                                EventProcessorRuntimeContext runtimeContext) {
 
     EventProcessorBindingParams params = settings.getSiddhiProcessorParams().getParams();
-    this.typeInfo = settings.getSiddhiProcessorParams().getEventTypeInfo();
+    this.elementId = params.getGraph().getElementId();
+    var typeInfo = settings.getSiddhiProcessorParams().getEventTypeInfo();
     SiddhiManager siddhiManager = SpSiddhiManager.INSTANCE.getSiddhiManager();
 
     siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(settings.getSiddhiAppString());
@@ -77,7 +111,9 @@ public class SiddhiEngine {
         .getInEventTypes()
         .forEach((key, value) -> {
           String preparedKey = SiddhiUtils.prepareName(key);
-          siddhiInputHandlers.put(key, siddhiAppRuntime.getInputHandler(preparedKey));
+          siddhiInputs.put(key, new SiddhiInput(preparedKey,
+              siddhiAppRuntime.getInputHandler(preparedKey),
+              new SiddhiAttributeExtractor(typeInfo.get(key))));
         });
 
     StreamCallback callback;
@@ -88,33 +124,120 @@ public class SiddhiEngine {
       callback = new SiddhiOutputStreamCallback(spOutputCollector,
           runtimeContext,
           streamAttributes,
-          settings.getSiddhiAppConfig().getOutputConfig());
+          settings.getSiddhiAppConfig().getOutputConfig(),
+          batch != null);
     } else {
-      callback = new SiddhiOutputStreamDebugCallback(debugCallback, settings.getSiddhiAppConfig().getOutputConfig());
+      callback = new SiddhiOutputStreamDebugCallback(debugCallback,
+          settings.getSiddhiAppConfig().getOutputConfig(),
+          batch != null);
     }
     LOG.info(SiddhiUtils.getPreparedOutputTopicName(params));
     siddhiAppRuntime.addCallback(SiddhiUtils.getPreparedOutputTopicName(params), callback);
     siddhiAppRuntime.start();
+
+    if (batchSize > 1) {
+      this.batchFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sp-siddhi-batch-" + params.getGraph().getElementId());
+        thread.setDaemon(true);
+        return thread;
+      });
+      this.batchFlusher.scheduleAtFixedRate(this::flushBatch, batchLingerMs, batchLingerMs, TimeUnit.MILLISECONDS);
+    }
   }
 
   public void processEvent(org.apache.streampipes.model.runtime.Event event) {
-    try {
-      String sourceId = event.getSourceInfo().getSourceId();
-      InputHandler inputHandler = siddhiInputHandlers.get(sourceId);
-      List<String> eventKeys = this.typeInfo
-          .get(sourceId)
-          .stream()
-          .map(EventPropertyDef::getFieldName)
-          .collect(Collectors.toList());
-
-      inputHandler.send(SiddhiUtils.toObjArr(eventKeys, event.getRaw()));
-    } catch (InterruptedException e) {
-      e.printStackTrace();
+    SiddhiInput input = siddhiInputs.get(event.getSourceInfo().getSourceId());
+    Object[] data = input.extractor.extract(event);
+    synchronized (sendLock) {
+      if (batch == null) {
+        input.send(data);
+      } else {
+        batch[batchCount] = new Event(System.currentTimeMillis(), data);
+        batchInputs[batchCount] = input;
+        batchCount++;
+        if (batchCount == batch.length) {
+          flushBatch();
+        }
+      }
     }
   }
 
   public void shutdownEngine() {
+    if (batchFlusher != null) {
+      batchFlusher.shutdown();
+      try {
+        batchFlusher.awaitTermination(batchLingerMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      flushBatch();
+    }
     this.siddhiAppRuntime.shutdown();
   }
 
+  /**
+   * Sends all batched events, each run of consecutive events of the same input stream at once.
+   * Failures cannot be thrown to the runtime from the flusher thread and are added to the log of
+   * the pipeline element instead.
+   */
+  private void flushBatch() {
+    synchronized (sendLock) {
+      int count = batchCount;
+      batchCount = 0;
+      int start = 0;
+      while (start < count) {
+        SiddhiInput input = batchInputs[start];
+        int end = start + 1;
+        while (end < count && batchInputs[end] == input) {
+          end++;
+        }
+        Event[] events = Arrays.copyOfRange(batch, start, end);
+        try {
+          input.inputHandler.send(events);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          reportFailedBatch(count - start, input, e);
+          break;
+        } catch (RuntimeException e) {
+          reportFailedBatch(events.length, input, e);
+        }
+        start = end;
+      }
+      Arrays.fill(batch, 0, count, null);
+      Arrays.fill(batchInputs, 0, count, null);
+    }
+  }
+
+  private void reportFailedBatch(int eventCount, SiddhiInput input, Exception e) {
+    LOG.error("Could not send batch of {} events to Siddhi stream {}", eventCount, input.streamName, e);
+    SpRuntimeException error = new SpRuntimeException("Could not send batch of " + eventCount
+        + " events to Siddhi stream " + input.streamName + ": " + e.getMessage(), e);
+    SpMonitoringManager.INSTANCE.addErrorMessage(elementId,
+        SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(error)));
+  }
+
+  private static class SiddhiInput {
+
+    private final String streamName;
+    private final InputHandler inputHandler;
+    private final SiddhiAttributeExtractor extractor;
+
+    private SiddhiInput(String streamName,
+                        InputHandler inputHandler,
+                        SiddhiAttributeExtractor extractor) {
+      this.streamName = streamName;
+      this.inputHandler = inputHandler;
+      this.extractor = extractor;
+    }
+
+    private void send(Object[] data) {
+      try {
+        inputHandler.send(data);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SpRuntimeException("Interrupted while sending event to Siddhi", e);
+      }
+    }
+  }
+
 }
@@ -17,6 +17,8 @@
  */
 package org.apache.streampipes.wrapper.siddhi.engine.callback;
 
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SlotEvent;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.siddhi.output.SiddhiListOutputConfig;
@@ -28,50 +30,91 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.query.api.definition.Attribute;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Forwards the results of a Siddhi query to the output collector. Output events are created
+ * directly from a layout which is compiled once from the output schema, so that the attribute
+ * names and their slots are not resolved again for each event. If the input events are sent to
+ * Siddhi in batches, each result is emitted as its own event for the output type FIRST.
+ */
 public class SiddhiOutputStreamCallback extends StreamCallback {
 
   private final SpOutputCollector collector;
-  private final EventProcessorRuntimeContext runtimeContext;
   private final SiddhiOutputConfig outputConfig;
+  private final boolean batched;
 
-  private final List<Attribute> streamAttributes;
+  private final EventLayout outputLayout;
+  private final String[] outputKeys;
+  private final int[] outputSlots;
 
   public SiddhiOutputStreamCallback(SpOutputCollector collector,
                                     EventProcessorRuntimeContext runtimeContext,
                                     List<Attribute> streamAttributes,
-                                    SiddhiOutputConfig outputConfig) {
+                                    SiddhiOutputConfig outputConfig,
+                                    boolean batched) {
     this.collector = collector;
-    this.runtimeContext = runtimeContext;
-    this.streamAttributes = streamAttributes;
     this.outputConfig = outputConfig;
+    this.batched = batched;
+    this.outputLayout = EventLayout.from(runtimeContext.getOutputSourceInfo(), runtimeContext.getOutputSchemaInfo());
+    this.outputKeys = new String[streamAttributes.size()];
+    this.outputSlots = new int[streamAttributes.size()];
+    for (int i = 0; i < outputKeys.length; i++) {
+      outputKeys[i] = SiddhiUtils.toOutputKey(streamAttributes.get(i).getName());
+      outputSlots[i] = outputLayout.rootIndexOf(outputKeys[i]);
+    }
   }
 
-  private void sendEvents(List<Event> events) {
-    collector.collect(SiddhiUtils.toSpEvent(events,
-        ((SiddhiListOutputConfig) outputConfig).getListFieldName(),
-        runtimeContext.getOutputSchemaInfo(),
-        runtimeContext.getOutputSourceInfo(),
-        streamAttributes));
+  private void sendEvents(Event[] events) {
+    List<Map<String, Object>> allEvents = new ArrayList<>(events.length);
+    for (Event event : events) {
+      Map<String, Object> outMap = new HashMap<>();
+      for (int i = 0; i < outputKeys.length; i++) {
+        outMap.put(outputKeys[i], event.getData(i));
+      }
+      allEvents.add(outMap);
+    }
+
+    String listFieldName = ((SiddhiListOutputConfig) outputConfig).getListFieldName();
+    SlotEvent outEvent = outputLayout.newEvent();
+    setValue(outEvent, outputLayout.rootIndexOf(listFieldName), listFieldName, allEvents);
+    collector.collect(outEvent);
   }
 
   private void sendEvent(Event event) {
-    collector.collect(SiddhiUtils.toSpEvent(event,
-        runtimeContext.getOutputSchemaInfo(),
-        runtimeContext.getOutputSourceInfo(),
-        streamAttributes));
+    SlotEvent outEvent = outputLayout.newEvent();
+    for (int i = 0; i < outputKeys.length; i++) {
+      setValue(outEvent, outputSlots[i], outputKeys[i], event.getData(i));
+    }
+    collector.collect(outEvent);
+  }
+
+  private void setValue(SlotEvent outEvent, int slot, String runtimeName, Object value) {
+    if (slot == EventLayout.NO_SLOT) {
+      outEvent.putUnmappedValue(EventLayout.NO_SLOT, runtimeName, value);
+    } else {
+      outEvent.setValue(slot, value);
+    }
   }
 
   @Override
   public void receive(Event[] inEvents) {
     if (inEvents.length > 0) {
       if (this.outputConfig.getSiddhiOutputType() == SiddhiOutputType.FIRST) {
-        Event lastEvent = inEvents[inEvents.length - 1];
-        sendEvent(lastEvent);
+        if (batched) {
+          // the results of all events of a batch are reported at once
+          for (Event event : inEvents) {
+            sendEvent(event);
+          }
+        } else {
+          Event lastEvent = inEvents[inEvents.length - 1];
+          sendEvent(lastEvent);
+        }
       } else if (this.outputConfig.getSiddhiOutputType() == SiddhiOutputType.LIST) {
-        sendEvents(Arrays.asList(inEvents));
+        sendEvents(inEvents);
       }
     }
   }
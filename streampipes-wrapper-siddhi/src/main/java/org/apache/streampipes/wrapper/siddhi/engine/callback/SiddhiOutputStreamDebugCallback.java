@@ -34,11 +34,14 @@ public class SiddhiOutputStreamDebugCallback extends StreamCallback {
 
   private final SiddhiDebugCallback callback;
   private final SiddhiOutputConfig outputConfig;
+  private final boolean batched;
 
   public SiddhiOutputStreamDebugCallback(SiddhiDebugCallback callback,
-                                         SiddhiOutputConfig outputConfig) {
+                                         SiddhiOutputConfig outputConfig,
+                                         boolean batched) {
     this.callback = callback;
     this.outputConfig = outputConfig;
+    this.batched = batched;
   }
 
   @Override
@@ -46,7 +49,13 @@ public class SiddhiOutputStreamDebugCallback extends StreamCallback {
     LOG.info("Siddhi is firing");
     if (inEvents.length > 0) {
       if (this.outputConfig.getSiddhiOutputType() == SiddhiOutputType.FIRST) {
-        this.callback.onEvent(inEvents[inEvents.length - 1]);
+        if (batched) {
+          for (Event event : inEvents) {
+            this.callback.onEvent(event);
+          }
+        } else {
+          this.callback.onEvent(inEvents[inEvents.length - 1]);
+        }
       } else if (this.outputConfig.getSiddhiOutputType() == SiddhiOutputType.LIST) {
         this.callback.onEvent(Arrays.asList(inEvents));
       }
@@ -18,55 +18,24 @@
 package org.apache.streampipes.wrapper.siddhi.utils;
 
 
-import org.apache.streampipes.model.runtime.EventFactory;
-import org.apache.streampipes.model.runtime.SchemaInfo;
-import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.siddhi.constants.SiddhiConstants;
 
 import io.siddhi.core.event.Event;
 import io.siddhi.query.api.definition.Attribute;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class SiddhiUtils {
 
-  public static org.apache.streampipes.model.runtime.Event toSpEvent(List<Event> events,
-                                                                     String listFieldName,
-                                                                     SchemaInfo schemaInfo,
-                                                                     SourceInfo sourceInfo,
-                                                                     List<Attribute> streamAttributes) {
-    List<Map<String, Object>> allEvents = new ArrayList<>();
-
-    events.forEach(event -> allEvents.add(toMap(event, streamAttributes)));
-
-    Map<String, Object> outMap = new HashMap<>();
-    outMap.put(listFieldName, allEvents);
-
-    return EventFactory.fromMap(outMap, sourceInfo, schemaInfo);
-  }
-
-  public static org.apache.streampipes.model.runtime.Event toSpEvent(Event event,
-                                                                     SchemaInfo schemaInfo,
-                                                                     SourceInfo sourceInfo,
-                                                                     List<Attribute> streamAttributes) {
-    Map<String, Object> outMap = toMap(event, streamAttributes);
-    return EventFactory.fromMap(outMap, sourceInfo, schemaInfo);
-  }
-
   public static Map<String, Object> toMap(Event event,
                                           List<Attribute> streamAttributes) {
     Map<String, Object> outMap = new HashMap<>();
 
     for (int i = 0; i < streamAttributes.size(); i++) {
-      String outputKey = streamAttributes.get(i).getName();
-      if (outputKey.startsWith(SiddhiConstants.FIRST_STREAM_PREFIX)
-          || outputKey.startsWith(SiddhiConstants.SECOND_STREAM_PREFIX)) {
-        outputKey = outputKey.substring(2);
-      }
+      String outputKey = toOutputKey(streamAttributes.get(i).getName());
       Object data = event.getData(i);
       outMap.put(outputKey, data);
     }
@@ -74,13 +43,15 @@ public class SiddhiUtils {
     return outMap;
   }
 
-  public static Object[] toObjArr(List<String> eventKeys, Map<String, Object> event) {
-    Object[] result = new Object[eventKeys.size()];
-    for (int i = 0; i < eventKeys.size(); i++) {
-      result[i] = event.get(eventKeys.get(i));
+  /**
+   * Returns the runtime name of an output attribute, i.e., the attribute name without stream prefix.
+   */
+  public static String toOutputKey(String attributeName) {
+    if (attributeName.startsWith(SiddhiConstants.FIRST_STREAM_PREFIX)
+        || attributeName.startsWith(SiddhiConstants.SECOND_STREAM_PREFIX)) {
+      return attributeName.substring(2);
     }
-
-    return result;
+    return attributeName;
   }
 
   public static String getPreparedOutputTopicName(EventProcessorBindingParams params) {
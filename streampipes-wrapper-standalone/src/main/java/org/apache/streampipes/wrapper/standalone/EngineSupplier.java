@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Supplies the pipeline element itself as the first engine and a new instance of its class for
+ * each further engine, which runtimes request to process multiple topic partitions in parallel.
+ */
+class EngineSupplier<T> implements Supplier<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EngineSupplier.class);
+
+  private final T element;
+  private boolean supplied;
+
+  EngineSupplier(T element) {
+    this.element = element;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public synchronized T get() {
+    if (!supplied) {
+      supplied = true;
+      return element;
+    }
+    try {
+      return (T) element.getClass().getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Could not create another instance of {}, events are processed by a single instance",
+          element.getClass().getCanonicalName(), e);
+      return element;
+    }
+  }
+}
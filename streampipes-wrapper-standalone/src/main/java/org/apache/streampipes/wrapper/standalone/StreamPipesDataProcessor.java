@@ -30,7 +30,7 @@ public abstract class StreamPipesDataProcessor extends StandaloneEventProcessing
   @Override
   public ConfiguredEventProcessor<ProcessorParams> onInvocation(DataProcessorInvocation graph,
                                                                 ProcessingElementParameterExtractor extractor) {
-    Supplier<EventProcessor<ProcessorParams>> supplier = () -> this;
+    Supplier<EventProcessor<ProcessorParams>> supplier = new EngineSupplier<>(this);
     return new ConfiguredEventProcessor<>(new ProcessorParams(graph), supplier);
   }
 
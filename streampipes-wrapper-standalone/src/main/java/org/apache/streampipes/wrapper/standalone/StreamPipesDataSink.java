@@ -29,7 +29,7 @@ public abstract class StreamPipesDataSink extends StandaloneEventSinkDeclarer<Si
 
   @Override
   public ConfiguredEventSink<SinkParams> onInvocation(DataSinkInvocation graph, DataSinkParameterExtractor extractor) {
-    Supplier<EventSink<SinkParams>> supplier = () -> this;
+    Supplier<EventSink<SinkParams>> supplier = new EngineSupplier<>(this);
     return new ConfiguredEventSink<>(new SinkParams(graph), supplier);
   }
 }
@@ -18,6 +18,8 @@
 
 package org.apache.streampipes.wrapper.standalone.manager;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
@@ -27,14 +29,23 @@ import org.apache.streampipes.wrapper.standalone.routing.StandaloneSpOutputColle
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Registry of the input and output collectors of this service. Collectors are shared by all
+ * pipeline elements which consume from the same topic and are created atomically on first use.
+ * An input collector is reference-counted by its registered consumers and is removed from the
+ * registry once the last consumer has disconnected.
+ */
 public class ProtocolManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(ProtocolManager.class);
-  public static Map<String, StandaloneSpInputCollector> consumers = new HashMap<>();
-  public static Map<String, StandaloneSpOutputCollector> producers = new HashMap<>();
+  private static final Map<String, StandaloneSpInputCollector> consumers = new ConcurrentHashMap<>();
+  private static final Map<String, StandaloneSpOutputCollector> producers = new ConcurrentHashMap<>();
+
+  private static final boolean LOCAL_EVENT_HANDOVER = Envs.SP_LOCAL_EVENT_HANDOVER
+      .getValueAsBooleanOrDefault(DefaultEnvValues.LOCAL_EVENT_HANDOVER_DEFAULT);
 
   // TODO currently only the topic name is used as an identifier for a consumer/producer. Should
   // be changed by some hashCode implementation in streampipes-model, but this requires changes
@@ -45,14 +56,16 @@ public class ProtocolManager {
                                                                                             Boolean singletonEngine)
       throws SpRuntimeException {
 
-    if (consumers.containsKey(topicName(protocol))) {
-      return consumers.get(topicName(protocol));
-    } else {
-      consumers.put(topicName(protocol), makeInputCollector(protocol, format, singletonEngine));
-      LOG.info("Adding new consumer to consumer map (size=" + consumers.size() + "): " + topicName(protocol));
-      return consumers.get(topicName(protocol));
+    StandaloneSpInputCollector collector = consumers.get(topicName(protocol));
+    if (collector != null) {
+      return collector;
     }
-
+    collector = consumers.computeIfAbsent(topicName(protocol), topic -> {
+      LOG.info("Adding new consumer to consumer map: " + topic);
+      return makeInputCollector(protocol, format, singletonEngine);
+    });
+    attachLocalConsumer(topicName(protocol));
+    return collector;
   }
 
   public static <T extends TransportProtocol> StandaloneSpOutputCollector findOutputCollector(T protocol,
@@ -60,15 +73,16 @@ public class ProtocolManager {
                                                                                               String resourceId)
       throws SpRuntimeException {
 
-    if (producers.containsKey(topicName(protocol))) {
-      return producers.get(topicName(protocol));
-    } else {
-      producers.put(topicName(protocol), makeOutputCollector(protocol, format, resourceId));
-      LOG.info("Adding new producer to producer map (size=" + producers.size() + "): " + topicName
-          (protocol));
-      return producers.get(topicName(protocol));
+    StandaloneSpOutputCollector collector = producers.get(topicName(protocol));
+    if (collector != null) {
+      return collector;
     }
-
+    collector = producers.computeIfAbsent(topicName(protocol), topic -> {
+      LOG.info("Adding new producer to producer map: " + topic);
+      return makeOutputCollector(protocol, format, resourceId);
+    });
+    attachLocalConsumer(topicName(protocol));
+    return collector;
   }
 
   private static <T extends TransportProtocol> StandaloneSpInputCollector<T> makeInputCollector(T protocol,
@@ -85,23 +99,51 @@ public class ProtocolManager {
     return new StandaloneSpOutputCollector<>(protocol, format, resourceId);
   }
 
+  /**
+   * If enabled, connects the output collector and the input collector of a topic if both live in
+   * this JVM, so that events are handed over in memory instead of through the broker.
+   */
+  private static void attachLocalConsumer(String topic) {
+    if (LOCAL_EVENT_HANDOVER) {
+      StandaloneSpOutputCollector producer = producers.get(topic);
+      StandaloneSpInputCollector consumer = consumers.get(topic);
+      if (producer != null && consumer != null) {
+        LOG.info("Using local event handover for topic " + topic);
+        producer.attachLocalConsumer(consumer);
+      }
+    }
+  }
+
   private static String topicName(TransportProtocol protocol) {
     return protocol.getTopicDefinition().getActualTopicName();
   }
 
-  public static <T extends TransportProtocol> void removeInputCollector(T protocol) throws
-      SpRuntimeException {
-    consumers.remove(topicName(protocol));
-    LOG.info("Removing consumer from consumer map (size=" + consumers.size() + "): " + topicName
-        (protocol));
+  /**
+   * Re-registers an input collector which received a new consumer after it has been removed, so
+   * that later pipeline elements of the same topic share it instead of creating a new one.
+   */
+  public static <T extends TransportProtocol> void restoreInputCollector(StandaloneSpInputCollector<T> collector) {
+    if (consumers.putIfAbsent(collector.getTopic(), collector) == null) {
+      attachLocalConsumer(collector.getTopic());
+    }
   }
 
-  public static <T extends TransportProtocol> void removeOutputCollector(T protocol) throws
-      SpRuntimeException {
-    producers.remove(topicName(protocol));
-    LOG.info("Removing producer from producer map (size=" + producers.size() + "): " + topicName
-        (protocol));
+  public static <T extends TransportProtocol> void removeInputCollector(StandaloneSpInputCollector<T> collector)
+      throws SpRuntimeException {
+    if (consumers.remove(collector.getTopic(), collector)) {
+      StandaloneSpOutputCollector producer = producers.get(collector.getTopic());
+      if (producer != null) {
+        producer.detachLocalConsumer();
+      }
+      LOG.info("Removing consumer from consumer map (size=" + consumers.size() + "): " + collector.getTopic());
+    }
   }
 
+  public static <T extends TransportProtocol> void removeOutputCollector(StandaloneSpOutputCollector<T> collector)
+      throws SpRuntimeException {
+    if (producers.remove(collector.getTopic(), collector)) {
+      LOG.info("Removing producer from producer map (size=" + producers.size() + "): " + collector.getTopic());
+    }
+  }
 
 }
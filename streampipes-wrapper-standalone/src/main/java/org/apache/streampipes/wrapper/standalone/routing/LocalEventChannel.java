@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.routing;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.model.runtime.Event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory channel which hands over events from an output collector to an input
+ * collector of the same topic within one JVM. Events are dispatched from a dedicated thread, just
+ * like events received from a broker. If the channel is full, the producing pipeline element is
+ * blocked until the consumer has caught up.
+ */
+public class LocalEventChannel {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LocalEventChannel.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final BlockingQueue<Event> queue;
+  private final InternalEventProcessor<Event> eventProcessor;
+
+  private Thread dispatcherThread;
+  private volatile boolean running;
+
+  public LocalEventChannel(int capacity,
+                           InternalEventProcessor<Event> eventProcessor) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.eventProcessor = eventProcessor;
+  }
+
+  public synchronized void start(String topic) {
+    if (!running) {
+      this.running = true;
+      this.dispatcherThread = new Thread(this::dispatch, "sp-local-channel-" + topic);
+      this.dispatcherThread.setDaemon(true);
+      this.dispatcherThread.start();
+    }
+  }
+
+  public synchronized void stop() {
+    this.running = false;
+    if (dispatcherThread != null) {
+      try {
+        dispatcherThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      dispatcherThread = null;
+    }
+  }
+
+  public void publish(Event event) {
+    try {
+      queue.put(event);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while handing over event to local consumer", e);
+    }
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  private void dispatch() {
+    while (running || !queue.isEmpty()) {
+      try {
+        Event event = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (event != null) {
+          eventProcessor.onEvent(event);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not dispatch local event", e);
+      }
+    }
+  }
+}
@@ -61,4 +61,8 @@ public abstract class StandaloneSpCollector<T extends TransportProtocol, W> impl
     consumers.remove(routeId);
   }
 
+  public String getTopic() {
+    return topic;
+  }
+
 }
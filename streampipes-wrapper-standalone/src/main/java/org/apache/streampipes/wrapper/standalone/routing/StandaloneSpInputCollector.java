@@ -18,54 +18,190 @@
 
 package org.apache.streampipes.wrapper.standalone.routing;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
-import org.apache.streampipes.messaging.InternalEventProcessor;
+import org.apache.streampipes.messaging.PartitionedEventProcessor;
 import org.apache.streampipes.model.grounding.TransportFormat;
+import org.apache.streampipes.model.constants.PropertySelectorConstants;
 import org.apache.streampipes.model.grounding.TransportProtocol;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
+import org.apache.streampipes.model.runtime.SchemaInfo;
+import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.routing.RawDataProcessor;
 import org.apache.streampipes.wrapper.routing.SpInputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Receives the events of a topic and dispatches them to all registered pipeline elements. Events
+ * are either received from the broker or, if the producer of the topic lives in the same JVM, from
+ * a local channel. While a local producer is attached, the collector does not subscribe to the
+ * broker at all, so that each event is received exactly once.
+ */
 public class StandaloneSpInputCollector<T extends TransportProtocol> extends
     StandaloneSpCollector<T, RawDataProcessor>
     implements
-    InternalEventProcessor<byte[]>, SpInputCollector {
+    PartitionedEventProcessor<byte[]>, SpInputCollector {
 
   private final Boolean singletonEngine;
+  private final LocalEventChannel localChannel;
+  // schema-less layout, all values of an event shared by multiple consumers are decoded as-is
+  private final EventLayout sharedLayout;
+
+  // guards the broker subscription, always acquired last
+  private final Object brokerLock = new Object();
+  private boolean connected;
+  private boolean localProducer;
 
   public StandaloneSpInputCollector(T protocol, TransportFormat format,
                                     Boolean singletonEngine) throws SpRuntimeException {
     super(protocol, format);
     this.singletonEngine = singletonEngine;
+    int localQueueCapacity = Envs.SP_LOCAL_EVENT_QUEUE_CAPACITY
+        .getValueAsIntOrDefault(DefaultEnvValues.LOCAL_EVENT_QUEUE_CAPACITY_DEFAULT);
+    this.localChannel = new LocalEventChannel(localQueueCapacity, this::onLocalEvent);
+    this.sharedLayout = EventLayout.from(new SourceInfo(topic, PropertySelectorConstants.FIRST_STREAM_ID_PREFIX),
+        new SchemaInfo(null, Collections.emptyList()));
   }
 
   @Override
   public void onEvent(byte[] event) {
+    onEvent(event, 0);
+  }
+
+  /**
+   * Hands over an event received from the given partition of the topic. Called concurrently for
+   * different partitions if the broker is consumed by multiple threads.
+   */
+  @Override
+  public void onEvent(byte[] event, int partition) {
+    if (singletonEngine) {
+      send(consumers.get(consumers.keySet().toArray()[0]), event, partition);
+    } else if (consumers.size() == 1) {
+      consumers.values().forEach(consumer -> send(consumer, event, partition));
+    } else {
+      // decode once, each consumer creates its own event from the decoded values
+      handOver(dataFormatDefinition.toEvent(event, sharedLayout), partition);
+    }
+  }
+
+  private void onLocalEvent(Event event) {
     if (singletonEngine) {
-      send(consumers.get(consumers.keySet().toArray()[0]), event);
+      consumers.get(consumers.keySet().toArray()[0]).process(event, topic, 0);
     } else {
-      consumers.forEach((key, value) -> send(value, event));
+      handOver(event, 0);
     }
   }
 
-  private void send(RawDataProcessor rawDataProcessor, byte[] event) {
-    rawDataProcessor.process(dataFormatDefinition.toMap(event), topic);
+  /**
+   * Hands over the given event to all consumers. Consumers share map and list values with the event
+   * they receive, so all but the last consumer receive a deep copy which is taken before any
+   * consumer can modify the event.
+   */
+  private void handOver(Event event, int partition) {
+    List<RawDataProcessor> targets = new ArrayList<>(consumers.values());
+    for (int i = 0; i < targets.size(); i++) {
+      targets.get(i).process(i < targets.size() - 1 ? EventFactory.copyOf(event) : event, topic, partition);
+    }
+  }
+
+  private void send(RawDataProcessor rawDataProcessor, byte[] event, int partition) {
+    rawDataProcessor.process(event, dataFormatDefinition, topic, partition);
+  }
+
+  /**
+   * Hands over an event of an output collector of the same topic within this JVM.
+   *
+   * @param event A copy of the collected event which is not modified by the producer afterwards
+   */
+  public void publishLocal(Event event) {
+    localChannel.publish(event);
+  }
+
+  /**
+   * Receives the events of the topic from the output collector in this JVM instead of the broker.
+   * A topic is only written by a single output collector, which is attached as soon as either of
+   * both collectors is created, i.e., before the producer has published any events the broker
+   * subscription could still deliver.
+   */
+  public void attachLocalProducer() {
+    localChannel.start(topic);
+    synchronized (brokerLock) {
+      this.localProducer = true;
+      disconnectBroker();
+    }
+  }
+
+  /**
+   * Stops the local channel after all events handed over so far have been processed and
+   * subscribes to the broker again if pipeline elements are still connected.
+   */
+  public void detachLocalProducer() {
+    localChannel.stop();
+    synchronized (brokerLock) {
+      this.localProducer = false;
+      if (connected) {
+        connectBroker();
+      }
+    }
+  }
+
+  @Override
+  public synchronized void registerConsumer(String routeId, RawDataProcessor consumer) {
+    super.registerConsumer(routeId, consumer);
+    ProtocolManager.restoreInputCollector(this);
   }
 
   @Override
-  public void connect() throws SpRuntimeException {
+  public synchronized void unregisterConsumer(String routeId) {
+    super.unregisterConsumer(routeId);
+  }
+
+  @Override
+  public synchronized void connect() throws SpRuntimeException {
+    synchronized (brokerLock) {
+      this.connected = true;
+      if (!localProducer) {
+        connectBroker();
+      }
+    }
+  }
+
+  /**
+   * Disconnects from the broker once the last consumer of this collector has been unregistered.
+   */
+  @Override
+  public synchronized void disconnect() throws SpRuntimeException {
+    if (consumers.isEmpty()) {
+      close();
+    }
+  }
+
+  public synchronized void close() throws SpRuntimeException {
+    synchronized (brokerLock) {
+      this.connected = false;
+    }
+    ProtocolManager.removeInputCollector(this);
+    synchronized (brokerLock) {
+      disconnectBroker();
+    }
+  }
+
+  private void connectBroker() throws SpRuntimeException {
     if (!protocolDefinition.getConsumer().isConnected()) {
       protocolDefinition.getConsumer().connect(transportProtocol, this);
     }
   }
 
-  @Override
-  public void disconnect() throws SpRuntimeException {
+  private void disconnectBroker() throws SpRuntimeException {
     if (protocolDefinition.getConsumer().isConnected()) {
-      if (consumers.size() == 0) {
-        protocolDefinition.getConsumer().disconnect();
-        ProtocolManager.removeInputCollector(transportProtocol);
-      }
+      protocolDefinition.getConsumer().disconnect();
     }
   }
 }
@@ -18,8 +18,11 @@
 
 package org.apache.streampipes.wrapper.standalone.routing;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
+import org.apache.streampipes.messaging.BatchingEventProducer;
 import org.apache.streampipes.messaging.EventProducer;
 import org.apache.streampipes.messaging.InternalEventProcessor;
 import org.apache.streampipes.model.StreamPipesErrorMessage;
@@ -27,7 +30,7 @@ import org.apache.streampipes.model.grounding.TransportFormat;
 import org.apache.streampipes.model.grounding.TransportProtocol;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.model.runtime.Event;
-import org.apache.streampipes.model.runtime.EventConverter;
+import org.apache.streampipes.model.runtime.EventFactory;
 import org.apache.streampipes.wrapper.routing.SpOutputCollector;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
@@ -35,6 +38,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
     StandaloneSpCollector<T, InternalEventProcessor<Map<String,
@@ -42,41 +49,132 @@ public class StandaloneSpOutputCollector<T extends TransportProtocol> extends
 
   private static final Logger LOG = LoggerFactory.getLogger(StandaloneSpOutputCollector.class);
 
+  private static final long SUBSCRIBER_CHECK_INTERVAL_MS = 10000;
+  private static final boolean SKIP_BROKER = Envs.SP_LOCAL_EVENT_SKIP_BROKER
+      .getValueAsBooleanOrDefault(DefaultEnvValues.LOCAL_EVENT_SKIP_BROKER_DEFAULT);
+
+  private static ScheduledExecutorService subscriberCheckExecutor;
+
   private final EventProducer<T> producer;
   private final String resourceId;
+  private volatile StandaloneSpInputCollector<?> localConsumer;
+  private volatile boolean remoteSubscribers = true;
+  private ScheduledFuture<?> subscriberCheck;
 
   public StandaloneSpOutputCollector(T protocol,
                                      TransportFormat format,
                                      String resourceId) throws SpRuntimeException {
     super(protocol, format);
-    this.producer = protocolDefinition.getProducer();
     this.resourceId = resourceId;
+    this.producer = makeProducer();
+  }
+
+  private EventProducer<T> makeProducer() {
+    String resourceId = this.resourceId;
+    int maxBatchSize = Envs.SP_PRODUCER_MAX_BATCH_SIZE
+        .getValueAsIntOrDefault(DefaultEnvValues.PRODUCER_MAX_BATCH_SIZE_DEFAULT);
+    if (maxBatchSize > 1) {
+      var batchingProducer = new BatchingEventProducer<>(
+          protocolDefinition.getProducer(),
+          maxBatchSize,
+          Envs.SP_PRODUCER_LINGER_MS.getValueAsIntOrDefault(DefaultEnvValues.PRODUCER_LINGER_MS_DEFAULT),
+          Envs.SP_PRODUCER_QUEUE_CAPACITY.getValueAsIntOrDefault(DefaultEnvValues.PRODUCER_QUEUE_CAPACITY_DEFAULT),
+          (batchSize, cause) -> addErrorMessage(resourceId,
+              new SpRuntimeException("Could not publish batch of " + batchSize + " events", cause)));
+      SpMonitoringManager.INSTANCE.registerGauge(resourceId, "producer_queue_size", batchingProducer::getQueueSize);
+      return batchingProducer;
+    } else {
+      return protocolDefinition.getProducer();
+    }
   }
 
   public void collect(Event event) {
-    Map<String, Object> outEvent = new EventConverter(event).toMap();
     try {
-      producer.publish(dataFormatDefinition.fromMap(outEvent));
-      SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId, System.currentTimeMillis());
+      StandaloneSpInputCollector<?> currentLocalConsumer = localConsumer;
+      if (currentLocalConsumer == null) {
+        producer.publish(dataFormatDefinition.fromEvent(event));
+      } else {
+        // the producing element may keep modifying the event after collecting it
+        currentLocalConsumer.publishLocal(EventFactory.copyOf(event));
+        if (remoteSubscribers) {
+          producer.publish(dataFormatDefinition.fromEvent(event));
+        }
+      }
+      SpMonitoringManager.INSTANCE.increaseOutCounter(resourceId);
     } catch (SpRuntimeException e) {
-      var logEntry = SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(e));
-      SpMonitoringManager.INSTANCE.addErrorMessage(resourceId, logEntry);
+      addErrorMessage(resourceId, e);
       LOG.error("Could not publish event", e);
     }
   }
 
+  private static void addErrorMessage(String resourceId,
+                                      SpRuntimeException e) {
+    var logEntry = SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(e));
+    SpMonitoringManager.INSTANCE.addErrorMessage(resourceId, logEntry);
+  }
+
+  /**
+   * Attaches an input collector of the same topic within this JVM, which then receives copies of
+   * the events of this collector directly instead of subscribing to the broker. Events are still
+   * published to the broker for consumers outside of this JVM. If enabled, publishing is skipped
+   * as long as the transport reports no subscribers.
+   */
+  public synchronized void attachLocalConsumer(StandaloneSpInputCollector<?> localConsumer) {
+    localConsumer.attachLocalProducer();
+    this.localConsumer = localConsumer;
+    if (SKIP_BROKER && subscriberCheck == null) {
+      this.subscriberCheck = getSubscriberCheckExecutor().scheduleWithFixedDelay(this::checkSubscribers,
+          0, SUBSCRIBER_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public synchronized void detachLocalConsumer() {
+    if (subscriberCheck != null) {
+      subscriberCheck.cancel(false);
+      this.subscriberCheck = null;
+    }
+    this.remoteSubscribers = true;
+    if (localConsumer != null) {
+      localConsumer.detachLocalProducer();
+      this.localConsumer = null;
+    }
+  }
+
+  private void checkSubscribers() {
+    // the attached input collector does not subscribe to the broker, unknown counts are treated as remote
+    int subscriberCount = producer.getSubscriberCount();
+    boolean currentRemoteSubscribers = subscriberCount != 0;
+    if (currentRemoteSubscribers != remoteSubscribers) {
+      LOG.info("{} publishing events of topic {} to the broker", currentRemoteSubscribers ? "Resuming" : "Skipping",
+          topic);
+      this.remoteSubscribers = currentRemoteSubscribers;
+    }
+  }
+
+  private static synchronized ScheduledExecutorService getSubscriberCheckExecutor() {
+    if (subscriberCheckExecutor == null) {
+      subscriberCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sp-subscriber-check");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return subscriberCheckExecutor;
+  }
+
   @Override
-  public void connect() throws SpRuntimeException {
-    if (!protocolDefinition.getProducer().isConnected()) {
-      protocolDefinition.getProducer().connect(transportProtocol);
+  public synchronized void connect() throws SpRuntimeException {
+    if (!producer.isConnected()) {
+      producer.connect(transportProtocol);
     }
   }
 
   @Override
-  public void disconnect() throws SpRuntimeException {
-    if (protocolDefinition.getProducer().isConnected()) {
-      protocolDefinition.getProducer().disconnect();
-      ProtocolManager.removeOutputCollector(transportProtocol);
+  public synchronized void disconnect() throws SpRuntimeException {
+    ProtocolManager.removeOutputCollector(this);
+    if (producer.isConnected()) {
+      producer.disconnect();
+      detachLocalConsumer();
     }
   }
 
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.runtime;
+
+import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue which decouples the thread of the broker client from the pipeline element engine.
+ * Events are processed in order by a single worker thread, so that the engine is never invoked
+ * concurrently. The overflow policy defines what happens if the engine does not keep up. Events
+ * which are submitted after the queue has been stopped are discarded.
+ */
+public class EventDispatchQueue {
+
+  public enum OverflowPolicy {
+    /**
+     * Blocks the broker client until there is free space in the queue.
+     */
+    BLOCK,
+    /**
+     * Discards the oldest queued event in favor of the new event.
+     */
+    DROP_OLDEST,
+    /**
+     * Keeps only every n-th event that arrives while the queue is full, all others are discarded.
+     */
+    SAMPLE
+  }
+
+  private static final Logger LOG = LoggerFactory.getLogger(EventDispatchQueue.class);
+
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final BlockingQueue<Runnable> queue;
+  private final OverflowPolicy overflowPolicy;
+  private final int samplingRate;
+  private final String name;
+  private final LongAdder droppedEvents = new LongAdder();
+  private final AtomicInteger pendingSubmits = new AtomicInteger();
+  // separate from the lock of start and stop, which waits for pending submits
+  private final Object overflowLock = new Object();
+
+  private long overflowCount;
+  private Thread workerThread;
+  private volatile boolean running;
+
+  public EventDispatchQueue(int capacity,
+                            OverflowPolicy overflowPolicy,
+                            int samplingRate,
+                            String name) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.overflowPolicy = overflowPolicy;
+    this.samplingRate = Math.max(1, samplingRate);
+    this.name = name;
+  }
+
+  public synchronized void start() {
+    if (!running) {
+      this.running = true;
+      this.workerThread = new Thread(this::runWorker, name);
+      this.workerThread.setDaemon(true);
+      this.workerThread.start();
+    }
+  }
+
+  /**
+   * Stops the worker thread after all queued events and all events which are being submitted
+   * concurrently have been processed.
+   */
+  public synchronized void stop() {
+    this.running = false;
+    if (workerThread != null) {
+      try {
+        workerThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      workerThread = null;
+    }
+  }
+
+  public void submit(Runnable task) {
+    // registered before checking the state, so that the worker thread waits for this task
+    pendingSubmits.incrementAndGet();
+    try {
+      if (!running) {
+        droppedEvents.increment();
+      } else if (overflowPolicy == OverflowPolicy.BLOCK) {
+        put(task);
+      } else if (!queue.offer(task)) {
+        onOverflow(task);
+      }
+    } finally {
+      pendingSubmits.decrementAndGet();
+    }
+  }
+
+  public int size() {
+    return queue.size();
+  }
+
+  public long getDroppedEvents() {
+    return droppedEvents.sum();
+  }
+
+  private void put(Runnable task) {
+    try {
+      queue.put(task);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SpRuntimeException("Interrupted while waiting for free space in the dispatch queue", e);
+    }
+  }
+
+  private void onOverflow(Runnable task) {
+    synchronized (overflowLock) {
+      if (overflowPolicy == OverflowPolicy.SAMPLE && ++overflowCount % samplingRate != 0) {
+        droppedEvents.increment();
+        return;
+      }
+      while (!queue.offer(task)) {
+        if (queue.poll() != null) {
+          droppedEvents.increment();
+        }
+      }
+    }
+  }
+
+  private void runWorker() {
+    while (running || pendingSubmits.get() > 0 || !queue.isEmpty()) {
+      try {
+        Runnable task = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          task.run();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        LOG.error("Could not process event in {}", name, e);
+      }
+    }
+  }
+}
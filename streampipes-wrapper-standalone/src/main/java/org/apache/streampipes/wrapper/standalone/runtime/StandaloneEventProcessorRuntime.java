@@ -19,7 +19,9 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataProcessorInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventProcessorRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventProcessorBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventProcessorRuntimeParams;
@@ -44,7 +46,7 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
 
   public StandaloneEventProcessorRuntime(Supplier<EventProcessor<T>> supplier,
                                          EventProcessorRuntimeParams<T> params) {
-    super(supplier, params);
+    super(supplier, params, true);
     this.outputCollector = getOutputCollector();
   }
 
@@ -75,9 +77,42 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    dispatch(() -> processEvent(() -> params.makeEvent(rawEvent, sourceInfo), sourceInfo, 0));
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    process(rawEvent, dataFormatDefinition, sourceInfo, 0);
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo,
+                      int partition) {
+    dispatch(() -> processEvent(() -> params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo),
+        sourceInfo, partition));
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo) {
+    process(event, sourceInfo, 0);
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo, int partition) {
+    dispatch(() -> processEvent(() -> params.makeEvent(event, sourceInfo), sourceInfo, partition));
+  }
+
+  private void processEvent(Supplier<Event> eventSupplier, String sourceInfo, int partition) {
     try {
-      monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
-      engine.onEvent(params.makeEvent(rawEvent, sourceInfo), outputCollector);
+      monitoringManager.increaseInCounter(resourceId, sourceInfo);
+      long startTime = startTiming();
+      Event event = eventSupplier.get();
+      withEngine(partition, e -> e.onEvent(event, outputCollector));
+      stopTiming(startTime);
     } catch (RuntimeException e) {
       LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
       addLogEntry(e);
@@ -87,6 +122,7 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
+    startDispatching();
     getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
     prepareRuntime();
   }
@@ -111,7 +147,8 @@ public class StandaloneEventProcessorRuntime<T extends EventProcessorBindingPara
 
   @Override
   public void bindEngine() throws SpRuntimeException {
-    engine.onInvocation(params.getBindingParams(), getOutputCollector(), params.getRuntimeContext());
+    SpOutputCollector collector = getOutputCollector();
+    forEachEngine(e -> e.onInvocation(params.getBindingParams(), collector, params.getRuntimeContext()));
   }
 
 }
@@ -19,7 +19,9 @@
 package org.apache.streampipes.wrapper.standalone.runtime;
 
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.model.graph.DataSinkInvocation;
+import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.wrapper.context.EventSinkRuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.EventSinkBindingParams;
 import org.apache.streampipes.wrapper.params.runtime.EventSinkRuntimeParams;
@@ -40,7 +42,7 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
 
   public StandaloneEventSinkRuntime(Supplier<EventSink<T>> supplier, EventSinkRuntimeParams<T>
       params) {
-    super(supplier, params);
+    super(supplier, params, true);
   }
 
   @Override
@@ -52,9 +54,42 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
 
   @Override
   public void process(Map<String, Object> rawEvent, String sourceInfo) {
+    dispatch(() -> processEvent(() -> params.makeEvent(rawEvent, sourceInfo), sourceInfo, 0));
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo) {
+    process(rawEvent, dataFormatDefinition, sourceInfo, 0);
+  }
+
+  @Override
+  public void process(byte[] rawEvent,
+                      SpDataFormatDefinition dataFormatDefinition,
+                      String sourceInfo,
+                      int partition) {
+    dispatch(() -> processEvent(() -> params.makeEvent(rawEvent, dataFormatDefinition, sourceInfo),
+        sourceInfo, partition));
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo) {
+    process(event, sourceInfo, 0);
+  }
+
+  @Override
+  public void process(Event event, String sourceInfo, int partition) {
+    dispatch(() -> processEvent(() -> params.makeEvent(event, sourceInfo), sourceInfo, partition));
+  }
+
+  private void processEvent(Supplier<Event> eventSupplier, String sourceInfo, int partition) {
     try {
-      monitoringManager.increaseInCounter(resourceId, sourceInfo, System.currentTimeMillis());
-      engine.onEvent(params.makeEvent(rawEvent, sourceInfo));
+      monitoringManager.increaseInCounter(resourceId, sourceInfo);
+      long startTime = startTiming();
+      Event event = eventSupplier.get();
+      withEngine(partition, e -> e.onEvent(event));
+      stopTiming(startTime);
     } catch (RuntimeException e) {
       LOG.error("RuntimeException while processing event in {}", engine.getClass().getCanonicalName(), e);
       addLogEntry(e);
@@ -64,6 +99,7 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
   @Override
   public void bindRuntime() throws SpRuntimeException {
     bindEngine();
+    startDispatching();
     getInputCollectors().forEach(is -> is.registerConsumer(instanceId, this));
     prepareRuntime();
   }
@@ -84,7 +120,7 @@ public class StandaloneEventSinkRuntime<T extends EventSinkBindingParams> extend
 
   @Override
   public void bindEngine() throws SpRuntimeException {
-    engine.onInvocation(params.getBindingParams(), params.getRuntimeContext());
+    forEachEngine(e -> e.onInvocation(params.getBindingParams(), params.getRuntimeContext()));
   }
 
 }
@@ -17,11 +17,14 @@
  */
 package org.apache.streampipes.wrapper.standalone.runtime;
 
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
 import org.apache.streampipes.commons.exceptions.SpRuntimeException;
 import org.apache.streampipes.extensions.management.monitoring.SpMonitoringManager;
 import org.apache.streampipes.model.SpDataStream;
 import org.apache.streampipes.model.StreamPipesErrorMessage;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
+import org.apache.streampipes.model.grounding.KafkaTransportProtocol;
 import org.apache.streampipes.model.monitoring.SpLogEntry;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
@@ -32,8 +35,14 @@ import org.apache.streampipes.wrapper.runtime.PipelineElement;
 import org.apache.streampipes.wrapper.runtime.PipelineElementRuntime;
 import org.apache.streampipes.wrapper.standalone.manager.ProtocolManager;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K>,
@@ -43,17 +52,111 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
     PeT extends PipelineElement<T, K>>
     extends PipelineElementRuntime implements RawDataProcessor {
 
+  private static final Logger LOG = LoggerFactory.getLogger(StandalonePipelineElementRuntime.class);
+
+  private static final long NOT_SAMPLED = -1;
+
   protected final PeT engine;
   protected V params;
   protected SpMonitoringManager monitoringManager;
   protected String resourceId;
 
+  private final int latencySamplingInterval;
+  private final AtomicLong processedEvents = new AtomicLong();
+  private final EventDispatchQueue dispatchQueue;
+  private final List<PeT> engines;
+  // one lock per engine if events of multiple partitions are received concurrently, null otherwise
+  private final Object[] engineLocks;
+
   public StandalonePipelineElementRuntime(Supplier<PeT> supplier, V runtimeParams) {
+    this(supplier, runtimeParams, false);
+  }
+
+  /**
+   * @param partitionedEngines whether events of different topic partitions may be processed by
+   *                           separate engine instances, see SP_KAFKA_CONSUMER_THREADS
+   */
+  protected StandalonePipelineElementRuntime(Supplier<PeT> supplier,
+                                             V runtimeParams,
+                                             boolean partitionedEngines) {
     super();
-    this.engine = supplier.get();
     this.params = runtimeParams;
     this.monitoringManager = params.getRuntimeContext().getLogger();
     this.resourceId = params.getBindingParams().getGraph().getElementId();
+    int consumerThreads = partitionedEngines && consumesKafkaOnly()
+        ? Envs.SP_KAFKA_CONSUMER_THREADS.getValueAsIntOrDefault(DefaultEnvValues.KAFKA_CONSUMER_THREADS_DEFAULT)
+        : 1;
+    this.engines = makeEngines(supplier, consumerThreads);
+    this.engine = engines.get(0);
+    this.engineLocks = consumerThreads > 1 ? makeLocks(engines.size()) : null;
+    this.latencySamplingInterval = Math.max(1, Envs.SP_METRICS_LATENCY_SAMPLING_INTERVAL
+        .getValueAsIntOrDefault(DefaultEnvValues.METRICS_LATENCY_SAMPLING_INTERVAL_DEFAULT));
+    this.dispatchQueue = makeDispatchQueue();
+  }
+
+  private boolean consumesKafkaOnly() {
+    return params.getBindingParams().getGraph().getInputStreams().stream()
+        .allMatch(is -> is.getEventGrounding().getTransportProtocol() instanceof KafkaTransportProtocol);
+  }
+
+  /**
+   * Creates an engine for each consumer thread. Engines of different partitions do not share any
+   * state, so that stateful pipeline elements such as windows or aggregations only see the events
+   * of their own partitions. If the supplier always returns the same instance, all partitions are
+   * processed by this instance one at a time.
+   */
+  private List<PeT> makeEngines(Supplier<PeT> supplier, int consumerThreads) {
+    List<PeT> engines = new ArrayList<>();
+    engines.add(supplier.get());
+    for (int i = 1; i < consumerThreads; i++) {
+      PeT engine = supplier.get();
+      if (engine == engines.get(0)) {
+        LOG.info("{} provides a single engine instance, events of all partitions are processed one at a time",
+            engine.getClass().getCanonicalName());
+        break;
+      }
+      engines.add(engine);
+    }
+    return engines;
+  }
+
+  private static Object[] makeLocks(int count) {
+    Object[] locks = new Object[count];
+    for (int i = 0; i < count; i++) {
+      locks[i] = new Object();
+    }
+    return locks;
+  }
+
+  private EventDispatchQueue makeDispatchQueue() {
+    int capacity = Envs.SP_DISPATCH_QUEUE_CAPACITY
+        .getValueAsIntOrDefault(DefaultEnvValues.DISPATCH_QUEUE_CAPACITY_DEFAULT);
+    if (capacity <= 0) {
+      return null;
+    }
+    var queue = new EventDispatchQueue(
+        capacity,
+        getOverflowPolicy(),
+        Envs.SP_DISPATCH_SAMPLING_RATE.getValueAsIntOrDefault(DefaultEnvValues.DISPATCH_SAMPLING_RATE_DEFAULT),
+        "sp-dispatch-" + resourceId);
+    monitoringManager.registerGauge(resourceId, "dispatch_queue_size", queue::size);
+    monitoringManager.registerGauge(resourceId, "dispatch_dropped_events", queue::getDroppedEvents);
+    return queue;
+  }
+
+  private static EventDispatchQueue.OverflowPolicy getOverflowPolicy() {
+    var defaultPolicy = EventDispatchQueue.OverflowPolicy.valueOf(DefaultEnvValues.DISPATCH_OVERFLOW_POLICY_DEFAULT);
+    if (!Envs.SP_DISPATCH_OVERFLOW_POLICY.exists()) {
+      return defaultPolicy;
+    }
+    String value = Envs.SP_DISPATCH_OVERFLOW_POLICY.getValue();
+    try {
+      return EventDispatchQueue.OverflowPolicy.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Unknown dispatch overflow policy {}, using {} instead (supported: {})",
+          value, defaultPolicy, Arrays.toString(EventDispatchQueue.OverflowPolicy.values()));
+      return defaultPolicy;
+    }
   }
 
   public PeT getEngine() {
@@ -61,8 +164,10 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
   }
 
   public void discardEngine() throws SpRuntimeException {
-    engine.onDetach();
+    stopDispatching();
+    forEachEngine(PipelineElement::onDetach);
     this.monitoringManager.resetCounter(resourceId);
+    this.monitoringManager.unregisterGauges(resourceId);
   }
 
   public List<SpInputCollector> getInputCollectors() throws SpRuntimeException {
@@ -81,6 +186,68 @@ public abstract class StandalonePipelineElementRuntime<T extends BindingParams<K
         SpLogEntry.from(System.currentTimeMillis(), StreamPipesErrorMessage.from(e)));
   }
 
+  /**
+   * Invokes the given action on every engine of this runtime, e.g., to bind or detach the engines.
+   */
+  protected void forEachEngine(Consumer<PeT> action) {
+    engines.forEach(action);
+  }
+
+  /**
+   * Invokes the given action on the engine which processes the events of the given partition.
+   * Partitions are assigned to engines round-robin, events of partitions sharing an engine are
+   * processed one at a time.
+   */
+  protected void withEngine(int partition, Consumer<PeT> action) {
+    int index = engines.size() > 1 ? Math.floorMod(partition, engines.size()) : 0;
+    if (engineLocks == null) {
+      action.accept(engines.get(index));
+    } else {
+      synchronized (engineLocks[index]) {
+        action.accept(engines.get(index));
+      }
+    }
+  }
+
+  /**
+   * Processes the given task either directly on the calling thread or, if a dispatch queue is
+   * configured, asynchronously on the worker thread of the queue.
+   */
+  protected void dispatch(Runnable task) {
+    if (dispatchQueue != null) {
+      dispatchQueue.submit(task);
+    } else {
+      task.run();
+    }
+  }
+
+  protected void startDispatching() {
+    if (dispatchQueue != null) {
+      dispatchQueue.start();
+    }
+  }
+
+  protected void stopDispatching() {
+    if (dispatchQueue != null) {
+      dispatchQueue.stop();
+    }
+  }
+
+  /**
+   * Starts measuring the processing time of the current event if it is part of the sample.
+   *
+   * @return the start time in nanoseconds or a marker value if the event is not sampled
+   */
+  protected long startTiming() {
+    return processedEvents.incrementAndGet() % latencySamplingInterval == 0 ? System.nanoTime() : NOT_SAMPLED;
+  }
+
+  protected void stopTiming(long startTime) {
+    if (startTime != NOT_SAMPLED) {
+      monitoringManager.recordProcessingTime(resourceId, System.nanoTime() - startTime);
+    }
+  }
+
   public abstract void bindEngine() throws SpRuntimeException;
 
 
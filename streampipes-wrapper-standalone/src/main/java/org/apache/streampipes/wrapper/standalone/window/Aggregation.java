@@ -15,9 +15,13 @@
  * limitations under the License.
  *
  */
+package org.apache.streampipes.wrapper.standalone.window;
 
-package org.apache.streampipes.processors.filters.jvm.processor.numericaltextfilter;
-
-public enum StringOperator {
-  CONTAINS, MATCHES
+public enum Aggregation {
+  COUNT,
+  SUM,
+  MIN,
+  MAX,
+  MEAN,
+  VARIANCE
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.window;
+
+/**
+ * Base class of event-time windows. The watermark follows the highest timestamp seen so far,
+ * delayed by the allowed lateness. Values with a timestamp below the watermark are dropped, all
+ * windows ending at or before the watermark are emitted to the result handler. Windows are not
+ * thread-safe and are meant to be owned by a single processor instance.
+ *
+ * <p>Windows over the last n events (moving filters) or over processing time (rate limiter) are
+ * not covered by this package.
+ */
+public abstract class EventTimeWindow {
+
+  protected final WindowResultHandler resultHandler;
+  private final long allowedLateness;
+
+  private long maxTimestamp = Long.MIN_VALUE;
+  private long watermark = Long.MIN_VALUE;
+  private long droppedValues;
+
+  protected EventTimeWindow(long allowedLateness,
+                            WindowResultHandler resultHandler) {
+    if (allowedLateness < 0) {
+      throw new IllegalArgumentException("Allowed lateness must not be negative");
+    }
+    this.allowedLateness = allowedLateness;
+    this.resultHandler = resultHandler;
+  }
+
+  /**
+   * Adds a value and emits all windows which are completed by the resulting watermark.
+   */
+  public void add(long timestamp, double value) {
+    if (timestamp < watermark) {
+      dropValue();
+      return;
+    }
+    if (timestamp > maxTimestamp) {
+      // windows completed by the new watermark cannot contain the value, so they are emitted
+      // first and a gap in the timestamps never needs to be buffered
+      maxTimestamp = timestamp;
+      advanceWatermark(timestamp - allowedLateness);
+    }
+    accumulate(timestamp, value);
+  }
+
+  /**
+   * Advances the watermark explicitly, e.g., based on processing time if the stream is idle.
+   */
+  public void advanceWatermark(long newWatermark) {
+    if (newWatermark > watermark) {
+      watermark = newWatermark;
+      onWatermark(newWatermark);
+    }
+  }
+
+  /**
+   * Emits all pending windows regardless of the watermark, e.g., when the pipeline element is
+   * detached. Values added afterwards are dropped.
+   */
+  public void flush() {
+    advanceWatermark(Long.MAX_VALUE);
+  }
+
+  public long getWatermark() {
+    return watermark;
+  }
+
+  public long getDroppedValues() {
+    return droppedValues;
+  }
+
+  protected long getAllowedLateness() {
+    return allowedLateness;
+  }
+
+  /**
+   * Counts a value which arrived too late to be assigned to any open window.
+   */
+  protected void dropValue() {
+    droppedValues++;
+  }
+
+  protected abstract void accumulate(long timestamp, double value);
+
+  protected abstract void onWatermark(long watermark);
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.window;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Event-time session window. A session contains all values whose timestamps are less than the
+ * gap apart and ends one gap after its last value. Out-of-order values within the allowed
+ * lateness may extend or merge open sessions. Closed sessions are recycled.
+ */
+public class SessionWindow extends EventTimeWindow {
+
+  private final long gap;
+  private final List<Session> openSessions = new ArrayList<>();
+  private final Deque<Session> freeSessions = new ArrayDeque<>();
+
+  public SessionWindow(long gap,
+                       long allowedLateness,
+                       WindowResultHandler resultHandler) {
+    super(allowedLateness, resultHandler);
+    if (gap <= 0) {
+      throw new IllegalArgumentException("Session gap must be positive");
+    }
+    this.gap = gap;
+  }
+
+  @Override
+  protected void accumulate(long timestamp, double value) {
+    // open sessions are ordered by start and do not overlap
+    int position = 0;
+    while (position < openSessions.size() && openSessions.get(position).end + gap <= timestamp) {
+      position++;
+    }
+    if (position < openSessions.size() && openSessions.get(position).start - gap < timestamp) {
+      Session session = openSessions.get(position);
+      session.add(timestamp, value);
+      mergeFollowing(position);
+    } else {
+      Session session = freeSessions.isEmpty() ? new Session() : freeSessions.poll();
+      session.start = timestamp;
+      session.end = timestamp;
+      session.aggregate.reset();
+      session.aggregate.add(value);
+      openSessions.add(position, session);
+    }
+  }
+
+  @Override
+  protected void onWatermark(long watermark) {
+    while (!openSessions.isEmpty() && openSessions.get(0).end + gap <= watermark) {
+      Session session = openSessions.remove(0);
+      resultHandler.onWindow(session.start, session.end + gap, session.aggregate);
+      freeSessions.push(session);
+    }
+  }
+
+  private void mergeFollowing(int position) {
+    Session session = openSessions.get(position);
+    while (position + 1 < openSessions.size() && openSessions.get(position + 1).start - gap < session.end) {
+      Session next = openSessions.remove(position + 1);
+      session.end = Math.max(session.end, next.end);
+      session.aggregate.merge(next.aggregate);
+      freeSessions.push(next);
+    }
+  }
+
+  private static final class Session {
+
+    private final WindowAggregate aggregate = new WindowAggregate();
+    private long start;
+    private long end;
+
+    private void add(long timestamp, double value) {
+      start = Math.min(start, timestamp);
+      end = Math.max(end, timestamp);
+      aggregate.add(value);
+    }
+  }
+}
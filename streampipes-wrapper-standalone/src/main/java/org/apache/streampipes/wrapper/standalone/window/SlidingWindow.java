@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.window;
+
+import java.util.Arrays;
+
+/**
+ * Sliding event-time window of a fixed size which starts every slide interval. Values are
+ * aggregated into panes of the greatest common divisor of size and slide, and each window is
+ * computed by merging its panes. Panes are kept in a ring buffer of reusable aggregates, so that
+ * no objects are allocated per value or per window. A tumbling window is a sliding window whose
+ * slide equals its size.
+ */
+public class SlidingWindow extends EventTimeWindow {
+
+  private static final long NO_PANE = Long.MIN_VALUE;
+  private static final int MAX_INITIAL_PANES = 1024;
+
+  private final long size;
+  private final long slide;
+  private final long paneSize;
+  private final WindowAggregate result = new WindowAggregate();
+
+  private WindowAggregate[] panes;
+  private long[] paneIds;
+  private boolean open = false;
+  private long nextWindowStart;
+  private long firstPane;
+
+  public SlidingWindow(long size,
+                       long slide,
+                       long allowedLateness,
+                       WindowResultHandler resultHandler) {
+    super(allowedLateness, resultHandler);
+    if (size <= 0 || slide <= 0 || slide > size) {
+      throw new IllegalArgumentException("Window size and slide must be positive and slide must not exceed size");
+    }
+    this.size = size;
+    this.slide = slide;
+    this.paneSize = gcd(size, slide);
+    allocate((int) Math.min(MAX_INITIAL_PANES, (size + allowedLateness) / paneSize + 1));
+  }
+
+  public static SlidingWindow tumbling(long size,
+                                       long allowedLateness,
+                                       WindowResultHandler resultHandler) {
+    return new SlidingWindow(size, size, allowedLateness, resultHandler);
+  }
+
+  @Override
+  protected void accumulate(long timestamp, double value) {
+    if (!open) {
+      // start with the first window which can still receive late values
+      long firstStart = firstWindowStart(timestamp - getAllowedLateness());
+      startAt(getWatermark() == Long.MIN_VALUE
+          ? firstStart
+          : Math.max(firstStart, firstWindowStart(getWatermark())));
+      open = true;
+    }
+    long pane = Math.floorDiv(timestamp, paneSize);
+    if (pane < firstPane) {
+      // all windows containing this value have already been emitted
+      dropValue();
+      return;
+    }
+    if (pane - firstPane >= panes.length) {
+      allocate(Math.toIntExact(Math.max(panes.length * 2L, pane - firstPane + 1)));
+    }
+    int index = indexOf(pane);
+    if (paneIds[index] != pane) {
+      paneIds[index] = pane;
+      panes[index].reset();
+    }
+    panes[index].add(value);
+  }
+
+  @Override
+  protected void onWatermark(long watermark) {
+    while (open && watermark - size >= nextWindowStart) {
+      long windowEnd = nextWindowStart + size;
+      result.reset();
+      for (long pane = firstPane; pane < Math.floorDiv(windowEnd, paneSize); pane++) {
+        int index = indexOf(pane);
+        if (paneIds[index] == pane) {
+          result.merge(panes[index]);
+        }
+      }
+      if (result.isEmpty()) {
+        skipEmptyWindows(watermark);
+      } else {
+        resultHandler.onWindow(nextWindowStart, windowEnd, result);
+        startAt(nextWindowStart + slide);
+      }
+    }
+  }
+
+  /**
+   * Moves to the first window which contains a buffered pane or can still receive values, or
+   * closes the window if no panes are buffered.
+   */
+  private void skipEmptyWindows(long watermark) {
+    long firstBufferedPane = Long.MAX_VALUE;
+    for (long paneId : paneIds) {
+      if (paneId >= firstPane && paneId < firstBufferedPane) {
+        firstBufferedPane = paneId;
+      }
+    }
+    if (firstBufferedPane == Long.MAX_VALUE) {
+      open = false;
+    } else {
+      long candidateStart = Math.min(firstWindowStart(firstBufferedPane * paneSize), firstWindowStart(watermark));
+      startAt(Math.max(nextWindowStart + slide, candidateStart));
+    }
+  }
+
+  private void startAt(long windowStart) {
+    this.nextWindowStart = windowStart;
+    this.firstPane = Math.floorDiv(windowStart, paneSize);
+  }
+
+  /**
+   * Returns the start of the first window whose end is after the given timestamp.
+   */
+  private long firstWindowStart(long timestamp) {
+    return (Math.floorDiv(timestamp - size, slide) + 1) * slide;
+  }
+
+  private int indexOf(long pane) {
+    return (int) Math.floorMod(pane, (long) panes.length);
+  }
+
+  private void allocate(int capacity) {
+    WindowAggregate[] oldPanes = panes;
+    long[] oldPaneIds = paneIds;
+    this.panes = new WindowAggregate[capacity];
+    this.paneIds = new long[capacity];
+    Arrays.fill(paneIds, NO_PANE);
+    if (oldPanes != null) {
+      for (int i = 0; i < oldPanes.length; i++) {
+        if (oldPaneIds[i] >= firstPane) {
+          int index = indexOf(oldPaneIds[i]);
+          paneIds[index] = oldPaneIds[i];
+          panes[index] = oldPanes[i];
+        }
+      }
+    }
+    for (int i = 0; i < capacity; i++) {
+      if (panes[i] == null) {
+        panes[i] = new WindowAggregate();
+      }
+    }
+  }
+
+  private static long gcd(long a, long b) {
+    return b == 0 ? a : gcd(b, a % b);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package org.apache.streampipes.wrapper.standalone.window;
+
+/**
+ * Incremental aggregate over a sequence of values which supports all {@link Aggregation}s at once.
+ * Mean and variance are maintained with Welford's algorithm and partial aggregates can be merged,
+ * so that windows can be composed from smaller panes.
+ */
+public class WindowAggregate {
+
+  private long count;
+  private double sum;
+  private double min;
+  private double max;
+  private double mean;
+  private double m2;
+
+  public WindowAggregate() {
+    reset();
+  }
+
+  public void add(double value) {
+    count++;
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+  }
+
+  public void merge(WindowAggregate other) {
+    if (other.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      copyFrom(other);
+      return;
+    }
+    long totalCount = count + other.count;
+    double delta = other.mean - mean;
+    mean += delta * other.count / totalCount;
+    m2 += other.m2 + delta * delta * count * other.count / totalCount;
+    count = totalCount;
+    sum += other.sum;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  public void copyFrom(WindowAggregate other) {
+    this.count = other.count;
+    this.sum = other.sum;
+    this.min = other.min;
+    this.max = other.max;
+    this.mean = other.mean;
+    this.m2 = other.m2;
+  }
+
+  public void reset() {
+    this.count = 0;
+    this.sum = 0;
+    this.min = Double.POSITIVE_INFINITY;
+    this.max = Double.NEGATIVE_INFINITY;
+    this.mean = 0;
+    this.m2 = 0;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  public double get(Aggregation aggregation) {
+    switch (aggregation) {
+      case COUNT:
+        return count;
+      case SUM:
+        return sum;
+      case MIN:
+        return getMin();
+      case MAX:
+        return getMax();
+      case MEAN:
+        return getMean();
+      case VARIANCE:
+        return getVariance();
+      default:
+        throw new IllegalArgumentException("Unsupported aggregation " + aggregation);
+    }
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getSum() {
+    return sum;
+  }
+
+  public double getMin() {
+    return count > 0 ? min : Double.NaN;
+  }
+
+  public double getMax() {
+    return count > 0 ? max : Double.NaN;
+  }
+
+  public double getMean() {
+    return count > 0 ? mean : Double.NaN;
+  }
+
+  /**
+   * Returns the population variance of all values.
+   */
+  public double getVariance() {
+    return count > 0 ? m2 / count : Double.NaN;
+  }
+}
@@ -15,10 +15,17 @@
  * limitations under the License.
  *
  */
+package org.apache.streampipes.wrapper.standalone.window;
 
-package org.apache.streampipes.processors.filters.jvm.processor.threshold;
+@FunctionalInterface
+public interface WindowResultHandler {
 
-public enum ThresholdDetectionOperator {
-  // Greater/Equal, Greater than, Less/Equal, Less than, Equal, Inequal
-  GE, GT, LE, LT, EQ, IE
+  /**
+   * Called once for each non-empty window as soon as the watermark has passed its end.
+   *
+   * @param windowStart inclusive start of the window in event time
+   * @param windowEnd   exclusive end of the window in event time
+   * @param aggregate   the aggregate of all values in the window, only valid during the call
+   */
+  void onWindow(long windowStart, long windowEnd, WindowAggregate aggregate);
 }
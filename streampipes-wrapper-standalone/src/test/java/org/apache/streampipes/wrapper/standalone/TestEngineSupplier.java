@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class TestEngineSupplier {
+
+  @Test
+  public void testElementIsSuppliedFirst() {
+    Counter counter = new Counter();
+    EngineSupplier<Counter> supplier = new EngineSupplier<>(counter);
+
+    assertSame(counter, supplier.get());
+  }
+
+  @Test
+  public void testFurtherEnginesAreNewInstances() {
+    Counter counter = new Counter();
+    EngineSupplier<Counter> supplier = new EngineSupplier<>(counter);
+    supplier.get();
+
+    Counter second = supplier.get();
+    Counter third = supplier.get();
+    assertNotSame(counter, second);
+    assertNotSame(second, third);
+    assertSame(Counter.class, second.getClass());
+  }
+
+  @Test
+  public void testElementIsSharedWithoutDefaultConstructor() {
+    Named named = new Named("a");
+    EngineSupplier<Named> supplier = new EngineSupplier<>(named);
+
+    assertSame(named, supplier.get());
+    assertSame(named, supplier.get());
+  }
+
+  public static class Counter {
+    private long count;
+  }
+
+  public static class Named {
+    private final String name;
+
+    public Named(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.window;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSessionWindow {
+
+  @Test
+  public void testSessionsAreSplitByGap() {
+    WindowRecorder recorder = new WindowRecorder();
+    SessionWindow window = new SessionWindow(10, 0, recorder);
+    window.add(0, 1);
+    window.add(5, 2);
+    window.add(30, 3);
+    recorder.assertWindows(new long[]{0, 15, 2, 3});
+
+    window.flush();
+    recorder.assertWindows(
+        new long[]{0, 15, 2, 3},
+        new long[]{30, 40, 1, 3});
+  }
+
+  @Test
+  public void testValueOneGapApartStartsNewSession() {
+    WindowRecorder recorder = new WindowRecorder();
+    SessionWindow window = new SessionWindow(10, 0, recorder);
+    window.add(0, 1);
+    window.add(10, 2);
+    window.flush();
+
+    recorder.assertWindows(
+        new long[]{0, 10, 1, 1},
+        new long[]{10, 20, 1, 2});
+  }
+
+  @Test
+  public void testLateValueMergesSessions() {
+    WindowRecorder recorder = new WindowRecorder();
+    SessionWindow window = new SessionWindow(10, 20, recorder);
+    window.add(0, 1);
+    window.add(25, 2);
+    window.add(8, 3);
+    window.add(17, 4);
+    window.flush();
+
+    recorder.assertWindows(new long[]{0, 35, 4, 10});
+  }
+
+  @Test
+  public void testLateValueIsDropped() {
+    WindowRecorder recorder = new WindowRecorder();
+    SessionWindow window = new SessionWindow(10, 0, recorder);
+    window.add(20, 1);
+    window.add(5, 2);
+    window.flush();
+
+    assertEquals(1, window.getDroppedValues());
+    recorder.assertWindows(new long[]{20, 30, 1, 1});
+  }
+}
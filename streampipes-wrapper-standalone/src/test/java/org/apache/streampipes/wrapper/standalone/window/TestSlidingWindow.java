@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.streampipes.wrapper.standalone.window;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestSlidingWindow {
+
+  @Test
+  public void testTumblingWindow() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = SlidingWindow.tumbling(10, 0, recorder);
+    window.add(1, 1);
+    window.add(5, 2);
+    window.add(12, 3);
+    window.add(25, 4);
+    window.flush();
+
+    recorder.assertWindows(
+        new long[]{0, 10, 2, 3},
+        new long[]{10, 20, 1, 3},
+        new long[]{20, 30, 1, 4});
+  }
+
+  @Test
+  public void testSlidingWindow() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = new SlidingWindow(10, 5, 0, recorder);
+    window.add(1, 1);
+    window.add(6, 2);
+    window.add(11, 3);
+    window.flush();
+
+    recorder.assertWindows(
+        new long[]{-5, 5, 1, 1},
+        new long[]{0, 10, 2, 3},
+        new long[]{5, 15, 2, 5},
+        new long[]{10, 20, 1, 3});
+  }
+
+  @Test
+  public void testWindowsAreEmittedByWatermark() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = SlidingWindow.tumbling(10, 0, recorder);
+    window.add(1, 1);
+    window.add(9, 2);
+    recorder.assertWindows();
+
+    // a value at the end of a window completes it, but belongs to the next window
+    window.add(10, 3);
+    recorder.assertWindows(new long[]{0, 10, 2, 3});
+  }
+
+  @Test
+  public void testLateValueIsDropped() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = SlidingWindow.tumbling(10, 0, recorder);
+    window.add(15, 1);
+    window.add(3, 2);
+    window.flush();
+
+    assertEquals(1, window.getDroppedValues());
+    recorder.assertWindows(new long[]{10, 20, 1, 1});
+  }
+
+  @Test
+  public void testLateValueWithinAllowedLateness() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = SlidingWindow.tumbling(10, 5, recorder);
+    window.add(12, 12);
+    window.add(8, 8);
+    window.add(16, 16);
+    window.add(9, 9);
+    window.flush();
+
+    assertEquals(1, window.getDroppedValues());
+    recorder.assertWindows(
+        new long[]{0, 10, 1, 8},
+        new long[]{10, 20, 2, 28});
+  }
+
+  @Test
+  public void testTimestampGap() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = new SlidingWindow(10, 5, 5, recorder);
+    long later = 5_000_000_000_000L;
+    window.add(3, 1);
+    window.add(later, 2);
+    window.add(later + 1, 3);
+    window.flush();
+
+    recorder.assertWindows(
+        new long[]{-5, 5, 1, 1},
+        new long[]{0, 10, 1, 1},
+        new long[]{later - 5, later + 5, 2, 5},
+        new long[]{later, later + 10, 2, 5});
+  }
+
+  @Test
+  public void testValuesAfterFlushAreDropped() {
+    WindowRecorder recorder = new WindowRecorder();
+    SlidingWindow window = SlidingWindow.tumbling(10, 0, recorder);
+    window.add(1, 1);
+    window.flush();
+    window.add(2, 2);
+
+    assertEquals(1, window.getDroppedValues());
+    recorder.assertWindows(new long[]{0, 10, 1, 1});
+  }
+}
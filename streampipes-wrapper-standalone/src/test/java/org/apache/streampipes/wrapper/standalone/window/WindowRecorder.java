@@ -15,31 +15,32 @@
  * limitations under the License.
  *
  */
-package org.apache.streampipes.wrapper.kafka.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.streams.kstream.ValueMapper;
+package org.apache.streampipes.wrapper.standalone.window;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 
-public class MapToJsonFormat implements ValueMapper<Map<String, Object>, Iterable<String>> {
+import static org.junit.Assert.assertEquals;
 
-  private ObjectMapper objectMapper;
+/**
+ * Result handler which records start, end, count and sum of each emitted window.
+ */
+public class WindowRecorder implements WindowResultHandler {
 
-  public MapToJsonFormat() {
-    this.objectMapper = new ObjectMapper();
-  }
+  private final List<List<Long>> windows = new ArrayList<>();
 
   @Override
-  public Iterable<String> apply(Map<String, Object> stringObjectMap) {
-    try {
-      return Arrays.asList(objectMapper.writeValueAsString(stringObjectMap));
-    } catch (JsonProcessingException e) {
-      e.printStackTrace();
-      return Collections.emptyList();
+  public void onWindow(long windowStart, long windowEnd, WindowAggregate aggregate) {
+    windows.add(Arrays.asList(windowStart, windowEnd, aggregate.getCount(), (long) aggregate.getSum()));
+  }
+
+  public void assertWindows(long[]... expectedWindows) {
+    List<List<Long>> expected = new ArrayList<>();
+    for (long[] window : expectedWindows) {
+      expected.add(Arrays.asList(window[0], window[1], window[2], window[3]));
     }
+    assertEquals(expected, windows);
   }
 }
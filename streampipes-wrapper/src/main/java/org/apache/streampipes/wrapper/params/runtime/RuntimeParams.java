@@ -19,16 +19,21 @@
 package org.apache.streampipes.wrapper.params.runtime;
 
 import org.apache.streampipes.client.StreamPipesClient;
+import org.apache.streampipes.commons.constants.DefaultEnvValues;
+import org.apache.streampipes.commons.constants.Envs;
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
 import org.apache.streampipes.extensions.management.config.ConfigExtractor;
 import org.apache.streampipes.model.base.InvocableStreamPipesEntity;
 import org.apache.streampipes.model.runtime.Event;
 import org.apache.streampipes.model.runtime.EventFactory;
+import org.apache.streampipes.model.runtime.EventLayout;
 import org.apache.streampipes.model.runtime.SchemaInfo;
 import org.apache.streampipes.model.runtime.SourceInfo;
 import org.apache.streampipes.wrapper.context.RuntimeContext;
 import org.apache.streampipes.wrapper.params.binding.BindingParams;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,8 +49,10 @@ public abstract class RuntimeParams<V extends BindingParams<W>, W extends
   protected StreamPipesClient streamPipesClient;
 
   private Map<String, Integer> eventInfoMap = new HashMap<>();
+  private List<EventLayout> eventLayouts = new ArrayList<>();
 
   private Boolean singletonEngine;
+  private final boolean compiledEventLayout;
 
   public RuntimeParams(V bindingParams,
                        Boolean singletonEngine,
@@ -55,6 +62,8 @@ public abstract class RuntimeParams<V extends BindingParams<W>, W extends
     this.singletonEngine = singletonEngine;
     this.configExtractor = configExtractor;
     this.streamPipesClient = streamPipesClient;
+    this.compiledEventLayout = Envs.SP_COMPILED_EVENT_LAYOUT
+        .getValueAsBooleanOrDefault(DefaultEnvValues.COMPILED_EVENT_LAYOUT_DEFAULT);
     buildEventInfoMap();
     this.runtimeContext = makeRuntimeContext();
   }
@@ -68,15 +77,45 @@ public abstract class RuntimeParams<V extends BindingParams<W>, W extends
       String sourceInfo = bindingParams.getInputStreamParams().get(i).getSourceInfo()
           .getSourceId();
       eventInfoMap.put(sourceInfo, i);
+      eventLayouts.add(EventLayout.from(getSourceInfo(i), getSchemaInfo(i)));
     }
   }
 
   public Event makeEvent(Map<String, Object> mapEvent, String sourceId) {
+    if (compiledEventLayout) {
+      return EventFactory.fromMap(mapEvent, getEventLayout(sourceId));
+    }
     return EventFactory.fromMap(mapEvent, getSourceInfo(getIndex(sourceId)), getSchemaInfo
         (getIndex(sourceId)));
 
   }
 
+  public Event makeEvent(byte[] rawEvent,
+                         SpDataFormatDefinition dataFormatDefinition,
+                         String sourceId) {
+    if (compiledEventLayout) {
+      return dataFormatDefinition.toEvent(rawEvent, getEventLayout(sourceId));
+    }
+    return makeEvent(dataFormatDefinition.toMap(rawEvent), sourceId);
+  }
+
+  /**
+   * Creates an event from an event which was collected for the same topic within this JVM. The
+   * event is always backed by the compiled layout of the input stream and is materialized as soon
+   * as the field API is used.
+   */
+  public Event makeEvent(Event event, String sourceId) {
+    return EventFactory.fromEvent(event, getEventLayout(sourceId));
+  }
+
+  public EventLayout getEventLayout(String sourceId) {
+    return eventLayouts.get(getIndex(sourceId));
+  }
+
+  public boolean isCompiledEventLayout() {
+    return compiledEventLayout;
+  }
+
   public List<SourceInfo> getSourceInfo() {
     return bindingParams.getInputStreamParams().size() == 1 ? Collections.singletonList
         (getSourceInfo(0)) : Arrays.asList(getSourceInfo(0), getSourceInfo(1));
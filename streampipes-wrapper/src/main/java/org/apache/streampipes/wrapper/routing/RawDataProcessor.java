@@ -17,9 +17,49 @@
  */
 package org.apache.streampipes.wrapper.routing;
 
+import org.apache.streampipes.dataformat.SpDataFormatDefinition;
+import org.apache.streampipes.model.runtime.Event;
+import org.apache.streampipes.model.runtime.EventConverter;
+
 import java.util.Map;
 
 public interface RawDataProcessor {
 
   void process(Map<String, Object> rawEvent, String sourceInfo);
+
+  default void process(byte[] rawEvent,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo) {
+    process(dataFormatDefinition.toMap(rawEvent), sourceInfo);
+  }
+
+  /**
+   * Processes an event which was collected for the same topic within this JVM.
+   */
+  default void process(Event event,
+                       String sourceInfo) {
+    process(new EventConverter(event).toMap(), sourceInfo);
+  }
+
+  /**
+   * Processes an event received from the given partition of the topic. This method is called
+   * concurrently for different partitions if multiple consumer threads are configured, processors
+   * which do not override it receive events one at a time.
+   */
+  default void process(byte[] rawEvent,
+                       SpDataFormatDefinition dataFormatDefinition,
+                       String sourceInfo,
+                       int partition) {
+    synchronized (this) {
+      process(rawEvent, dataFormatDefinition, sourceInfo);
+    }
+  }
+
+  default void process(Event event,
+                       String sourceInfo,
+                       int partition) {
+    synchronized (this) {
+      process(event, sourceInfo);
+    }
+  }
 }
@@ -3557,9 +3557,11 @@ export class SpLogEntry {
 }
 
 export class SpMetricsEntry {
+    gauges: { [index: string]: number };
     lastTimestamp: number;
     messagesIn: { [index: string]: MessageCounter };
     messagesOut: MessageCounter;
+    processingTimeMs: { [index: string]: number };
 
     static fromData(
         data: SpMetricsEntry,
@@ -3569,11 +3571,15 @@ export class SpMetricsEntry {
             return data;
         }
         const instance = target || new SpMetricsEntry();
+        instance.gauges = __getCopyObjectFn(__identity<number>())(data.gauges);
         instance.lastTimestamp = data.lastTimestamp;
         instance.messagesIn = __getCopyObjectFn(MessageCounter.fromData)(
             data.messagesIn,
         );
         instance.messagesOut = MessageCounter.fromData(data.messagesOut);
+        instance.processingTimeMs = __getCopyObjectFn(__identity<number>())(
+            data.processingTimeMs,
+        );
         return instance;
     }
 }